@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.lite.maven.plugin;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import software.amazon.awssdk.codegen.lite.regions.PartitionMetadataGenerator;
+
+/**
+ * The Maven mojo to generate the partition metadata class from the {@code endpoints.json} bundled with the core runtime.
+ */
+@Mojo(name = "generate-partition-metadata", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+public class PartitionMetadataGenerationMojo extends AbstractMojo {
+
+    private static final String LICENSE_HEADER =
+            "/*\n"
+            + " * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.\n"
+            + " *\n"
+            + " * Licensed under the Apache License, Version 2.0 (the \"License\").\n"
+            + " * You may not use this file except in compliance with the License.\n"
+            + " * A copy of the License is located at\n"
+            + " *\n"
+            + " *  http://aws.amazon.com/apache2.0\n"
+            + " *\n"
+            + " * or in the \"license\" file accompanying this file. This file is distributed\n"
+            + " * on an \"AS IS\" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either\n"
+            + " * express or implied. See the License for the specific language governing\n"
+            + " * permissions and limitations under the License.\n"
+            + " */\n\n";
+
+    @Parameter(property = "endpoints",
+               defaultValue = "${basedir}/src/main/resources/software/amazon/awssdk/core/internal/region/endpoints.json")
+    private File endpoints;
+
+    @Parameter(property = "className",
+               defaultValue = "software.amazon.awssdk.core.internal.region.GeneratedPartitionMetadata")
+    private String className;
+
+    @Parameter(property = "outputDirectory", defaultValue = "${project.build.directory}")
+    private String outputDirectory;
+
+    @Component
+    private MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        Path sourcesDirectory = Paths.get(outputDirectory).resolve("generated-sources").resolve("sdk");
+        JavaFile javaFile = new PartitionMetadataGenerator(loadEndpoints(), ClassName.bestGuess(className)).generate();
+
+        Path packageDirectory = sourcesDirectory.resolve(javaFile.packageName.replace('.', File.separatorChar));
+        Path file = packageDirectory.resolve(javaFile.typeSpec.name + ".java");
+        try {
+            Files.createDirectories(packageDirectory);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(LICENSE_HEADER);
+                javaFile.writeTo(writer);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write " + file, e);
+        }
+
+        getLog().info("Generated partition metadata from " + endpoints + " to " + file);
+        project.addCompileSourceRoot(sourcesDirectory.toFile().getAbsolutePath());
+    }
+
+    private Map<String, Object> loadEndpoints() throws MojoExecutionException {
+        try {
+            return JSON.std.mapFrom(endpoints);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to load partition metadata from " + endpoints, e);
+        }
+    }
+}
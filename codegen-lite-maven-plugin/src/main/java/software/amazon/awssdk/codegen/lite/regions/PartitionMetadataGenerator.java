@@ -0,0 +1,303 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.lite.regions;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Generated;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a class that builds the partition metadata described by an {@code endpoints.json} file in code, so the
+ * runtime doesn't have to parse the file. The generated class has a static {@code partitions()} method returning the
+ * same {@code Partition} objects the runtime's JSON loader would produce, with maps in the order of the file. Every
+ * service gets its own method to keep the methods well under the size limit.
+ */
+public final class PartitionMetadataGenerator {
+
+    private static final String MODEL_PACKAGE = "software.amazon.awssdk.core.internal.region.model";
+    private static final ClassName PARTITION = ClassName.get(MODEL_PACKAGE, "Partition");
+    private static final ClassName PARTITION_REGION = ClassName.get(MODEL_PACKAGE, "PartitionRegion");
+    private static final ClassName SERVICE = ClassName.get(MODEL_PACKAGE, "Service");
+    private static final ClassName ENDPOINT = ClassName.get(MODEL_PACKAGE, "Endpoint");
+    private static final ClassName CREDENTIAL_SCOPE = ClassName.get(MODEL_PACKAGE, "CredentialScope");
+    private static final ClassName SDK_INTERNAL_API = ClassName.get("software.amazon.awssdk.annotations", "SdkInternalApi");
+
+    private static final Set<String> PARTITION_KEYS = keys("partition", "partitionName", "dnsSuffix", "regionRegex",
+                                                           "defaults", "regions", "services");
+    private static final Set<String> SERVICE_KEYS = keys("endpoints", "defaults", "partitionEndpoint", "isRegionalized");
+    private static final Set<String> ENDPOINT_KEYS = keys("hostname", "credentialScope", "protocols", "signatureVersions",
+                                                          "sslCommonName");
+    private static final Set<String> CREDENTIAL_SCOPE_KEYS = keys("region", "service");
+
+    private final Map<String, Object> endpoints;
+    private final ClassName className;
+    private final Set<String> methodNames = new HashSet<>();
+
+    /**
+     * @param endpoints The contents of the {@code endpoints.json} file, as read into maps and lists.
+     * @param className The name of the class to generate.
+     */
+    public PartitionMetadataGenerator(Map<String, Object> endpoints, ClassName className) {
+        this.endpoints = endpoints;
+        this.className = className;
+    }
+
+    public JavaFile generate() {
+        TypeSpec.Builder type = TypeSpec.classBuilder(className)
+                                        .addJavadoc("The partition metadata of the bundled endpoints.json, compiled at "
+                                                    + "build time so that it doesn't\nhave to be parsed at runtime.\n")
+                                        .addAnnotation(AnnotationSpec.builder(Generated.class)
+                                                                     .addMember("value", "$S", "software.amazon.awssdk:codegen")
+                                                                     .build())
+                                        .addAnnotation(SDK_INTERNAL_API)
+                                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                                        .addField(FieldSpec.builder(String.class, "VERSION",
+                                                                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                                                           .initializer("$S", string(endpoints, "version"))
+                                                           .build())
+                                        .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+
+        List<MethodSpec> partitionMethods = new ArrayList<>();
+        List<MethodSpec> serviceMethods = new ArrayList<>();
+        for (Map<String, Object> partition : maps(endpoints.get("partitions"))) {
+            partitionMethods.add(partitionMethod(partition, serviceMethods));
+        }
+
+        type.addMethod(MethodSpec.methodBuilder("partitions")
+                                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                                 .returns(ParameterizedTypeName.get(ClassName.get(List.class), PARTITION))
+                                 .addStatement("return $T.asList($L)", Arrays.class,
+                                               partitionMethods.stream()
+                                                               .map(m -> m.name + "()")
+                                                               .collect(Collectors.joining(", ")))
+                                 .build())
+            .addMethods(partitionMethods)
+            .addMethods(serviceMethods)
+            .addMethod(endpointMethod())
+            .addMethod(credentialScopeMethod());
+
+        return JavaFile.builder(className.packageName(), type.build()).skipJavaLangImports(true).indent("    ").build();
+    }
+
+    private MethodSpec partitionMethod(Map<String, Object> partition, List<MethodSpec> serviceMethods) {
+        checkKeys(partition, PARTITION_KEYS, "partition");
+        String partitionName = string(partition, "partition");
+        MethodSpec.Builder method = MethodSpec.methodBuilder(methodName(partitionName))
+                                              .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                              .returns(PARTITION);
+
+        method.addStatement("$T regions = new $T<>()", mapOf(PARTITION_REGION), LinkedHashMap.class);
+        map(partition.get("regions")).forEach((region, value) -> {
+            Map<String, Object> regionValue = map(value);
+            checkKeys(regionValue, keys("description"), "region " + region);
+            if (regionValue.get("description") == null) {
+                method.addStatement("regions.put($S, new $T())", region, PARTITION_REGION);
+            } else {
+                method.addStatement("regions.put($S, new $T($S))", region, PARTITION_REGION, string(regionValue, "description"));
+            }
+        });
+
+        method.addStatement("$T services = new $T<>()", mapOf(SERVICE), LinkedHashMap.class);
+        map(partition.get("services")).forEach((service, value) -> {
+            MethodSpec serviceMethod = serviceMethod(partitionName, service, map(value));
+            serviceMethods.add(serviceMethod);
+            method.addStatement("services.put($S, $N())", service, serviceMethod);
+        });
+
+        method.addStatement("$1T partition = new $1T()", PARTITION)
+              .addStatement("partition.setPartition($S)", partitionName)
+              .addStatement("partition.setPartitionName($S)", string(partition, "partitionName"))
+              .addStatement("partition.setDnsSuffix($S)", string(partition, "dnsSuffix"))
+              .addStatement("partition.setRegionRegex($S)", string(partition, "regionRegex"))
+              .addStatement("partition.setDefaults($L)", endpoint(partition.get("defaults")))
+              .addStatement("partition.setRegions(regions)")
+              .addStatement("partition.setServices(services)")
+              .addStatement("return partition");
+        return method.build();
+    }
+
+    private MethodSpec serviceMethod(String partition, String service, Map<String, Object> serviceValue) {
+        checkKeys(serviceValue, SERVICE_KEYS, "service " + service);
+        MethodSpec.Builder method = MethodSpec.methodBuilder(methodName(partition + "-" + service))
+                                              .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                              .returns(SERVICE)
+                                              .addStatement("$1T service = new $1T()", SERVICE);
+
+        if (serviceValue.containsKey("endpoints")) {
+            method.addStatement("$T endpoints = new $T<>()", mapOf(ENDPOINT), LinkedHashMap.class);
+            map(serviceValue.get("endpoints"))
+                    .forEach((region, endpoint) -> method.addStatement("endpoints.put($S, $L)", region, endpoint(endpoint)));
+            method.addStatement("service.setEndpoints(endpoints)");
+        }
+        if (serviceValue.containsKey("defaults")) {
+            method.addStatement("service.setDefaults($L)", endpoint(serviceValue.get("defaults")));
+        }
+        if (serviceValue.containsKey("partitionEndpoint")) {
+            method.addStatement("service.setPartitionEndpoint($S)", string(serviceValue, "partitionEndpoint"));
+        }
+        if (serviceValue.containsKey("isRegionalized")) {
+            method.addStatement("service.setIsRegionalized($L)", serviceValue.get("isRegionalized"));
+        }
+        return method.addStatement("return service").build();
+    }
+
+    /**
+     * Code for the given endpoint: a plain constructor call when it has no attributes, as most of them don't, and a call
+     * to the generated {@code endpoint} method otherwise.
+     */
+    private CodeBlock endpoint(Object value) {
+        if (value == null) {
+            return CodeBlock.of("null");
+        }
+        Map<String, Object> endpoint = map(value);
+        checkKeys(endpoint, ENDPOINT_KEYS, "endpoint");
+        if (endpoint.isEmpty()) {
+            return CodeBlock.of("new $T()", ENDPOINT);
+        }
+
+        CodeBlock credentialScope = CodeBlock.of("null");
+        if (endpoint.get("credentialScope") != null) {
+            Map<String, Object> scope = map(endpoint.get("credentialScope"));
+            checkKeys(scope, CREDENTIAL_SCOPE_KEYS, "credential scope");
+            credentialScope = CodeBlock.of("credentialScope($S, $S)", string(scope, "region"), string(scope, "service"));
+        }
+        return CodeBlock.of("endpoint($S, $L, $L, $L, $S)",
+                            string(endpoint, "hostname"),
+                            credentialScope,
+                            stringList(endpoint.get("protocols")),
+                            stringList(endpoint.get("signatureVersions")),
+                            string(endpoint, "sslCommonName"));
+    }
+
+    private CodeBlock stringList(Object value) {
+        if (value == null) {
+            return CodeBlock.of("null");
+        }
+        List<Object> values = list(value);
+        return CodeBlock.of("$T.asList($L)", Arrays.class,
+                            values.stream().map(v -> CodeBlock.of("$S", v).toString()).collect(Collectors.joining(", ")));
+    }
+
+    private MethodSpec endpointMethod() {
+        TypeName stringList = ParameterizedTypeName.get(List.class, String.class);
+        return MethodSpec.methodBuilder("endpoint")
+                         .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                         .returns(ENDPOINT)
+                         .addParameter(String.class, "hostname")
+                         .addParameter(CREDENTIAL_SCOPE, "credentialScope")
+                         .addParameter(stringList, "protocols")
+                         .addParameter(stringList, "signatureVersions")
+                         .addParameter(String.class, "sslCommonName")
+                         .addStatement("$1T endpoint = new $1T()", ENDPOINT)
+                         .addStatement("endpoint.setHostname(hostname)")
+                         .addStatement("endpoint.setCredentialScope(credentialScope)")
+                         .addStatement("endpoint.setProtocols(protocols)")
+                         .addStatement("endpoint.setSignatureVersions(signatureVersions)")
+                         .addStatement("endpoint.setSslCommonName(sslCommonName)")
+                         .addStatement("return endpoint")
+                         .build();
+    }
+
+    private MethodSpec credentialScopeMethod() {
+        return MethodSpec.methodBuilder("credentialScope")
+                         .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                         .returns(CREDENTIAL_SCOPE)
+                         .addParameter(String.class, "region")
+                         .addParameter(String.class, "service")
+                         .addStatement("$1T credentialScope = new $1T()", CREDENTIAL_SCOPE)
+                         .addStatement("credentialScope.setRegion(region)")
+                         .addStatement("credentialScope.setService(service)")
+                         .addStatement("return credentialScope")
+                         .build();
+    }
+
+    /**
+     * A unique camel case method name for the given partition or service, such as {@code awsUsGovStreamsDynamodb}.
+     */
+    private String methodName(String name) {
+        StringBuilder methodName = new StringBuilder();
+        boolean upperCaseNext = false;
+        for (char c : name.toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                upperCaseNext = methodName.length() > 0;
+            } else {
+                methodName.append(upperCaseNext ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                upperCaseNext = false;
+            }
+        }
+        String base = methodName.toString();
+        String unique = base;
+        for (int i = 2; !methodNames.add(unique); i++) {
+            unique = base + i;
+        }
+        return unique;
+    }
+
+    private static TypeName mapOf(ClassName valueType) {
+        return ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), valueType);
+    }
+
+    /**
+     * Fails on attributes the runtime model doesn't know about, as its JSON loader does, rather than dropping them.
+     */
+    private static void checkKeys(Map<String, Object> value, Set<String> knownKeys, String description) {
+        for (String key : value.keySet()) {
+            if (!knownKeys.contains(key)) {
+                throw new IllegalStateException("Unknown attribute '" + key + "' in " + description);
+            }
+        }
+    }
+
+    private static Set<String> keys(String... keys) {
+        return new HashSet<>(Arrays.asList(keys));
+    }
+
+    private static String string(Map<String, Object> value, String key) {
+        Object string = value.get(key);
+        return string == null ? null : string.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> maps(Object value) {
+        return (List<Map<String, Object>>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> list(Object value) {
+        return (List<Object>) value;
+    }
+}
@@ -65,7 +65,9 @@ public class MarshallerGeneratorTasks extends BaseGeneratorTasks {
     }
 
     private boolean shouldGenerate(ShapeType shapeType) {
-        return ShapeType.Request == shapeType || (ShapeType.Model == shapeType && metadata.isJsonProtocol());
+        // Model shapes of table-driven services are marshalled from their field tables
+        return ShapeType.Request == shapeType
+               || (ShapeType.Model == shapeType && metadata.isJsonProtocol() && !model.isTableDrivenMarshalling());
     }
 
     private Stream<GeneratorTask> createTask(String javaShapeName, ShapeModel shapeModel) throws Exception {
@@ -101,6 +103,7 @@ public class MarshallerGeneratorTasks extends BaseGeneratorTasks {
                 .put("customConfig", model.getCustomizationConfig())
                 .put("className", marshallerClassName)
                 .put("protocolEnum", getProtocolEnumName())
+                .put("tableDrivenMarshalling", model.isTableDrivenMarshalling())
                 .build();
 
         return new FreemarkerGeneratorTask(marshallerDirectory,
@@ -58,6 +58,7 @@ public class UnmarshallerGeneratorTasks extends BaseGeneratorTasks {
                 .put("metadata", metadata)
                 .put("transformPackage", model.getMetadata().getFullTransformPackageName())
                 .put("exceptionUnmarshallerImpl", model.getExceptionUnmarshallerImpl())
+                .put("tableDrivenMarshalling", model.isTableDrivenMarshalling())
                 .build();
 
         switch (shapeType) {
@@ -91,8 +92,10 @@ public class UnmarshallerGeneratorTasks extends BaseGeneratorTasks {
     private boolean shouldGenerate(ShapeType shapeType) {
         switch (shapeType) {
             case Response:
-            case Model:
                 return true;
+            case Model:
+                // Model shapes of table-driven services are unmarshalled from their field tables
+                return !model.isTableDrivenMarshalling();
             case Exception:
                 // Generating Exception Unmarshallers is not required for the JSON protocol
                 return !metadata.isJsonProtocol();
@@ -189,6 +189,13 @@ public class CustomizationConfig {
      */
     private List<String> verifiedSimpleMethods = new ArrayList<>();
 
+    /**
+     * True if model shapes of a JSON protocol service should be described by static field tables, and marshalled and
+     * unmarshalled by the table-driven engine in core, rather than each getting a generated marshaller and unmarshaller
+     * class. Cuts the number of classes loaded on first use for services with many shapes.
+     */
+    private boolean tableDrivenMarshalling;
+
     private CustomizationConfig() {
     }
 
@@ -474,4 +481,12 @@ public class CustomizationConfig {
     public void setVerifiedSimpleMethods(List<String> verifiedSimpleMethods) {
         this.verifiedSimpleMethods = verifiedSimpleMethods;
     }
+
+    public boolean isTableDrivenMarshalling() {
+        return tableDrivenMarshalling;
+    }
+
+    public void setTableDrivenMarshalling(boolean tableDrivenMarshalling) {
+        this.tableDrivenMarshalling = tableDrivenMarshalling;
+    }
 }
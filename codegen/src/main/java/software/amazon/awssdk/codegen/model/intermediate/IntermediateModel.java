@@ -165,6 +165,15 @@ public final class IntermediateModel {
         return String.format("%d-%d", copyrightStartYear, currentYear);
     }
 
+    /**
+     * @return True if model shapes are described by field tables and handled by the table-driven marshalling engine in
+     *     core, rather than each getting a generated marshaller and unmarshaller.
+     */
+    @JsonIgnore
+    public boolean isTableDrivenMarshalling() {
+        return metadata.isJsonProtocol() && customizationConfig.isTableDrivenMarshalling();
+    }
+
     public boolean getHasWaiters() {
         return waiters.size() > 0;
     }
@@ -39,6 +39,7 @@ import software.amazon.awssdk.codegen.poet.PoetExtensions;
 import software.amazon.awssdk.codegen.poet.PoetUtils;
 import software.amazon.awssdk.core.protocol.ProtocolMarshaller;
 import software.amazon.awssdk.core.protocol.StructuredPojo;
+import software.amazon.awssdk.core.protocol.table.TableDrivenPojo;
 
 /**
  * Provides the Poet specs for AWS Service models.
@@ -52,6 +53,7 @@ public class AwsServiceModel implements ClassSpec {
     private final ShapeInterfaceProvider interfaceProvider;
     private final ModelMethodOverrides modelMethodOverrides;
     private final ModelBuilderSpecs modelBuilderSpecs;
+    private final TableDrivenModelSpecs tableDrivenModelSpecs;
 
     public AwsServiceModel(IntermediateModel intermediateModel, ShapeModel shapeModel) {
         this.shapeModel = shapeModel;
@@ -60,8 +62,11 @@ public class AwsServiceModel implements ClassSpec {
         this.shapeModelSpec = new ShapeModelSpec(this.shapeModel, typeProvider, poetExtensions);
         this.interfaceProvider = new AwsShapePublicInterfaceProvider(intermediateModel, this.shapeModel);
         this.modelMethodOverrides = new ModelMethodOverrides(this.poetExtensions);
+        this.tableDrivenModelSpecs = implementsTableDrivenPojo()
+                                     ? new TableDrivenModelSpecs(this.shapeModel, this.typeProvider, this.poetExtensions)
+                                     : null;
         this.modelBuilderSpecs = new ModelBuilderSpecs(intermediateModel, this.shapeModel, this.shapeModelSpec,
-                                                       this.typeProvider);
+                                                       this.typeProvider, this.tableDrivenModelSpecs);
     }
 
     @Override
@@ -75,6 +80,10 @@ public class AwsServiceModel implements ClassSpec {
                                                .addFields(shapeModelSpec.fields())
                                                .addTypes(nestedModelClassTypes());
 
+        if (tableDrivenModelSpecs != null) {
+            specBuilder.addField(tableDrivenModelSpecs.tableField());
+        }
+
         if (shapeModel.getDocumentation() != null) {
             specBuilder.addJavadoc("$L", shapeModel.getDocumentation());
         }
@@ -121,7 +130,9 @@ public class AwsServiceModel implements ClassSpec {
                 break;
         }
 
-        if (implementStructuredPojoInterface()) {
+        if (tableDrivenModelSpecs != null) {
+            methodSpecs.addAll(tableDrivenModelSpecs.modelMethods());
+        } else if (implementStructuredPojoInterface()) {
             methodSpecs.add(structuredPojoMarshallMethod(shapeModel));
         }
 
@@ -202,6 +213,10 @@ public class AwsServiceModel implements ClassSpec {
         return interfaceProvider.shouldImplementInterface(StructuredPojo.class);
     }
 
+    private boolean implementsTableDrivenPojo() {
+        return interfaceProvider.shouldImplementInterface(TableDrivenPojo.class);
+    }
+
     private MethodSpec structuredPojoMarshallMethod(ShapeModel shapeModel) {
         return MethodSpec.methodBuilder("marshall")
                          .addAnnotation(SdkInternalApi.class)
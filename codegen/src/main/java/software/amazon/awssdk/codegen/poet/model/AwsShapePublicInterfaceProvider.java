@@ -29,6 +29,7 @@ import software.amazon.awssdk.core.AmazonWebServiceRequest;
 import software.amazon.awssdk.core.AmazonWebServiceResult;
 import software.amazon.awssdk.core.ResponseMetadata;
 import software.amazon.awssdk.core.protocol.StructuredPojo;
+import software.amazon.awssdk.core.protocol.table.TableDrivenPojo;
 import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
 
 public class AwsShapePublicInterfaceProvider implements ShapeInterfaceProvider {
@@ -63,7 +64,8 @@ public class AwsShapePublicInterfaceProvider implements ShapeInterfaceProvider {
         }
 
         if (implementStructuredPojoInterface()) {
-            superInterfaces.add(ClassName.get(StructuredPojo.class));
+            superInterfaces.add(intermediateModel.isTableDrivenMarshalling() ? ClassName.get(TableDrivenPojo.class)
+                                                                              : ClassName.get(StructuredPojo.class));
         }
 
         return superInterfaces;
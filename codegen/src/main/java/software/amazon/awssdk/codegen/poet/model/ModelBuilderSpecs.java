@@ -28,6 +28,7 @@ import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
 import software.amazon.awssdk.codegen.model.intermediate.ShapeModel;
 import software.amazon.awssdk.codegen.model.intermediate.ShapeType;
 import software.amazon.awssdk.codegen.poet.PoetExtensions;
+import software.amazon.awssdk.core.protocol.table.TableDrivenBuilder;
 import software.amazon.awssdk.utils.builder.CopyableBuilder;
 
 /**
@@ -40,11 +41,14 @@ class ModelBuilderSpecs {
     private final TypeProvider typeProvider;
     private final PoetExtensions poetExtensions;
     private final AccessorsFactory accessorsFactory;
+    private final TableDrivenModelSpecs tableDrivenModelSpecs;
 
     ModelBuilderSpecs(IntermediateModel intermediateModel, ShapeModel shapeModel,
                              ShapeModelSpec shapeModelSpec,
-                             TypeProvider typeProvider) {
+                             TypeProvider typeProvider,
+                             TableDrivenModelSpecs tableDrivenModelSpecs) {
         this.intermediateModel = intermediateModel;
+        this.tableDrivenModelSpecs = tableDrivenModelSpecs;
         this.shapeModel = shapeModel;
         this.shapeModelSpec = shapeModelSpec;
         this.typeProvider = typeProvider;
@@ -92,6 +96,11 @@ class ModelBuilderSpecs {
         builderClassBuilder.addMethods(accessors());
         builderClassBuilder.addMethod(buildMethod());
 
+        if (tableDrivenModelSpecs != null) {
+            builderClassBuilder.addSuperinterface(TableDrivenBuilder.class);
+            builderClassBuilder.addMethods(tableDrivenModelSpecs.builderMethods());
+        }
+
         return builderClassBuilder.build();
     }
 
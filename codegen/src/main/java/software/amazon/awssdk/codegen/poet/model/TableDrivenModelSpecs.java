@@ -0,0 +1,231 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.poet.model;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import java.util.ArrayList;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import software.amazon.awssdk.codegen.model.intermediate.MemberModel;
+import software.amazon.awssdk.codegen.model.intermediate.ShapeModel;
+import software.amazon.awssdk.codegen.poet.PoetExtensions;
+import software.amazon.awssdk.core.protocol.ProtocolMarshaller;
+import software.amazon.awssdk.core.protocol.table.SdkField;
+import software.amazon.awssdk.core.protocol.table.SdkFieldType;
+import software.amazon.awssdk.core.protocol.table.SdkShapeTable;
+import software.amazon.awssdk.core.protocol.table.TableDrivenBuilder;
+import software.amazon.awssdk.core.protocol.table.TableDrivenMarshaller;
+
+/**
+ * Provides the Poet specs for model classes whose members are described by a {@link SdkShapeTable}, and which are marshalled
+ * and unmarshalled by the table-driven engine in core rather than by a generated marshaller and unmarshaller.
+ */
+class TableDrivenModelSpecs {
+    private static final String TABLE_FIELD_NAME = "SDK_TABLE";
+
+    private final ShapeModel shapeModel;
+    private final TypeProvider typeProvider;
+    private final PoetExtensions poetExtensions;
+
+    TableDrivenModelSpecs(ShapeModel shapeModel, TypeProvider typeProvider, PoetExtensions poetExtensions) {
+        this.shapeModel = shapeModel;
+        this.typeProvider = typeProvider;
+        this.poetExtensions = poetExtensions;
+    }
+
+    public FieldSpec tableField() {
+        CodeBlock.Builder fields = CodeBlock.builder();
+        List<MemberModel> members = shapeModel.getNonStreamingMembers();
+        for (int i = 0; i < members.size(); i++) {
+            fields.add(i == 0 ? "\n" : ",\n").add(field(members.get(i)));
+        }
+
+        return FieldSpec.builder(SdkShapeTable.class, TABLE_FIELD_NAME, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.of($>$>$L$<$<)", SdkShapeTable.class, fields.build())
+                        .build();
+    }
+
+    public List<MethodSpec> modelMethods() {
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(tableGetter());
+        methods.add(fieldValueGetter());
+        methods.add(marshallMethod());
+        return methods;
+    }
+
+    public List<MethodSpec> builderMethods() {
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(tableGetter());
+        methods.add(fieldValueSetter());
+        methods.add(fieldBuilderFactory());
+        methods.add(MethodSpec.methodBuilder("sdkBuild")
+                              .addAnnotation(Override.class)
+                              .addModifiers(Modifier.PUBLIC)
+                              .returns(Object.class)
+                              .addStatement("return build()")
+                              .build());
+        return methods;
+    }
+
+    private CodeBlock field(MemberModel member) {
+        String locationName = member.getHttp().getMarshallLocationName();
+        if (member.isIdempotencyToken()) {
+            return CodeBlock.of("$T.idempotencyToken($S)", SdkField.class, locationName);
+        }
+        return CodeBlock.of("$T.of($S, $L)", SdkField.class, locationName, fieldType(member));
+    }
+
+    private CodeBlock fieldType(MemberModel member) {
+        if (member.isList()) {
+            return CodeBlock.of("$T.listOf($L)", SdkFieldType.class, fieldType(member.getListModel().getListMemberModel()));
+        } else if (member.isMap()) {
+            return CodeBlock.of("$T.mapOf($L)", SdkFieldType.class, fieldType(member.getMapModel().getValueModel()));
+        } else if (!member.isSimple()) {
+            return CodeBlock.of("$T.STRUCTURE", SdkFieldType.class);
+        }
+
+        String simpleType = member.getVariable().getSimpleType();
+        switch (simpleType) {
+            case "String":
+                return CodeBlock.of("$T.STRING", SdkFieldType.class);
+            case "Integer":
+                return CodeBlock.of("$T.INTEGER", SdkFieldType.class);
+            case "Long":
+                return CodeBlock.of("$T.LONG", SdkFieldType.class);
+            case "Float":
+                return CodeBlock.of("$T.FLOAT", SdkFieldType.class);
+            case "Double":
+                return CodeBlock.of("$T.DOUBLE", SdkFieldType.class);
+            case "BigDecimal":
+                return CodeBlock.of("$T.BIG_DECIMAL", SdkFieldType.class);
+            case "Boolean":
+                return CodeBlock.of("$T.BOOLEAN", SdkFieldType.class);
+            case "Instant":
+                return CodeBlock.of("$T.INSTANT", SdkFieldType.class);
+            case "ByteBuffer":
+                return CodeBlock.of("$T.BYTE_BUFFER", SdkFieldType.class);
+            default:
+                throw new IllegalStateException("Members of type " + simpleType + " can't be described by a field table, "
+                                                + "found in " + shapeModel.getShapeName());
+        }
+    }
+
+    private MethodSpec tableGetter() {
+        return MethodSpec.methodBuilder("sdkTable")
+                         .addAnnotation(Override.class)
+                         .addModifiers(Modifier.PUBLIC)
+                         .returns(SdkShapeTable.class)
+                         .addStatement("return $N", TABLE_FIELD_NAME)
+                         .build();
+    }
+
+    private MethodSpec fieldValueGetter() {
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("sdkFieldValue")
+                                                     .addAnnotation(Override.class)
+                                                     .addModifiers(Modifier.PUBLIC)
+                                                     .returns(Object.class)
+                                                     .addParameter(int.class, "index")
+                                                     .beginControlFlow("switch (index)");
+
+        List<MemberModel> members = shapeModel.getNonStreamingMembers();
+        for (int i = 0; i < members.size(); i++) {
+            methodBuilder.addCode("case $L:\n", i)
+                         .addStatement("$>return $N$<", members.get(i).getVariable().getVariableName());
+        }
+
+        return methodBuilder.addCode("default:\n")
+                            .addStatement("$>throw new $T($S + index)$<", IllegalArgumentException.class, "Unknown field ")
+                            .endControlFlow()
+                            .build();
+    }
+
+    private MethodSpec marshallMethod() {
+        return MethodSpec.methodBuilder("marshall")
+                         .addAnnotation(Override.class)
+                         .addModifiers(Modifier.PUBLIC)
+                         .addParameter(ProtocolMarshaller.class, "protocolMarshaller")
+                         .addStatement("$T.marshall(this, $N)", TableDrivenMarshaller.class, "protocolMarshaller")
+                         .build();
+    }
+
+    private MethodSpec fieldValueSetter() {
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("sdkSetFieldValue")
+                                                     .addAnnotation(Override.class)
+                                                     .addModifiers(Modifier.PUBLIC)
+                                                     .addParameter(int.class, "index")
+                                                     .addParameter(Object.class, "value")
+                                                     .beginControlFlow("switch (index)");
+
+        List<MemberModel> members = shapeModel.getNonStreamingMembers();
+        for (int i = 0; i < members.size(); i++) {
+            MemberModel member = members.get(i);
+            methodBuilder.addCode("case $L:\n", i)
+                         .addStatement("$>$N(($T) value)", member.getFluentSetterMethodName(), typeProvider.parameterType(member))
+                         .addStatement("break$<");
+        }
+
+        if (members.stream().anyMatch(m -> m.isList() || m.isMap())) {
+            methodBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                      .addMember("value", "$S", "unchecked")
+                                                      .build());
+        }
+
+        return methodBuilder.addCode("default:\n")
+                            .addStatement("$>throw new $T($S + index)$<", IllegalArgumentException.class, "Unknown field ")
+                            .endControlFlow()
+                            .build();
+    }
+
+    private MethodSpec fieldBuilderFactory() {
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("sdkFieldBuilder")
+                                                     .addAnnotation(Override.class)
+                                                     .addModifiers(Modifier.PUBLIC)
+                                                     .returns(TableDrivenBuilder.class)
+                                                     .addParameter(int.class, "index")
+                                                     .beginControlFlow("switch (index)");
+
+        List<MemberModel> members = shapeModel.getNonStreamingMembers();
+        for (int i = 0; i < members.size(); i++) {
+            MemberModel structure = structureHeldBy(members.get(i));
+            if (structure != null) {
+                methodBuilder.addCode("case $L:\n", i)
+                             .addStatement("$>return ($T) $T.builder()$<", TableDrivenBuilder.class,
+                                           poetExtensions.getModelClass(structure.getC2jShape()));
+            }
+        }
+
+        return methodBuilder.addCode("default:\n")
+                            .addStatement("$>throw new $T($S + index)$<", IllegalArgumentException.class, "Unknown field ")
+                            .endControlFlow()
+                            .build();
+    }
+
+    /**
+     * @return The structure held by the member, or by the elements of a list or the values of a map, or null if the member
+     *     doesn't hold a structure.
+     */
+    private static MemberModel structureHeldBy(MemberModel member) {
+        if (member.isList()) {
+            return structureHeldBy(member.getListModel().getListMemberModel());
+        } else if (member.isMap()) {
+            return structureHeldBy(member.getMapModel().getValueModel());
+        }
+        return member.isSimple() ? null : member;
+    }
+}
@@ -0,0 +1,114 @@
+<#-- Whether the member is written to the implicit request object, rather than a header, the URI or an explicit payload. -->
+<#function isImplicitPayloadMember member>
+    <#return member.http.marshallLocation == "PAYLOAD" && !member.http.isPayload && !member.isBinary>
+</#function>
+
+<#-- Name of the static field holding the member's pre-encoded field name. -->
+<#macro fieldName member>${member.marshallerBindingFieldName?remove_ending("_BINDING")}_FIELD_NAME</#macro>
+
+<#macro field member>
+    private static final SerializableString <@fieldName member/> = new SerializedString("${member.http.marshallLocationName}");
+</#macro>
+
+<#macro type member>
+    <#compress>
+    <#if member.simple>
+        ${member.variable.variableType}
+    <#elseif member.list>
+        java.util.List<${member.listModel.memberType}>
+    <#elseif member.map>
+        java.util.Map<${member.mapModel.keyType}, ${member.mapModel.valueType}>
+    <#else>
+        ${member.variable.simpleType}
+    </#if>
+    </#compress>
+</#macro>
+
+<#-- Writes the member as a field of the object being written, if it has a value. -->
+<#macro content shapes member getter>
+    <#local valueVariable = member.variable.variableName + "Value"/>
+    <#if member.idempotencyToken>
+    <@type member/> ${valueVariable} = ${getter} != null ? ${getter} : ${member.marshallerBindingFieldName}.defaultValueSupplier().get();
+    <#else>
+    <@type member/> ${valueVariable} = ${getter};
+    </#if>
+    if (${valueVariable} != null) {
+        jsonGenerator.writeFieldName(<@fieldName member/>);
+        <@value shapes member valueVariable 0/>
+    }
+</#macro>
+
+<#-- Writes a non-null value. Nulls in lists are written as JSON nulls and map entries with null values are left out. -->
+<#macro value shapes member expression depth>
+    <#if member.simple>
+        <@simpleValue member.variable.simpleType expression/>
+    <#elseif member.list>
+        <#local element = "element" + depth/>
+        jsonGenerator.writeStartArray();
+        for (${member.listModel.memberType} ${element} : ${expression}) {
+            if (${element} == null) {
+                jsonGenerator.writeNull();
+            } else {
+            <#if member.listModel.listMemberModel?has_content>
+                <#-- recursion -->
+                <@value shapes member.listModel.listMemberModel element depth + 1/>
+            <#else>
+                <@simpleValue member.listModel.simpleType element/>
+            </#if>
+            }
+        }
+        jsonGenerator.writeEndArray();
+    <#elseif member.map>
+        <#local entry = "entry" + depth/>
+        jsonGenerator.writeStartObject();
+        for (java.util.Map.Entry<${member.mapModel.keyType}, ${member.mapModel.valueType}> ${entry} : ${expression}.entrySet()) {
+            if (${entry}.getValue() != null) {
+                jsonGenerator.writeFieldName(${entry}.getKey());
+            <#if member.mapModel.valueModel?has_content>
+                <#-- recursion -->
+                <@value shapes member.mapModel.valueModel entry + ".getValue()" depth + 1/>
+            <#else>
+                <@simpleValue member.mapModel.valueType?keep_after_last(".") entry + ".getValue()"/>
+            </#if>
+            }
+        }
+        jsonGenerator.writeEndObject();
+    <#else>
+        <#local shapeName = member.variable.simpleType/>
+        jsonGenerator.writeStartObject();
+        <#if tableDrivenMarshalling && shapes[shapeName].type == "Model">
+        TableDrivenMarshaller.writeFields(jsonGenerator, ${expression});
+        <#else>
+        ${shapeName}<#if shapes[shapeName].type == "Request">Model</#if>Marshaller.getInstance().marshallPayload(${expression}, jsonGenerator);
+        </#if>
+        jsonGenerator.writeEndObject();
+    </#if>
+</#macro>
+
+<#macro simpleValue type expression>
+    <#switch type?keep_after_last(".")?has_content?then(type?keep_after_last("."), type)>
+        <#case "String">
+        jsonGenerator.writeString(${expression});
+            <#break>
+        <#case "Integer">
+        <#case "Long">
+        <#case "Float">
+        <#case "Double">
+        jsonGenerator.writeNumber(${expression});
+            <#break>
+        <#case "Boolean">
+        jsonGenerator.writeBoolean(${expression});
+            <#break>
+        <#case "Instant">
+        DirectJsonMarshalling.writeInstant(jsonGenerator, ${expression});
+            <#break>
+        <#case "BigDecimal">
+        DirectJsonMarshalling.writeBigDecimal(jsonGenerator, ${expression});
+            <#break>
+        <#case "ByteBuffer">
+        DirectJsonMarshalling.writeBinary(jsonGenerator, ${expression});
+            <#break>
+        <#default>
+            <#stop "Payload members of type ${type} can't be written directly">
+    </#switch>
+</#macro>
@@ -1,28 +1,85 @@
-<#macro content shapeVarName memberModel >
-
-<#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
-<#if memberModel.http.additionalUnmarshallingPath?has_content>
-    <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
-</#if>
+<#-- The unmarshalling path of the element holding the member's value, or of the list wrapper for non-flattened lists -->
+<#function locationPath memberModel>
+    <#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
+    <#if memberModel.http.additionalUnmarshallingPath?has_content>
+        <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
+    </#if>
+    <#return unmarshallerLocationName>
+</#function>
 
-<#if memberModel.list>
+<#function listMemberPath memberModel>
     <#if memberModel.http.flattened>
-        <#local listMemberPath = memberModel.listModel.memberLocationName!memberModel.http.unmarshallLocationName!memberModel.name />
+        <#local path = memberModel.listModel.memberLocationName!memberModel.http.unmarshallLocationName!memberModel.name />
     <#else>
-        <#local listMemberPath = unmarshallerLocationName + "/" + memberModel.listModel.memberLocationName!"member" />
+        <#local path = locationPath(memberModel) + "/" + memberModel.listModel.memberLocationName!"member" />
     </#if>
-
     <#if memberModel.listModel.memberAdditionalUnmarshallingPath?has_content>
-        <#local listMemberPath = listMemberPath + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
+        <#local path = path + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
+    </#if>
+    <#return path>
+</#function>
+
+<#function mapEntryPath memberModel>
+    <#if memberModel.http.flattened>
+        <#return locationPath(memberModel)>
+    </#if>
+    <#return locationPath(memberModel) + "/entry">
+</#function>
+
+<#-- The local name of the element or attribute an expression ends with -->
+<#function localName expression>
+    <#local name = expression>
+    <#if name?contains("/")>
+        <#local name = name?keep_after_last("/")>
+    </#if>
+    <#return name?remove_beginning("@")>
+</#function>
+
+<#-- Every path the member is unmarshalled from, in the order they are tested -->
+<#function expressions memberModel>
+    <#if memberModel.list>
+        <#if memberModel.http.flattened>
+            <#return [listMemberPath(memberModel)]>
+        </#if>
+        <#return [locationPath(memberModel), listMemberPath(memberModel)]>
+    <#elseif memberModel.map>
+        <#if memberModel.http.location?? && memberModel.http.location == "headers">
+            <#return []>
+        </#if>
+        <#return [mapEntryPath(memberModel)]>
     </#if>
+    <#return [locationPath(memberModel)]>
+</#function>
+
+<#-- The distinct local names the members are unmarshalled from, used as the cases of the generated switch -->
+<#function localNames memberModels>
+    <#local names = []>
+    <#list memberModels as memberModel>
+        <#list expressions(memberModel) as expression>
+            <#if !names?seq_contains(localName(expression))>
+                <#local names = names + [localName(expression)]>
+            </#if>
+        </#list>
+    </#list>
+    <#return names>
+</#function>
 
-            <#if !memberModel.http.flattened>
+<#-- Emits the tests for the member's paths that end with the given local name -->
+<#macro content shapeVarName memberModel caseName >
+
+<#local unmarshallerLocationName = locationPath(memberModel) />
+
+<#if memberModel.list>
+    <#local listMemberPath = listMemberPath(memberModel) />
+
+            <#if !memberModel.http.flattened && localName(unmarshallerLocationName) == caseName>
                 if (context.testExpression("${unmarshallerLocationName}", targetDepth)) {
                     ${memberModel.variable.variableName} = new ArrayList<${memberModel.listModel.memberType}>();
                     continue;
                 }
             </#if>
 
+            <#if localName(listMemberPath) == caseName>
                 if (context.testExpression("${listMemberPath}", targetDepth)) {
                     <#if memberModel.http.flattened>
                         if (${memberModel.variable.variableName} == null) {
@@ -32,13 +89,11 @@
                     ${memberModel.variable.variableName}.add(${memberModel.listModel.simpleType}Unmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
+            </#if>
 
 <#elseif memberModel.map && (!memberModel.http.location?? || memberModel.http.location != "headers")>
-    <#local mapEntryPath = unmarshallerLocationName />
-
-    <#if !memberModel.http.flattened>
-        <#local mapEntryPath = "${unmarshallerLocationName}/entry" />
-    </#if>
+    <#local mapEntryPath = mapEntryPath(memberModel) />
+    <#if localName(mapEntryPath) == caseName>
                 if (context.testExpression("${mapEntryPath}", targetDepth)) {
                     if (${memberModel.variable.variableName} == null) {
                         ${memberModel.variable.variableName} = new java.util.HashMap<>();
@@ -49,8 +104,9 @@
                     ${memberModel.variable.variableName}.put(entry.getKey(), entry.getValue());
                     continue;
                 }
+    </#if>
 
-<#elseif !memberModel.map>
+<#elseif !memberModel.map && localName(unmarshallerLocationName) == caseName>
                 if (context.testExpression("${unmarshallerLocationName}", targetDepth)) {
                     ${shapeVarName}.${memberModel.fluentSetterMethodName}(${memberModel.variable.simpleType}Unmarshaller.getInstance().unmarshall(context));
                     continue;
@@ -27,3 +27,75 @@
         ${memberModel.variable.simpleType}Unmarshaller.getInstance()
     </#if>
 </#macro>
+
+<#-- Name of the static field holding the member's unmarshaller, declared with the field macro. -->
+<#macro fieldName memberModel >${memberModel.variable.variableName?replace("([a-z0-9])([A-Z])", "$1_$2", "r")?upper_case}_UNMARSHALLER</#macro>
+
+<#-- Static field holding the member's unmarshaller, so it isn't created or looked up each time the member is read. -->
+<#macro field memberModel >
+    private static final Unmarshaller<<@type memberModel />, JsonUnmarshallerContext> <@fieldName memberModel /> = <@staticInstance memberModel />;
+</#macro>
+
+<#-- Name of the local holding the context's unmarshaller for a simple type member, declared with simpleTypeLocals. -->
+<#macro simpleTypeLocalName memberModel >${memberModel.variable.variableType?split(".")?last?uncap_first}Unmarshaller</#macro>
+
+<#-- Locals holding the context's unmarshaller for each simple type the members are read as. JSON, CBOR and Ion read simple
+types differently, so they're looked up in the context, but only when a field of the type is first read, and then only once
+for each object rather than for each field. -->
+<#macro simpleTypeLocals members >
+    <#local types = [] />
+    <#list members as memberModel>
+        <#if memberModel.simple && !types?seq_contains(memberModel.variable.variableType)>
+            <#local types = types + [memberModel.variable.variableType] />
+    Unmarshaller<${memberModel.variable.variableType}, JsonUnmarshallerContext> <@simpleTypeLocalName memberModel /> = null;
+        </#if>
+    </#list>
+</#macro>
+
+<#macro type memberModel >
+    <#compress>
+    <#if memberModel.simple>
+        ${memberModel.variable.variableType}
+    <#elseif memberModel.list >
+        java.util.List<${memberModel.listModel.memberType}>
+    <#elseif memberModel.map >
+        java.util.Map<${memberModel.mapModel.keyType}, ${memberModel.mapModel.valueType}>
+    <#else>
+        ${memberModel.variable.simpleType}
+    </#if>
+    </#compress>
+</#macro>
+
+<#-- Like content, but only resolves the unmarshaller for a simple type or structure when the member is read. -->
+<#macro staticInstance memberModel >
+    <#if memberModel.simple>
+        ContextUnmarshaller.of(${memberModel.variable.variableType}.class)
+    <#elseif memberModel.list >
+        <#if memberModel.listModel.listMemberModel?has_content >
+            <#local memberUnmarshaller >
+                <#-- recursion -->
+                <@staticInstance memberModel.listModel.listMemberModel />
+            </#local>
+        <#else>
+            <#local memberUnmarshaller = "ContextUnmarshaller.of(${memberModel.listModel.simpleType}.class)" />
+        </#if>
+        new ListUnmarshaller<${memberModel.listModel.memberType}>(${memberUnmarshaller})
+    <#elseif memberModel.map >
+        <#local keyUnmarshaller = "ContextUnmarshaller.of(${memberModel.mapModel.keyType}.class)" />
+        <#if memberModel.mapModel.valueModel?has_content >
+            <#local valueUnmarshaller >
+                <#-- recursion -->
+                <@staticInstance memberModel.mapModel.valueModel />
+            </#local>
+        <#else>
+            <#local valueUnmarshaller = "ContextUnmarshaller.of(${memberModel.mapModel.valueType}.class)" />
+        </#if>
+        new MapUnmarshaller<${memberModel.mapModel.keyType}, ${memberModel.mapModel.valueType}>(${keyUnmarshaller}, ${valueUnmarshaller})
+    <#elseif tableDrivenMarshalling>
+        <#-- Model shapes have no unmarshaller of their own, they're read from their field table. -->
+        ctx -> TableDrivenJsonUnmarshaller.unmarshall((TableDrivenBuilder) ${memberModel.variable.simpleType}.builder(), ctx)
+    <#else>
+        <#-- Deferred, so that shapes which refer to each other don't initialize each other's classes. -->
+        ctx -> ${memberModel.variable.simpleType}Unmarshaller.getInstance().unmarshall(ctx)
+    </#if>
+</#macro>
@@ -1,6 +1,12 @@
+<#-- Body of the case that reads the member once the parser is on its field name. -->
 <#macro content shapeVarName memberModel >
-if (context.testExpression("${memberModel.http.unmarshallLocationName}", targetDepth)) {
     context.nextToken();
-    ${shapeVarName}Builder.${memberModel.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.content memberModel />.unmarshall(context));
-}
+    <#if memberModel.simple>
+    if (<@MemberUnmarshallerDeclarationMacro.simpleTypeLocalName memberModel /> == null) {
+        <@MemberUnmarshallerDeclarationMacro.simpleTypeLocalName memberModel /> = context.getUnmarshaller(${memberModel.variable.variableType}.class);
+    }
+    ${shapeVarName}Builder.${memberModel.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.simpleTypeLocalName memberModel />.unmarshall(context));
+    <#else>
+    ${shapeVarName}Builder.${memberModel.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.fieldName memberModel />.unmarshall(context));
+    </#if>
 </#macro>
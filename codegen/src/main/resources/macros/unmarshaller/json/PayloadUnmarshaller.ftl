@@ -12,6 +12,18 @@
         return null;
     </#if>
     }
+<#if !shape.hasPayloadMember>
+    <#-- A field's value can only be read once, so it goes to the first member bound to it. -->
+    <#local locationNames = [] />
+    <#local dispatchedMembers = [] />
+    <#list shape.unboundMembers as payloadMember>
+        <#if !locationNames?seq_contains(payloadMember.http.unmarshallLocationName)>
+            <#local locationNames = locationNames + [payloadMember.http.unmarshallLocationName] />
+            <#local dispatchedMembers = dispatchedMembers + [payloadMember] />
+        </#if>
+    </#list>
+    <@MemberUnmarshallerDeclarationMacro.simpleTypeLocals dispatchedMembers />
+</#if>
 
     while (true) {
         if (token == null) break;
@@ -19,15 +31,24 @@
         <#-- When the payload is explicitly set to a member the entire payload is the serialized
         content of that member-->
         <#if shape.hasPayloadMember>
-            ${shape.variable.variableName}Builder.${shape.payloadMember.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.content shape.payloadMember/>.unmarshall(context));
+            ${shape.variable.variableName}Builder.${shape.payloadMember.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.fieldName shape.payloadMember/>.unmarshall(context));
         <#-- When the payload is not explicitly set then every member which doesn't appear in the
         Headers or the status code will be serialized in the payload response (wrapped in an
-        artificial container object) -->
+        artificial container object). Members are dispatched on the field name, which only
+        costs a string switch per field rather than a comparison per member. Contexts that don't
+        report field names have no members to match. -->
         <#else>
-            if (token == FIELD_NAME || token == START_OBJECT) {
-                <#list shape.unboundMembers as payloadMember>
-                    <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
+            String fieldName = token == FIELD_NAME && context.getCurrentDepth() == targetDepth ? context.getCurrentFieldName() : null;
+            if (fieldName != null) {
+                switch (fieldName) {
+                <#list dispatchedMembers as payloadMember>
+                    case "${payloadMember.http.unmarshallLocationName}":
+                        <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
+                        break;
                 </#list>
+                    default:
+                        break;
+                }
             } else if (token == END_ARRAY || token == END_OBJECT) {
                 if (context.getLastParsedParentElement() == null || context.getLastParsedParentElement().equals(currentParentElement)) {
                     if (context.getCurrentDepth() <= originalDepth) break;
@@ -10,6 +10,10 @@ import javax.annotation.Generated;
 import ${metadata.fullModelPackageName}.*;
 import software.amazon.awssdk.core.runtime.transform.SimpleTypeJsonUnmarshallers.*;
 import software.amazon.awssdk.core.runtime.transform.*;
+<#if tableDrivenMarshalling>
+import software.amazon.awssdk.core.protocol.table.TableDrivenBuilder;
+import software.amazon.awssdk.core.protocol.table.TableDrivenJsonUnmarshaller;
+</#if>
 
 import com.fasterxml.jackson.core.JsonToken;
 import static com.fasterxml.jackson.core.JsonToken.*;
@@ -20,6 +24,19 @@ import static com.fasterxml.jackson.core.JsonToken.*;
 @Generated("software.amazon.awssdk:aws-java-sdk-code-generator")
 public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shapeName}, JsonUnmarshallerContext> {
 
+<#if shape.hasPayloadMember>
+    <#if !shape.payloadMember.http.isStreaming && shape.payloadMember.variable.variableType != "java.nio.ByteBuffer">
+    <@MemberUnmarshallerDeclarationMacro.field shape.payloadMember />
+    </#if>
+<#elseif shape.unboundMembers?has_content>
+    <#list shape.unboundMembers as payloadMember>
+        <#-- Simple type members are read with the unmarshaller the context has for their type. -->
+        <#if !payloadMember.simple>
+    <@MemberUnmarshallerDeclarationMacro.field payloadMember />
+        </#if>
+    </#list>
+</#if>
+
     public ${shape.shapeName} unmarshall(JsonUnmarshallerContext context) throws Exception {
         ${shape.shapeName}.Builder ${shape.variable.variableName}Builder = ${shape.shapeName}.builder();
 
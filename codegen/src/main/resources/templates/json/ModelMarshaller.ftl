@@ -7,6 +7,10 @@
 ${fileHeader}
 package ${transformPackage};
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
 import java.util.Map;
 import java.util.List;
 import javax.annotation.Generated;
@@ -19,6 +23,10 @@ import software.amazon.awssdk.core.util.StringUtils;
 import software.amazon.awssdk.core.util.IdempotentUtils;
 import software.amazon.awssdk.core.util.StringInputStream;
 import software.amazon.awssdk.core.protocol.*;
+import software.amazon.awssdk.core.protocol.json.DirectJsonMarshalling;
+<#if tableDrivenMarshalling>
+import software.amazon.awssdk.core.protocol.table.TableDrivenMarshaller;
+</#if>
 import software.amazon.awssdk.annotations.SdkInternalApi;
 
 /**
@@ -43,6 +51,11 @@ public class ${className} {
                  <@DefaultValueSupplierMacro.content member />
                  .build();
         </#list>
+        <#list shape.nonStreamingMembers as member>
+            <#if PayloadMemberMarshallerMacro.isImplicitPayloadMember(member)>
+            <@PayloadMemberMarshallerMacro.field member/>
+            </#if>
+        </#list>
     </#if>
 
     private static final ${className} INSTANCE = new ${className}();
@@ -62,6 +75,17 @@ public class ${className} {
 
         try {
             <#if shape.nonStreamingMembers??>
+            JsonGenerator jsonGenerator = DirectJsonMarshalling.generatorFor(protocolMarshaller);
+            if (jsonGenerator != null) {
+                <#list shape.nonStreamingMembers as member>
+                    <#if !PayloadMemberMarshallerMacro.isImplicitPayloadMember(member)>
+                protocolMarshaller.marshall(${shape.variable.variableName}.${member.fluentGetterMethodName}(), ${member.marshallerBindingFieldName});
+                    </#if>
+                </#list>
+                marshallPayload(${shape.variable.variableName}, jsonGenerator);
+                return;
+            }
+
                 <#list shape.nonStreamingMembers as member>
                 <#assign getter = shape.variable.variableName + "." + member.fluentGetterMethodName + "()" />
 
@@ -75,6 +99,19 @@ public class ${className} {
         }
     }
 
+    /**
+     * Write the members bound to the payload straight to the generator, as fields of the object being written.
+     */
+    public void marshallPayload(${shapeName} ${shape.variable.variableName}, JsonGenerator jsonGenerator) throws IOException {
+        <#if shape.nonStreamingMembers??>
+            <#list shape.nonStreamingMembers as member>
+                <#if PayloadMemberMarshallerMacro.isImplicitPayloadMember(member)>
+        <@PayloadMemberMarshallerMacro.content shapes member shape.variable.variableName + "." + member.fluentGetterMethodName + "()"/>
+                </#if>
+            </#list>
+        </#if>
+    }
+
     <@RequiredParameterValidationFunctionMacro.content customConfig shape/>
 }
 
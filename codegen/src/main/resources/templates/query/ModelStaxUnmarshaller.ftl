@@ -6,7 +6,7 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 import javax.annotation.Generated;
 
 import ${metadata.fullModelPackageName}.*;
@@ -124,8 +124,8 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
 </#list>
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int xmlEvent = context.next();
+            if (xmlEvent == XMLStreamConstants.END_DOCUMENT) {
             <#-- Set any map members we filled during unmarshalling -->
 <#list shape.members as memberModel>
     <#if memberModel.map || memberModel.list>
@@ -135,7 +135,7 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
                 break;
             }
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (xmlEvent == XMLStreamConstants.ATTRIBUTE || xmlEvent == XMLStreamConstants.START_ELEMENT) {
 
 <#if shape.members?has_content>
   <#if shape.customization.artificialResultWrapper?has_content>
@@ -147,14 +147,27 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
                     );
                 continue;
   <#else>
+    <#assign payloadMembers = [] />
     <#list shape.members as memberModel>
         <#if !memberModel.http.isHeader() && !memberModel.http.isStatusCode() >
-            <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName memberModel />
+            <#assign payloadMembers = payloadMembers + [memberModel] />
         </#if>
     </#list>
+    <#-- Only the tests for members whose path ends with the current element (or attribute) need to run -->
+                switch (context.getCurrentLocalName()) {
+    <#list MemberUnmarshallerInvocationMacro.localNames(payloadMembers) as caseName>
+                case "${caseName}":
+        <#list payloadMembers as memberModel>
+            <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName memberModel caseName />
+        </#list>
+                    break;
+    </#list>
+                default:
+                    break;
+                }
   </#if>
 </#if>
-            } else if (xmlEvent.isEndElement()) {
+            } else if (xmlEvent == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
 <#list shape.members as memberModel>
     <#if memberModel.map || memberModel.list>
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.emitters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalToIgnoringWhiteSpace;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.ComparisonFailure;
+import org.junit.Test;
+import software.amazon.awssdk.codegen.C2jModels;
+import software.amazon.awssdk.codegen.IntermediateModelBuilder;
+import software.amazon.awssdk.codegen.internal.Freemarker;
+import software.amazon.awssdk.codegen.model.config.customization.CustomizationConfig;
+import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
+import software.amazon.awssdk.codegen.model.service.ServiceModel;
+import software.amazon.awssdk.codegen.utils.ModelLoaderUtils;
+import software.amazon.awssdk.core.util.ImmutableMapParameter;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Compares the unmarshallers generated for the shapes of a JSON protocol test model with the expected output.
+ */
+public class JsonModelUnmarshallerTemplateTest {
+
+    private static final CodeTransformer FORMATTER = CodeTransformer.chain(new UnusedImportRemover(),
+                                                                           new JavaCodeFormatter());
+
+    private static IntermediateModel model;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        File serviceModel = new File(resource("unmarshaller/json/service-2.json"));
+        File customizationModel = new File(resource("unmarshaller/json/customization.config"));
+        C2jModels models = C2jModels.builder()
+                                    .serviceModel(ModelLoaderUtils.loadModel(ServiceModel.class, serviceModel))
+                                    .customizationConfig(ModelLoaderUtils.loadModel(CustomizationConfig.class,
+                                                                                    customizationModel))
+                                    .build();
+        model = new IntermediateModelBuilder(models).build();
+    }
+
+    @Test
+    public void membersAreDispatchedOnTheFieldName() throws Exception {
+        assertGeneratesTo("GetThingResponse", "unmarshaller/json/getthingresponseunmarshaller.java");
+    }
+
+    @Test
+    public void fieldSharedByTwoMembersIsReadIntoTheFirst() throws Exception {
+        assertGeneratesTo("Thing", "unmarshaller/json/thingunmarshaller.java");
+    }
+
+    private static void assertGeneratesTo(String shapeName, String expectedFile) throws Exception {
+        StringWriter writer = new StringWriter();
+        Map<String, Object> dataModel = ImmutableMapParameter.<String, Object>builder()
+                .put("fileHeader", model.getFileHeader())
+                .put("shape", model.getShapes().get(shapeName))
+                .put("metadata", model.getMetadata())
+                .put("transformPackage", model.getMetadata().getFullTransformPackageName())
+                .put("exceptionUnmarshallerImpl", model.getExceptionUnmarshallerImpl())
+                .put("tableDrivenMarshalling", model.isTableDrivenMarshalling())
+                .build();
+        new FreemarkerGeneratorTask(writer, Freemarker.create(model).getModelUnmarshallerTemplate(), dataModel).execute();
+
+        String actual = withoutFileHeader(FORMATTER.apply(writer.toString()));
+        String expected = withoutFileHeader(
+                FORMATTER.apply(IoUtils.toString(JsonModelUnmarshallerTemplateTest.class.getResourceAsStream(expectedFile))));
+        try {
+            assertThat(actual, equalToIgnoringWhiteSpace(expected));
+        } catch (AssertionError e) {
+            throw new ComparisonFailure("Unmarshaller does not match [test-file: " + expectedFile + "]", expected, actual);
+        }
+    }
+
+    private static String withoutFileHeader(String source) {
+        return source.substring(source.indexOf("package"));
+    }
+
+    private static String resource(String name) {
+        return JsonModelUnmarshallerTemplateTest.class.getResource(name).getFile();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.poet.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static software.amazon.awssdk.codegen.poet.PoetMatchers.generatesTo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import software.amazon.awssdk.codegen.C2jModels;
+import software.amazon.awssdk.codegen.IntermediateModelBuilder;
+import software.amazon.awssdk.codegen.model.config.customization.CustomizationConfig;
+import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
+import software.amazon.awssdk.codegen.model.service.ServiceModel;
+import software.amazon.awssdk.codegen.utils.ModelLoaderUtils;
+
+/**
+ * Model classes generated with table-driven marshalling enabled.
+ */
+public class TableDrivenModelSpecTest {
+    private static IntermediateModel intermediateModel;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        File serviceModelFile = new File(TableDrivenModelSpecTest.class.getResource("service-2.json").getFile());
+        File customizationConfigFile = new File(TableDrivenModelSpecTest.class.getResource("tabledriven/customization.config")
+                                                                              .getFile());
+
+        intermediateModel = new IntermediateModelBuilder(
+            C2jModels.builder()
+                     .serviceModel(ModelLoaderUtils.loadModel(ServiceModel.class, serviceModelFile))
+                     .customizationConfig(ModelLoaderUtils.loadModel(CustomizationConfig.class, customizationConfigFile))
+                     .build())
+            .build();
+    }
+
+    @Test
+    public void modelShape_HasFieldTable() {
+        assertGeneratesTo("RecursiveStructType");
+    }
+
+    @Test
+    public void modelShapeWithoutStructures_HasNoFieldBuilders() {
+        assertGeneratesTo("StructWithTimestamp");
+    }
+
+    @Test
+    public void requestShape_IsUnchanged() {
+        assertThat(new AwsServiceModel(intermediateModel, intermediateModel.getShapes().get("NestedContainersRequest")),
+                   generatesTo("nestedcontainersrequest.java"));
+    }
+
+    private static void assertGeneratesTo(String shapeName) {
+        assertThat(new AwsServiceModel(intermediateModel, intermediateModel.getShapes().get(shapeName)),
+                   generatesTo("tabledriven/" + shapeName.toLowerCase(Locale.ENGLISH) + ".java"));
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.awssdk.services.json.transform;
+
+import java.util.Map;
+
+import java.math.*;
+
+import javax.annotation.Generated;
+
+import software.amazon.awssdk.services.json.model.*;
+import software.amazon.awssdk.core.runtime.transform.SimpleTypeJsonUnmarshallers.*;
+import software.amazon.awssdk.core.runtime.transform.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+/**
+ * GetThingResponse JSON Unmarshaller
+ */
+@Generated("software.amazon.awssdk:aws-java-sdk-code-generator")
+public class GetThingResponseUnmarshaller implements Unmarshaller<GetThingResponse, JsonUnmarshallerContext> {
+
+    private static final Unmarshaller<java.util.List<String>, JsonUnmarshallerContext> TAGS_UNMARSHALLER = new ListUnmarshaller<String>(
+            ContextUnmarshaller.of(String.class));
+    private static final Unmarshaller<java.util.Map<String, String>, JsonUnmarshallerContext> ATTRIBUTES_UNMARSHALLER = new MapUnmarshaller<String, String>(
+            ContextUnmarshaller.of(String.class), ContextUnmarshaller.of(String.class));
+    private static final Unmarshaller<Thing, JsonUnmarshallerContext> THING_UNMARSHALLER = ctx -> ThingUnmarshaller.getInstance()
+            .unmarshall(ctx);
+
+    public GetThingResponse unmarshall(JsonUnmarshallerContext context) throws Exception {
+        GetThingResponse.Builder getThingResponseBuilder = GetThingResponse.builder();
+
+        int originalDepth = context.getCurrentDepth();
+        String currentParentElement = context.getCurrentParentElement();
+        int targetDepth = originalDepth + 1;
+
+        JsonToken token = context.getCurrentToken();
+        if (token == null)
+            token = context.nextToken();
+        if (token == VALUE_NULL) {
+            return getThingResponseBuilder.build();
+        }
+        Unmarshaller<String, JsonUnmarshallerContext> stringUnmarshaller = null;
+        Unmarshaller<Integer, JsonUnmarshallerContext> integerUnmarshaller = null;
+        Unmarshaller<java.time.Instant, JsonUnmarshallerContext> instantUnmarshaller = null;
+
+        while (true) {
+            if (token == null)
+                break;
+
+            String fieldName = token == FIELD_NAME && context.getCurrentDepth() == targetDepth ? context.getCurrentFieldName()
+                    : null;
+            if (fieldName != null) {
+                switch (fieldName) {
+                case "Name":
+                    context.nextToken();
+                    if (stringUnmarshaller == null) {
+                        stringUnmarshaller = context.getUnmarshaller(String.class);
+                    }
+                    getThingResponseBuilder.name(stringUnmarshaller.unmarshall(context));
+                    break;
+                case "Description":
+                    context.nextToken();
+                    if (stringUnmarshaller == null) {
+                        stringUnmarshaller = context.getUnmarshaller(String.class);
+                    }
+                    getThingResponseBuilder.description(stringUnmarshaller.unmarshall(context));
+                    break;
+                case "Count":
+                    context.nextToken();
+                    if (integerUnmarshaller == null) {
+                        integerUnmarshaller = context.getUnmarshaller(Integer.class);
+                    }
+                    getThingResponseBuilder.count(integerUnmarshaller.unmarshall(context));
+                    break;
+                case "CreatedAt":
+                    context.nextToken();
+                    if (instantUnmarshaller == null) {
+                        instantUnmarshaller = context.getUnmarshaller(java.time.Instant.class);
+                    }
+                    getThingResponseBuilder.createdAt(instantUnmarshaller.unmarshall(context));
+                    break;
+                case "Tags":
+                    context.nextToken();
+                    getThingResponseBuilder.tags(TAGS_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Attributes":
+                    context.nextToken();
+                    getThingResponseBuilder.attributes(ATTRIBUTES_UNMARSHALLER.unmarshall(context));
+                    break;
+                case "Thing":
+                    context.nextToken();
+                    getThingResponseBuilder.thing(THING_UNMARSHALLER.unmarshall(context));
+                    break;
+                default:
+                    break;
+                }
+            } else if (token == END_ARRAY || token == END_OBJECT) {
+                if (context.getLastParsedParentElement() == null
+                        || context.getLastParsedParentElement().equals(currentParentElement)) {
+                    if (context.getCurrentDepth() <= originalDepth)
+                        break;
+                }
+            }
+            token = context.nextToken();
+        }
+
+        return getThingResponseBuilder.build();
+    }
+
+    private static final GetThingResponseUnmarshaller INSTANCE = new GetThingResponseUnmarshaller();
+
+    public static GetThingResponseUnmarshaller getInstance() {
+        return INSTANCE;
+    }
+}
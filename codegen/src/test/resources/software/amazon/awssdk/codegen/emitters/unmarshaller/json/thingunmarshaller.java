@@ -0,0 +1,79 @@
+package software.amazon.awssdk.services.json.transform;
+
+import java.math.*;
+
+import javax.annotation.Generated;
+
+import software.amazon.awssdk.services.json.model.*;
+import software.amazon.awssdk.core.runtime.transform.SimpleTypeJsonUnmarshallers.*;
+import software.amazon.awssdk.core.runtime.transform.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+/**
+ * Thing JSON Unmarshaller
+ */
+@Generated("software.amazon.awssdk:aws-java-sdk-code-generator")
+public class ThingUnmarshaller implements Unmarshaller<Thing, JsonUnmarshallerContext> {
+
+    public Thing unmarshall(JsonUnmarshallerContext context) throws Exception {
+        Thing.Builder thingBuilder = Thing.builder();
+
+        int originalDepth = context.getCurrentDepth();
+        String currentParentElement = context.getCurrentParentElement();
+        int targetDepth = originalDepth + 1;
+
+        JsonToken token = context.getCurrentToken();
+        if (token == null)
+            token = context.nextToken();
+        if (token == VALUE_NULL) {
+            return null;
+        }
+        Unmarshaller<String, JsonUnmarshallerContext> stringUnmarshaller = null;
+        Unmarshaller<Long, JsonUnmarshallerContext> longUnmarshaller = null;
+
+        while (true) {
+            if (token == null)
+                break;
+
+            String fieldName = token == FIELD_NAME && context.getCurrentDepth() == targetDepth ? context.getCurrentFieldName()
+                    : null;
+            if (fieldName != null) {
+                switch (fieldName) {
+                case "id":
+                    context.nextToken();
+                    if (stringUnmarshaller == null) {
+                        stringUnmarshaller = context.getUnmarshaller(String.class);
+                    }
+                    thingBuilder.id(stringUnmarshaller.unmarshall(context));
+                    break;
+                case "size":
+                    context.nextToken();
+                    if (longUnmarshaller == null) {
+                        longUnmarshaller = context.getUnmarshaller(Long.class);
+                    }
+                    thingBuilder.size(longUnmarshaller.unmarshall(context));
+                    break;
+                default:
+                    break;
+                }
+            } else if (token == END_ARRAY || token == END_OBJECT) {
+                if (context.getLastParsedParentElement() == null
+                        || context.getLastParsedParentElement().equals(currentParentElement)) {
+                    if (context.getCurrentDepth() <= originalDepth)
+                        break;
+                }
+            }
+            token = context.nextToken();
+        }
+
+        return thingBuilder.build();
+    }
+
+    private static final ThingUnmarshaller INSTANCE = new ThingUnmarshaller();
+
+    public static ThingUnmarshaller getInstance() {
+        return INSTANCE;
+    }
+}
@@ -144,7 +144,14 @@ public enum AwsSystemSetting implements SystemSetting {
      * Whether binary ION representation optimization should automatically be used if the service supports ION.
      */
     @ReviewBeforeRelease("This shouldn't be AWS-branded if ION is a core SDK feature.")
-    AWS_BINARY_ION_ENABLED("aws.binaryIonEnabled", "true");
+    AWS_BINARY_ION_ENABLED("aws.binaryIonEnabled", "true"),
+
+    /**
+     * The maximum number of SigV4 signing keys to keep in the JVM-wide signing key cache. One key is cached per credentials,
+     * region and service, so applications that sign requests for many different credentials (like multi-tenant services)
+     * may want to raise this to avoid re-deriving keys.
+     */
+    AWS_SIGNING_KEY_CACHE_SIZE("aws.signingKeyCacheSize", "300");
 
     private final String systemProperty;
     private final String defaultValue;
@@ -35,6 +35,7 @@ public final class RequestExecutionContext {
     private final ExecutionContext executionContext;
 
     private ClientExecutionAbortTrackerTask clientExecutionTrackerTask;
+    private SdkHttpRequestProvider signedRequestProvider;
 
     private RequestExecutionContext(Builder builder) {
         this.requestProvider = builder.requestProvider;
@@ -53,6 +54,21 @@ public final class RequestExecutionContext {
         return requestProvider;
     }
 
+    /**
+     * @return The request content to send for the current attempt. This is the {@link #requestProvider()}, unless it was
+     * wrapped by an {@link software.amazon.awssdk.core.auth.AsyncPayloadSigner} when the request was signed.
+     */
+    public SdkHttpRequestProvider signedRequestProvider() {
+        return signedRequestProvider == null ? requestProvider : signedRequestProvider;
+    }
+
+    /**
+     * Sets the request content to send for the current attempt. Should be called each time the request is signed.
+     */
+    public void signedRequestProvider(SdkHttpRequestProvider signedRequestProvider) {
+        this.signedRequestProvider = signedRequestProvider;
+    }
+
     /**
      * @return Request level configuration.
      */
@@ -15,13 +15,16 @@
 
 package software.amazon.awssdk.core.async;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * Interface to allow non-blocking streaming of request content. This follows the reactive streams pattern where
@@ -48,7 +51,8 @@ import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 public interface AsyncRequestProvider extends Publisher<ByteBuffer> {
 
     /**
-     * @return The content length of the data being produced.
+     * @return The content length of the data being produced, or -1 if it isn't known until all of it has been produced, in
+     *     which case the request is sent with chunked transfer encoding.
      */
     long contentLength();
 
@@ -64,6 +68,65 @@ public interface AsyncRequestProvider extends Publisher<ByteBuffer> {
         return FileAsyncRequestProvider.builder().path(path).build();
     }
 
+    /**
+     * Creates an {@link AsyncRequestProvider} that reads the given number of bytes from an {@link InputStream} on the given
+     * executor. See {@link InputStreamAsyncRequestProvider#builder} to create a customized provider implementation.
+     *
+     * @param inputStream   Stream to read from. It's closed once it has been read, or if the request fails.
+     * @param contentLength Number of bytes to read from the stream.
+     * @param executor      Executor to do the blocking reads on.
+     * @return Implementation of {@link AsyncRequestProvider} that reads data from the specified stream.
+     * @see InputStreamAsyncRequestProvider
+     */
+    static AsyncRequestProvider fromInputStream(InputStream inputStream, long contentLength, ExecutorService executor) {
+        return InputStreamAsyncRequestProvider.builder()
+                                              .inputStream(inputStream)
+                                              .contentLength(contentLength)
+                                              .executor(executor)
+                                              .build();
+    }
+
+    /**
+     * Creates an {@link AsyncRequestProvider} that reads an {@link InputStream} to its end on the given executor. The length
+     * isn't known up front, so it can only be used with services that accept chunked transfer encoding.
+     *
+     * @param inputStream Stream to read from. It's closed once it has been read, or if the request fails.
+     * @param executor    Executor to do the blocking reads on.
+     * @return Implementation of {@link AsyncRequestProvider} that reads data from the specified stream.
+     * @see InputStreamAsyncRequestProvider
+     */
+    static AsyncRequestProvider fromInputStream(InputStream inputStream, ExecutorService executor) {
+        return InputStreamAsyncRequestProvider.builder()
+                                              .inputStream(inputStream)
+                                              .executor(executor)
+                                              .build();
+    }
+
+    /**
+     * Creates an {@link AsyncRequestProvider} that sends the given number of bytes produced by a {@link Publisher}. The
+     * request fails if the publisher produces more or fewer bytes. If the publisher can produce its content more than once,
+     * the request can be retried.
+     *
+     * @param publisher     Publisher of the content.
+     * @param contentLength Number of bytes the publisher produces.
+     * @return Implementation of {@link AsyncRequestProvider} that sends the publisher's content.
+     */
+    static AsyncRequestProvider fromPublisher(Publisher<ByteBuffer> publisher, long contentLength) {
+        Validate.isTrue(contentLength >= 0, "Content length must not be negative, but was %s", contentLength);
+        return new PublisherAsyncRequestProvider(publisher, contentLength);
+    }
+
+    /**
+     * Creates an {@link AsyncRequestProvider} that sends whatever a {@link Publisher} produces. The length isn't known up
+     * front, so it can only be used with services that accept chunked transfer encoding.
+     *
+     * @param publisher Publisher of the content.
+     * @return Implementation of {@link AsyncRequestProvider} that sends the publisher's content.
+     */
+    static AsyncRequestProvider fromPublisher(Publisher<ByteBuffer> publisher) {
+        return new PublisherAsyncRequestProvider(publisher, -1);
+    }
+
     /**
      * Creates an {@link AsyncRequestProvider} that uses a single string as data.
      *
@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 
@@ -93,6 +94,49 @@ public interface AsyncResponseHandler<ResponseT, ReturnT> {
         return new FileAsyncResponseHandler<>(path);
     }
 
+    /**
+     * Creates an {@link AsyncResponseHandler} that writes all the content to the given file, like {@link #toFile(Path)},
+     * with control over how the file is written.
+     *
+     * @param path                 Path to file to write to.
+     * @param maxOutstandingWrites The maximum number of buffers being written to the file at the same time. Each buffer is
+     *                             written at its own offset as soon as it's received, so a larger window lets the download
+     *                             run ahead of the disk. {@link #toFile(Path)} allows 8.
+     * @param syncExecutor         If not null, the file is synced to the storage device before the response completes, so
+     *                             that the content survives a crash once the response has completed. The sync blocks until
+     *                             the device has the content, so it's run on this executor rather than on the HTTP client's
+     *                             threads. Pass null to not sync the file.
+     * @param <ResponseT>          Pojo Response type.
+     * @return AsyncResponseHandler instance.
+     */
+    static <ResponseT> AsyncResponseHandler<ResponseT, ResponseT> toFile(Path path, int maxOutstandingWrites,
+                                                                         Executor syncExecutor) {
+        return new FileAsyncResponseHandler<>(path, maxOutstandingWrites, syncExecutor);
+    }
+
+    /**
+     * Creates an {@link AsyncResponseHandler} that exposes the content as a blocking {@link java.io.InputStream},
+     * available from {@link InputStreamAsyncResponseHandler#inputStream()} once the response starts streaming.
+     *
+     * @param <ResponseT> Pojo response type.
+     * @return InputStreamAsyncResponseHandler instance.
+     */
+    static <ResponseT> InputStreamAsyncResponseHandler<ResponseT> toInputStream() {
+        return new InputStreamAsyncResponseHandler<>();
+    }
+
+    /**
+     * Creates an {@link AsyncResponseHandler} that exposes the content as a blocking {@link java.io.InputStream}, like
+     * {@link #toInputStream()}, holding at most the given number of buffers that haven't been read yet.
+     *
+     * @param maxBufferedChunks The maximum number of buffers received but not yet read. {@link #toInputStream()} allows 16.
+     * @param <ResponseT>       Pojo response type.
+     * @return InputStreamAsyncResponseHandler instance.
+     */
+    static <ResponseT> InputStreamAsyncResponseHandler<ResponseT> toInputStream(int maxBufferedChunks) {
+        return new InputStreamAsyncResponseHandler<>(maxBufferedChunks);
+    }
+
     /**
      * Creates an {@link AsyncResponseHandler} that writes all content to a byte array.
      *
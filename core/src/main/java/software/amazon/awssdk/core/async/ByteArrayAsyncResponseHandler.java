@@ -15,15 +15,12 @@
 
 package software.amazon.awssdk.core.async;
 
-import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
-
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
-import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.core.internal.io.ByteBufferAggregator;
 
 /**
  * Implementation of {@link AsyncResponseHandler} that dumps content into a byte array.
@@ -33,7 +30,7 @@ import software.amazon.awssdk.utils.BinaryUtils;
 @SdkInternalApi
 class ByteArrayAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<ResponseT, byte[]> {
 
-    private ByteArrayOutputStream baos;
+    private ByteBufferAggregator aggregator;
 
     @Override
     public void responseReceived(ResponseT response) {
@@ -41,28 +38,28 @@ class ByteArrayAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<R
 
     @Override
     public void onStream(Publisher<ByteBuffer> publisher) {
-        baos = new ByteArrayOutputStream();
-        publisher.subscribe(new BaosSubscriber());
+        aggregator = new ByteBufferAggregator();
+        publisher.subscribe(new AggregatingSubscriber());
     }
 
     @Override
     public void exceptionOccurred(Throwable throwable) {
-        baos = null;
+        aggregator = null;
     }
 
     @Override
     public byte[] complete() {
         try {
-            return baos.toByteArray();
+            return aggregator.toByteArray();
         } finally {
-            baos = null;
+            aggregator = null;
         }
     }
 
     /**
-     * Requests chunks sequentially and dumps them into a {@link ByteArrayOutputStream}.
+     * Requests chunks sequentially and collects them in a {@link ByteBufferAggregator}.
      */
-    private class BaosSubscriber implements Subscriber<ByteBuffer> {
+    private class AggregatingSubscriber implements Subscriber<ByteBuffer> {
 
         private Subscription subscription;
 
@@ -74,7 +71,7 @@ class ByteArrayAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<R
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            invokeSafely(() -> baos.write(BinaryUtils.copyBytesFrom(byteBuffer)));
+            aggregator.append(byteBuffer);
             subscription.request(1);
         }
 
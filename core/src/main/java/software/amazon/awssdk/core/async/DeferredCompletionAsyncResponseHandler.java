@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * An {@link AsyncResponseHandler} whose work can outlast {@link #complete()}, such as writes to a file that are still in
+ * flight when the last of the content is received. {@link #complete()} returns without waiting for that work, since it's
+ * called on the thread that delivers the response, and the future returned by the client for the request completes once
+ * {@link #whenFinished()} has.
+ *
+ * @param <ResponseT> Pojo response type.
+ * @param <ReturnT>   Type this response handler produces.
+ */
+@SdkProtectedApi
+public interface DeferredCompletionAsyncResponseHandler<ResponseT, ReturnT> extends AsyncResponseHandler<ResponseT, ReturnT> {
+
+    /**
+     * Called after {@link #complete()}.
+     *
+     * @return A future that completes once the work left over by {@link #complete()} has finished, or exceptionally if
+     * it failed.
+     */
+    CompletableFuture<?> whenFinished();
+}
@@ -15,23 +15,27 @@
 
 package software.amazon.awssdk.core.async;
 
-import java.io.File;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayDeque;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
 /**
- * Implementation of {@link AsyncRequestProvider} that reads data from a file.
+ * Implementation of {@link AsyncRequestProvider} that reads data from a file, or from a slice of a file.
+ *
+ * <p>Chunks are read with positional reads, and when the subscriber has requested several chunks, up to
+ * {@link Builder#maxConcurrentReads(Integer)} of them are read concurrently. Chunks are always delivered in file order.</p>
  */
 public final class FileAsyncRequestProvider implements AsyncRequestProvider {
 
@@ -40,29 +44,88 @@ public final class FileAsyncRequestProvider implements AsyncRequestProvider {
      */
     private static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
 
+    /**
+     * Default number of chunks read at the same time, when the subscriber has requested that many.
+     */
+    private static final int DEFAULT_MAX_CONCURRENT_READS = 4;
+
+    /**
+     * Size (in bytes) of the regions of the file mapped at a time for memory-mapped reads, rounded down to a whole number of
+     * chunks.
+     */
+    private static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Given to a subscriber before telling it the file couldn't be opened.
+     */
+    private static final Subscription NO_OP_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
     /**
      * File to read.
      */
-    private final File file;
+    private final Path path;
+
+    /**
+     * Position in the file of the first byte to read.
+     */
+    private final long position;
+
+    /**
+     * Number of bytes to read, or null to read to the end of the file.
+     */
+    private final Long length;
 
     /**
      * Size (in bytes) of ByteBuffer chunks read from the file and delivered to the subscriber.
      */
     private final int chunkSizeInBytes;
 
+    private final int maxConcurrentReads;
+    private final boolean directBuffers;
+    private final boolean memoryMapped;
+
     private FileAsyncRequestProvider(DefaultBuilder builder) {
-        this.file = builder.path.toFile();
+        this.path = Validate.paramNotNull(builder.path, "path");
+        this.position = builder.position == null ? 0 : builder.position;
+        this.length = builder.length;
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.maxConcurrentReads = builder.maxConcurrentReads == null ? DEFAULT_MAX_CONCURRENT_READS
+                                                                     : builder.maxConcurrentReads;
+        this.directBuffers = Boolean.TRUE.equals(builder.directBuffers);
+        this.memoryMapped = Boolean.TRUE.equals(builder.memoryMapped);
+        Validate.isTrue(position >= 0, "Position must not be negative, but was %s", position);
+        Validate.isTrue(length == null || length >= 0, "Length must not be negative, but was %s", length);
+        Validate.isTrue(chunkSizeInBytes > 0, "Chunk size must be positive, but was %s", chunkSizeInBytes);
+        Validate.isTrue(maxConcurrentReads > 0, "Max concurrent reads must be positive, but was %s", maxConcurrentReads);
     }
 
     @Override
     public long contentLength() {
-        return file.length();
+        return length != null ? length : Math.max(0, path.toFile().length() - position);
     }
 
     @Override
     public void subscribe(Subscriber<? super ByteBuffer> s) {
-        s.onSubscribe(new FileSubscription(file, s, chunkSizeInBytes));
+        long bytesToRead = contentLength();
+        FileSubscription subscription;
+        try {
+            subscription = memoryMapped ? new FileSubscription(s, FileChannel.open(path, StandardOpenOption.READ), bytesToRead)
+                                        : new FileSubscription(s, AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+                                                               bytesToRead);
+        } catch (IOException e) {
+            s.onSubscribe(NO_OP_SUBSCRIPTION);
+            s.onError(e);
+            return;
+        }
+        s.onSubscribe(subscription);
     }
 
     /**
@@ -78,13 +141,35 @@ public final class FileAsyncRequestProvider implements AsyncRequestProvider {
     public interface Builder extends SdkBuilder<Builder, FileAsyncRequestProvider> {
 
         /**
-         * Sets the file to send to the service.
+         * Sets the file to send to the service. The file must exist when the content is read.
          *
          * @param path Path to file to read.
          * @return This builder for method chaining.
          */
         Builder path(Path path);
 
+        /**
+         * Sets the position in the file of the first byte to send, so that a slice of the file can be sent, such as one part
+         * of a multipart upload.
+         *
+         * <p>By default the file is read from the start.</p>
+         *
+         * @param position Position of the first byte to read.
+         * @return This builder for method chaining.
+         */
+        Builder position(Long position);
+
+        /**
+         * Sets the number of bytes to send, starting at the {@link #position(Long)}. Reading fails if the file ends before
+         * that many bytes have been read.
+         *
+         * <p>By default the file is read to its end.</p>
+         *
+         * @param length Number of bytes to read.
+         * @return This builder for method chaining.
+         */
+        Builder length(Long length);
+
         /**
          * Sets the size of chunks read from the file. Increasing this will cause more data to be buffered into memory but
          * may yield better latencies. Decreasing this will reduce memory usage but may cause reduced latency. Setting this value
@@ -97,12 +182,52 @@ public final class FileAsyncRequestProvider implements AsyncRequestProvider {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the maximum number of chunks read from the file at the same time. Chunks are only read ahead when the
+         * subscriber has requested them, so this also bounds the memory used to the chunk size times this number.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_CONCURRENT_READS} reads.</p>
+         *
+         * @param maxConcurrentReads The maximum number of reads in flight.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentReads(Integer maxConcurrentReads);
+
+        /**
+         * Sets whether chunks are read into direct buffers rather than heap buffers, which saves the HTTP client a copy when
+         * it writes them to a socket. Direct buffers are slower to allocate, and each chunk gets a new one, since the
+         * subscriber keeps the buffers it's given, so they're best used with large chunks.
+         *
+         * <p>Heap buffers are used by default.</p>
+         *
+         * @param directBuffers True to read into direct buffers.
+         * @return This builder for method chaining.
+         */
+        Builder directBuffers(Boolean directBuffers);
+
+        /**
+         * Sets whether the file is memory-mapped, in which case each chunk is a slice of the mapping rather than a copy, and
+         * the pages are read from the file as the subscriber reads the chunk. Each subscription maps at most 64 MB of the
+         * file at a time.
+         *
+         * <p>Files aren't memory-mapped by default.</p>
+         *
+         * @param memoryMapped True to memory-map the file.
+         * @return This builder for method chaining.
+         */
+        Builder memoryMapped(Boolean memoryMapped);
+
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
+        private Long position;
+        private Long length;
         private Integer chunkSizeInBytes;
+        private Integer maxConcurrentReads;
+        private Boolean directBuffers;
+        private Boolean memoryMapped;
 
         @Override
         public Builder path(Path path) {
@@ -114,6 +239,26 @@ public final class FileAsyncRequestProvider implements AsyncRequestProvider {
             path(path);
         }
 
+        @Override
+        public Builder position(Long position) {
+            this.position = position;
+            return this;
+        }
+
+        public void setPosition(Long position) {
+            position(position);
+        }
+
+        @Override
+        public Builder length(Long length) {
+            this.length = length;
+            return this;
+        }
+
+        public void setLength(Long length) {
+            length(length);
+        }
+
         @Override
         public Builder chunkSizeInBytes(Integer chunkSizeInBytes) {
             this.chunkSizeInBytes = chunkSizeInBytes;
@@ -124,110 +269,243 @@ public final class FileAsyncRequestProvider implements AsyncRequestProvider {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder maxConcurrentReads(Integer maxConcurrentReads) {
+            this.maxConcurrentReads = maxConcurrentReads;
+            return this;
+        }
+
+        public void setMaxConcurrentReads(Integer maxConcurrentReads) {
+            maxConcurrentReads(maxConcurrentReads);
+        }
+
+        @Override
+        public Builder directBuffers(Boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
+        public void setDirectBuffers(Boolean directBuffers) {
+            directBuffers(directBuffers);
+        }
+
+        @Override
+        public Builder memoryMapped(Boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
+        public void setMemoryMapped(Boolean memoryMapped) {
+            memoryMapped(memoryMapped);
+        }
+
         @Override
         public FileAsyncRequestProvider build() {
             return new FileAsyncRequestProvider(this);
         }
     }
 
+    /**
+     * A chunk of the file that is being read or is waiting to be delivered.
+     */
+    private static final class Chunk {
+        private final long offset;
+        private ByteBuffer buffer;
+        private boolean ready;
+
+        private Chunk(long offset) {
+            this.offset = offset;
+        }
+    }
+
     /**
      * Reads the file for one subscriber.
+     *
+     * <p>Chunks are read into a queue in file order, and one thread at a time drains the queue: it delivers the chunk at the
+     * head once it's been read, and starts reading more chunks while the subscriber has requested more than are queued. A
+     * thread that finds another one draining leaves it a note to go round again instead of waiting.</p>
      */
-    private static class FileSubscription implements Subscription {
+    private final class FileSubscription implements Subscription, CompletionHandler<Integer, Chunk> {
 
-        private final AsynchronousFileChannel inputChannel;
         private final Subscriber<? super ByteBuffer> subscriber;
-        private final int chunkSize;
-
-        private long position = 0;
-        private AtomicLong outstandingRequests = new AtomicLong(0);
-        private boolean writeInProgress = false;
+        private final AsynchronousFileChannel asyncChannel;
+        private final FileChannel mappedChannel;
+        private final long bytesToRead;
+
+        // Guarded by this.
+        private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+        private long demand;
+        private long nextChunkOffset;
+        private boolean draining;
+        private boolean drainAgain;
+        private boolean done;
+        private Throwable error;
+
+        // Only used by the draining thread.
+        private MappedByteBuffer window;
+        private long windowOffset;
+
+        private FileSubscription(Subscriber<? super ByteBuffer> subscriber, AsynchronousFileChannel channel, long bytesToRead) {
+            this.subscriber = subscriber;
+            this.asyncChannel = channel;
+            this.mappedChannel = null;
+            this.bytesToRead = bytesToRead;
+        }
 
-        private FileSubscription(File file, Subscriber<? super ByteBuffer> subscriber, int chunkSize) {
-            this.inputChannel = openInputChannel(file);
+        private FileSubscription(Subscriber<? super ByteBuffer> subscriber, FileChannel channel, long bytesToRead) {
             this.subscriber = subscriber;
-            this.chunkSize = chunkSize;
+            this.asyncChannel = null;
+            this.mappedChannel = channel;
+            this.bytesToRead = bytesToRead;
         }
 
         @Override
         public void request(long n) {
-            try {
-                outstandingRequests.addAndGet(n);
-
-                synchronized (this) {
-                    if (!writeInProgress) {
-                        writeInProgress = true;
-                        readData();
-                    }
+            synchronized (this) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Demand must be positive, but was " + n));
+                } else {
+                    demand = Long.MAX_VALUE - demand < n ? Long.MAX_VALUE : demand + n;
                 }
-            } catch (Exception e) {
-                subscriber.onError(e);
             }
+            drain();
         }
 
         @Override
         public void cancel() {
+            synchronized (this) {
+                done = true;
+            }
             closeFile();
         }
 
-        private void readData() {
-            // It's possible to have another request for data come in after we've closed the file.
-            if (!inputChannel.isOpen()) {
+        @Override
+        public void completed(Integer result, Chunk chunk) {
+            if (result < 0) {
+                synchronized (this) {
+                    fail(new EOFException("The file " + path + " ended before " + bytesToRead + " bytes were read from "
+                                          + position));
+                }
+            } else if (chunk.buffer.hasRemaining()) {
+                // A partial read, so keep filling the same buffer.
+                asyncChannel.read(chunk.buffer, position + chunk.offset + chunk.buffer.position(), chunk, this);
                 return;
+            } else {
+                chunk.buffer.flip();
+                synchronized (this) {
+                    chunk.ready = true;
+                }
             }
-            final ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
-            inputChannel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
-                @Override
-                public void completed(Integer result, ByteBuffer attachment) {
-                    if (result > 0) {
-                        attachment.flip();
-                        position += attachment.remaining();
-                        subscriber.onNext(attachment);
-                        // If we have more permits, queue up another read.
-                        if (outstandingRequests.decrementAndGet() > 0) {
-                            readData();
-                            return;
-                        }
-                    } else {
-                        // Reached the end of the file, notify the subscriber and cleanup
-                        subscriber.onComplete();
-                        closeFile();
-                    }
+            drain();
+        }
 
-                    synchronized (FileSubscription.this) {
-                        writeInProgress = false;
+        @Override
+        public void failed(Throwable exc, Chunk chunk) {
+            synchronized (this) {
+                fail(exc);
+            }
+            drain();
+        }
+
+        /**
+         * Records the first error, to be signalled by the draining thread. Called while holding the lock.
+         */
+        private void fail(Throwable t) {
+            if (error == null) {
+                error = t;
+            }
+        }
+
+        private void drain() {
+            synchronized (this) {
+                if (draining) {
+                    drainAgain = true;
+                    return;
+                }
+                draining = true;
+            }
+
+            while (true) {
+                Chunk toDeliver = null;
+                Chunk toRead = null;
+                Throwable toSignal = null;
+                boolean complete = false;
+
+                synchronized (this) {
+                    if (done) {
+                        draining = false;
+                        return;
+                    }
+                    if (error != null) {
+                        done = true;
+                        toSignal = error;
+                    } else if (!chunks.isEmpty() && chunks.peek().ready) {
+                        toDeliver = chunks.poll();
+                        demand--;
+                    } else if (chunks.isEmpty() && nextChunkOffset == bytesToRead) {
+                        done = true;
+                        complete = true;
+                    } else if (chunks.size() < Math.min(maxConcurrentReads, demand) && nextChunkOffset < bytesToRead) {
+                        toRead = new Chunk(nextChunkOffset);
+                        nextChunkOffset += Math.min(chunkSizeInBytes, bytesToRead - nextChunkOffset);
+                        chunks.add(toRead);
+                    } else if (drainAgain) {
+                        drainAgain = false;
+                        continue;
+                    } else {
+                        draining = false;
+                        return;
                     }
                 }
 
-                @Override
-                public void failed(Throwable exc, ByteBuffer attachment) {
-                    subscriber.onError(exc);
+                if (toSignal != null) {
                     closeFile();
+                    subscriber.onError(toSignal);
+                } else if (complete) {
+                    closeFile();
+                    subscriber.onComplete();
+                } else if (toDeliver != null) {
+                    subscriber.onNext(toDeliver.buffer);
+                } else {
+                    startRead(toRead, (int) Math.min(chunkSizeInBytes, bytesToRead - toRead.offset));
                 }
-            });
+            }
         }
 
-        private void closeFile() {
+        private void startRead(Chunk chunk, int chunkLength) {
+            if (asyncChannel != null) {
+                chunk.buffer = directBuffers ? ByteBuffer.allocateDirect(chunkLength) : ByteBuffer.allocate(chunkLength);
+                asyncChannel.read(chunk.buffer, position + chunk.offset, chunk, this);
+                return;
+            }
+
             try {
-                inputChannel.close();
+                if (window == null || chunk.offset + chunkLength > windowOffset + window.capacity()) {
+                    long windowSize = Math.min(Math.max(1, MAP_WINDOW_SIZE / chunkSizeInBytes) * (long) chunkSizeInBytes,
+                                               bytesToRead - chunk.offset);
+                    if (position + chunk.offset + windowSize > mappedChannel.size()) {
+                        throw new EOFException("The file " + path + " ended before " + bytesToRead + " bytes were read from "
+                                               + position);
+                    }
+                    window = mappedChannel.map(FileChannel.MapMode.READ_ONLY, position + chunk.offset, windowSize);
+                    windowOffset = chunk.offset;
+                }
+                ByteBuffer slice = window.duplicate();
+                slice.position((int) (chunk.offset - windowOffset));
+                slice.limit(slice.position() + chunkLength);
+                chunk.buffer = slice.slice();
+                synchronized (this) {
+                    chunk.ready = true;
+                }
             } catch (IOException e) {
-                throw new UncheckedIOException(e);
+                synchronized (this) {
+                    fail(e);
+                }
             }
         }
 
-    }
-
-    private static AsynchronousFileChannel openInputChannel(File file) {
-        try {
-            final Path path = Paths.get(file.getAbsolutePath());
-            if (!Files.exists(path)) {
-                Files.createFile(path);
-            }
-            return AsynchronousFileChannel.open(path, StandardOpenOption.READ);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        private void closeFile() {
+            IoUtils.closeQuietly(asyncChannel != null ? asyncChannel : mappedChannel, null);
         }
     }
-
-
 }
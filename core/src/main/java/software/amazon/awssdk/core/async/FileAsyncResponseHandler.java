@@ -24,26 +24,58 @@ import java.nio.channels.CompletionHandler;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.IoUtils;
 
 /**
  * {@link AsyncResponseHandler} that writes the data to the specified file.
  *
+ * <p>Each buffer is written at its own offset as soon as it arrives, with up to a window of writes in flight, so the
+ * download doesn't wait on the disk for every buffer. {@link #complete()} doesn't wait for the last writes, as it's called on
+ * the HTTP client's event loop. The channel is closed, and optionally synced to the device on the given executor, once
+ * they've finished, and {@link #whenFinished()} holds back the client's future until then, so that the file is whole once
+ * the response has completed.</p>
+ *
+ * <p>If a write or the sync fails, the file is deleted, as it is when the request fails, so a partial file isn't left
+ * behind.</p>
+ *
  * @param <ResponseT> Response POJO type. Returned on {@link #complete()}.
  */
 @SdkInternalApi
-class FileAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<ResponseT, ResponseT> {
+class FileAsyncResponseHandler<ResponseT> implements DeferredCompletionAsyncResponseHandler<ResponseT, ResponseT> {
+
+    /**
+     * Default number of buffers being written to the file at the same time.
+     */
+    static final int DEFAULT_MAX_OUTSTANDING_WRITES = 8;
 
     private final Path path;
-    private AsynchronousFileChannel fileChannel;
+    private final int maxOutstandingWrites;
+    private final Executor syncExecutor;
+    private volatile AsynchronousFileChannel fileChannel;
+    private volatile FileSubscriber subscriber;
     private volatile ResponseT response;
 
     FileAsyncResponseHandler(Path path) {
+        this(path, DEFAULT_MAX_OUTSTANDING_WRITES, null);
+    }
+
+    /**
+     * @param syncExecutor Executor that syncs the file to the device once the last write has finished, or null to not sync
+     *                     the file.
+     */
+    FileAsyncResponseHandler(Path path, int maxOutstandingWrites, Executor syncExecutor) {
+        if (maxOutstandingWrites <= 0) {
+            throw new IllegalArgumentException("Max outstanding writes must be positive, but was " + maxOutstandingWrites);
+        }
         this.path = path;
+        this.maxOutstandingWrites = maxOutstandingWrites;
+        this.syncExecutor = syncExecutor;
     }
 
     private AsynchronousFileChannel createChannel(Path path) throws IOException {
@@ -59,68 +91,125 @@ class FileAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<Respon
     public void onStream(Publisher<ByteBuffer> publisher) {
         // onStream may be called multiple times so reset the file channel every time
         this.fileChannel = invokeSafely(() -> createChannel(path));
-        publisher.subscribe(new FileSubscriber());
+        this.subscriber = new FileSubscriber(fileChannel);
+        publisher.subscribe(subscriber);
     }
 
     @Override
     public void exceptionOccurred(Throwable throwable) {
+        FileSubscriber current = subscriber;
+        if (current != null) {
+            current.abort(throwable);
+            // The file is deleted, so there's nothing left for whenFinished() to wait for.
+            subscriber = null;
+        }
         try {
-            invokeSafely(fileChannel::close);
+            if (fileChannel != null) {
+                invokeSafely(fileChannel::close);
+            }
         } finally {
-            invokeSafely(() -> Files.delete(path));
+            invokeSafely(() -> Files.deleteIfExists(path));
         }
     }
 
     @Override
     public ResponseT complete() {
-        if (fileChannel != null) {
-            invokeSafely(fileChannel::close);
-        }
         return response;
     }
 
+    @Override
+    public CompletableFuture<?> whenFinished() {
+        FileSubscriber current = subscriber;
+        return current == null ? CompletableFuture.completedFuture(true) : current.written;
+    }
+
+    /**
+     * A write of one buffer, which may take several calls to the channel if the buffer is only partially written.
+     */
+    private static final class Write {
+        private final ByteBuffer buffer;
+        private long position;
+
+        private Write(ByteBuffer buffer, long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+    }
+
     /**
-     * {@link Subscriber} implementation that writes chunks to a file.
+     * {@link Subscriber} implementation that writes chunks to a file, each at the offset following the previous chunk.
+     * Up to {@link #maxOutstandingWrites} chunks are requested and written at a time, and another chunk is requested as
+     * each write completes.
      */
-    private class FileSubscriber implements Subscriber<ByteBuffer> {
+    private class FileSubscriber implements Subscriber<ByteBuffer>, CompletionHandler<Integer, Write> {
+
+        private final AsynchronousFileChannel channel;
+        private final CompletableFuture<Boolean> written = new CompletableFuture<>();
+        private volatile Subscription subscription;
 
-        private volatile boolean writeInProgress = false;
-        private volatile boolean closeOnLastWrite = false;
-        private final AtomicLong position = new AtomicLong();
-        private Subscription subscription;
+        // Only updated from onNext, which is never called concurrently.
+        private long nextPosition;
+
+        // Guarded by this.
+        private int writesInFlight;
+        private boolean streamComplete;
+        private Throwable error;
+
+        private FileSubscriber(AsynchronousFileChannel channel) {
+            this.channel = channel;
+        }
 
         @Override
         public void onSubscribe(Subscription s) {
             this.subscription = s;
-            // Request the first chunk to start producing content
-            s.request(1);
+            s.request(maxOutstandingWrites);
         }
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            writeInProgress = true;
-            fileChannel.write(byteBuffer, position.get(), byteBuffer, new CompletionHandler<Integer, ByteBuffer>() {
-                @Override
-                public void completed(Integer result, ByteBuffer attachment) {
-                    if (result > 0) {
-                        position.addAndGet(result);
-                        synchronized (FileSubscriber.this) {
-                            if (closeOnLastWrite) {
-                                invokeSafely(fileChannel::close);
-                            } else {
-                                subscription.request(1);
-                            }
-                            writeInProgress = false;
-                        }
-                    }
+            Write write = new Write(byteBuffer, nextPosition);
+            nextPosition += byteBuffer.remaining();
+            synchronized (this) {
+                if (error != null) {
+                    return;
                 }
+                writesInFlight++;
+            }
+            channel.write(byteBuffer, write.position, write, this);
+        }
 
-                @Override
-                public void failed(Throwable exc, ByteBuffer attachment) {
-                    subscription.cancel();
-                }
-            });
+        @Override
+        public void completed(Integer result, Write write) {
+            if (write.buffer.hasRemaining()) {
+                // A partial write, so write the rest of the buffer after what was written.
+                write.position += result;
+                channel.write(write.buffer, write.position, write, this);
+                return;
+            }
+
+            boolean finished;
+            boolean requestMore;
+            synchronized (this) {
+                writesInFlight--;
+                finished = streamComplete && writesInFlight == 0;
+                requestMore = !streamComplete && error == null;
+            }
+            if (finished) {
+                finishWrites();
+            } else if (requestMore && subscription != null) {
+                subscription.request(1);
+            }
+        }
 
+        @Override
+        public void failed(Throwable exc, Write write) {
+            synchronized (this) {
+                writesInFlight--;
+            }
+            abort(exc);
+            if (subscription != null) {
+                subscription.cancel();
+            }
         }
 
         @Override
@@ -130,20 +219,59 @@ class FileAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<Respon
 
         @Override
         public void onComplete() {
-            // if write in progress, tell write to close on finish.
+            boolean finished;
             synchronized (this) {
-                if (writeInProgress) {
-                    closeOnLastWrite = true;
-                } else {
-                    close();
+                streamComplete = true;
+                finished = writesInFlight == 0;
+            }
+            if (finished) {
+                finishWrites();
+            }
+        }
+
+        /**
+         * Closes the channel once the last write has finished. This may be called on the thread that delivered the end of
+         * the stream, so syncing, which blocks until the device has the content, is done on the sync executor.
+         */
+        private void finishWrites() {
+            if (syncExecutor == null) {
+                closeChannel(false);
+                return;
+            }
+            try {
+                syncExecutor.execute(() -> closeChannel(true));
+            } catch (RuntimeException e) {
+                abort(e);
+            }
+        }
+
+        private void closeChannel(boolean sync) {
+            try {
+                if (sync) {
+                    channel.force(false);
                 }
+                channel.close();
+                written.complete(true);
+            } catch (IOException e) {
+                abort(e);
             }
         }
 
-        private void close() {
-            if (fileChannel != null) {
-                invokeSafely(fileChannel::close);
+        /**
+         * Stops writing, so that {@link #whenFinished()} doesn't wait for writes that are never going to finish, and deletes
+         * the partly written file, unless a retry has already started writing it again.
+         */
+        private void abort(Throwable t) {
+            synchronized (this) {
+                if (error == null) {
+                    error = t;
+                }
+            }
+            IoUtils.closeQuietly(channel, null);
+            if (subscriber == this) {
+                invokeSafely(() -> Files.deleteIfExists(path));
             }
+            written.completeExceptionally(t);
         }
 
         @Override
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * Implementation of {@link AsyncRequestProvider} that reads data from an {@link InputStream}.
+ *
+ * <p>Reads block, so they're done on the given executor rather than on the HTTP client's threads, and only once the
+ * subscriber has asked for another chunk, so no more than the requested chunks are ever read ahead of the connection.
+ * A stream being written by another thread, such as a {@link java.io.PipedInputStream}, can therefore be uploaded in
+ * constant memory. The stream is closed once it has been read, or when the upload fails or is cancelled.</p>
+ *
+ * <p>A stream can only be read once, so the content can't be re-sent if the request is retried: a second subscriber is
+ * given an error instead.</p>
+ */
+public final class InputStreamAsyncRequestProvider implements AsyncRequestProvider {
+
+    /**
+     * Default size (in bytes) of ByteBuffer chunks read from the stream and delivered to the subscriber.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * Given to a subscriber before telling it the stream has already been read.
+     */
+    private static final Subscription NO_OP_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final InputStream inputStream;
+
+    /**
+     * Number of bytes to read, or null to read to the end of the stream.
+     */
+    private final Long contentLength;
+
+    private final ExecutorService executor;
+    private final int chunkSizeInBytes;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private InputStreamAsyncRequestProvider(DefaultBuilder builder) {
+        this.inputStream = Validate.paramNotNull(builder.inputStream, "inputStream");
+        this.executor = Validate.paramNotNull(builder.executor, "executor");
+        this.contentLength = builder.contentLength;
+        this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        Validate.isTrue(contentLength == null || contentLength >= 0, "Content length must not be negative, but was %s",
+                        contentLength);
+        Validate.isTrue(chunkSizeInBytes > 0, "Chunk size must be positive, but was %s", chunkSizeInBytes);
+    }
+
+    /**
+     * @return The number of bytes that will be read from the stream, or -1 if the stream is read to its end.
+     */
+    @Override
+    public long contentLength() {
+        return contentLength != null ? contentLength : -1;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        if (!subscribed.compareAndSet(false, true)) {
+            s.onSubscribe(NO_OP_SUBSCRIPTION);
+            s.onError(new IllegalStateException("The input stream has already been read and can't be read again."));
+            return;
+        }
+        s.onSubscribe(new InputStreamSubscription(s));
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link InputStreamAsyncRequestProvider}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * A builder for {@link InputStreamAsyncRequestProvider}.
+     */
+    public interface Builder extends SdkBuilder<Builder, InputStreamAsyncRequestProvider> {
+
+        /**
+         * Sets the stream to read from.
+         *
+         * @param inputStream The new stream.
+         * @return This builder for method chaining.
+         */
+        Builder inputStream(InputStream inputStream);
+
+        /**
+         * Sets the number of bytes to send. Reading fails if the stream ends before that many bytes have been read, and
+         * stops once they have.
+         *
+         * <p>By default the stream is read to its end and the length isn't known up front, in which case the request is sent
+         * with chunked transfer encoding. Services that need a Content-Length, such as S3, need the length to be set.</p>
+         *
+         * @param contentLength Number of bytes to read.
+         * @return This builder for method chaining.
+         */
+        Builder contentLength(Long contentLength);
+
+        /**
+         * Sets the executor that reads from the stream. Each subscription reads on at most one of its threads at a time, and
+         * only while the subscriber has requested chunks. This must be set.
+         *
+         * @param executor The executor to read on.
+         * @return This builder for method chaining.
+         */
+        Builder executor(ExecutorService executor);
+
+        /**
+         * Sets the maximum size of chunks read from the stream. Each chunk holds whatever a single read returns, so chunks
+         * may be smaller when the stream has less available.
+         *
+         * <p>The default chunk size is {@value #DEFAULT_CHUNK_SIZE} bytes</p>
+         *
+         * @param chunkSize New chunk size in bytes.
+         * @return This builder for method chaining.
+         */
+        Builder chunkSizeInBytes(Integer chunkSize);
+
+    }
+
+    private static final class DefaultBuilder implements Builder {
+
+        private InputStream inputStream;
+        private Long contentLength;
+        private ExecutorService executor;
+        private Integer chunkSizeInBytes;
+
+        @Override
+        public Builder inputStream(InputStream inputStream) {
+            this.inputStream = inputStream;
+            return this;
+        }
+
+        public void setInputStream(InputStream inputStream) {
+            inputStream(inputStream);
+        }
+
+        @Override
+        public Builder contentLength(Long contentLength) {
+            this.contentLength = contentLength;
+            return this;
+        }
+
+        public void setContentLength(Long contentLength) {
+            contentLength(contentLength);
+        }
+
+        @Override
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public void setExecutor(ExecutorService executor) {
+            executor(executor);
+        }
+
+        @Override
+        public Builder chunkSizeInBytes(Integer chunkSizeInBytes) {
+            this.chunkSizeInBytes = chunkSizeInBytes;
+            return this;
+        }
+
+        public void setChunkSizeInBytes(Integer chunkSizeInBytes) {
+            chunkSizeInBytes(chunkSizeInBytes);
+        }
+
+        @Override
+        public InputStreamAsyncRequestProvider build() {
+            return new InputStreamAsyncRequestProvider(this);
+        }
+    }
+
+    /**
+     * Reads the stream for the subscriber.
+     *
+     * <p>A read task runs on the executor while the subscriber has outstanding demand, delivering each chunk as soon as
+     * it's read, and stops when the demand runs out. Requests made while it's running just add to the demand, so there is
+     * never more than one task reading the stream.</p>
+     */
+    private final class InputStreamSubscription implements Subscription, Runnable {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        // Guarded by this.
+        private long demand;
+        private boolean reading;
+        private boolean done;
+        private Throwable error;
+
+        // Only used by the reading thread.
+        private long bytesRead;
+
+        private InputStreamSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Demand must be positive, but was " + n));
+                } else {
+                    demand = Long.MAX_VALUE - demand < n ? Long.MAX_VALUE : demand + n;
+                }
+                if (reading || done) {
+                    return;
+                }
+                reading = true;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    fail(e);
+                }
+                run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            boolean closeNow;
+            synchronized (this) {
+                closeNow = !done && !reading;
+                done = true;
+            }
+            if (closeNow) {
+                IoUtils.closeQuietly(inputStream, null);
+            }
+        }
+
+        /**
+         * Records the first error, to be signalled by the reading thread. Called while holding the lock.
+         */
+        private void fail(Throwable t) {
+            if (error == null) {
+                error = t;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Throwable toSignal;
+                synchronized (this) {
+                    if (done) {
+                        // Cancelled while reading.
+                        reading = false;
+                        IoUtils.closeQuietly(inputStream, null);
+                        return;
+                    }
+                    toSignal = error;
+                    if (toSignal == null && demand == 0) {
+                        reading = false;
+                        return;
+                    }
+                    if (toSignal != null) {
+                        done = true;
+                    }
+                }
+
+                if (toSignal != null) {
+                    IoUtils.closeQuietly(inputStream, null);
+                    subscriber.onError(toSignal);
+                    return;
+                }
+                if (!readChunk()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads and delivers the next chunk, or signals the end of the stream.
+         *
+         * @return Whether there may be more to read.
+         */
+        private boolean readChunk() {
+            long remaining = contentLength == null ? Long.MAX_VALUE : contentLength - bytesRead;
+            int read = 0;
+            byte[] chunk = null;
+            try {
+                if (remaining > 0) {
+                    chunk = new byte[(int) Math.min(chunkSizeInBytes, remaining)];
+                    read = inputStream.read(chunk);
+                    if (read < 0 && contentLength != null) {
+                        throw new EOFException("The input stream ended after " + bytesRead + " bytes, before the "
+                                               + contentLength + " bytes expected.");
+                    }
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    fail(e);
+                }
+                return true;
+            }
+
+            if (read > 0) {
+                bytesRead += read;
+                synchronized (this) {
+                    demand--;
+                }
+                subscriber.onNext(ByteBuffer.wrap(chunk, 0, read));
+            }
+            if (read < 0 || (contentLength != null && bytesRead == contentLength)) {
+                synchronized (this) {
+                    if (done) {
+                        return true;
+                    }
+                    done = true;
+                    reading = false;
+                }
+                IoUtils.closeQuietly(inputStream, null);
+                subscriber.onComplete();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.sync.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+
+/**
+ * {@link AsyncResponseHandler} that exposes the streamed content as a blocking {@link InputStream}, so that code written
+ * against streams can consume a response from the async client without buffering the whole of it.
+ *
+ * <p>The stream is available from {@link #inputStream()} as soon as the response starts streaming, well before the
+ * request's own future completes. At most a fixed number of buffers are held between the connection and the reader;
+ * more are only requested as the reader uses them up, so a slow reader slows down the download rather than filling up
+ * memory. Reads block only while no buffer has arrived yet.</p>
+ *
+ * <p>The stream should be closed once it's no longer needed. Closing it before the end of the content cancels the
+ * subscription, which fails the request. Since content that has been read can't be read again, a failure while
+ * streaming fails both the stream and {@link #inputStream()} rather than being retried.</p>
+ *
+ * <pre>{@code
+ * InputStreamAsyncResponseHandler<GetObjectResponse> handler = AsyncResponseHandler.toInputStream();
+ * s3.getObject(request, handler);
+ * try (ResponseInputStream<GetObjectResponse> in = handler.inputStream().join()) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @param <ResponseT> Response POJO type. Returned on {@link #complete()}.
+ */
+@ThreadSafe
+public final class InputStreamAsyncResponseHandler<ResponseT> implements AsyncResponseHandler<ResponseT, ResponseT> {
+
+    /**
+     * Default number of buffers held for the reader.
+     */
+    static final int DEFAULT_MAX_BUFFERED_CHUNKS = 16;
+
+    private final int maxBufferedChunks;
+    private final CompletableFuture<ResponseInputStream<ResponseT>> inputStream = new CompletableFuture<>();
+    private volatile ResponseT response;
+    private volatile SubscriberInputStream stream;
+
+    /**
+     * Creates a handler that holds up to {@value #DEFAULT_MAX_BUFFERED_CHUNKS} buffers for the reader.
+     */
+    public InputStreamAsyncResponseHandler() {
+        this(DEFAULT_MAX_BUFFERED_CHUNKS);
+    }
+
+    /**
+     * @param maxBufferedChunks The maximum number of buffers received from the connection but not yet read. How much memory
+     *                          that amounts to depends on the size of the buffers the HTTP client delivers.
+     */
+    public InputStreamAsyncResponseHandler(int maxBufferedChunks) {
+        if (maxBufferedChunks <= 0) {
+            throw new IllegalArgumentException("Max buffered chunks must be positive, but was " + maxBufferedChunks);
+        }
+        this.maxBufferedChunks = maxBufferedChunks;
+    }
+
+    /**
+     * Returns the content of the response. The future completes once the response starts streaming, or fails if the
+     * request fails before then.
+     *
+     * @return Future of a stream of the content, along with the unmarshalled response.
+     */
+    public CompletableFuture<ResponseInputStream<ResponseT>> inputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public void responseReceived(ResponseT response) {
+        this.response = response;
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> publisher) {
+        if (stream != null || inputStream.isDone()) {
+            throw new IllegalStateException("The response content has already been handed to the reader and can't be "
+                                            + "streamed again.");
+        }
+        stream = new SubscriberInputStream(maxBufferedChunks);
+        publishStream(stream);
+        publisher.subscribe(stream);
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        SubscriberInputStream current = stream;
+        if (current != null) {
+            current.onError(throwable);
+        }
+        inputStream.completeExceptionally(throwable);
+    }
+
+    @Override
+    public ResponseT complete() {
+        if (stream == null) {
+            // The response had no content.
+            SubscriberInputStream empty = new SubscriberInputStream(1);
+            empty.onComplete();
+            publishStream(empty);
+        }
+        return response;
+    }
+
+    private void publishStream(SubscriberInputStream content) {
+        inputStream.complete(new ResponseInputStream<>(response, new AbortableInputStream(content, content::abort)));
+    }
+
+    /**
+     * Subscriber that hands the buffers it receives to a reading thread, requesting a new buffer each time the reader
+     * finishes one.
+     */
+    private static final class SubscriberInputStream extends InputStream implements Subscriber<ByteBuffer> {
+
+        /**
+         * Marks the end of the content, whether the stream completed, failed or was closed.
+         */
+        private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+        private final int maxBufferedChunks;
+        private final BlockingQueue<ByteBuffer> buffers = new LinkedBlockingQueue<>();
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean done;
+        private ByteBuffer current;
+
+        private SubscriberInputStream(int maxBufferedChunks) {
+            this.maxBufferedChunks = maxBufferedChunks;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            if (done) {
+                s.cancel();
+            } else {
+                s.request(maxBufferedChunks);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (!done) {
+                buffers.add(byteBuffer);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                error = t;
+                finish();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            done = true;
+            buffers.add(END);
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = currentBuffer();
+            return buffer == null ? -1 : buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = currentBuffer();
+            if (buffer == null) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer buffer = current;
+            return buffer == null || buffer == END ? 0 : buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            abort();
+        }
+
+        /**
+         * Stops the content from being streamed and drops whatever has been buffered.
+         */
+        private void abort() {
+            boolean wasDone = done;
+            done = true;
+            Subscription s = subscription;
+            if (!wasDone && s != null) {
+                s.cancel();
+            }
+            buffers.clear();
+            buffers.add(END);
+        }
+
+        /**
+         * @return The buffer to read from next, waiting for one to arrive if need be, or null at the end of the content.
+         */
+        private ByteBuffer currentBuffer() throws IOException {
+            while (current == null || !current.hasRemaining()) {
+                if (current == END) {
+                    return endOfContent();
+                }
+                if (current != null) {
+                    requestMore();
+                }
+                try {
+                    current = buffers.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for response content.");
+                }
+            }
+            return current;
+        }
+
+        private ByteBuffer endOfContent() throws IOException {
+            Throwable t = error;
+            if (t != null) {
+                throw t instanceof IOException ? (IOException) t : new IOException("Failed to stream response content.", t);
+            }
+            return null;
+        }
+
+        private void requestMore() {
+            Subscription s = subscription;
+            if (s != null && !done) {
+                s.request(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import java.nio.ByteBuffer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Implementation of {@link AsyncRequestProvider} that sends what an arbitrary {@link Publisher} produces. Demand is passed
+ * straight through to the publisher, so it's only asked for as many buffers as the HTTP client can take.
+ *
+ * <p>When the length is given, the content is checked against it: the request fails if the publisher produces more, or
+ * completes having produced less, rather than the connection waiting for bytes that never come.</p>
+ */
+@SdkInternalApi
+class PublisherAsyncRequestProvider implements AsyncRequestProvider {
+
+    private final Publisher<ByteBuffer> publisher;
+    private final long contentLength;
+
+    /**
+     * @param publisher     Publisher of the content.
+     * @param contentLength Number of bytes the publisher produces, or -1 if it isn't known.
+     */
+    PublisherAsyncRequestProvider(Publisher<ByteBuffer> publisher, long contentLength) {
+        this.publisher = Validate.paramNotNull(publisher, "publisher");
+        this.contentLength = contentLength;
+        Validate.isTrue(contentLength >= -1, "Content length must not be negative, but was %s", contentLength);
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        publisher.subscribe(contentLength < 0 ? s : new LengthCheckingSubscriber(s));
+    }
+
+    /**
+     * Passes the content through to the subscriber, failing it as soon as the content turns out not to be of the length
+     * that was given.
+     */
+    private final class LengthCheckingSubscriber implements Subscriber<ByteBuffer> {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private Subscription subscription;
+        private long bytesReceived;
+        private boolean done;
+
+        private LengthCheckingSubscriber(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+            subscriber.onSubscribe(s);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (done) {
+                return;
+            }
+            bytesReceived += byteBuffer.remaining();
+            if (bytesReceived > contentLength) {
+                done = true;
+                subscription.cancel();
+                subscriber.onError(new IllegalStateException("The publisher produced more than the " + contentLength
+                                                              + " bytes expected."));
+                return;
+            }
+            subscriber.onNext(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                subscriber.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (bytesReceived < contentLength) {
+                subscriber.onError(new IllegalStateException("The publisher completed after " + bytesReceived
+                                                             + " bytes, before the " + contentLength + " bytes expected."));
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -36,16 +36,25 @@ class SingleByteArrayAsyncRequestProvider implements AsyncRequestProvider {
     public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
         subscriber.onSubscribe(
             new Subscription() {
+                private boolean done;
+
                 @Override
                 public void request(long n) {
+                    if (done) {
+                        return;
+                    }
+                    done = true;
                     if (n > 0) {
                         subscriber.onNext(ByteBuffer.wrap(bytes));
                         subscriber.onComplete();
+                    } else {
+                        subscriber.onError(new IllegalArgumentException("Demand must be positive, but was " + n));
                     }
                 }
 
                 @Override
                 public void cancel() {
+                    done = true;
                 }
             }
         );
@@ -86,7 +86,7 @@ public abstract class AbstractAwsSigner implements Signer {
     /**
      * Returns the re-usable thread local version of MessageDigest.
      */
-    private static MessageDigest getMessageDigestInstance() {
+    static MessageDigest getMessageDigestInstance() {
         MessageDigest messageDigest = SHA256_MESSAGE_DIGEST.get();
         messageDigest.reset();
         return messageDigest;
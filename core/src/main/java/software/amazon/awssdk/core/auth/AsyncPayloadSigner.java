@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth;
+
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+
+/**
+ * A request signer that also signs request content published asynchronously by a {@link SdkHttpRequestProvider}, such as
+ * the chunk signatures of an aws-chunked upload. It's called after {@link Signer#sign} for every request the async client
+ * sends with a request provider.
+ */
+public interface AsyncPayloadSigner {
+    /**
+     * Wraps the content of a signed request so that it's signed as it's sent.
+     *
+     * @param signedRequest       The request, as returned by {@link Signer#sign}.
+     * @param payload             The content that would be sent with the request.
+     * @param executionAttributes The attributes the request was signed with.
+     * @return The content to send in place of the payload, which may be the payload itself.
+     */
+    SdkHttpRequestProvider signAsyncPayload(SdkHttpFullRequest signedRequest,
+                                            SdkHttpRequestProvider payload,
+                                            ExecutionAttributes executionAttributes);
+}
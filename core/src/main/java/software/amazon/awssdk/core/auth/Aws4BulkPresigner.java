@@ -0,0 +1,359 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth;
+
+import static software.amazon.awssdk.core.interceptor.AwsExecutionAttributes.AWS_CREDENTIALS;
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+import static software.amazon.awssdk.utils.StringUtils.lowerCase;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.auth.internal.Aws4SignerRequestParams;
+import software.amazon.awssdk.core.auth.internal.SignerConstants;
+import software.amazon.awssdk.core.auth.internal.SigningInputWriter;
+import software.amazon.awssdk.core.auth.presign.BulkPresigner;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.util.CredentialUtils;
+import software.amazon.awssdk.core.util.StringUtils;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+/**
+ * The {@link BulkPresigner} for {@link Aws4Signer}. Produces the same URLs as {@link Aws4Signer#presign} would for each
+ * variation of the template, but only computes the parts of the signature that depend on the path and query parameters for
+ * each of them.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class Aws4BulkPresigner implements BulkPresigner {
+
+    private static final int HMAC_BLOCK_SIZE = 64;
+    private static final byte HMAC_INNER_PAD = 0x36;
+    private static final byte HMAC_OUTER_PAD = 0x5c;
+
+    private static final Comparator<QueryParameter> CANONICAL_ORDER =
+            Comparator.comparing((QueryParameter p) -> p.encodedName).thenComparing(p -> p.canonicalValue);
+
+    private final Aws4Signer signer;
+    private final boolean sign;
+    private final String methodName;
+    private final String urlPrefix;
+    private final String templatePath;
+
+    /**
+     * The query parameters of the template, which variations may replace, and those added for signing, which they can't.
+     */
+    private final QueryParameter[] templateParameters;
+    private final QueryParameter[] signingParameters;
+
+    /**
+     * The canonical and URL query strings when a variation doesn't add any query parameters.
+     */
+    private final String templateCanonicalQuery;
+    private final String templateUrlQuery;
+
+    /**
+     * Everything in the canonical request after the query string: the canonical headers, signed headers and payload hash.
+     */
+    private final String canonicalRequestSuffix;
+
+    private final Aws4SignerRequestParams signerParams;
+    private final byte[] signingKey;
+
+    /**
+     * The HMAC-SHA256 of the signing key, split into its inner digest (already fed the inner key pad and the part of the
+     * string to sign that's the same for every request) and outer digest (already fed the outer key pad). Each signature
+     * starts from clones of these instead of re-hashing the same blocks. Null if the digests can't be cloned.
+     */
+    private final MessageDigest innerDigest;
+    private final MessageDigest outerDigest;
+
+    Aws4BulkPresigner(Aws4Signer signer,
+                      Context.BeforeTransmission execution,
+                      ExecutionAttributes executionAttributes,
+                      Date userSpecifiedExpirationDate) {
+        this.signer = signer;
+        SdkHttpFullRequest template = execution.httpRequest();
+        this.methodName = template.method().name();
+        this.templatePath = template.encodedPath();
+        this.urlPrefix = template.protocol() + "://" + template.host()
+                         + (SdkHttpUtils.isUsingStandardPort(template.protocol(), template.port()) ? "" : ":" + template.port());
+        this.templateParameters = encode(template.rawQueryParameters());
+
+        // Anonymous credentials aren't signed, the same as Aws4Signer#presign.
+        this.sign = !CredentialUtils.isAnonymous(executionAttributes.getAttribute(AWS_CREDENTIALS));
+        if (!sign) {
+            this.signingParameters = new QueryParameter[0];
+            this.canonicalRequestSuffix = null;
+            this.signerParams = null;
+            this.signingKey = null;
+            this.innerDigest = null;
+            this.outerDigest = null;
+        } else {
+            SdkHttpFullRequest.Builder mutableRequest = template.toBuilder();
+            long expirationInSeconds = signer.generateExpirationDate(userSpecifiedExpirationDate);
+            signer.addHostHeader(mutableRequest);
+
+            AwsCredentials credentials = signer.sanitizeCredentials(executionAttributes.getAttribute(AWS_CREDENTIALS));
+            this.signerParams = signer.newSignerRequestParams(execution.request(), mutableRequest, executionAttributes);
+            String contentSha256 = signer.calculateContentHashPresign(signerParams, mutableRequest);
+
+            String[] sortedHeaders = signer.sortedHeadersToSign(mutableRequest.headers());
+            String signedHeaders = signer.getSignedHeadersString(sortedHeaders);
+
+            List<QueryParameter> parameters = new ArrayList<>();
+            if (credentials instanceof AwsSessionCredentials) {
+                parameters.add(new QueryParameter(SignerConstants.X_AMZ_SECURITY_TOKEN,
+                                                  ((AwsSessionCredentials) credentials).sessionToken()));
+            }
+            parameters.add(new QueryParameter(SignerConstants.X_AMZ_ALGORITHM, SignerConstants.AWS4_SIGNING_ALGORITHM));
+            parameters.add(new QueryParameter(SignerConstants.X_AMZ_DATE, signerParams.getFormattedSigningDateTime()));
+            parameters.add(new QueryParameter(SignerConstants.X_AMZ_SIGNED_HEADER, signedHeaders));
+            parameters.add(new QueryParameter(SignerConstants.X_AMZ_EXPIRES, Long.toString(expirationInSeconds)));
+            parameters.add(new QueryParameter(SignerConstants.X_AMZ_CREDENTIAL,
+                                              credentials.accessKeyId() + "/" + signerParams.getScope()));
+            this.signingParameters = parameters.toArray(new QueryParameter[0]);
+
+            this.canonicalRequestSuffix = canonicalHeaders(sortedHeaders, mutableRequest.headers())
+                                          + SignerConstants.LINE_SEPARATOR + signedHeaders
+                                          + SignerConstants.LINE_SEPARATOR + contentSha256;
+            this.signingKey = signer.deriveSigningKey(credentials, signerParams);
+
+            String stringToSignPrefix = signerParams.getSigningAlgorithm() + SignerConstants.LINE_SEPARATOR
+                                        + signerParams.getFormattedSigningDateTime() + SignerConstants.LINE_SEPARATOR
+                                        + signerParams.getScope() + SignerConstants.LINE_SEPARATOR;
+            this.innerDigest = newHmacDigest(signingKey, HMAC_INNER_PAD, stringToSignPrefix);
+            this.outerDigest = newHmacDigest(signingKey, HMAC_OUTER_PAD, "");
+        }
+
+        QueryParameter[] parameters = merge(templateParameters, new QueryParameter[0]);
+        this.templateCanonicalQuery = canonicalQuery(parameters);
+        this.templateUrlQuery = urlQuery(parameters);
+    }
+
+    @Override
+    public URL presign(String encodedPath, Map<String, List<String>> rawQueryParameters) {
+        String path = encodedPath != null ? standardizePath(encodedPath) : templatePath;
+
+        String canonicalQuery = templateCanonicalQuery;
+        String urlQuery = templateUrlQuery;
+        if (!rawQueryParameters.isEmpty()) {
+            QueryParameter[] parameters = merge(without(templateParameters, rawQueryParameters), encode(rawQueryParameters));
+            canonicalQuery = canonicalQuery(parameters);
+            urlQuery = urlQuery(parameters);
+        }
+
+        StringBuilder url = new StringBuilder(urlPrefix.length() + path.length() + urlQuery.length() + 96)
+                .append(urlPrefix).append(path);
+        if (!urlQuery.isEmpty()) {
+            url.append('?').append(urlQuery);
+        }
+        if (sign) {
+            url.append(urlQuery.isEmpty() ? '?' : '&');
+            url.append(SignerConstants.X_AMZ_SIGNATURE).append('=').append(BinaryUtils.toHex(signature(path, canonicalQuery)));
+        }
+        return invokeSafely(() -> new URL(url.toString()));
+    }
+
+    /**
+     * Normalizes the path the same way as {@link SdkHttpFullRequest}, so the signed path is the one that would be presigned
+     * by {@link Aws4Signer#presign}.
+     */
+    private static String standardizePath(String path) {
+        if (path.isEmpty() || path.equals("/")) {
+            return "";
+        }
+        String standardized = path.charAt(0) == '/' ? path : "/" + path;
+        return standardized.length() > 1 && standardized.endsWith("/")
+               ? standardized.substring(0, standardized.length() - 1)
+               : standardized;
+    }
+
+    private byte[] signature(String path, String canonicalQuery) {
+        SigningInputWriter writer = SigningInputWriter.to(AbstractAwsSigner.getMessageDigestInstance(), false)
+                                                      .append(methodName)
+                                                      .append(SignerConstants.LINE_SEPARATOR);
+        signer.writeCanonicalizedResourcePath(writer, path);
+        byte[] canonicalRequestHash = writer.append(SignerConstants.LINE_SEPARATOR)
+                                            .append(canonicalQuery)
+                                            .append(SignerConstants.LINE_SEPARATOR)
+                                            .append(canonicalRequestSuffix)
+                                            .digest();
+        if (innerDigest == null || outerDigest == null) {
+            return signer.computeSignature(canonicalRequestHash, signerParams, signingKey);
+        }
+
+        MessageDigest inner = cloneDigest(innerDigest);
+        MessageDigest outer = cloneDigest(outerDigest);
+        outer.update(SigningInputWriter.to(inner, false).appendHex(canonicalRequestHash).digest());
+        return outer.digest();
+    }
+
+    /**
+     * Starts an HMAC-SHA256 (RFC 2104) calculation by feeding the padded key and any constant prefix of the message into a
+     * new digest, or returns null if the digest can't be cloned for reuse.
+     */
+    private static MessageDigest newHmacDigest(byte[] key, byte pad, String messagePrefix) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+            digest.clone();
+        } catch (NoSuchAlgorithmException | CloneNotSupportedException e) {
+            return null;
+        }
+
+        // Signing keys are SHA-256 HMACs, so they're always shorter than the block size and never need to be hashed first.
+        byte[] paddedKey = new byte[HMAC_BLOCK_SIZE];
+        for (int i = 0; i < paddedKey.length; i++) {
+            paddedKey[i] = (byte) ((i < key.length ? key[i] : 0) ^ pad);
+        }
+        digest.update(paddedKey);
+        digest.update(messagePrefix.getBytes(StandardCharsets.UTF_8));
+        return digest;
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            // Checked when the digest was created.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Combines the given parameters with the signing parameters in canonical order. Signing parameters take precedence over
+     * parameters with the same name, as they do when they're added by {@link Aws4Signer#presign}.
+     */
+    private QueryParameter[] merge(QueryParameter[] first, QueryParameter[] second) {
+        List<QueryParameter> merged = new ArrayList<>(first.length + second.length + signingParameters.length);
+        addUnlessSigningParameter(merged, first);
+        addUnlessSigningParameter(merged, second);
+        merged.addAll(Arrays.asList(signingParameters));
+        QueryParameter[] result = merged.toArray(new QueryParameter[0]);
+        Arrays.sort(result, CANONICAL_ORDER);
+        return result;
+    }
+
+    private void addUnlessSigningParameter(List<QueryParameter> target, QueryParameter[] parameters) {
+        for (QueryParameter parameter : parameters) {
+            if (!contains(signingParameters, parameter.rawName)) {
+                target.add(parameter);
+            }
+        }
+    }
+
+    private static boolean contains(QueryParameter[] parameters, String rawName) {
+        for (QueryParameter parameter : parameters) {
+            if (parameter.rawName.equals(rawName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static QueryParameter[] without(QueryParameter[] parameters, Map<String, List<String>> replaced) {
+        List<QueryParameter> result = new ArrayList<>(parameters.length);
+        for (QueryParameter parameter : parameters) {
+            if (!replaced.containsKey(parameter.rawName)) {
+                result.add(parameter);
+            }
+        }
+        return result.toArray(new QueryParameter[0]);
+    }
+
+    private static QueryParameter[] encode(Map<String, List<String>> rawQueryParameters) {
+        List<QueryParameter> result = new ArrayList<>();
+        rawQueryParameters.forEach((name, values) -> values.forEach(value -> result.add(new QueryParameter(name, value))));
+        return result.toArray(new QueryParameter[0]);
+    }
+
+    private static String canonicalQuery(QueryParameter[] parameters) {
+        StringBuilder result = new StringBuilder();
+        for (QueryParameter parameter : parameters) {
+            if (result.length() > 0) {
+                result.append('&');
+            }
+            result.append(parameter.encodedName).append('=').append(parameter.canonicalValue);
+        }
+        return result.toString();
+    }
+
+    private static String urlQuery(QueryParameter[] parameters) {
+        StringBuilder result = new StringBuilder();
+        for (QueryParameter parameter : parameters) {
+            if (result.length() > 0) {
+                result.append('&');
+            }
+            result.append(parameter.encodedName);
+            if (parameter.encodedValue != null) {
+                result.append('=').append(parameter.encodedValue);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String canonicalHeaders(String[] sortedHeaders, Map<String, List<String>> headers) {
+        StringBuilder result = new StringBuilder();
+        for (String header : sortedHeaders) {
+            for (String value : headers.get(header)) {
+                result.append(lowerCase(header)).append(':');
+                if (value != null) {
+                    StringUtils.appendCompactedString(result, value);
+                }
+                result.append('\n');
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * A query parameter, encoded once for both the canonical request and the URL.
+     */
+    private static final class QueryParameter {
+        private final String rawName;
+        private final String encodedName;
+
+        /**
+         * The encoded value for the URL, where a null value is sent as just the parameter name.
+         */
+        private final String encodedValue;
+
+        /**
+         * The value for the canonical request, where a null value is signed as empty.
+         */
+        private final String canonicalValue;
+
+        private QueryParameter(String rawName, String rawValue) {
+            this.rawName = rawName;
+            this.encodedName = Aws4Signer.uriEncode(rawName);
+            this.encodedValue = rawValue == null ? null : Aws4Signer.uriEncode(rawValue);
+            this.canonicalValue = encodedValue == null ? "" : encodedValue;
+        }
+    }
+}
@@ -22,25 +22,32 @@ import static software.amazon.awssdk.utils.StringUtils.lowerCase;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.security.InvalidKeyException;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.AwsSystemSetting;
 import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.auth.internal.Aws4SignerRequestParams;
 import software.amazon.awssdk.core.auth.internal.Aws4SignerUtils;
 import software.amazon.awssdk.core.auth.internal.SignerConstants;
-import software.amazon.awssdk.core.auth.internal.SignerKey;
+import software.amazon.awssdk.core.auth.internal.SigningInputWriter;
+import software.amazon.awssdk.core.auth.internal.SigningKeyCache;
+import software.amazon.awssdk.core.auth.presign.BulkPresigner;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.Context;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
-import software.amazon.awssdk.core.internal.collections.FifoCache;
 import software.amazon.awssdk.core.util.CredentialUtils;
-import software.amazon.awssdk.core.util.StringUtils;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
@@ -53,9 +60,8 @@ public class Aws4Signer extends AbstractAwsSigner
 
     private static final Logger LOG = LoggerFactory.getLogger(Aws4Signer.class);
 
-    private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE = new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
-    private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE = Arrays.asList("connection", "x-amzn-trace-id");
+    private static final SigningKeyCache SIGNING_KEY_CACHE = new SigningKeyCache(signingKeyCacheSize());
+    private static final String[] HEADERS_TO_IGNORE_IN_LOWER_CASE = {"connection", "x-amzn-trace-id"};
 
     /**
      * Service name override for use when the endpoint can't be used to
@@ -86,6 +92,12 @@ public class Aws4Signer extends AbstractAwsSigner
 
     private final SdkClock clock;
 
+    /**
+     * The signing key cache key most recently used by this signer, reused while the credentials, region and service stay
+     * the same so that signing doesn't allocate a key each time.
+     */
+    private volatile SigningKeyCache.Key lastSigningKeyCacheKey;
+
     /**
      * Construct a new AWS4 signer instance. By default, enable double
      * url-encoding.
@@ -189,30 +201,32 @@ public class Aws4Signer extends AbstractAwsSigner
             addSessionCredentials(mutableRequest, (AwsSessionCredentials) sanitizedCredentials);
         }
 
-        final Aws4SignerRequestParams signerParams = new Aws4SignerRequestParams(
-            execution.request(), mutableRequest, executionAttributes,
-            overriddenDate, regionName, serviceName, SignerConstants.AWS4_SIGNING_ALGORITHM);
+        final Aws4SignerRequestParams signerParams =
+                newSignerRequestParams(execution.request(), mutableRequest, executionAttributes);
 
         addHostHeader(mutableRequest);
         mutableRequest.header(SignerConstants.X_AMZ_DATE, signerParams.getFormattedSigningDateTime());
 
         String contentSha256 = calculateContentHash(signerParams, mutableRequest);
+        // Subclasses that add the header before the hash is known set it to "required" until it's replaced here.
         mutableRequest.firstMatchingHeader(SignerConstants.X_AMZ_CONTENT_SHA256)
                       .filter(h -> h.equals("required"))
                       .ifPresent(h -> mutableRequest.header(SignerConstants.X_AMZ_CONTENT_SHA256, contentSha256));
 
-        final String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256);
+        final String[] sortedHeaders = sortedHeadersToSign(mutableRequest.headers());
+        final String signedHeaders = getSignedHeadersString(sortedHeaders);
 
-        final String stringToSign = createStringToSign(canonicalRequest, signerParams);
+        final byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, sortedHeaders, signedHeaders, contentSha256);
 
         final byte[] signingKey = deriveSigningKey(sanitizedCredentials, signerParams);
 
-        final byte[] signature = computeSignature(stringToSign, signingKey);
+        final byte[] signature = computeSignature(canonicalRequestHash, signerParams, signingKey);
 
         mutableRequest.header(SignerConstants.AUTHORIZATION,
-                              buildAuthorizationHeader(signature, sanitizedCredentials, signerParams));
+                              buildAuthorizationHeader(signature, sanitizedCredentials, signerParams, signedHeaders));
 
-        processRequestPayload(mutableRequest, signature, signingKey, signerParams);
+        // The signing key is shared with the cache, so subclasses are given their own copy.
+        processRequestPayload(mutableRequest, signature, signingKey.clone(), signerParams);
         return mutableRequest;
     }
 
@@ -240,9 +254,8 @@ public class Aws4Signer extends AbstractAwsSigner
                                              ((AwsSessionCredentials) sanitizedCredentials).sessionToken());
         }
 
-        final Aws4SignerRequestParams signerRequestParams = new Aws4SignerRequestParams(
-                execution.request(), mutableRequest, executionAttributes,
-                overriddenDate, regionName, serviceName, SignerConstants.AWS4_SIGNING_ALGORITHM);
+        final Aws4SignerRequestParams signerRequestParams =
+                newSignerRequestParams(execution.request(), mutableRequest, executionAttributes);
 
         // Add the important parameters for v4 signing
         final String timeStamp = signerRequestParams.getFormattedSigningDateTime();
@@ -251,68 +264,118 @@ public class Aws4Signer extends AbstractAwsSigner
 
         final String contentSha256 = calculateContentHashPresign(signerRequestParams, mutableRequest);
 
-        final String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256);
+        final String[] sortedHeaders = sortedHeadersToSign(mutableRequest.headers());
 
-        final String stringToSign = createStringToSign(canonicalRequest, signerRequestParams);
+        final byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, sortedHeaders,
+                                                                 getSignedHeadersString(sortedHeaders), contentSha256);
 
         final byte[] signingKey = deriveSigningKey(sanitizedCredentials, signerRequestParams);
 
-        final byte[] signature = computeSignature(stringToSign, signingKey);
+        final byte[] signature = computeSignature(canonicalRequestHash, signerRequestParams, signingKey);
 
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_SIGNATURE, BinaryUtils.toHex(signature));
 
         return mutableRequest.build();
     }
 
+    /**
+     * Prepares to presign many requests that differ from the given one only in their path and query parameters, like
+     * presigned URLs for many objects in the same bucket. Everything that's the same for all of them (the credentials,
+     * signing time, expiration, scope, signing key and canonical headers) is computed once, so presigning each request only
+     * involves hashing its canonical request and signing that hash.
+     *
+     * <p>All requests presigned by the returned presigner share the signing time and credentials resolved when it was
+     * created, so it should only be kept for as long as those stay valid.
+     *
+     * @param execution The template request.
+     * @param executionAttributes Contains the credentials to sign with.
+     * @param userSpecifiedExpirationDate When the presigned requests should expire, or null for the maximum of 7 days.
+     */
+    public BulkPresigner bulkPresigner(Context.BeforeTransmission execution,
+                                       ExecutionAttributes executionAttributes,
+                                       Date userSpecifiedExpirationDate) {
+        return new Aws4BulkPresigner(this, execution, executionAttributes, userSpecifiedExpirationDate);
+    }
+
+    Aws4SignerRequestParams newSignerRequestParams(SdkRequest originalRequest,
+                                                   SdkHttpFullRequest.Builder mutableRequest,
+                                                   ExecutionAttributes executionAttributes) {
+        return new Aws4SignerRequestParams(originalRequest, mutableRequest, executionAttributes,
+                                           overriddenDate, regionName, serviceName, SignerConstants.AWS4_SIGNING_ALGORITHM);
+    }
+
     /**
      * Step 1 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-canonical-request.html to
      * generate the canonical request.
+     *
+     * <p>The canonical request is only needed for its hash, so it's streamed directly into the digest instead of being
+     * built as a string.
      */
-    private String createCanonicalRequest(SdkHttpFullRequest.Builder request,
-                                          String contentSha256) {
-        final String canonicalRequest = request.method().toString() +
-                                        SignerConstants.LINE_SEPARATOR +
-                                        // This would optionally double url-encode the resource path
-                                        getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode) +
-                                        SignerConstants.LINE_SEPARATOR +
-                                        getCanonicalizedQueryString(request.rawQueryParameters()) +
-                                        SignerConstants.LINE_SEPARATOR +
-                                        getCanonicalizedHeaderString(request.headers()) +
-                                        SignerConstants.LINE_SEPARATOR +
-                                        getSignedHeadersString(request.headers()) +
-                                        SignerConstants.LINE_SEPARATOR +
-                                        contentSha256;
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("AWS4 Canonical Request: '\"" + canonicalRequest + "\"");
+    private byte[] hashCanonicalRequest(SdkHttpFullRequest.Builder request,
+                                        String[] sortedHeaders,
+                                        String signedHeaders,
+                                        String contentSha256) {
+        final boolean debugEnabled = LOG.isDebugEnabled();
+        final SigningInputWriter writer = SigningInputWriter.to(getMessageDigestInstance(), debugEnabled);
+
+        writer.append(request.method().name()).append(SignerConstants.LINE_SEPARATOR);
+        // This would optionally double url-encode the resource path
+        writeCanonicalizedResourcePath(writer, request.encodedPath());
+        writer.append(SignerConstants.LINE_SEPARATOR);
+        writeCanonicalizedQueryString(writer, request.rawQueryParameters());
+        writer.append(SignerConstants.LINE_SEPARATOR);
+        writeCanonicalizedHeaders(writer, sortedHeaders, request.headers());
+        writer.append(SignerConstants.LINE_SEPARATOR)
+              .append(signedHeaders)
+              .append(SignerConstants.LINE_SEPARATOR)
+              .append(contentSha256);
+
+        final byte[] hash = writer.digest();
+
+        if (debugEnabled) {
+            LOG.debug("AWS4 Canonical Request: '\"" + writer.text() + "\"");
         }
 
-        return canonicalRequest;
+        return hash;
     }
 
     /**
      * Step 2 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
+     *
+     * <p>Combined with the final part of step 3: the string to sign is streamed directly into the HMAC keyed with the
+     * signing key.
      */
-    private String createStringToSign(String canonicalRequest,
-                                      Aws4SignerRequestParams signerParams) {
+    byte[] computeSignature(byte[] canonicalRequestHash,
+                            Aws4SignerRequestParams signerParams,
+                            byte[] signingKey) {
+        final Mac mac = SigningAlgorithm.HmacSHA256.getMac();
+        try {
+            mac.init(new SecretKeySpec(signingKey, SigningAlgorithm.HmacSHA256.toString()));
+        } catch (InvalidKeyException e) {
+            throw new SdkClientException("Unable to calculate a request signature: " + e.getMessage(), e);
+        }
 
-        final String stringToSign = signerParams.getSigningAlgorithm() +
-                                    SignerConstants.LINE_SEPARATOR +
-                                    signerParams.getFormattedSigningDateTime() +
-                                    SignerConstants.LINE_SEPARATOR +
-                                    signerParams.getScope() +
-                                    SignerConstants.LINE_SEPARATOR +
-                                    BinaryUtils.toHex(hash(canonicalRequest));
+        final boolean debugEnabled = LOG.isDebugEnabled();
+        final SigningInputWriter writer = SigningInputWriter.to(mac, debugEnabled)
+                                                            .append(signerParams.getSigningAlgorithm())
+                                                            .append(SignerConstants.LINE_SEPARATOR)
+                                                            .append(signerParams.getFormattedSigningDateTime())
+                                                            .append(SignerConstants.LINE_SEPARATOR)
+                                                            .append(signerParams.getScope())
+                                                            .append(SignerConstants.LINE_SEPARATOR)
+                                                            .appendHex(canonicalRequestHash);
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("AWS4 String to Sign: '\"" + stringToSign + "\"");
+        final byte[] signature = writer.digest();
+
+        if (debugEnabled) {
+            LOG.debug("AWS4 String to Sign: '\"" + writer.text() + "\"");
         }
 
-        return stringToSign;
+        return signature;
     }
 
     /**
@@ -320,68 +383,75 @@ public class Aws4Signer extends AbstractAwsSigner
      * the signing key and computing the signature. Refer to
      * http://docs.aws.amazon
      * .com/general/latest/gr/sigv4-calculate-signature.html
+     *
+     * <p>The returned key is the array held by the signing key cache, so it's only used to key the HMAC and must not be
+     * modified or handed out without copying it.
      */
-    private byte[] deriveSigningKey(AwsCredentials credentials,
-                                    Aws4SignerRequestParams signerRequestParams) {
-
-        final String cacheKey = computeSigningCacheKeyName(credentials,
-                                                           signerRequestParams);
+    byte[] deriveSigningKey(AwsCredentials credentials,
+                            Aws4SignerRequestParams signerRequestParams) {
+
+        SigningKeyCache.Key cacheKey = lastSigningKeyCacheKey;
+        if (cacheKey == null
+            || !cacheKey.matches(credentials, signerRequestParams.getRegionName(), signerRequestParams.getServiceName())) {
+            cacheKey = new SigningKeyCache.Key(credentials,
+                                               signerRequestParams.getRegionName(),
+                                               signerRequestParams.getServiceName());
+            lastSigningKeyCacheKey = cacheKey;
+        }
         final long daysSinceEpochSigningDate = numberOfDaysSinceEpoch(signerRequestParams.getSigningDateTimeMilli());
 
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
-
-        if (signerKey != null) {
-            if (daysSinceEpochSigningDate == signerKey
-                    .getNumberOfDaysSinceEpoch()) {
-                return signerKey.getSigningKey();
-            }
+        byte[] signingKey = SIGNING_KEY_CACHE.get(cacheKey, daysSinceEpochSigningDate);
+        if (signingKey != null) {
+            return signingKey;
         }
         if (LOG.isDebugEnabled()) {
             LOG.debug("Generating a new signing key as the signing key not available in the cache for the date "
                       + TimeUnit.DAYS.toMillis(daysSinceEpochSigningDate));
         }
-        byte[] signingKey = newSigningKey(credentials,
-                                          signerRequestParams.getFormattedSigningDate(),
-                                          signerRequestParams.getRegionName(),
-                                          signerRequestParams.getServiceName());
-        SIGNER_CACHE.add(cacheKey, new SignerKey(
-                daysSinceEpochSigningDate, signingKey));
+        signingKey = newSigningKey(credentials,
+                                   signerRequestParams.getFormattedSigningDate(),
+                                   signerRequestParams.getRegionName(),
+                                   signerRequestParams.getServiceName());
+        SIGNING_KEY_CACHE.put(cacheKey, daysSinceEpochSigningDate, signingKey);
         return signingKey;
     }
 
+    private static int signingKeyCacheSize() {
+        String size = AwsSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.getStringValueOrThrow();
+        try {
+            return Integer.parseInt(size.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid signing key cache size: " + size, e);
+        }
+    }
+
     /**
-     * Computes the name to be used to reference the signing key in the cache.
+     * @return The number of signatures, across all AWS4 signers, whose signing key was found in the signing key cache.
      */
-    private String computeSigningCacheKeyName(AwsCredentials credentials,
-                                              Aws4SignerRequestParams signerRequestParams) {
-        return credentials.secretAccessKey() + "-" + signerRequestParams.getRegionName() + "-" +
-               signerRequestParams.getServiceName();
+    public static long signingKeyCacheHits() {
+        return SIGNING_KEY_CACHE.hits();
     }
 
     /**
-     * Step 3 of the AWS Signature version 4 calculation. It involves deriving
-     * the signing key and computing the signature. Refer to
-     * http://docs.aws.amazon
-     * .com/general/latest/gr/sigv4-calculate-signature.html
+     * @return The number of signatures, across all AWS4 signers, that had to derive a new signing key. A steadily growing
+     *     count suggests the cache, sized by {@code aws.signingKeyCacheSize}, is too small for the credentials, regions and
+     *     services in use.
      */
-    private byte[] computeSignature(String stringToSign, byte[] signingKey) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
-                    SigningAlgorithm.HmacSHA256);
+    public static long signingKeyCacheMisses() {
+        return SIGNING_KEY_CACHE.misses();
     }
 
     /**
      * Creates the authorization header to be included in the request.
      */
     private String buildAuthorizationHeader(byte[] signature, AwsCredentials credentials,
-                                            Aws4SignerRequestParams signerParams) {
-
-        String signingCredentials = credentials.accessKeyId() + "/" + signerParams.getScope();
-        String credential = "Credential=" + signingCredentials;
-        String signerHeaders = "SignedHeaders=" +
-                               getSignedHeadersString(signerParams.httpRequest().headers());
-        String signatureHeader = "Signature=" + BinaryUtils.toHex(signature);
+                                            Aws4SignerRequestParams signerParams, String signedHeaders) {
 
-        return SignerConstants.AWS4_SIGNING_ALGORITHM + " " + credential + ", " + signerHeaders + ", " + signatureHeader;
+        return new StringBuilder(SignerConstants.AWS4_SIGNING_ALGORITHM)
+                .append(" Credential=").append(credentials.accessKeyId()).append('/').append(signerParams.getScope())
+                .append(", SignedHeaders=").append(signedHeaders)
+                .append(", Signature=").append(BinaryUtils.toHex(signature))
+                .toString();
     }
 
     /**
@@ -396,7 +466,7 @@ public class Aws4Signer extends AbstractAwsSigner
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_ALGORITHM, SignerConstants.AWS4_SIGNING_ALGORITHM);
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_DATE, timeStamp);
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_SIGNED_HEADER,
-                                         getSignedHeadersString(signerParams.httpRequest().headers()));
+                                         getSignedHeadersString(sortedHeadersToSign(signerParams.httpRequest().headers())));
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_EXPIRES,
                                          Long.toString(expirationInSeconds));
         mutableRequest.rawQueryParameter(SignerConstants.X_AMZ_CREDENTIAL, signingCredentials);
@@ -408,40 +478,106 @@ public class Aws4Signer extends AbstractAwsSigner
         mutableRequest.header(SignerConstants.X_AMZ_SECURITY_TOKEN, credentials.sessionToken());
     }
 
-    private String getCanonicalizedHeaderString(Map<String, List<String>> headers) {
-        final List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * Writes the canonical resource path. Equivalent to {@link #getCanonicalizedResourcePath(String, boolean)}.
+     */
+    void writeCanonicalizedResourcePath(SigningInputWriter writer, String resourcePath) {
+        if (resourcePath == null || resourcePath.isEmpty()) {
+            writer.append('/');
+            return;
+        }
+        if (resourcePath.charAt(0) != '/') {
+            writer.append('/');
+        }
+        if (doubleUrlEncode) {
+            writer.appendUriEncoded(resourcePath, true);
+        } else {
+            writer.append(resourcePath);
+        }
+    }
+
+    /**
+     * Writes the canonical query string. Equivalent to {@link #getCanonicalizedQueryString(Map)}: parameters are sorted by
+     * their encoded name and the values of each parameter by their encoded value. Names and values that don't need
+     * encoding, which is almost all of them, are used as-is.
+     */
+    private void writeCanonicalizedQueryString(SigningInputWriter writer, Map<String, List<String>> parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        final String[] encodedNames = new String[parameters.size()];
+        final Map<String, List<String>> valuesByEncodedName = new HashMap<>(parameters.size() * 2);
+        int index = 0;
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            String encodedName = uriEncode(entry.getKey());
+            encodedNames[index++] = encodedName;
+            valuesByEncodedName.put(encodedName, entry.getValue());
+        }
+        Arrays.sort(encodedNames);
 
-        final Map<String, List<String>> requestHeaders = headers;
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
+        boolean first = true;
+        for (String encodedName : encodedNames) {
+            for (String encodedValue : sortedEncodedValues(valuesByEncodedName.get(encodedName))) {
+                if (!first) {
+                    writer.append('&');
+                }
+                first = false;
+                writer.append(encodedName).append('=').append(encodedValue);
             }
-            String key = lowerCase(header);
+        }
+    }
+
+    private String[] sortedEncodedValues(List<String> values) {
+        final String[] encodedValues = new String[values.size()];
+        for (int i = 0; i < encodedValues.length; i++) {
+            // Null values should be treated as empty for the purposes of signing, not missing.
+            // For example "?foo=" instead of "?foo".
+            String value = values.get(i);
+            encodedValues[i] = value == null ? "" : uriEncode(value);
+        }
+        if (encodedValues.length > 1) {
+            Arrays.sort(encodedValues);
+        }
+        return encodedValues;
+    }
+
+    static String uriEncode(String value) {
+        return SigningInputWriter.isUriEncodingNeeded(value) ? SdkHttpUtils.urlEncode(value) : value;
+    }
 
-            for (String headerValue : requestHeaders.get(header)) {
-                StringUtils.appendCompactedString(buffer, key);
-                buffer.append(":");
+    private void writeCanonicalizedHeaders(SigningInputWriter writer, String[] sortedHeaders,
+                                           Map<String, List<String>> headers) {
+        for (String header : sortedHeaders) {
+            for (String headerValue : headers.get(header)) {
+                writer.appendLowerCase(header).append(':');
                 if (headerValue != null) {
-                    StringUtils.appendCompactedString(buffer, headerValue);
+                    writer.appendCompacted(headerValue);
                 }
-                buffer.append("\n");
+                writer.append('\n');
             }
         }
-
-        return buffer.toString();
     }
 
-    private String getSignedHeadersString(Map<String, List<String>> headers) {
-        final List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * @return The names of the headers to sign, in case-insensitive order.
+     */
+    String[] sortedHeadersToSign(Map<String, List<String>> headers) {
+        final String[] sortedHeaders = new String[headers.size()];
+        int count = 0;
+        for (String header : headers.keySet()) {
+            if (!shouldExcludeHeaderFromSigning(header)) {
+                sortedHeaders[count++] = header;
+            }
+        }
+        final String[] result = count == sortedHeaders.length ? sortedHeaders : Arrays.copyOf(sortedHeaders, count);
+        Arrays.sort(result, String.CASE_INSENSITIVE_ORDER);
+        return result;
+    }
 
+    String getSignedHeadersString(String[] sortedHeaders) {
         StringBuilder buffer = new StringBuilder();
         for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
             if (buffer.length() > 0) {
                 buffer.append(";");
             }
@@ -452,10 +588,15 @@ public class Aws4Signer extends AbstractAwsSigner
     }
 
     private boolean shouldExcludeHeaderFromSigning(String header) {
-        return LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE.contains(lowerCase(header));
+        for (String ignoredHeader : HEADERS_TO_IGNORE_IN_LOWER_CASE) {
+            if (ignoredHeader.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private void addHostHeader(SdkHttpFullRequest.Builder mutableRequest) {
+    void addHostHeader(SdkHttpFullRequest.Builder mutableRequest) {
         // AWS4 requires that we sign the Host header so we
         // have to have it in the request by the time we sign.
 
@@ -477,6 +618,19 @@ public class Aws4Signer extends AbstractAwsSigner
     protected String calculateContentHash(Aws4SignerRequestParams signerRequestParams,
                                           SdkHttpFullRequest.Builder requestBuilder) {
         SdkHttpFullRequest.Builder requestToSign = signerRequestParams.httpRequest();
+        ExecutionAttributes executionAttributes = signerRequestParams.executionAttributes();
+
+        if (isUnsignedPayload(signerRequestParams)) {
+            // Services that accept unsigned payloads require the header to tell them the payload isn't signed.
+            requestBuilder.header(SignerConstants.X_AMZ_CONTENT_SHA256, SignerConstants.UNSIGNED_PAYLOAD);
+            return SignerConstants.UNSIGNED_PAYLOAD;
+        }
+
+        Supplier<String> payloadSha256 = executionAttributes.getAttribute(AwsExecutionAttributes.PAYLOAD_SHA256);
+        if (payloadSha256 != null) {
+            return payloadSha256.get();
+        }
+
         InputStream payloadStream = getBinaryRequestPayloadStream(requestToSign.content());
         payloadStream.mark(getReadLimit(signerRequestParams));
         String contentSha256 = BinaryUtils.toHex(hash(payloadStream));
@@ -508,14 +662,28 @@ public class Aws4Signer extends AbstractAwsSigner
      */
     protected String calculateContentHashPresign(Aws4SignerRequestParams signerRequestParams,
                                                  SdkHttpFullRequest.Builder requestBuilder) {
+        // The signed headers are already part of the presigned query parameters, and a presigned request is sent without
+        // the SDK's headers, so an unsigned payload is only reflected in the signature.
+        if (isUnsignedPayload(signerRequestParams)) {
+            return SignerConstants.UNSIGNED_PAYLOAD;
+        }
         return calculateContentHash(signerRequestParams, requestBuilder);
     }
 
+    /**
+     * @return Whether the payload is left out of the signature, which the client only allows for requests sent over HTTPS.
+     */
+    private static boolean isUnsignedPayload(Aws4SignerRequestParams signerRequestParams) {
+        return Boolean.TRUE.equals(signerRequestParams.executionAttributes()
+                                                      .getAttribute(AwsExecutionAttributes.UNSIGNED_PAYLOAD_ENABLED))
+               && "https".equals(signerRequestParams.httpRequest().protocol());
+    }
+
     /**
      * Generates an expiration date for the presigned url. If user has specified
      * an expiration date, check if it is in the given limit.
      */
-    private long generateExpirationDate(Date expirationDate) {
+    long generateExpirationDate(Date expirationDate) {
 
         long expirationInSeconds = expirationDate != null ? ((expirationDate
                                                                       .getTime() - clock.currentTimeMillis()) / 1000L)
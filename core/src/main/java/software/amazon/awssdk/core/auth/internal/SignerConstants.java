@@ -38,6 +38,8 @@ public final class SignerConstants {
 
     public static final String X_AMZ_CONTENT_SHA256 = "x-amz-content-sha256";
 
+    public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
     public static final String X_AMZ_SIGNATURE = "X-Amz-Signature";
 
     public static final String X_AMZ_ALGORITHM = "X-Amz-Algorithm";
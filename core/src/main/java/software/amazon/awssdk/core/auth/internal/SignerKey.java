@@ -55,4 +55,11 @@ public final class SignerKey {
     public byte[] getSigningKey() {
         return signingKey.clone();
     }
+
+    /**
+     * Returns the signing key without copying it, for callers that only read it.
+     */
+    byte[] signingKey() {
+        return signingKey;
+    }
 }
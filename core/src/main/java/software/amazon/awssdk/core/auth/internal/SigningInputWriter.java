@@ -0,0 +1,298 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.crypto.Mac;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.StringUtils;
+
+/**
+ * Writes the inputs of a signature calculation (the canonical request and the string to sign) as UTF-8 straight into a
+ * {@link MessageDigest} or {@link Mac} through a small reusable buffer, so the text never has to be materialized as a
+ * {@link String} or byte array.
+ *
+ * <p>Instances are thread local and reused. A writer obtained from one of the {@code to} methods must be finished with
+ * {@link #digest()} before another one is obtained on the same thread.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class SigningInputWriter {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final byte[] LOWER_HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UPPER_HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<SigningInputWriter> WRITER = ThreadLocal.withInitial(SigningInputWriter::new);
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private MessageDigest messageDigest;
+    private Mac mac;
+    private ByteArrayOutputStream capture;
+
+    private SigningInputWriter() {
+    }
+
+    /**
+     * Returns this thread's writer, configured to write into the given digest.
+     *
+     * @param messageDigest The digest to update. It should already be reset.
+     * @param captureText   Whether to also remember everything written so it can be returned by {@link #text()}, which is
+     *                      only intended for debug logging.
+     */
+    public static SigningInputWriter to(MessageDigest messageDigest, boolean captureText) {
+        return WRITER.get().reset(messageDigest, null, captureText);
+    }
+
+    /**
+     * Returns this thread's writer, configured to write into the given MAC.
+     *
+     * @param mac         The initialized MAC to update.
+     * @param captureText Whether to also remember everything written so it can be returned by {@link #text()}.
+     */
+    public static SigningInputWriter to(Mac mac, boolean captureText) {
+        return WRITER.get().reset(null, mac, captureText);
+    }
+
+    private SigningInputWriter reset(MessageDigest newDigest, Mac newMac, boolean captureText) {
+        this.messageDigest = newDigest;
+        this.mac = newMac;
+        this.capture = captureText ? new ByteArrayOutputStream() : null;
+        this.position = 0;
+        return this;
+    }
+
+    /**
+     * Writes a single ASCII character.
+     */
+    public SigningInputWriter append(char ch) {
+        writeByte((byte) ch);
+        return this;
+    }
+
+    /**
+     * Writes the given string as UTF-8.
+     */
+    public SigningInputWriter append(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                writeByte((byte) ch);
+            } else {
+                i = writeNonAscii(value, i, false);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given string lower-cased, as done by {@link StringUtils#lowerCase(String)}.
+     */
+    public SigningInputWriter appendLowerCase(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return append(StringUtils.lowerCase(value));
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            writeByte((byte) (ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given string with each run of whitespace replaced by a single space, as done by
+     * {@link software.amazon.awssdk.core.util.StringUtils#appendCompactedString(StringBuilder, String)}.
+     */
+    public SigningInputWriter appendCompacted(String value) {
+        boolean previousIsWhiteSpace = false;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (isWhiteSpace(ch)) {
+                if (!previousIsWhiteSpace) {
+                    writeByte((byte) ' ');
+                    previousIsWhiteSpace = true;
+                }
+            } else {
+                if (ch < 0x80) {
+                    writeByte((byte) ch);
+                } else {
+                    i = writeNonAscii(value, i, false);
+                }
+                previousIsWhiteSpace = false;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given string encoded according to RFC 3986, producing the same output as
+     * {@link software.amazon.awssdk.utils.http.SdkHttpUtils#urlEncode(String)} (or
+     * {@link software.amazon.awssdk.utils.http.SdkHttpUtils#urlEncodeIgnoreSlashes(String)} when {@code ignoreSlashes} is
+     * true).
+     */
+    public SigningInputWriter appendUriEncoded(String value, boolean ignoreSlashes) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (isUnreserved(ch) || (ignoreSlashes && ch == '/')) {
+                writeByte((byte) ch);
+            } else if (ch < 0x80) {
+                writePercentEncoded(ch);
+            } else {
+                i = writeNonAscii(value, i, true);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given bytes as lower case hex.
+     */
+    public SigningInputWriter appendHex(byte[] data) {
+        for (byte b : data) {
+            writeByte(LOWER_HEX[(b >> 4) & 0xF]);
+            writeByte(LOWER_HEX[b & 0xF]);
+        }
+        return this;
+    }
+
+    /**
+     * Flushes anything still buffered and completes the digest or MAC calculation. The writer must not be used again
+     * until it's obtained through one of the {@code to} methods.
+     */
+    public byte[] digest() {
+        flush();
+        byte[] result = messageDigest != null ? messageDigest.digest() : mac.doFinal();
+        messageDigest = null;
+        mac = null;
+        return result;
+    }
+
+    /**
+     * @return Everything written so far, if this writer was asked to capture its text. Otherwise null.
+     */
+    public String text() {
+        flush();
+        return capture == null ? null : new String(capture.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return True if the given string would be written unchanged by {@link #appendUriEncoded(String, boolean)}.
+     */
+    public static boolean isUriEncodingNeeded(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (!isUnreserved(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the code point starting at the given index, which is not ASCII, as UTF-8. Unpaired surrogates are written as
+     * '?', matching {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @return The index of the last character consumed.
+     */
+    private int writeNonAscii(String value, int index, boolean percentEncode) {
+        char ch = value.charAt(index);
+        int codePoint;
+        int lastIndex = index;
+        if (Character.isHighSurrogate(ch) && index + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(index + 1))) {
+            codePoint = Character.toCodePoint(ch, value.charAt(index + 1));
+            lastIndex = index + 1;
+        } else if (Character.isSurrogate(ch)) {
+            codePoint = '?';
+        } else {
+            codePoint = ch;
+        }
+
+        if (codePoint < 0x80) {
+            writeUtf8Byte(codePoint, percentEncode);
+        } else if (codePoint < 0x800) {
+            writeUtf8Byte(0xC0 | (codePoint >> 6), percentEncode);
+            writeUtf8Byte(0x80 | (codePoint & 0x3F), percentEncode);
+        } else if (codePoint < 0x10000) {
+            writeUtf8Byte(0xE0 | (codePoint >> 12), percentEncode);
+            writeUtf8Byte(0x80 | ((codePoint >> 6) & 0x3F), percentEncode);
+            writeUtf8Byte(0x80 | (codePoint & 0x3F), percentEncode);
+        } else {
+            writeUtf8Byte(0xF0 | (codePoint >> 18), percentEncode);
+            writeUtf8Byte(0x80 | ((codePoint >> 12) & 0x3F), percentEncode);
+            writeUtf8Byte(0x80 | ((codePoint >> 6) & 0x3F), percentEncode);
+            writeUtf8Byte(0x80 | (codePoint & 0x3F), percentEncode);
+        }
+        return lastIndex;
+    }
+
+    private void writeUtf8Byte(int b, boolean percentEncode) {
+        if (percentEncode) {
+            writePercentEncoded(b);
+        } else {
+            writeByte((byte) b);
+        }
+    }
+
+    private void writePercentEncoded(int b) {
+        writeByte((byte) '%');
+        writeByte(UPPER_HEX[(b >> 4) & 0xF]);
+        writeByte(UPPER_HEX[b & 0xF]);
+    }
+
+    private void writeByte(byte b) {
+        if (position == BUFFER_SIZE) {
+            flush();
+        }
+        buffer[position++] = b;
+    }
+
+    private void flush() {
+        if (position == 0) {
+            return;
+        }
+        if (messageDigest != null) {
+            messageDigest.update(buffer, 0, position);
+        } else if (mac != null) {
+            mac.update(buffer, 0, position);
+        }
+        if (capture != null) {
+            capture.write(buffer, 0, position);
+        }
+        position = 0;
+    }
+
+    private static boolean isUnreserved(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+               || ch == '-' || ch == '_' || ch == '.' || ch == '~';
+    }
+
+    private static boolean isWhiteSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
+    }
+}
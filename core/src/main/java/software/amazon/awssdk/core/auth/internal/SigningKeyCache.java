@@ -0,0 +1,172 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth.internal;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A bounded cache of SigV4 signing keys, shared by all signers.
+ *
+ * <p>Lookups never block: entries live in a {@link ConcurrentHashMap} and the bound is enforced by evicting arbitrary
+ * entries once the cache grows past its maximum size, rather than by maintaining a strict insertion order under a lock.
+ * Eviction is neither least recently used nor oldest first, so a key that's still in use may be evicted and derived again
+ * on its next lookup. The cache should be sized to hold every key in use, and {@link #misses()} shows when it isn't.
+ * Only one key is kept per credentials, region and service. When the signing date moves to the next day the entry is
+ * replaced instead of added, so day rollover doesn't fill the cache with stale keys.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class SigningKeyCache {
+
+    private final int maxSize;
+    private final ConcurrentMap<Key, SignerKey> cache;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SigningKeyCache(int maxSize) {
+        Validate.isTrue(maxSize > 0, "The signing key cache size must be positive, but was %s", maxSize);
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * Returns the cached signing key for the given key and day, or null if there isn't one. The returned array is shared and
+     * must not be modified.
+     */
+    public byte[] get(Key key, long daysSinceEpoch) {
+        SignerKey signerKey = cache.get(key);
+        if (signerKey != null && signerKey.getNumberOfDaysSinceEpoch() == daysSinceEpoch) {
+            hits.increment();
+            return signerKey.signingKey();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the signing key for the given key and day, replacing any key cached for a previous day.
+     */
+    public void put(Key key, long daysSinceEpoch, byte[] signingKey) {
+        if (cache.put(key, new SignerKey(daysSinceEpoch, signingKey)) == null && size.incrementAndGet() > maxSize) {
+            evictExcept(key);
+        }
+    }
+
+    /**
+     * Removes entries until the cache is back within its bound, never evicting the key that was just added. The entries
+     * removed are the first ones the map's iterator returns, which depends on their hash codes rather than on their age
+     * or use.
+     */
+    private void evictExcept(Key added) {
+        Iterator<Key> keys = cache.keySet().iterator();
+        while (size.get() > maxSize && keys.hasNext()) {
+            Key candidate = keys.next();
+            if (!candidate.equals(added) && cache.remove(candidate) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The approximate number of keys currently cached.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return The number of lookups that found a key for the requested day.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that had to derive a new key.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * The identity of a signing key: the credentials it was derived from and the region and service it's scoped to. The hash
+     * code is computed once, so a lookup doesn't need to build a string key.
+     */
+    public static final class Key {
+
+        private final String accessKeyId;
+        private final String secretAccessKey;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        public Key(AwsCredentials credentials, String regionName, String serviceName) {
+            this.accessKeyId = credentials.accessKeyId();
+            this.secretAccessKey = credentials.secretAccessKey();
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            int hash = Objects.hashCode(accessKeyId);
+            hash = 31 * hash + Objects.hashCode(secretAccessKey);
+            hash = 31 * hash + Objects.hashCode(regionName);
+            this.hashCode = 31 * hash + Objects.hashCode(serviceName);
+        }
+
+        /**
+         * @return Whether this is the key for the given credentials, region and service.
+         */
+        public boolean matches(AwsCredentials credentials, String regionName, String serviceName) {
+            return Objects.equals(this.secretAccessKey, credentials.secretAccessKey())
+                   && Objects.equals(this.accessKeyId, credentials.accessKeyId())
+                   && Objects.equals(this.regionName, regionName)
+                   && Objects.equals(this.serviceName, serviceName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode
+                   && Objects.equals(secretAccessKey, other.secretAccessKey)
+                   && Objects.equals(accessKeyId, other.accessKeyId)
+                   && Objects.equals(regionName, other.regionName)
+                   && Objects.equals(serviceName, other.serviceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth.presign;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * Presigns many variations of the same template request. Each presigned request differs from the template only in its path
+ * and query parameters, which is the shape of most bulk presigning (like download links for many objects in one bucket).
+ *
+ * @see PresignerFacade#bulkPresigner
+ */
+@ThreadSafe
+@SdkProtectedApi
+@FunctionalInterface
+public interface BulkPresigner {
+
+    /**
+     * Presigns the template request with the given path and additional query parameters.
+     *
+     * @param encodedPath The already URL-encoded path to use instead of the template's, or null to keep the template's path.
+     * @param rawQueryParameters Query parameters to add to the template's. Parameters with the same name as one of the
+     *                           template's replace it. May be empty.
+     * @return The presigned URL.
+     */
+    URL presign(String encodedPath, Map<String, List<String>> rawQueryParameters);
+
+    /**
+     * Presigns the template request with the given path, like a different object key in the same bucket.
+     *
+     * @param encodedPath The already URL-encoded path to use instead of the template's.
+     * @return The presigned URL.
+     */
+    default URL presignPath(String encodedPath) {
+        return presign(encodedPath, Collections.emptyMap());
+    }
+
+    /**
+     * Presigns the template request with the given additional query parameters.
+     *
+     * @param rawQueryParameters Query parameters to add to the template's. Parameters with the same name as one of the
+     *                           template's replace it.
+     * @return The presigned URL.
+     */
+    default URL presignQuery(Map<String, List<String>> rawQueryParameters) {
+        return presign(null, rawQueryParameters);
+    }
+}
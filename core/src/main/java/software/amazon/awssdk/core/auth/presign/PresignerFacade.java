@@ -26,6 +26,7 @@ import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.RequestConfig;
 import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.auth.Aws4Signer;
 import software.amazon.awssdk.core.auth.AwsCredentialsProvider;
 import software.amazon.awssdk.core.auth.Presigner;
 import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
@@ -75,6 +76,49 @@ public final class PresignerFacade {
         return invokeSafely(() -> signed.getUri().toURL());
     }
 
+    /**
+     * Prepares to presign many requests that differ from the given one only in their path and query parameters. The
+     * credentials are resolved once, and all requests presigned by the returned presigner share the same signing time and
+     * expiration date.
+     *
+     * <p>For the AWS4 signer, everything that doesn't depend on the path and query parameters is only computed once. Other
+     * signers presign each request from scratch.
+     */
+    public BulkPresigner bulkPresigner(SdkRequest request, SdkHttpFullRequest httpRequest, RequestConfig requestConfig,
+                                       Date expirationDate) {
+        final Presigner presigner = (Presigner) signerProvider.getSigner(SignerProviderContext.builder()
+                                                                                              .withIsRedirect(false)
+                                                                                              .withRequest(httpRequest)
+                                                                                              .build());
+        SdkHttpFullRequest template = httpRequest.copy(r -> {
+            addCustomQueryParams(r, requestConfig);
+            addCustomHeaders(r, requestConfig);
+        });
+
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS,
+                                         resolveCredentials(requestConfig).getCredentials());
+
+        InterceptorContext context = InterceptorContext.builder().request(request).httpRequest(template).build();
+
+        if (presigner instanceof Aws4Signer) {
+            return ((Aws4Signer) presigner).bulkPresigner(context, executionAttributes, expirationDate);
+        }
+
+        return (encodedPath, rawQueryParameters) -> {
+            SdkHttpFullRequest variation = template.copy(r -> {
+                if (encodedPath != null) {
+                    r.encodedPath(encodedPath);
+                }
+                rawQueryParameters.forEach(r::rawQueryParameter);
+            });
+            SdkHttpFullRequest signed = presigner.presign(context.copy(c -> c.httpRequest(variation)),
+                                                          executionAttributes,
+                                                          expirationDate);
+            return invokeSafely(() -> signed.getUri().toURL());
+        };
+    }
+
     private void addCustomQueryParams(SdkHttpFullRequest.Builder request, RequestConfig requestConfig) {
         final Map<String, List<String>> queryParameters = requestConfig.getCustomQueryParameters();
         if (queryParameters == null || queryParameters.isEmpty()) {
@@ -32,6 +32,8 @@ import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.ServiceAdvancedConfiguration;
 import software.amazon.awssdk.core.async.AsyncRequestProvider;
 import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.core.async.DeferredCompletionAsyncResponseHandler;
+import software.amazon.awssdk.core.config.AdvancedClientOption;
 import software.amazon.awssdk.core.config.AsyncClientConfiguration;
 import software.amazon.awssdk.core.config.InternalAdvancedClientOption;
 import software.amazon.awssdk.core.http.AmazonAsyncHttpClient;
@@ -40,6 +42,8 @@ import software.amazon.awssdk.core.http.HttpResponse;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.http.SdkHttpFullRequestAdapter;
 import software.amazon.awssdk.core.http.SdkHttpResponseAdapter;
+import software.amazon.awssdk.core.http.StaxResponseHandler;
+import software.amazon.awssdk.core.http.async.StaxAsyncResponseHandlerAdapter;
 import software.amazon.awssdk.core.http.async.SyncResponseHandlerAdapter;
 import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.InterceptorContext;
@@ -75,10 +79,32 @@ class AsyncClientHandlerImpl extends AsyncClientHandler {
             ClientExecutionParams<InputT, OutputT> executionParams) {
         ExecutionContext executionContext = createExecutionContext(executionParams.getRequestConfig());
         return execute(executionParams, executionContext,
-            responseAdapter -> new SyncResponseHandlerAdapter<>(
-                               interceptorCalling(executionParams.getResponseHandler(), executionContext),
-                               responseAdapter,
-                               executionContext.executionAttributes()));
+            responseAdapter -> resolveResponseHandler(executionParams.getResponseHandler(), responseAdapter, executionContext));
+    }
+
+    /**
+     * Responses are buffered in full by a {@link SyncResponseHandlerAdapter}, unless
+     * {@link AdvancedClientOption#ENABLE_INCREMENTAL_XML_PARSING} is enabled, in which case XML responses are tokenized as
+     * they arrive by a {@link StaxAsyncResponseHandlerAdapter}.
+     */
+    private <OutputT extends SdkResponse> SdkHttpResponseHandler<OutputT> resolveResponseHandler(
+            HttpResponseHandler<OutputT> responseHandler,
+            HttpResponseAdapter responseAdapter,
+            ExecutionContext executionContext) {
+        SyncResponseHandlerAdapter<OutputT> bufferingAdapter =
+                new SyncResponseHandlerAdapter<>(interceptorCalling(responseHandler, executionContext),
+                                                 responseAdapter,
+                                                 executionContext.executionAttributes());
+        if (!isIncrementalXmlParsingEnabled() || !(responseHandler instanceof StaxResponseHandler)) {
+            return bufferingAdapter;
+        }
+        StaxResponseHandler<OutputT> staxResponseHandler = (StaxResponseHandler<OutputT>) responseHandler;
+        return new StaxAsyncResponseHandlerAdapter<>(
+            streamReader -> interceptorCalling((response, attributes) -> staxResponseHandler.unmarshall(response, streamReader),
+                                               executionContext),
+            bufferingAdapter,
+            responseAdapter,
+            executionContext.executionAttributes());
     }
 
     /**
@@ -105,7 +131,14 @@ class AsyncClientHandlerImpl extends AsyncClientHandler {
         ResponseHandlerFactory<ReturnT> sdkHttpResponseHandler = responseAdapter ->
                 new UnmarshallingSdkHttpResponseHandler<>(asyncResponseHandler, context, executionParams.getResponseHandler());
 
-        return execute(executionParams, context, sdkHttpResponseHandler);
+        CompletableFuture<ReturnT> result = execute(executionParams, context, sdkHttpResponseHandler);
+        if (asyncResponseHandler instanceof DeferredCompletionAsyncResponseHandler) {
+            // The handler may still be working when it completes, so the result waits for it to finish.
+            DeferredCompletionAsyncResponseHandler<?, ?> deferred =
+                    (DeferredCompletionAsyncResponseHandler<?, ?>) asyncResponseHandler;
+            return result.thenCompose(r -> deferred.whenFinished().thenApply(v -> r));
+        }
+        return result;
     }
 
     private <InputT extends SdkRequest, OutputT, ReturnT> CompletableFuture<ReturnT> execute(
@@ -149,6 +182,11 @@ class AsyncClientHandlerImpl extends AsyncClientHandler {
                 });
     }
 
+    private boolean isIncrementalXmlParsingEnabled() {
+        return Boolean.TRUE.equals(asyncClientConfiguration.overrideConfiguration()
+                                                           .advancedOption(AdvancedClientOption.ENABLE_INCREMENTAL_XML_PARSING));
+    }
+
     private boolean isCalculateCrc32FromCompressedData() {
         return asyncClientConfiguration.overrideConfiguration()
                                        .advancedOption(InternalAdvancedClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED);
@@ -58,7 +58,9 @@ abstract class BaseClientHandler {
                 .putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS, credentials)
                 .putAttribute(AwsExecutionAttributes.REQUEST_CONFIG, requestConfig)
                 .putAttribute(AwsExecutionAttributes.AWS_REGION,
-                              overrideConfiguration.advancedOption(AdvancedClientOption.AWS_REGION));
+                              overrideConfiguration.advancedOption(AdvancedClientOption.AWS_REGION))
+                .putAttribute(AwsExecutionAttributes.UNSIGNED_PAYLOAD_ENABLED,
+                              overrideConfiguration.advancedOption(AdvancedClientOption.ENABLE_UNSIGNED_PAYLOAD));
 
         return ExecutionContext.builder()
                                .interceptorChain(new ExecutionInterceptorChain(overrideConfiguration.lastExecutionInterceptors()))
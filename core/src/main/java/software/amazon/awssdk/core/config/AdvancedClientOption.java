@@ -63,6 +63,25 @@ public class AdvancedClientOption<T> extends AttributeMap.Key<T> {
     public static final AdvancedClientOption<Boolean> ENABLE_DEFAULT_REGION_DETECTION =
             new AdvancedClientOption<>(Boolean.class);
 
+    /**
+     * Whether requests sent over HTTPS should be signed with {@code UNSIGNED-PAYLOAD} instead of a hash of their content, so the
+     * content doesn't have to be read an extra time before it's sent. TLS already protects the content in transit. Requests
+     * sent over HTTP always have their payload signed.
+     *
+     * <p>Only enable this for services that accept unsigned payloads, like Amazon S3. Other services reject the request. This is
+     * disabled by default.
+     */
+    public static final AdvancedClientOption<Boolean> ENABLE_UNSIGNED_PAYLOAD = new AdvancedClientOption<>(Boolean.class);
+
+    /**
+     * Whether async clients should tokenize XML responses as they arrive with the SDK's own non-blocking tokenizer, instead
+     * of buffering the whole response and parsing it with the StAX parser on completion. The tokenizer only supports the XML
+     * that AWS services respond with and doesn't use the {@code XMLInputFactory} configured for the SDK.
+     *
+     * <p>This is disabled by default.
+     */
+    public static final AdvancedClientOption<Boolean> ENABLE_INCREMENTAL_XML_PARSING = new AdvancedClientOption<>(Boolean.class);
+
     protected AdvancedClientOption(Class<T> valueClass) {
         super(valueClass);
     }
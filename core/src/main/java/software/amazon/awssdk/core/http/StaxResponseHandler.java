@@ -20,12 +20,13 @@ import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Map;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.ResponseMetadata;
+import software.amazon.awssdk.core.SdkClientException;
 import software.amazon.awssdk.core.SdkStandardLoggers;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.runtime.transform.StaxUnmarshallerContext;
@@ -34,6 +35,7 @@ import software.amazon.awssdk.core.runtime.transform.VoidStaxUnmarshaller;
 import software.amazon.awssdk.core.util.StringUtils;
 import software.amazon.awssdk.utils.FunctionalUtils.UnsafeFunction;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SdkSystemSetting;
 
 /**
  * Default implementation of HttpResponseHandler that handles a successful
@@ -48,7 +50,7 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<T> {
     private static final Logger log = Logger.loggerFor(StaxResponseHandler.class);
 
     /**
-     * Shared factory for creating XML event readers.
+     * Shared factory for creating XML stream readers.
      */
     private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
     /**
@@ -90,31 +92,43 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<T> {
             content = new ByteArrayInputStream("<eof/>".getBytes(StringUtils.UTF8));
         }
 
-        XMLEventReader eventReader;
+        XMLStreamReader streamReader;
         synchronized (XML_INPUT_FACTORY) {
-            eventReader = XML_INPUT_FACTORY.createXMLEventReader(content);
+            streamReader = XML_INPUT_FACTORY.createXMLStreamReader(content);
         }
 
         try {
-            StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
-            unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
-            unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
-            registerAdditionalMetadataExpressions(unmarshallerContext);
-
-            T result = responseUnmarshaller.unmarshall(unmarshallerContext);
-
-            SdkStandardLoggers.REQUEST_LOGGER.trace(() -> "Done parsing service response.");
-
-            return result;
+            return unmarshall(response, streamReader);
         } finally {
             try {
-                eventReader.close();
+                streamReader.close();
             } catch (XMLStreamException e) {
                 log.warn(() -> "Error closing XML parser.", e);
             }
         }
     }
 
+    /**
+     * Unmarshalls the response from a stream reader over its content, which has already been read or parsed, for
+     * example by the asynchronous client. The content of the response itself is ignored.
+     *
+     * @param response The HTTP response, used for its headers.
+     * @param streamReader The reader over the response content, positioned at the start of the document.
+     * @return The unmarshalled response.
+     */
+    public T unmarshall(HttpResponse response, XMLStreamReader streamReader) throws Exception {
+        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(streamReader, response.getHeaders());
+        unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
+        unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
+        registerAdditionalMetadataExpressions(unmarshallerContext);
+
+        T result = responseUnmarshaller.unmarshall(unmarshallerContext);
+
+        SdkStandardLoggers.REQUEST_LOGGER.trace(() -> "Done parsing service response.");
+
+        return result;
+    }
+
     /**
      * Create the default {@link ResponseMetadata}. Subclasses may override this to create a
      * subclass of {@link ResponseMetadata}. Currently only SimpleDB does this.
@@ -169,16 +183,30 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<T> {
     }
 
     /**
-     * Create an {@link XMLInputFactory} with features that may cause security problems disabled
+     * Create an {@link XMLInputFactory} with features that may cause security problems disabled. The implementation named
+     * by {@link SdkSystemSetting#XML_INPUT_FACTORY_IMPL} is used if set.
      * @return an instance of {@link XMLInputFactory}
      */
     private static XMLInputFactory createXmlInputFactory() {
-        XMLInputFactory factory = XMLInputFactory.newInstance();
+        XMLInputFactory factory = SdkSystemSetting.XML_INPUT_FACTORY_IMPL.getStringValue()
+                                                                         .map(StaxResponseHandler::loadXmlInputFactory)
+                                                                         .orElseGet(XMLInputFactory::newInstance);
         factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
         factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
         return factory;
     }
 
+    private static XMLInputFactory loadXmlInputFactory(String factoryFqcn) {
+        try {
+            return (XMLInputFactory) Class.forName(factoryFqcn).newInstance();
+        } catch (Exception e) {
+            throw new SdkClientException(String.format(
+                    "Unable to load the XML input factory implementation from the %s system property. " +
+                    "Ensure the class '%s' is present on the classpath and has a no-arg constructor",
+                    SdkSystemSetting.XML_INPUT_FACTORY_IMPL.property(), factoryFqcn), e);
+        }
+    }
+
     /**
      * Unmarshalls a streaming HTTP response into a POJO. Does not touch the content since that's consumed by the response
      * handler (either {@link StreamingResponseHandler} or {@link AsyncResponseHandler}).
@@ -191,14 +219,14 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<T> {
      */
     private static <ResponseT> ResponseT unmarshallStreaming(Unmarshaller<ResponseT, StaxUnmarshallerContext> unmarshaller,
                                                              HttpResponse response) throws Exception {
-        // Create a dummy event reader to make unmarshallers happy
-        XMLEventReader eventReader;
+        // Create a dummy stream reader to make unmarshallers happy
+        XMLStreamReader streamReader;
         synchronized (XML_INPUT_FACTORY) {
-            eventReader = invokeSafely(() -> XML_INPUT_FACTORY
-                    .createXMLEventReader(new ByteArrayInputStream("<eof/>".getBytes(StringUtils.UTF8))));
+            streamReader = invokeSafely(() -> XML_INPUT_FACTORY
+                    .createXMLStreamReader(new ByteArrayInputStream("<eof/>".getBytes(StringUtils.UTF8))));
         }
 
-        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
+        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(streamReader, response.getHeaders());
         unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
         unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
         return unmarshaller.unmarshall(unmarshallerContext);
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.http.async;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import javax.xml.stream.XMLStreamReader;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.core.http.HttpResponse;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.xml.NonBlockingXmlTokenizer;
+import software.amazon.awssdk.core.util.Throwables;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+/**
+ * Adapts a StAX based {@link HttpResponseHandler} to the asynchronous {@link SdkHttpResponseHandler}. Rather than
+ * buffering the whole body, each piece of content is fed to a {@link NonBlockingXmlTokenizer} as it arrives, so the
+ * XML has been parsed by the time the response completes and only the unmarshalling into the response object is left.
+ * <p>
+ * Responses whose content has to be decompressed or checksummed before it can be parsed fall back to the buffering
+ * {@link SyncResponseHandlerAdapter}.
+ * <p>
+ * Only used when {@link software.amazon.awssdk.core.config.AdvancedClientOption#ENABLE_INCREMENTAL_XML_PARSING} is enabled.
+ *
+ * @param <T> Type that the response handler produces.
+ */
+public class StaxAsyncResponseHandlerAdapter<T> implements SdkHttpResponseHandler<T> {
+
+    private final Function<XMLStreamReader, HttpResponseHandler<T>> responseHandlerFactory;
+    private final SyncResponseHandlerAdapter<T> bufferingAdapter;
+    private final Function<SdkHttpFullResponse, HttpResponse> httpResponseAdapter;
+    private final ExecutionAttributes executionAttributes;
+    private SdkHttpFullResponse httpResponse;
+    private boolean buffering;
+    private NonBlockingXmlTokenizer tokenizer;
+    private RuntimeException parseFailure;
+
+    /**
+     * @param responseHandlerFactory Creates the response handler that unmarshalls the response from a reader over the
+     *                               parsed content.
+     * @param bufferingAdapter       Adapter used instead when the content can't be parsed as it arrives.
+     * @param httpResponseAdapter    Adapter to convert the response to a legacy {@link HttpResponse}.
+     * @param executionAttributes    Attributes passed on to the response handler.
+     */
+    public StaxAsyncResponseHandlerAdapter(Function<XMLStreamReader, HttpResponseHandler<T>> responseHandlerFactory,
+                                           SyncResponseHandlerAdapter<T> bufferingAdapter,
+                                           Function<SdkHttpFullResponse, HttpResponse> httpResponseAdapter,
+                                           ExecutionAttributes executionAttributes) {
+        this.responseHandlerFactory = responseHandlerFactory;
+        this.bufferingAdapter = bufferingAdapter;
+        this.httpResponseAdapter = httpResponseAdapter;
+        this.executionAttributes = executionAttributes;
+    }
+
+    @Override
+    public void headersReceived(SdkHttpResponse response) {
+        this.httpResponse = (SdkHttpFullResponse) response;
+        this.buffering = response.firstMatchingHeader("Content-Encoding").filter("gzip"::equals).isPresent()
+                         || response.firstMatchingHeader("x-amz-crc32").isPresent();
+        if (buffering) {
+            bufferingAdapter.headersReceived(response);
+        }
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> publisher) {
+        if (buffering) {
+            bufferingAdapter.onStream(publisher);
+            return;
+        }
+        tokenizer = new NonBlockingXmlTokenizer();
+        publisher.subscribe(new SimpleSubscriber(this::feed));
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        if (buffering) {
+            bufferingAdapter.exceptionOccurred(throwable);
+        }
+    }
+
+    @Override
+    public T complete() {
+        if (buffering) {
+            return bufferingAdapter.complete();
+        }
+        try {
+            if (parseFailure != null) {
+                throw parseFailure;
+            }
+            XMLStreamReader streamReader = (tokenizer == null ? new NonBlockingXmlTokenizer() : tokenizer).endOfInput();
+            return responseHandlerFactory.apply(streamReader)
+                                         .handle(httpResponseAdapter.apply(httpResponse), executionAttributes);
+        } catch (Exception e) {
+            throw Throwables.failure(e);
+        }
+    }
+
+    private void feed(ByteBuffer buffer) {
+        // Once the content is known to be malformed the rest is ignored, and the failure is reported on completion.
+        if (parseFailure != null) {
+            return;
+        }
+        try {
+            tokenizer.feed(buffer);
+        } catch (RuntimeException e) {
+            parseFailure = e;
+        }
+    }
+}
@@ -15,38 +15,36 @@
 
 package software.amazon.awssdk.core.http.async;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import software.amazon.awssdk.core.http.HttpResponse;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.io.ByteBufferAggregator;
 import software.amazon.awssdk.core.util.Throwables;
 import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.Headers;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
 import software.amazon.awssdk.http.async.SimpleSubscriber;
-import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
  * Adapts an {@link HttpResponseHandler} to the asynchronous {@link SdkHttpResponseHandler}. Buffers
- * all content into a {@link ByteArrayInputStream} then invokes the {@link HttpResponseHandler#handle}
- * method.
+ * all content in memory, presized from the Content-Length header when there is one, then invokes the
+ * {@link HttpResponseHandler#handle} method.
  *
  * @param <T> Type that the response handler produces.
  */
 public class SyncResponseHandlerAdapter<T> implements SdkHttpResponseHandler<T> {
 
     private final HttpResponseHandler<T> responseHandler;
-    private ByteArrayOutputStream baos;
+    private ByteBufferAggregator aggregator;
     private final Function<SdkHttpFullResponse, HttpResponse> httpResponseAdapter;
     private final ExecutionAttributes executionAttributes;
     private SdkHttpFullResponse.Builder httpResponse;
+    private Long contentLength;
 
     public SyncResponseHandlerAdapter(HttpResponseHandler<T> responseHandler,
                                       Function<SdkHttpFullResponse, HttpResponse> httpResponseAdapter,
@@ -59,18 +57,15 @@ public class SyncResponseHandlerAdapter<T> implements SdkHttpResponseHandler<T>
     @Override
     public void headersReceived(SdkHttpResponse response) {
         this.httpResponse = ((SdkHttpFullResponse) response).toBuilder();
+        this.contentLength = response.firstMatchingHeader(Headers.CONTENT_LENGTH)
+                                     .map(SyncResponseHandlerAdapter::parseContentLength)
+                                     .orElse(null);
     }
 
     @Override
     public void onStream(Publisher<ByteBuffer> publisher) {
-        baos = new ByteArrayOutputStream();
-        publisher.subscribe(new SimpleSubscriber(b -> {
-            try {
-                baos.write(BinaryUtils.copyBytesFrom(b));
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
-        }));
+        aggregator = new ByteBufferAggregator(contentLength);
+        publisher.subscribe(new SimpleSubscriber(aggregator::append));
     }
 
     @Override
@@ -81,10 +76,9 @@ public class SyncResponseHandlerAdapter<T> implements SdkHttpResponseHandler<T>
     public T complete() {
         try {
             // Once we've buffered all the content we can invoke the response handler
-            if (baos != null) {
+            if (aggregator != null) {
                 // Ignore aborts - we already have all of the content.
-                ByteArrayInputStream content = new ByteArrayInputStream(baos.toByteArray());
-                AbortableInputStream abortableContent = new AbortableInputStream(content, () -> { });
+                AbortableInputStream abortableContent = new AbortableInputStream(aggregator.toInputStream(), () -> { });
                 httpResponse.content(abortableContent);
             }
             return responseHandler.handle(httpResponseAdapter.apply(httpResponse.build()), executionAttributes);
@@ -92,4 +86,12 @@ public class SyncResponseHandlerAdapter<T> implements SdkHttpResponseHandler<T>
             throw Throwables.failure(e);
         }
     }
+
+    private static Long parseContentLength(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
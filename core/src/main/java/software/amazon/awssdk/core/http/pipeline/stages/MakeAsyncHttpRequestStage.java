@@ -84,9 +84,9 @@ public class MakeAsyncHttpRequestStage<OutputT>
 
         SdkHttpResponseHandler<Response<OutputT>> handler = new ResponseHandler(request, future, listener);
 
-        SdkHttpRequestProvider requestProvider = context.requestProvider() == null
+        SdkHttpRequestProvider requestProvider = context.signedRequestProvider() == null
                 ? new SimpleRequestProvider(request, context.executionAttributes())
-                : context.requestProvider();
+                : context.signedRequestProvider();
         // Set content length if it hasn't been set already.
         SdkHttpFullRequest requestWithContentLength = getRequestWithContentLength(request, requestProvider);
 
@@ -102,9 +102,12 @@ public class MakeAsyncHttpRequestStage<OutputT>
 
     private SdkHttpFullRequest getRequestWithContentLength(SdkHttpFullRequest request, SdkHttpRequestProvider requestProvider) {
         if (shouldSetContentLength(request, requestProvider)) {
-            return request.toBuilder()
-                          .header("Content-Length", String.valueOf(requestProvider.contentLength()))
-                          .build();
+            // A provider that doesn't know its length up front is sent in chunks instead.
+            return requestProvider.contentLength() < 0
+                   ? request.toBuilder().header("Transfer-Encoding", "chunked").build()
+                   : request.toBuilder()
+                            .header("Content-Length", String.valueOf(requestProvider.contentLength()))
+                            .build();
         }
         return request;
     }
@@ -18,17 +18,20 @@ package software.amazon.awssdk.core.http.pipeline.stages;
 import static java.util.Collections.singletonList;
 import static software.amazon.awssdk.utils.StringUtils.lowerCase;
 
-import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.RequestExecutionContext;
+import software.amazon.awssdk.core.SdkClientException;
 import software.amazon.awssdk.core.http.pipeline.MutableRequestToRequestPipeline;
 import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.CollectionUtils;
-import software.amazon.awssdk.utils.http.SdkHttpUtils;
+import software.amazon.awssdk.utils.http.FormDataEncoder;
 
 @ReviewBeforeRelease("Might only need to do this for certain protocols - ie query?")
 // TODO how is this going to work with streaming input posts in asyncland
@@ -36,7 +39,10 @@ public final class MoveParametersToBodyStage implements MutableRequestToRequestP
     @Override
     public SdkHttpFullRequest.Builder execute(SdkHttpFullRequest.Builder input, RequestExecutionContext context) {
         if (shouldPutParamsInBody(input, context)) {
-            return changeQueryParametersToFormData(input);
+            FormDataEncoder formData = FormDataEncoder.encode(input.rawQueryParameters());
+            // The signer hashes the body from the array if it signs the payload, rather than reading the body back.
+            context.executionAttributes().putAttribute(AwsExecutionAttributes.PAYLOAD_SHA256, () -> sha256Hex(formData));
+            return changeQueryParametersToFormData(input, formData);
         }
         return input;
     }
@@ -61,13 +67,25 @@ public final class MoveParametersToBodyStage implements MutableRequestToRequestP
 
     @SdkProtectedApi
     public static SdkHttpFullRequest.Builder changeQueryParametersToFormData(SdkHttpFullRequest.Builder input) {
-        byte[] params = SdkHttpUtils.encodeAndFlattenFormData(input.rawQueryParameters()).orElse("")
-                                    .getBytes(StandardCharsets.UTF_8);
+        return changeQueryParametersToFormData(input, FormDataEncoder.encode(input.rawQueryParameters()));
+    }
 
+    private static SdkHttpFullRequest.Builder changeQueryParametersToFormData(SdkHttpFullRequest.Builder input,
+                                                                              FormDataEncoder formData) {
         return input.clearQueryParameters()
-                    .content(new ByteArrayInputStream(params))
-                    .header("Content-Length", singletonList(String.valueOf(params.length)))
+                    .content(formData.toInputStream())
+                    .header("Content-Length", singletonList(String.valueOf(formData.length())))
                     .header("Content-Type", singletonList("application/x-www-form-urlencoded; charset=" +
                                                           lowerCase(StandardCharsets.UTF_8.toString())));
     }
+
+    private static String sha256Hex(FormDataEncoder formData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(formData.array(), 0, formData.length());
+            return BinaryUtils.toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new SdkClientException("Unable to compute the SHA-256 hash of the request body", e);
+        }
+    }
 }
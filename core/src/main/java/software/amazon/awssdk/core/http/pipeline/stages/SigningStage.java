@@ -16,6 +16,7 @@
 package software.amazon.awssdk.core.http.pipeline.stages;
 
 import software.amazon.awssdk.core.RequestExecutionContext;
+import software.amazon.awssdk.core.auth.AsyncPayloadSigner;
 import software.amazon.awssdk.core.auth.AwsCredentials;
 import software.amazon.awssdk.core.auth.CanHandleNullCredentials;
 import software.amazon.awssdk.core.auth.Signer;
@@ -27,11 +28,11 @@ import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.runtime.auth.SignerProviderContext;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
 
 /**
  * Sign the marshalled request (if applicable).
  */
-// TODO how does signing work with a request provider
 public class SigningStage implements RequestToRequestPipeline {
 
     private final HttpClientDependencies dependencies;
@@ -54,10 +55,23 @@ public class SigningStage implements RequestToRequestPipeline {
     private SdkHttpFullRequest signRequest(SdkHttpFullRequest request, RequestExecutionContext context) {
         final AwsCredentials credentials = context.executionAttributes().getAttribute(AwsExecutionAttributes.AWS_CREDENTIALS);
         updateInterceptorContext(request, context.executionContext());
+        context.signedRequestProvider(null);
         Signer signer = newSigner(request, context);
         if (shouldSign(signer, credentials)) {
             adjustForClockSkew(context.executionAttributes());
-            return signer.sign(context.executionContext().interceptorContext(), context.executionAttributes());
+            SdkHttpRequestProvider requestProvider = context.requestProvider();
+            if (requestProvider != null) {
+                context.executionAttributes().putAttribute(AwsExecutionAttributes.ASYNC_REQUEST_CONTENT_LENGTH,
+                                                           requestProvider.contentLength());
+            }
+
+            SdkHttpFullRequest signed = signer.sign(context.executionContext().interceptorContext(),
+                                                    context.executionAttributes());
+            if (requestProvider != null && signer instanceof AsyncPayloadSigner) {
+                context.signedRequestProvider(((AsyncPayloadSigner) signer)
+                                                      .signAsyncPayload(signed, requestProvider, context.executionAttributes()));
+            }
+            return signed;
         }
         return request;
     }
@@ -15,10 +15,12 @@
 
 package software.amazon.awssdk.core.interceptor;
 
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.core.RequestConfig;
 import software.amazon.awssdk.core.ServiceAdvancedConfiguration;
 import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.config.AdvancedClientOption;
 import software.amazon.awssdk.core.regions.Region;
 
 /**
@@ -64,4 +66,26 @@ public class AwsExecutionAttributes {
      */
     public static final ExecutionAttribute<ServiceAdvancedConfiguration> SERVICE_ADVANCED_CONFIG =
             new ExecutionAttribute<>("ServiceAdvancedConfig");
+
+    /**
+     * The length of the HTTP request content, when it's published asynchronously by a request provider rather than included
+     * in the marshalled request.
+     */
+    public static final ExecutionAttribute<Long> ASYNC_REQUEST_CONTENT_LENGTH =
+            new ExecutionAttribute<>("AsyncRequestContentLength");
+
+    /**
+     * Supplies the hex-encoded SHA-256 hash of the HTTP request content, when the content is built in memory by the request
+     * pipeline. Signers call it instead of reading the content to hash it, and only when they sign the payload, so nothing
+     * is hashed for requests whose payload isn't signed.
+     */
+    public static final ExecutionAttribute<Supplier<String>> PAYLOAD_SHA256 = new ExecutionAttribute<>("PayloadSha256");
+
+    /**
+     * Whether the client allows the payload of requests sent over HTTPS to be left out of the signature.
+     *
+     * @see AdvancedClientOption#ENABLE_UNSIGNED_PAYLOAD
+     */
+    public static final ExecutionAttribute<Boolean> UNSIGNED_PAYLOAD_ENABLED =
+            new ExecutionAttribute<>("UnsignedPayloadEnabled");
 }
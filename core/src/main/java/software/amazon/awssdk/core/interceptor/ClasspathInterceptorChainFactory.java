@@ -19,12 +19,15 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
@@ -34,11 +37,23 @@ import software.amazon.awssdk.utils.Validate;
 
 /**
  * Factory for creating request/response handler chains from the classpath.
+ * <p>
+ * The interceptor classes listed in each resource are only looked up the first time the resource is requested from a
+ * class loader, so building many clients doesn't read the same resources again. Every call still returns new instances of
+ * the interceptors.
  */
 public final class ClasspathInterceptorChainFactory {
 
     private static final String GLOBAL_INTERCEPTOR_PATH = "software/amazon/awssdk/global/handlers/execution.interceptors";
 
+    /**
+     * The interceptor classes listed in each resource, by the class loader the resource was read from. Class loaders are
+     * held weakly so that caching doesn't keep an undeployed application's classes loaded. The interceptor classes are
+     * held weakly too, as each class refers to its own class loader.
+     */
+    private static final Map<ClassLoader, Map<String, List<WeakReference<Class<?>>>>> INTERCEPTOR_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Constructs a new request handler chain by analyzing the specified classpath resource.
      *
@@ -57,28 +72,46 @@ public final class ClasspathInterceptorChainFactory {
     }
 
     private List<ExecutionInterceptor> createExecutionInterceptorsFromClasspath(String path) {
-        try {
-            return createExecutionInterceptorsFromResources(classLoader().getResources(path)).collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new AmazonClientException("Unable to instantiate execution interceptor chain.", e);
-        }
+        return interceptorClasses(classLoader(), path).stream()
+                                                      .map(this::createExecutionInterceptor)
+                                                      .collect(Collectors.toList());
     }
 
-    private Stream<ExecutionInterceptor> createExecutionInterceptorsFromResources(Enumeration<URL> resources) {
-        if (resources == null) {
-            return Stream.empty();
+    private List<Class<?>> interceptorClasses(ClassLoader classLoader, String path) {
+        Map<String, List<WeakReference<Class<?>>>> classLoaderCache =
+                INTERCEPTOR_CLASSES.computeIfAbsent(classLoader, ignored -> new ConcurrentHashMap<>());
+
+        List<WeakReference<Class<?>>> cachedClasses = classLoaderCache.get(path);
+        if (cachedClasses != null) {
+            List<Class<?>> classes = cachedClasses.stream().map(WeakReference::get).collect(Collectors.toList());
+            if (!classes.contains(null)) {
+                return classes;
+            }
         }
 
-        return Collections.list(resources).stream().flatMap(this::createExecutionInterceptorFromResource);
+        List<Class<?>> classes = loadInterceptorClassesFromResources(classLoader, path);
+        classLoaderCache.put(path, classes.stream().map(WeakReference<Class<?>>::new).collect(Collectors.toList()));
+        return classes;
+    }
+
+    private List<Class<?>> loadInterceptorClassesFromResources(ClassLoader classLoader, String path) {
+        try {
+            return Collections.list(classLoader.getResources(path))
+                              .stream()
+                              .flatMap(this::loadInterceptorClassesFromResource)
+                              .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new AmazonClientException("Unable to instantiate execution interceptor chain.", e);
+        }
     }
 
-    private Stream<ExecutionInterceptor> createExecutionInterceptorFromResource(URL resource) {
+    private Stream<Class<?>> loadInterceptorClassesFromResource(URL resource) {
         try {
             if (resource == null) {
                 return Stream.empty();
             }
 
-            List<ExecutionInterceptor> interceptors = new ArrayList<>();
+            List<Class<?>> interceptorClasses = new ArrayList<>();
 
             try (InputStream stream = resource.openStream();
                  InputStreamReader streamReader = new InputStreamReader(stream, StandardCharsets.UTF_8);
@@ -86,21 +119,21 @@ public final class ClasspathInterceptorChainFactory {
 
                 String interceptorClassName = fileReader.readLine();
                 while (interceptorClassName != null) {
-                    ExecutionInterceptor interceptor = createExecutionInterceptor(interceptorClassName);
-                    if (interceptor != null) {
-                        interceptors.add(interceptor);
+                    Class<?> interceptorClass = loadInterceptorClass(interceptorClassName);
+                    if (interceptorClass != null) {
+                        interceptorClasses.add(interceptorClass);
                     }
                     interceptorClassName = fileReader.readLine();
                 }
             }
 
-            return interceptors.stream();
+            return interceptorClasses.stream();
         } catch (IOException e) {
             throw new AmazonClientException("Unable to instantiate execution interceptor chain.", e);
         }
     }
 
-    private ExecutionInterceptor createExecutionInterceptor(String interceptorClassName) {
+    private Class<?> loadInterceptorClass(String interceptorClassName) {
         interceptorClassName = interceptorClassName.trim();
         if (interceptorClassName.equals("")) {
             return null;
@@ -109,16 +142,22 @@ public final class ClasspathInterceptorChainFactory {
         try {
             Class<?> executionInterceptorClass = ClassLoaderHelper.loadClass(interceptorClassName,
                                                                              ExecutionInterceptor.class, getClass());
-            Object executionInterceptorObject = executionInterceptorClass.newInstance();
 
-            if (executionInterceptorObject instanceof ExecutionInterceptor) {
-                return (ExecutionInterceptor) executionInterceptorObject;
-            } else {
+            if (!ExecutionInterceptor.class.isAssignableFrom(executionInterceptorClass)) {
                 throw new AmazonClientException("Unable to instantiate request handler chain for client. Listed request handler "
                                                 + "('" + interceptorClassName + "') does not implement the " +
                                                 ExecutionInterceptor.class + " API.");
             }
-        } catch (IllegalAccessException | ClassNotFoundException | InstantiationException e) {
+            return executionInterceptorClass;
+        } catch (ClassNotFoundException e) {
+            throw new AmazonClientException("Unable to instantiate executor interceptor for client.", e);
+        }
+    }
+
+    private ExecutionInterceptor createExecutionInterceptor(Class<?> executionInterceptorClass) {
+        try {
+            return (ExecutionInterceptor) executionInterceptorClass.newInstance();
+        } catch (IllegalAccessException | InstantiationException e) {
             throw new AmazonClientException("Unable to instantiate executor interceptor for client.", e);
         }
     }
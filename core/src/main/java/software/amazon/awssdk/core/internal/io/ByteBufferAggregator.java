@@ -0,0 +1,223 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Collects the buffers of a streamed body in memory, copying each byte at most once.
+ * <p>
+ * When the length of the body is known up front, for example from the Content-Length header, buffers are copied
+ * straight into a single array of that size, which is then handed out as is. Otherwise, or if the body turns out to be
+ * longer than expected, the buffers are kept and only copied when a single array is asked for. Buffers that are kept
+ * must not be modified by the publisher after they're delivered.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class ByteBufferAggregator {
+
+    /**
+     * Largest array most VMs will allocate.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long expectedLength;
+    private byte[] array;
+    private List<ByteBuffer> buffers;
+    private long length;
+
+    /**
+     * Creates an aggregator for a body of unknown length.
+     */
+    public ByteBufferAggregator() {
+        this(null);
+    }
+
+    /**
+     * Creates an aggregator for a body of the given length.
+     *
+     * @param expectedLength The length of the body, or null if it isn't known. The array is only allocated once the
+     *                       first buffer arrives, so responses that turn out not to have a body don't pay for it.
+     */
+    public ByteBufferAggregator(Long expectedLength) {
+        this.expectedLength = expectedLength != null && expectedLength > 0 && expectedLength <= MAX_ARRAY_SIZE
+                              ? expectedLength : -1;
+    }
+
+    /**
+     * Adds the remaining bytes of the buffer to the end of the body.
+     *
+     * @param buffer Buffer to add.
+     */
+    public void append(ByteBuffer buffer) {
+        int remaining = buffer.remaining();
+        if (remaining == 0) {
+            return;
+        }
+        if (buffers == null && array == null && expectedLength > 0) {
+            array = new byte[(int) expectedLength];
+        }
+        if (buffers == null && array != null && remaining <= array.length - length) {
+            buffer.get(array, (int) length, remaining);
+        } else {
+            if (buffers == null) {
+                buffers = new ArrayList<>();
+                if (array != null) {
+                    // The body is longer than we were told. Keep what we've copied so far and carry on without it.
+                    buffers.add(ByteBuffer.wrap(array, 0, (int) length));
+                    array = null;
+                }
+            }
+            buffers.add(buffer);
+        }
+        length += remaining;
+    }
+
+    /**
+     * @return The number of bytes added so far.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the body as a single array. If the body filled a presized array, or arrived as a single heap buffer
+     * spanning its whole backing array, that array is returned without copying.
+     *
+     * @return The body.
+     */
+    public byte[] toByteArray() {
+        if (array != null) {
+            return length == array.length ? array : Arrays.copyOf(array, (int) length);
+        }
+        if (buffers == null) {
+            return new byte[0];
+        }
+        if (buffers.size() == 1 && isWholeArray(buffers.get(0))) {
+            return buffers.get(0).array();
+        }
+        if (length > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("Body of " + length + " bytes is too large to fit in an array.");
+        }
+        byte[] bytes = new byte[(int) length];
+        int position = 0;
+        for (ByteBuffer buffer : buffers) {
+            int remaining = buffer.remaining();
+            buffer.duplicate().get(bytes, position, remaining);
+            position += remaining;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the body as a stream that reads from the collected buffers directly, without first joining them into a
+     * single array.
+     *
+     * @return The body.
+     */
+    public InputStream toInputStream() {
+        if (array != null) {
+            return new ByteArrayInputStream(array, 0, (int) length);
+        }
+        if (buffers == null) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        return new CompositeInputStream(buffers);
+    }
+
+    private static boolean isWholeArray(ByteBuffer buffer) {
+        return buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+               && buffer.remaining() == buffer.array().length;
+    }
+
+    /**
+     * Reads through a sequence of buffers in order, leaving the buffers themselves untouched.
+     */
+    private static final class CompositeInputStream extends InputStream {
+
+        private final List<ByteBuffer> buffers;
+        private int index = -1;
+        private ByteBuffer current;
+        private int markIndex = -1;
+        private int markPosition;
+
+        private CompositeInputStream(List<ByteBuffer> buffers) {
+            this.buffers = buffers;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer buffer = currentBuffer();
+            return buffer == null ? -1 : buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = currentBuffer();
+            if (buffer == null) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readlimit) {
+            markIndex = index;
+            markPosition = current == null ? 0 : current.position();
+        }
+
+        @Override
+        public void reset() {
+            index = markIndex;
+            current = index < 0 ? null : buffers.get(index).duplicate();
+            if (current != null) {
+                current.position(markPosition);
+            }
+        }
+
+        private ByteBuffer currentBuffer() {
+            while (current == null || !current.hasRemaining()) {
+                if (index + 1 >= buffers.size()) {
+                    return null;
+                }
+                current = buffers.get(++index).duplicate();
+            }
+            return current;
+        }
+    }
+}
@@ -38,6 +38,13 @@ public final class PartitionMetadataProvider implements RegionMetadataProvider,
 
     private final Map<String, Partition> partitionMap = new HashMap<>();
 
+    /**
+     * The partition of every region that a partition lists, so that known regions don't have to be matched against each
+     * partition's region regex. Names that only appear as service endpoints, like {@code aws-global} or
+     * {@code fips-us-gov-west-1}, aren't in it. They're resolved by {@link Partition#hasRegion}, as before, and then cached.
+     */
+    private final Map<String, Partition> regionPartitions = new HashMap<>();
+
     private final Map<String, RegionMetadata> regionMetadata = new ConcurrentHashMap<>();
 
     private final Map<String, ServiceMetadata> serviceMetadata = new ConcurrentHashMap<>();
@@ -46,6 +53,7 @@ public final class PartitionMetadataProvider implements RegionMetadataProvider,
         Validate.notNull(partitions, "partitions");
 
         partitions.forEach(p -> partitionMap.put(p.getPartition(), p));
+        partitions.forEach(p -> p.getRegions().keySet().forEach(r -> regionPartitions.putIfAbsent(r, p)));
     }
 
     @Override
@@ -73,6 +81,11 @@ public final class PartitionMetadataProvider implements RegionMetadataProvider,
     }
 
     private RegionMetadata createNewRegion(Region region) {
+        Partition knownPartition = regionPartitions.get(region.value());
+        if (knownPartition != null) {
+            return cacheRegion(region, knownPartition);
+        }
+
         return partitionMap.values()
                 .stream()
                 .filter(p -> p.hasRegion(region.value()))
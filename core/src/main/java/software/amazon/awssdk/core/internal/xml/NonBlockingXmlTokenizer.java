@@ -0,0 +1,595 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.xml;
+
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLStreamReader;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkClientException;
+
+/**
+ * Tokenizes a UTF-8 XML document that arrives in pieces, without ever blocking for more input.
+ * <p>
+ * Each buffer handed to {@link #feed(ByteBuffer)} is decoded and tokenized straight away, and only the resulting
+ * elements, attributes and text are kept, so the raw body never has to be buffered. Once the whole document has been fed,
+ * {@link #endOfInput()} returns an {@link XMLStreamReader} over the tokens, which the StAX unmarshallers read exactly as
+ * they would a document parsed by the JDK.
+ * <p>
+ * This handles the subset of XML that service responses use: elements, attributes, text, CDATA sections, comments,
+ * processing instructions and the predefined and numeric character references. Namespace prefixes are dropped from
+ * element and attribute names, and namespace declarations aren't reported as attributes, matching the local names a
+ * namespace aware StAX reader reports. Document type declarations are rejected. Whitespace between elements is dropped,
+ * since it's never part of a value.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class NonBlockingXmlTokenizer {
+
+    private static final char REPLACEMENT_CHARACTER = (char) 0xFFFD;
+    private static final char BYTE_ORDER_MARK = (char) 0xFEFF;
+
+    private static final int TEXT = 0;
+    private static final int MARKUP = 1;
+    private static final int START_TAG_NAME = 2;
+    private static final int IN_START_TAG = 3;
+    private static final int ATTRIBUTE_NAME = 4;
+    private static final int BEFORE_ATTRIBUTE_VALUE = 5;
+    private static final int ATTRIBUTE_VALUE = 6;
+    private static final int EMPTY_TAG_END = 7;
+    private static final int END_TAG_NAME = 8;
+    private static final int AFTER_END_TAG_NAME = 9;
+    private static final int MARKUP_DECLARATION = 10;
+    private static final int COMMENT = 11;
+    private static final int CDATA_SECTION = 12;
+    private static final int PROCESSING_INSTRUCTION = 13;
+    private static final int CHARACTER_REFERENCE = 14;
+
+    /**
+     * Longer than any character reference we can decode, so an unterminated one fails before it grows unbounded.
+     */
+    private static final int MAX_REFERENCE_LENGTH = 10;
+
+    private static final String COMMENT_START = "--";
+    private static final String CDATA_START = "[CDATA[";
+
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder name = new StringBuilder();
+    private final StringBuilder attributeValue = new StringBuilder();
+    private final StringBuilder reference = new StringBuilder();
+    private final List<String> attributes = new ArrayList<>();
+    private final List<String> openElements = new ArrayList<>();
+    private final Map<String, String> localNames = new HashMap<>();
+
+    private int[][] eventTypes = new int[8][];
+    private Object[][] eventValues = new Object[8][];
+    private int eventCount;
+    private int lastEventType;
+    private String[] nameTable = new String[64];
+    private int nameCount;
+
+    private int state = TEXT;
+    private int referenceReturnState;
+    private String elementName;
+    private String attributeName;
+    private boolean sawEquals;
+    private char quote;
+    private int markerCount;
+
+    private int codePoint;
+    private int pendingBytes;
+    private int minCodePoint;
+    private boolean started;
+    private boolean afterCarriageReturn;
+
+    /**
+     * Tokenizes the remaining bytes of the buffer. The buffer's position is left unchanged.
+     *
+     * @param buffer The next piece of the document.
+     * @throws SdkClientException If the document isn't well formed.
+     */
+    public void feed(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = buffer.position(); i < limit; i++) {
+            decode(buffer.get(i) & 0xFF);
+        }
+    }
+
+    /**
+     * Signals that the whole document has been fed.
+     *
+     * @return A reader over the document, positioned at its start. A document without any elements is read as empty.
+     * @throws SdkClientException If the document ended early.
+     */
+    public XMLStreamReader endOfInput() {
+        if (pendingBytes != 0 || state != TEXT || !openElements.isEmpty()) {
+            throw error("Unexpected end of XML document");
+        }
+        return new TokenizedXmlStreamReader(eventTypes, eventValues, eventCount);
+    }
+
+    private void decode(int b) {
+        if (pendingBytes == 0) {
+            if (b < 0x80) {
+                normalizeLineBreak((char) b);
+            } else if ((b & 0xE0) == 0xC0) {
+                startSequence(b & 0x1F, 1, 0x80);
+            } else if ((b & 0xF0) == 0xE0) {
+                startSequence(b & 0x0F, 2, 0x800);
+            } else if ((b & 0xF8) == 0xF0) {
+                startSequence(b & 0x07, 3, 0x10000);
+            } else {
+                afterCarriageReturn = false;
+                process(REPLACEMENT_CHARACTER);
+            }
+        } else if ((b & 0xC0) == 0x80) {
+            codePoint = (codePoint << 6) | (b & 0x3F);
+            if (--pendingBytes == 0) {
+                decodedCodePoint(codePoint);
+            }
+        } else {
+            // The sequence was cut short, so replace what we have and start again with this byte.
+            pendingBytes = 0;
+            process(REPLACEMENT_CHARACTER);
+            decode(b);
+        }
+    }
+
+    private void startSequence(int bits, int continuationBytes, int min) {
+        codePoint = bits;
+        pendingBytes = continuationBytes;
+        minCodePoint = min;
+    }
+
+    private void decodedCodePoint(int decoded) {
+        afterCarriageReturn = false;
+        if (decoded < minCodePoint || decoded > Character.MAX_CODE_POINT
+            || (decoded >= Character.MIN_SURROGATE && decoded <= Character.MAX_SURROGATE)) {
+            process(REPLACEMENT_CHARACTER);
+        } else if (decoded < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            process((char) decoded);
+        } else {
+            process(Character.highSurrogate(decoded));
+            process(Character.lowSurrogate(decoded));
+        }
+    }
+
+    /**
+     * Turns "\r\n" and lone "\r" into "\n", as an XML processor must.
+     */
+    private void normalizeLineBreak(char c) {
+        if (c == '\r') {
+            afterCarriageReturn = true;
+            process('\n');
+        } else {
+            boolean skip = c == '\n' && afterCarriageReturn;
+            afterCarriageReturn = false;
+            if (!skip) {
+                process(c);
+            }
+        }
+    }
+
+    private void process(char c) {
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                return;
+            }
+        }
+        switch (state) {
+            case TEXT:
+                if (c == '<') {
+                    state = MARKUP;
+                } else if (c == '&') {
+                    startReference(TEXT);
+                } else {
+                    text.append(c);
+                }
+                break;
+            case MARKUP:
+                markup(c);
+                break;
+            case START_TAG_NAME:
+                startTagName(c);
+                break;
+            case IN_START_TAG:
+                inStartTag(c);
+                break;
+            case ATTRIBUTE_NAME:
+                if (c == '=' || isWhitespace(c)) {
+                    attributeName = intern(name);
+                    sawEquals = c == '=';
+                    state = BEFORE_ATTRIBUTE_VALUE;
+                } else {
+                    name.append(c);
+                }
+                break;
+            case BEFORE_ATTRIBUTE_VALUE:
+                beforeAttributeValue(c);
+                break;
+            case ATTRIBUTE_VALUE:
+                attributeValue(c);
+                break;
+            case EMPTY_TAG_END:
+                if (c != '>') {
+                    throw error("Expected '>' after '/' in element " + elementName);
+                }
+                startElement();
+                endElement(elementName);
+                break;
+            case END_TAG_NAME:
+                if (c == '>') {
+                    endElement(intern(name));
+                } else if (isWhitespace(c)) {
+                    elementName = intern(name);
+                    state = AFTER_END_TAG_NAME;
+                } else {
+                    name.append(c);
+                }
+                break;
+            case AFTER_END_TAG_NAME:
+                if (c == '>') {
+                    endElement(elementName);
+                } else if (!isWhitespace(c)) {
+                    throw error("Unexpected character '" + c + "' in end tag of element " + elementName);
+                }
+                break;
+            case MARKUP_DECLARATION:
+                markupDeclaration(c);
+                break;
+            case COMMENT:
+                if (c == '>' && markerCount >= 2) {
+                    state = TEXT;
+                } else {
+                    markerCount = c == '-' ? markerCount + 1 : 0;
+                }
+                break;
+            case CDATA_SECTION:
+                if (c == '>' && markerCount >= 2) {
+                    text.setLength(text.length() - 2);
+                    state = TEXT;
+                } else {
+                    markerCount = c == ']' ? markerCount + 1 : 0;
+                    text.append(c);
+                }
+                break;
+            case PROCESSING_INSTRUCTION:
+                if (c == '>' && markerCount == 1) {
+                    state = TEXT;
+                } else {
+                    markerCount = c == '?' ? 1 : 0;
+                }
+                break;
+            case CHARACTER_REFERENCE:
+                if (c == ';') {
+                    endReference();
+                } else if (reference.length() < MAX_REFERENCE_LENGTH) {
+                    reference.append(c);
+                } else {
+                    throw error("Unterminated character reference &" + reference);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown state " + state);
+        }
+    }
+
+    private void markup(char c) {
+        switch (c) {
+            case '/':
+                flushText(true);
+                name.setLength(0);
+                state = END_TAG_NAME;
+                break;
+            case '!':
+                // Comments and CDATA sections are part of the surrounding text, so it isn't flushed yet.
+                name.setLength(0);
+                state = MARKUP_DECLARATION;
+                break;
+            case '?':
+                markerCount = 0;
+                state = PROCESSING_INSTRUCTION;
+                break;
+            default:
+                flushText(false);
+                name.setLength(0);
+                name.append(c);
+                state = START_TAG_NAME;
+                break;
+        }
+    }
+
+    private void startTagName(char c) {
+        if (c == '>') {
+            elementName = intern(name);
+            startElement();
+        } else if (c == '/') {
+            elementName = intern(name);
+            state = EMPTY_TAG_END;
+        } else if (isWhitespace(c)) {
+            elementName = intern(name);
+            state = IN_START_TAG;
+        } else {
+            name.append(c);
+        }
+    }
+
+    private void inStartTag(char c) {
+        if (c == '>') {
+            startElement();
+        } else if (c == '/') {
+            state = EMPTY_TAG_END;
+        } else if (!isWhitespace(c)) {
+            name.setLength(0);
+            name.append(c);
+            state = ATTRIBUTE_NAME;
+        }
+    }
+
+    private void beforeAttributeValue(char c) {
+        if (c == '=' && !sawEquals) {
+            sawEquals = true;
+        } else if ((c == '"' || c == '\'') && sawEquals) {
+            quote = c;
+            attributeValue.setLength(0);
+            state = ATTRIBUTE_VALUE;
+        } else if (!isWhitespace(c)) {
+            throw error("Malformed value for attribute " + attributeName + " of element " + elementName);
+        }
+    }
+
+    private void attributeValue(char c) {
+        if (c == quote) {
+            if (!isNamespaceDeclaration(attributeName)) {
+                attributes.add(localName(attributeName));
+                attributes.add(attributeValue.toString());
+            }
+            state = IN_START_TAG;
+        } else if (c == '&') {
+            startReference(ATTRIBUTE_VALUE);
+        } else if (c == '<') {
+            throw error("Unexpected '<' in value of attribute " + attributeName + " of element " + elementName);
+        } else {
+            // Attribute values are normalized so that each whitespace character becomes a space.
+            attributeValue.append(isWhitespace(c) ? ' ' : c);
+        }
+    }
+
+    private void markupDeclaration(char c) {
+        name.append(c);
+        if (COMMENT_START.contentEquals(name)) {
+            markerCount = 0;
+            state = COMMENT;
+        } else if (CDATA_START.contentEquals(name)) {
+            markerCount = 0;
+            state = CDATA_SECTION;
+        } else if (!startsWith(COMMENT_START, name) && !startsWith(CDATA_START, name)) {
+            throw error("Document type declarations are not supported");
+        }
+    }
+
+    private void startReference(int returnState) {
+        reference.setLength(0);
+        referenceReturnState = returnState;
+        state = CHARACTER_REFERENCE;
+    }
+
+    private void endReference() {
+        StringBuilder target = referenceReturnState == TEXT ? text : attributeValue;
+        String ref = reference.toString();
+        switch (ref) {
+            case "lt":
+                target.append('<');
+                break;
+            case "gt":
+                target.append('>');
+                break;
+            case "amp":
+                target.append('&');
+                break;
+            case "quot":
+                target.append('"');
+                break;
+            case "apos":
+                target.append('\'');
+                break;
+            default:
+                target.appendCodePoint(parseCharacterReference(ref));
+                break;
+        }
+        state = referenceReturnState;
+    }
+
+    private int parseCharacterReference(String ref) {
+        try {
+            if (ref.startsWith("#x")) {
+                return validCodePoint(Integer.parseInt(ref.substring(2), 16), ref);
+            } else if (ref.startsWith("#")) {
+                return validCodePoint(Integer.parseInt(ref.substring(1)), ref);
+            }
+        } catch (NumberFormatException e) {
+            throw error("Malformed character reference &" + ref + ";");
+        }
+        throw error("Undeclared entity &" + ref + ";");
+    }
+
+    private int validCodePoint(int value, String ref) {
+        if (!Character.isValidCodePoint(value)) {
+            throw error("Malformed character reference &" + ref + ";");
+        }
+        return value;
+    }
+
+    /**
+     * Reports the text read since the last tag, unless it's outside the root element or it's whitespace that isn't the
+     * only content of an element.
+     *
+     * @param beforeEndTag True if the text is followed by an end tag.
+     */
+    private void flushText(boolean beforeEndTag) {
+        if (text.length() == 0) {
+            return;
+        }
+        boolean onlyContent = beforeEndTag && lastEventType == START_ELEMENT;
+        if (!openElements.isEmpty() && (onlyContent || !isWhitespace(text))) {
+            addEvent(CHARACTERS, text.toString());
+        }
+        text.setLength(0);
+    }
+
+    private void startElement() {
+        String localName = localName(elementName);
+        if (attributes.isEmpty()) {
+            addEvent(START_ELEMENT, localName);
+        } else {
+            String[] value = new String[attributes.size() + 1];
+            value[0] = localName;
+            for (int i = 0; i < attributes.size(); i++) {
+                value[i + 1] = attributes.get(i);
+            }
+            addEvent(START_ELEMENT, value);
+            attributes.clear();
+        }
+        openElements.add(elementName);
+        state = TEXT;
+    }
+
+    private void endElement(String qualifiedName) {
+        if (openElements.isEmpty()) {
+            throw error("Unexpected end tag " + qualifiedName);
+        }
+        String open = openElements.remove(openElements.size() - 1);
+        if (!open.equals(qualifiedName)) {
+            throw error("End tag " + qualifiedName + " does not match start tag " + open);
+        }
+        addEvent(END_ELEMENT, localName(qualifiedName));
+        state = TEXT;
+    }
+
+    /**
+     * Events are stored in fixed size segments, so a large document never has its events copied as they grow.
+     */
+    private void addEvent(int type, Object value) {
+        int segment = eventCount >>> TokenizedXmlStreamReader.SEGMENT_SHIFT;
+        int offset = eventCount & TokenizedXmlStreamReader.SEGMENT_MASK;
+        if (offset == 0) {
+            if (segment == eventTypes.length) {
+                eventTypes = Arrays.copyOf(eventTypes, segment * 2);
+                eventValues = Arrays.copyOf(eventValues, segment * 2);
+            }
+            eventTypes[segment] = new int[TokenizedXmlStreamReader.SEGMENT_SIZE];
+            eventValues[segment] = new Object[TokenizedXmlStreamReader.SEGMENT_SIZE];
+        }
+        eventTypes[segment][offset] = type;
+        eventValues[segment][offset] = value;
+        eventCount++;
+        lastEventType = type;
+    }
+
+    /**
+     * Returns a shared copy of the name, so a name repeated throughout a document is only kept once, and only allocated
+     * the first time it's seen.
+     */
+    private String intern(StringBuilder builder) {
+        int length = builder.length();
+        if (length == 0) {
+            throw error("Missing name in tag");
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + builder.charAt(i);
+        }
+        int mask = nameTable.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            String candidate = nameTable[slot];
+            if (candidate == null) {
+                String value = builder.toString();
+                nameTable[slot] = value;
+                if (++nameCount * 2 > nameTable.length) {
+                    growNameTable();
+                }
+                return value;
+            }
+            if (candidate.hashCode() == hash && candidate.contentEquals(builder)) {
+                return candidate;
+            }
+        }
+    }
+
+    private void growNameTable() {
+        String[] old = nameTable;
+        nameTable = new String[old.length * 2];
+        int mask = nameTable.length - 1;
+        for (String value : old) {
+            if (value != null) {
+                int slot = value.hashCode() & mask;
+                while (nameTable[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                nameTable[slot] = value;
+            }
+        }
+    }
+
+    private String localName(String qualifiedName) {
+        return qualifiedName.indexOf(':') < 0
+               ? qualifiedName
+               : localNames.computeIfAbsent(qualifiedName, q -> q.substring(q.indexOf(':') + 1));
+    }
+
+    private static boolean isNamespaceDeclaration(String attribute) {
+        return attribute.equals("xmlns") || attribute.startsWith("xmlns:");
+    }
+
+    private static boolean startsWith(String prefix, CharSequence value) {
+        if (value.length() > prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (prefix.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r';
+    }
+
+    private static SdkClientException error(String message) {
+        return new SdkClientException("Unable to parse XML response: " + message);
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.xml;
+
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.util.NoSuchElementException;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * An {@link XMLStreamReader} over the events collected by a {@link NonBlockingXmlTokenizer}. Only start and end
+ * elements and characters are reported. The start of an element is stored either as its local name, or, when it has
+ * attributes, as an array of its local name followed by each attribute's local name and value.
+ */
+@SdkInternalApi
+@NotThreadSafe
+final class TokenizedXmlStreamReader implements XMLStreamReader {
+
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final Location UNKNOWN_LOCATION = new Location() {
+        @Override
+        public int getLineNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+    };
+
+    private static final String[] NO_ATTRIBUTES = new String[1];
+
+    private final int[][] eventTypes;
+    private final Object[][] eventValues;
+    private final int eventCount;
+    private int index = -1;
+    private int eventType = START_DOCUMENT;
+
+    /**
+     * @param eventTypes  The type of each event, in segments of {@link #SEGMENT_SIZE}.
+     * @param eventValues The value of each event, in segments of {@link #SEGMENT_SIZE}.
+     * @param eventCount  The number of events.
+     */
+    TokenizedXmlStreamReader(int[][] eventTypes, Object[][] eventValues, int eventCount) {
+        this.eventTypes = eventTypes;
+        this.eventValues = eventValues;
+        this.eventCount = eventCount;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return null;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (eventType == END_DOCUMENT) {
+            throw new NoSuchElementException("The end of the document has been reached");
+        }
+        index++;
+        eventType = index < eventCount ? eventTypes[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK] : END_DOCUMENT;
+        return eventType;
+    }
+
+    @Override
+    public void require(int type, String namespaceUri, String localName) throws XMLStreamException {
+        if (type != eventType || (localName != null && !localName.equals(getLocalName()))) {
+            throw new XMLStreamException("Expected event " + type + " " + localName + " but was " + eventType);
+        }
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (eventType != START_ELEMENT) {
+            throw new XMLStreamException("Not positioned on the start of an element");
+        }
+        String text = "";
+        for (int event = next(); event != END_ELEMENT; event = next()) {
+            if (event != CHARACTERS) {
+                throw new XMLStreamException("Element contains more than text");
+            }
+            text = text.concat(getText());
+        }
+        return text;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while (event == CHARACTERS && isWhiteSpace()) {
+            event = next();
+        }
+        if (event != START_ELEMENT && event != END_ELEMENT) {
+            throw new XMLStreamException("Expected the start or end of an element");
+        }
+        return event;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return eventType != END_DOCUMENT;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String getNamespaceURI(String prefix) {
+        return null;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return eventType == START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return eventType == END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return eventType == CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        return eventType == CHARACTERS && getText().trim().isEmpty();
+    }
+
+    @Override
+    public String getAttributeValue(String namespaceUri, String localName) {
+        String[] element = elementWithAttributes();
+        for (int i = 1; i < element.length; i += 2) {
+            if (element[i].equals(localName)) {
+                return element[i + 1];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return elementWithAttributes().length / 2;
+    }
+
+    @Override
+    public QName getAttributeName(int index) {
+        return new QName(getAttributeLocalName(index));
+    }
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        return null;
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+        return elementWithAttributes()[index * 2 + 1];
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        return "";
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        return elementWithAttributes()[index * 2 + 2];
+    }
+
+    @Override
+    public boolean isAttributeSpecified(int index) {
+        return true;
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        return 0;
+    }
+
+    @Override
+    public String getNamespacePrefix(int index) {
+        throw new IndexOutOfBoundsException("No namespace declarations are reported");
+    }
+
+    @Override
+    public String getNamespaceURI(int index) {
+        throw new IndexOutOfBoundsException("No namespace declarations are reported");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return null;
+    }
+
+    @Override
+    public int getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public String getText() {
+        if (eventType != CHARACTERS) {
+            throw new IllegalStateException("Not positioned on text");
+        }
+        return (String) value();
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return getText().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+        String text = getText();
+        int count = Math.max(0, Math.min(length, text.length() - sourceStart));
+        text.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public String getEncoding() {
+        return "UTF-8";
+    }
+
+    @Override
+    public boolean hasText() {
+        return eventType == CHARACTERS;
+    }
+
+    @Override
+    public Location getLocation() {
+        return UNKNOWN_LOCATION;
+    }
+
+    @Override
+    public QName getName() {
+        return new QName(getLocalName());
+    }
+
+    @Override
+    public String getLocalName() {
+        if (eventType == START_ELEMENT) {
+            Object value = value();
+            return value instanceof String ? (String) value : ((String[]) value)[0];
+        } else if (eventType == END_ELEMENT) {
+            return (String) value();
+        }
+        throw new IllegalStateException("Not positioned on an element");
+    }
+
+    @Override
+    public boolean hasName() {
+        return eventType == START_ELEMENT || eventType == END_ELEMENT;
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return null;
+    }
+
+    @Override
+    public String getPrefix() {
+        return "";
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return null;
+    }
+
+    @Override
+    public String getPIData() {
+        return null;
+    }
+
+    private String[] elementWithAttributes() {
+        if (eventType != START_ELEMENT) {
+            throw new IllegalStateException("Not positioned on the start of an element");
+        }
+        Object value = value();
+        return value instanceof String[] ? (String[]) value : NO_ATTRIBUTES;
+    }
+
+    private Object value() {
+        return eventValues[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.protocol.ProtocolMarshaller;
+import software.amazon.awssdk.core.protocol.json.internal.JsonProtocolMarshaller;
+import software.amazon.awssdk.core.protocol.json.internal.NullAsEmptyBodyProtocolRequestMarshaller;
+import software.amazon.awssdk.core.util.DateUtils;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+/**
+ * Support for generated marshallers that write the members of the request object straight to the Jackson generator, rather
+ * than passing each value through the {@link ProtocolMarshaller} to be dispatched on its type. Values are written the same
+ * way {@link SdkJsonGenerator} writes them.
+ */
+@SdkProtectedApi
+public final class DirectJsonMarshalling {
+
+    private DirectJsonMarshalling() {
+    }
+
+    /**
+     * @return The Jackson generator that the given protocol marshaller writes the implicit request object to, or null if
+     *     members have to be marshalled through the protocol marshaller. That's the case when the request has an explicit
+     *     payload member, or the content isn't JSON or CBOR.
+     */
+    public static JsonGenerator generatorFor(ProtocolMarshaller protocolMarshaller) {
+        ProtocolMarshaller marshaller = protocolMarshaller instanceof NullAsEmptyBodyProtocolRequestMarshaller
+                                        ? ((NullAsEmptyBodyProtocolRequestMarshaller<?>) protocolMarshaller).delegate()
+                                        : protocolMarshaller;
+        if (marshaller instanceof JsonProtocolMarshaller) {
+            StructuredJsonGenerator generator = ((JsonProtocolMarshaller<?>) marshaller).implicitPayloadGenerator();
+            if (generator instanceof SdkJsonGenerator) {
+                return ((SdkJsonGenerator) generator).getGenerator();
+            }
+        }
+        return null;
+    }
+
+    public static void writeInstant(JsonGenerator generator, Instant instant) throws IOException {
+        generator.writeNumber(DateUtils.formatServiceSpecificDate(instant));
+    }
+
+    /**
+     * Big decimals are written as strings, see {@link SdkJsonGenerator#writeValue(BigDecimal)}.
+     */
+    public static void writeBigDecimal(JsonGenerator generator, BigDecimal value) throws IOException {
+        generator.writeString(value.toString());
+    }
+
+    /**
+     * Writes the remaining bytes of the buffer, without copying them first if the buffer is backed by an array.
+     */
+    public static void writeBinary(JsonGenerator generator, ByteBuffer bytes) throws IOException {
+        if (bytes.hasArray()) {
+            generator.writeBinary(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            generator.writeBinary(BinaryUtils.copyBytesFrom(bytes));
+        }
+    }
+}
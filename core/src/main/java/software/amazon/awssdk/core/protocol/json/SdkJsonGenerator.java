@@ -39,7 +39,7 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
      * prevent frequent resizings but small enough to avoid wasted allocations for small requests.
      */
     private static final int DEFAULT_BUFFER_SIZE = 1024;
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final ContentOutputStream baos = new ContentOutputStream(DEFAULT_BUFFER_SIZE);
     private final JsonGenerator generator;
     private final String contentType;
 
@@ -256,6 +256,17 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         return baos.toByteArray();
     }
 
+    /**
+     * Get the JSON content as a view over the generator's buffer, without copying it.
+     *
+     * @return Buffer over the UTF-8 encoded bytes that make up the generated JSON.
+     */
+    @Override
+    public ByteBuffer getByteBuffer() {
+        close();
+        return baos.toByteBuffer();
+    }
+
     @Override
     public String getContentType() {
         return contentType;
@@ -265,6 +276,20 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         return generator;
     }
 
+    /**
+     * Output stream that exposes the content written so far without copying it.
+     */
+    private static final class ContentOutputStream extends ByteArrayOutputStream {
+
+        private ContentOutputStream(int size) {
+            super(size);
+        }
+
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
     /**
      * Indicates an issue writing JSON content.
      */
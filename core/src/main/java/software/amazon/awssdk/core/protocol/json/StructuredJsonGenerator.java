@@ -166,6 +166,16 @@ public interface StructuredJsonGenerator {
 
     byte[] getBytes();
 
+    /**
+     * Like {@link #getBytes()}, but the returned buffer may be a view over the generator's own array rather than a copy of
+     * it. Must only be called once writing is finished.
+     *
+     * @return Buffer backed by an accessible array, positioned at the start of the content.
+     */
+    default ByteBuffer getByteBuffer() {
+        return ByteBuffer.wrap(getBytes());
+    }
+
     /**
      * New clients use {@link SdkJsonProtocolFactory#getContentType()}.
      */
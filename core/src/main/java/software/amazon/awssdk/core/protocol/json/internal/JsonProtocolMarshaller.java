@@ -171,6 +171,14 @@ public class JsonProtocolMarshaller<OrigRequestT> implements ProtocolRequestMars
         }
     }
 
+    /**
+     * @return The generator that members bound to the implicit request object are written to, or null if the request has an
+     *     explicit payload member.
+     */
+    public StructuredJsonGenerator implicitPayloadGenerator() {
+        return hasExplicitPayloadMember ? null : jsonGenerator;
+    }
+
     @Override
     public Request<OrigRequestT> finishMarshalling() {
         // Content may already be set if the payload is binary data.
@@ -180,10 +188,13 @@ public class JsonProtocolMarshaller<OrigRequestT> implements ProtocolRequestMars
                 jsonGenerator.writeEndObject();
             }
 
-            byte[] content = jsonGenerator.getBytes();
-            request.setContent(new ByteArrayInputStream(content));
-            if (content.length > 0) {
-                request.addHeader("Content-Length", Integer.toString(content.length));
+            // The content is used as is rather than copied out of the generator, which isn't written to again.
+            ByteBuffer content = jsonGenerator.getByteBuffer();
+            int offset = content.arrayOffset() + content.position();
+            int length = content.remaining();
+            request.setContent(new ByteArrayInputStream(content.array(), offset, length));
+            if (length > 0) {
+                request.addHeader("Content-Length", Integer.toString(length));
             }
         }
         if (!request.getHeaders().containsKey("Content-Type")) {
@@ -53,4 +53,11 @@ public class NullAsEmptyBodyProtocolRequestMarshaller<OrigRequestT> implements P
     public Request<OrigRequestT> finishMarshalling() {
         return delegate.finishMarshalling();
     }
+
+    /**
+     * @return The marshaller this one delegates to.
+     */
+    public ProtocolRequestMarshaller<OrigRequestT> delegate() {
+        return delegate;
+    }
 }
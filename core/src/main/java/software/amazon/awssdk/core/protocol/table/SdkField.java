@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingInfo;
+import software.amazon.awssdk.core.util.IdempotentUtils;
+
+/**
+ * Describes one member of a shape in its {@link SdkShapeTable}: the name it has in the payload and its type.
+ */
+@SdkProtectedApi
+public final class SdkField {
+
+    private final String locationName;
+    private final SerializableString serializedName;
+    private final SdkFieldType type;
+    private final Supplier<?> defaultValueSupplier;
+    private final MarshallingInfo<?> marshallingInfo;
+
+    private SdkField(String locationName, SdkFieldType type, Supplier<?> defaultValueSupplier) {
+        this.locationName = locationName;
+        this.serializedName = new SerializedString(locationName);
+        this.type = type;
+        this.defaultValueSupplier = defaultValueSupplier;
+        this.marshallingInfo = marshallingInfo(type, locationName, defaultValueSupplier);
+    }
+
+    /**
+     * @param locationName Name of the member in the payload.
+     * @param type         Type of the member.
+     * @return A field for a member of the payload.
+     */
+    public static SdkField of(String locationName, SdkFieldType type) {
+        return new SdkField(locationName, type, null);
+    }
+
+    /**
+     * @param locationName Name of the member in the payload.
+     * @return A field for a string member that is given a generated idempotency token when it isn't set.
+     */
+    public static SdkField idempotencyToken(String locationName) {
+        return new SdkField(locationName, SdkFieldType.STRING, IdempotentUtils.getGenerator());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MarshallingInfo<?> marshallingInfo(SdkFieldType type, String locationName, Supplier<?> defaultValueSupplier) {
+        return MarshallingInfo.builder(type.marshallingType())
+                              .marshallLocation(MarshallLocation.PAYLOAD)
+                              .marshallLocationName(locationName)
+                              .defaultValueSupplier((Supplier) defaultValueSupplier)
+                              .build();
+    }
+
+    public String locationName() {
+        return locationName;
+    }
+
+    /**
+     * @return The location name, with its JSON encoding cached so that it can be written without being escaped each time.
+     */
+    public SerializableString serializedName() {
+        return serializedName;
+    }
+
+    public SdkFieldType type() {
+        return type;
+    }
+
+    /**
+     * @return Supplies the value to marshall when the member isn't set, or null if nothing is marshalled then.
+     */
+    public Supplier<?> defaultValueSupplier() {
+        return defaultValueSupplier;
+    }
+
+    /**
+     * @return How the member is marshalled when it has to go through a {@link
+     *     software.amazon.awssdk.core.protocol.ProtocolMarshaller}.
+     */
+    public MarshallingInfo<?> marshallingInfo() {
+        return marshallingInfo;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.runtime.transform.ContextUnmarshaller;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
+
+/**
+ * Type of a field in a {@link SdkShapeTable}: one of the simple types, a structure, or a list or map of another type.
+ * Structures are described by their own table, which the engine gets from the value being marshalled or the builder being
+ * unmarshalled into, so a structure type doesn't refer to the shape and shapes that refer to each other don't initialize
+ * each other's classes.
+ */
+@SdkProtectedApi
+public final class SdkFieldType {
+
+    public static final SdkFieldType STRING = simple(Kind.STRING, MarshallingType.STRING, String.class);
+
+    public static final SdkFieldType INTEGER = simple(Kind.INTEGER, MarshallingType.INTEGER, Integer.class);
+
+    public static final SdkFieldType LONG = simple(Kind.LONG, MarshallingType.LONG, Long.class);
+
+    public static final SdkFieldType FLOAT = simple(Kind.FLOAT, MarshallingType.FLOAT, Float.class);
+
+    public static final SdkFieldType DOUBLE = simple(Kind.DOUBLE, MarshallingType.DOUBLE, Double.class);
+
+    public static final SdkFieldType BIG_DECIMAL = simple(Kind.BIG_DECIMAL, MarshallingType.BIG_DECIMAL, BigDecimal.class);
+
+    public static final SdkFieldType BOOLEAN = simple(Kind.BOOLEAN, MarshallingType.BOOLEAN, Boolean.class);
+
+    public static final SdkFieldType INSTANT = simple(Kind.INSTANT, MarshallingType.INSTANT, Instant.class);
+
+    public static final SdkFieldType BYTE_BUFFER = simple(Kind.BYTE_BUFFER, MarshallingType.BYTE_BUFFER, ByteBuffer.class);
+
+    public static final SdkFieldType STRUCTURE = new SdkFieldType(Kind.STRUCTURE, MarshallingType.STRUCTURED, null, null);
+
+    private final Kind kind;
+    private final MarshallingType<?> marshallingType;
+    private final Unmarshaller<?, JsonUnmarshallerContext> unmarshaller;
+    private final SdkFieldType memberType;
+
+    private SdkFieldType(Kind kind, MarshallingType<?> marshallingType, Unmarshaller<?, JsonUnmarshallerContext> unmarshaller,
+                         SdkFieldType memberType) {
+        this.kind = kind;
+        this.marshallingType = marshallingType;
+        this.unmarshaller = unmarshaller;
+        this.memberType = memberType;
+    }
+
+    private static SdkFieldType simple(Kind kind, MarshallingType<?> marshallingType, Class<?> type) {
+        return new SdkFieldType(kind, marshallingType, ContextUnmarshaller.of(type), null);
+    }
+
+    /**
+     * @param memberType Type of the elements of the list.
+     * @return The type of a list.
+     */
+    public static SdkFieldType listOf(SdkFieldType memberType) {
+        return new SdkFieldType(Kind.LIST, MarshallingType.LIST, null, memberType);
+    }
+
+    /**
+     * @param valueType Type of the values of the map. Keys are always strings.
+     * @return The type of a map.
+     */
+    public static SdkFieldType mapOf(SdkFieldType valueType) {
+        return new SdkFieldType(Kind.MAP, MarshallingType.MAP, null, valueType);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    MarshallingType<?> marshallingType() {
+        return marshallingType;
+    }
+
+    /**
+     * @return The unmarshaller registered with the context for a simple type, or null for other types.
+     */
+    Unmarshaller<?, JsonUnmarshallerContext> unmarshaller() {
+        return unmarshaller;
+    }
+
+    /**
+     * @return The type of the elements of a list or the values of a map, or null for other types.
+     */
+    SdkFieldType memberType() {
+        return memberType;
+    }
+
+    /**
+     * What the engine switches on to read or write a value of the type.
+     */
+    enum Kind {
+        STRING,
+        INTEGER,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        BIG_DECIMAL,
+        BOOLEAN,
+        INSTANT,
+        BYTE_BUFFER,
+        STRUCTURE,
+        LIST,
+        MAP
+    }
+}
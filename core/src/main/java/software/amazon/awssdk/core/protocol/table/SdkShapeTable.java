@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import java.util.HashMap;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * Static description of the members of a shape, generated in place of a marshaller and unmarshaller for the shape. Fields
+ * are addressed by their index, which the model class and its builder switch on to get and set member values.
+ */
+@SdkProtectedApi
+public final class SdkShapeTable {
+
+    private final SdkField[] fields;
+    private final Map<String, Integer> indexes;
+
+    private SdkShapeTable(SdkField[] fields) {
+        this.fields = fields;
+        this.indexes = new HashMap<>(fields.length * 4 / 3 + 1);
+        for (int i = 0; i < fields.length; i++) {
+            indexes.put(fields[i].locationName(), i);
+        }
+    }
+
+    /**
+     * @param fields Fields of the shape, in the order of their indexes.
+     * @return A table of the given fields.
+     */
+    public static SdkShapeTable of(SdkField... fields) {
+        return new SdkShapeTable(fields);
+    }
+
+    /**
+     * @return The number of fields, one more than the highest index.
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    public SdkField field(int index) {
+        return fields[index];
+    }
+
+    /**
+     * @param locationName Name of a member in the payload.
+     * @return The index of the field for the member, or -1 if the shape has no such member.
+     */
+    public int indexOf(String locationName) {
+        Integer index = indexes.get(locationName);
+        return index == null ? -1 : index;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * Implemented by the builders of {@link TableDrivenPojo} model classes, so that they can be populated by the
+ * {@link TableDrivenJsonUnmarshaller} instead of an unmarshaller generated for each shape.
+ */
+@SdkProtectedApi
+public interface TableDrivenBuilder {
+
+    /**
+     * @return The table describing the members of the shape being built.
+     */
+    SdkShapeTable sdkTable();
+
+    /**
+     * Sets the value of a field.
+     *
+     * @param index Index of the field in the {@link #sdkTable()}.
+     * @param value Value of the field's type, as described by the table.
+     */
+    void sdkSetFieldValue(int index, Object value);
+
+    /**
+     * Creates a builder for the structure held by a field. For a list or a map, that's the structure held by its elements
+     * or values.
+     *
+     * @param index Index of the field in the {@link #sdkTable()}.
+     * @return A new builder for the structure.
+     */
+    TableDrivenBuilder sdkFieldBuilder(int index);
+
+    /**
+     * @return The built model object.
+     */
+    Object sdkBuild();
+}
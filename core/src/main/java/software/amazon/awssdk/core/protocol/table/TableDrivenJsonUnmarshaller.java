@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+
+import com.fasterxml.jackson.core.JsonToken;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+
+/**
+ * Unmarshalls JSON, CBOR or Ion into any {@link TableDrivenBuilder} from its {@link SdkShapeTable}, in place of an
+ * unmarshaller generated for each shape. Structures, lists and maps are read the same way the generated unmarshallers,
+ * {@link software.amazon.awssdk.core.runtime.transform.ListUnmarshaller} and
+ * {@link software.amazon.awssdk.core.runtime.transform.MapUnmarshaller} read them.
+ */
+@SdkProtectedApi
+public final class TableDrivenJsonUnmarshaller {
+
+    private TableDrivenJsonUnmarshaller() {
+    }
+
+    /**
+     * Unmarshall the object the context is positioned at.
+     *
+     * @param builder New builder for the shape being unmarshalled.
+     * @param context Context positioned at the start of the object, or at the token before it.
+     * @param <T>     Type of the model object.
+     * @return The built object, or null if the value is a JSON null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T unmarshall(TableDrivenBuilder builder, JsonUnmarshallerContext context) throws Exception {
+        SdkShapeTable table = builder.sdkTable();
+
+        int originalDepth = context.getCurrentDepth();
+        String currentParentElement = context.getCurrentParentElement();
+        int targetDepth = originalDepth + 1;
+
+        JsonToken token = context.getCurrentToken();
+        if (token == null) {
+            token = context.nextToken();
+        }
+        if (token == VALUE_NULL) {
+            return null;
+        }
+
+        while (token != null) {
+            if (token == FIELD_NAME && context.getCurrentDepth() == targetDepth) {
+                int index = table.indexOf(context.getCurrentFieldName());
+                if (index >= 0) {
+                    context.nextToken();
+                    builder.sdkSetFieldValue(index, readValue(builder, index, table.field(index).type(), context));
+                }
+            } else if (token == END_ARRAY || token == END_OBJECT) {
+                if (context.getLastParsedParentElement() == null
+                    || context.getLastParsedParentElement().equals(currentParentElement)) {
+                    if (context.getCurrentDepth() <= originalDepth) {
+                        break;
+                    }
+                }
+            }
+            token = context.nextToken();
+        }
+
+        return (T) builder.sdkBuild();
+    }
+
+    private static Object readValue(TableDrivenBuilder builder, int index, SdkFieldType type, JsonUnmarshallerContext context)
+            throws Exception {
+        switch (type.kind()) {
+            case STRUCTURE:
+                return unmarshall(builder.sdkFieldBuilder(index), context);
+            case LIST:
+                return readList(builder, index, type.memberType(), context);
+            case MAP:
+                return readMap(builder, index, type.memberType(), context);
+            default:
+                return type.unmarshaller().unmarshall(context);
+        }
+    }
+
+    private static List<Object> readList(TableDrivenBuilder builder, int index, SdkFieldType memberType,
+                                         JsonUnmarshallerContext context) throws Exception {
+        if (context.getCurrentToken() == VALUE_NULL) {
+            return null;
+        }
+
+        List<Object> list = new ArrayList<>();
+        for (JsonToken token = context.nextToken(); token != null && token != END_ARRAY; token = context.nextToken()) {
+            list.add(readValue(builder, index, memberType, context));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> readMap(TableDrivenBuilder builder, int index, SdkFieldType valueType,
+                                               JsonUnmarshallerContext context) throws Exception {
+        int originalDepth = context.getCurrentDepth();
+
+        if (context.getCurrentToken() == VALUE_NULL) {
+            return null;
+        }
+
+        Map<String, Object> map = new HashMap<>();
+        for (JsonToken token = context.nextToken(); token != null; token = context.nextToken()) {
+            if (token == FIELD_NAME) {
+                String key = (String) SdkFieldType.STRING.unmarshaller().unmarshall(context);
+                context.nextToken();
+                map.put(key, readValue(builder, index, valueType, context));
+            } else if (token == END_ARRAY || token == END_OBJECT) {
+                if (context.getCurrentDepth() <= originalDepth) {
+                    break;
+                }
+            }
+        }
+        return map;
+    }
+}
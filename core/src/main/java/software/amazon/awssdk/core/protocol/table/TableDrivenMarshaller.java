@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallingInfo;
+import software.amazon.awssdk.core.protocol.ProtocolMarshaller;
+import software.amazon.awssdk.core.protocol.json.DirectJsonMarshalling;
+
+/**
+ * Marshalls any {@link TableDrivenPojo} from its {@link SdkShapeTable}, in place of a marshaller generated for each shape.
+ * Members are written straight to the Jackson generator when the protocol marshaller exposes one, the same way
+ * {@link DirectJsonMarshalling} writes them for generated marshallers, and are otherwise passed through the protocol
+ * marshaller one at a time.
+ */
+@SdkProtectedApi
+public final class TableDrivenMarshaller {
+
+    private TableDrivenMarshaller() {
+    }
+
+    /**
+     * Marshall the members of the given object.
+     */
+    public static void marshall(TableDrivenPojo pojo, ProtocolMarshaller protocolMarshaller) {
+        if (pojo == null) {
+            throw new SdkClientException("Invalid argument passed to marshall(...)");
+        }
+
+        try {
+            JsonGenerator jsonGenerator = DirectJsonMarshalling.generatorFor(protocolMarshaller);
+            if (jsonGenerator != null) {
+                writeFields(jsonGenerator, pojo);
+                return;
+            }
+
+            SdkShapeTable table = pojo.sdkTable();
+            for (int i = 0; i < table.size(); i++) {
+                marshall(protocolMarshaller, pojo.sdkFieldValue(i), table.field(i).marshallingInfo());
+            }
+        } catch (Exception e) {
+            throw new SdkClientException("Unable to marshall request to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void marshall(ProtocolMarshaller protocolMarshaller, Object value, MarshallingInfo<?> marshallingInfo) {
+        protocolMarshaller.marshall(value, (MarshallingInfo<Object>) marshallingInfo);
+    }
+
+    /**
+     * Write the members of the given object that are set as fields of the object being written. Nulls in lists are
+     * written as JSON nulls and map entries with null values are left out.
+     */
+    public static void writeFields(JsonGenerator jsonGenerator, TableDrivenPojo pojo) throws IOException {
+        SdkShapeTable table = pojo.sdkTable();
+        for (int i = 0; i < table.size(); i++) {
+            SdkField field = table.field(i);
+            Object value = pojo.sdkFieldValue(i);
+            if (value == null && field.defaultValueSupplier() != null) {
+                value = field.defaultValueSupplier().get();
+            }
+            if (value != null) {
+                jsonGenerator.writeFieldName(field.serializedName());
+                writeValue(jsonGenerator, field.type(), value);
+            }
+        }
+    }
+
+    private static void writeValue(JsonGenerator jsonGenerator, SdkFieldType type, Object value) throws IOException {
+        switch (type.kind()) {
+            case STRING:
+                jsonGenerator.writeString((String) value);
+                break;
+            case INTEGER:
+                jsonGenerator.writeNumber((Integer) value);
+                break;
+            case LONG:
+                jsonGenerator.writeNumber((Long) value);
+                break;
+            case FLOAT:
+                jsonGenerator.writeNumber((Float) value);
+                break;
+            case DOUBLE:
+                jsonGenerator.writeNumber((Double) value);
+                break;
+            case BIG_DECIMAL:
+                DirectJsonMarshalling.writeBigDecimal(jsonGenerator, (BigDecimal) value);
+                break;
+            case BOOLEAN:
+                jsonGenerator.writeBoolean((Boolean) value);
+                break;
+            case INSTANT:
+                DirectJsonMarshalling.writeInstant(jsonGenerator, (Instant) value);
+                break;
+            case BYTE_BUFFER:
+                DirectJsonMarshalling.writeBinary(jsonGenerator, (ByteBuffer) value);
+                break;
+            case STRUCTURE:
+                jsonGenerator.writeStartObject();
+                writeFields(jsonGenerator, (TableDrivenPojo) value);
+                jsonGenerator.writeEndObject();
+                break;
+            case LIST:
+                jsonGenerator.writeStartArray();
+                for (Object element : (List<?>) value) {
+                    if (element == null) {
+                        jsonGenerator.writeNull();
+                    } else {
+                        writeValue(jsonGenerator, type.memberType(), element);
+                    }
+                }
+                jsonGenerator.writeEndArray();
+                break;
+            case MAP:
+                jsonGenerator.writeStartObject();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (entry.getValue() != null) {
+                        jsonGenerator.writeFieldName((String) entry.getKey());
+                        writeValue(jsonGenerator, type.memberType(), entry.getValue());
+                    }
+                }
+                jsonGenerator.writeEndObject();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported field type " + type.kind());
+        }
+    }
+}
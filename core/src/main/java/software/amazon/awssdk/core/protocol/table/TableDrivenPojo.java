@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.protocol.StructuredPojo;
+
+/**
+ * Implemented by model classes that describe their members with a {@link SdkShapeTable}, so that they can be marshalled
+ * by the {@link TableDrivenMarshaller} instead of a marshaller generated for each shape.
+ */
+@SdkProtectedApi
+public interface TableDrivenPojo extends StructuredPojo {
+
+    /**
+     * @return The table describing the members of this shape.
+     */
+    SdkShapeTable sdkTable();
+
+    /**
+     * @param index Index of the field in the {@link #sdkTable()}.
+     * @return The value of the field, or null if it isn't set.
+     */
+    Object sdkFieldValue(int index);
+}
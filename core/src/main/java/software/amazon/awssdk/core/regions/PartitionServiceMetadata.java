@@ -19,6 +19,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.awssdk.core.internal.region.model.CredentialScope;
 import software.amazon.awssdk.core.internal.region.model.Endpoint;
 import software.amazon.awssdk.core.internal.region.model.Partition;
@@ -33,6 +34,12 @@ public class PartitionServiceMetadata implements ServiceMetadata {
     private final String service;
     private final Map<String, Partition> servicePartitionData;
 
+    /**
+     * Endpoints and signing regions already computed, by region, as they only depend on the partition data.
+     */
+    private final Map<String, URI> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Region> signingRegions = new ConcurrentHashMap<>();
+
     public PartitionServiceMetadata(String service,
                                     Map<String, Partition> servicePartitionData) {
         this.service = service;
@@ -41,6 +48,15 @@ public class PartitionServiceMetadata implements ServiceMetadata {
 
     @Override
     public URI endpointFor(Region region) {
+        return endpoints.computeIfAbsent(region.value(), ignored -> computeEndpointUri(region));
+    }
+
+    @Override
+    public Region signingRegion(Region region) {
+        return signingRegions.computeIfAbsent(region.value(), ignored -> computeSigningRegion(region));
+    }
+
+    private URI computeEndpointUri(Region region) {
         RegionMetadata regionMetadata = RegionMetadata.of(region);
         Endpoint endpoint = computeEndpoint(service, region);
         return URI.create(endpoint.getHostname()
@@ -49,8 +65,7 @@ public class PartitionServiceMetadata implements ServiceMetadata {
                                   .replace(DNS_SUFFIX, regionMetadata.getDomain()));
     }
 
-    @Override
-    public Region signingRegion(Region region) {
+    private Region computeSigningRegion(Region region) {
         CredentialScope credentialScope = computeEndpoint(service, region).getCredentialScope();
         return Region.of(credentialScope != null && credentialScope.getRegion() != null ?
                                  credentialScope.getRegion() : region.value());
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.internal.region.GeneratedPartitionMetadata;
 import software.amazon.awssdk.core.internal.region.PartitionMetadataProvider;
 import software.amazon.awssdk.core.internal.region.model.Partitions;
 import software.amazon.awssdk.utils.IoUtils;
@@ -32,12 +33,6 @@ public class RegionMetadataLoader {
 
     private static volatile PartitionMetadataProvider provider;
 
-    /**
-     * class path from where all partition files are loaded.
-     */
-    private static final String PARTITIONS_RESOURCE_PATH =
-            "software/amazon/awssdk/core/internal/region/endpoints.json";
-
     /**
      * override class path from where all partition files are loaded.
      */
@@ -51,7 +46,8 @@ public class RegionMetadataLoader {
 
     /**
      * Loads the partition files from the {@link #PARTITIONS_OVERRIDE_RESOURCE_PATH}. If no files are present, then
-     * loads the partition files from the {@link #PARTITIONS_RESOURCE_PATH}
+     * uses the partition metadata compiled from the bundled endpoints.json at build time, see
+     * {@link GeneratedPartitionMetadata}.
      * <p/>
      * Builds the {@link RegionMetadata} from the partition files.
      */
@@ -80,11 +76,7 @@ public class RegionMetadataLoader {
             provider = new PartitionMetadataProvider(
                     loadPartitionFromStream(stream, PARTITIONS_OVERRIDE_RESOURCE_PATH).getPartitions());
         } else {
-            stream = CLASS_LOADER.getResourceAsStream(PARTITIONS_RESOURCE_PATH);
-            if (stream == null) {
-                throw new SdkClientException("Unable to load partition metadata from " + PARTITIONS_RESOURCE_PATH);
-            }
-            provider = new PartitionMetadataProvider(loadPartitionFromStream(stream, PARTITIONS_RESOURCE_PATH).getPartitions());
+            provider = new PartitionMetadataProvider(GeneratedPartitionMetadata.partitions());
         }
     }
 
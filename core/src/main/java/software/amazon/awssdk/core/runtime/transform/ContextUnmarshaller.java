@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.runtime.transform;
+
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * Unmarshaller for a simple type that defers to whichever unmarshaller the context registers for the type. JSON, CBOR
+ * and Ion each read simple types differently, so generated unmarshallers hold one of these in a static field for the
+ * elements of list and map members, rather than creating an unmarshaller each time a member is read. Each read looks the
+ * type up in the context's registry. Simple type members of a structure don't use this: the generated unmarshaller looks
+ * up each simple type once per structure it reads.
+ *
+ * @param <T> Simple type to unmarshall.
+ */
+@SdkProtectedApi
+public final class ContextUnmarshaller<T> implements Unmarshaller<T, JsonUnmarshallerContext> {
+
+    private final Class<T> type;
+
+    private ContextUnmarshaller(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> ContextUnmarshaller<T> of(Class<T> type) {
+        return new ContextUnmarshaller<>(type);
+    }
+
+    @Override
+    public T unmarshall(JsonUnmarshallerContext context) throws Exception {
+        return context.getUnmarshaller(type).unmarshall(context);
+    }
+}
@@ -18,10 +18,14 @@ package software.amazon.awssdk.core.runtime.transform;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.http.HttpResponse;
+import software.amazon.awssdk.core.util.DateUtils;
+import software.amazon.awssdk.utils.Base64Utils;
 
 /**
  * Used effectively as the API to access the context of performing the
@@ -78,6 +82,60 @@ public abstract class JsonUnmarshallerContext {
         return null;
     }
 
+    /**
+     * Returns the value of the current token as an Integer, or null if the
+     * value is null. Parses {@link #readText()} by default.
+     */
+    public Integer readInt() throws IOException {
+        String text = readText();
+        return text == null ? null : Integer.parseInt(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Long, or null if the value
+     * is null. Parses {@link #readText()} by default.
+     */
+    public Long readLong() throws IOException {
+        String text = readText();
+        return text == null ? null : Long.parseLong(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Double, or null if the
+     * value is null. Parses {@link #readText()} by default.
+     */
+    public Double readDouble() throws IOException {
+        String text = readText();
+        return text == null ? null : Double.parseDouble(text);
+    }
+
+    /**
+     * Returns the value of the current token as a Boolean, or null if the
+     * value is null. Parses {@link #readText()} by default.
+     */
+    public Boolean readBoolean() throws IOException {
+        String text = readText();
+        return text == null ? null : Boolean.parseBoolean(text);
+    }
+
+    /**
+     * Returns the value of the current token, in seconds since the epoch with
+     * an optional fraction, as an Instant truncated to millisecond precision,
+     * or null if the value is null. Parses {@link #readText()} by default.
+     */
+    public Instant readEpochInstant() throws IOException {
+        return DateUtils.parseServiceSpecificInstant(readText());
+    }
+
+    /**
+     * Returns the base64 decoded value of the current token, or null if the
+     * value is null. Decodes {@link #readText()} by default.
+     */
+    public ByteBuffer readBinary() throws IOException {
+        String text = readText();
+        return text == null ? null : ByteBuffer.wrap(Base64Utils.decode(text));
+    }
+
     /**
      * Returns true if parsing of the Json document is yet to start. Returns
      * false by default or if the parsing of Json document is not yet started.
@@ -107,6 +165,14 @@ public abstract class JsonUnmarshallerContext {
         return null;
     }
 
+    /**
+     * Returns the name of the JSON field the parser is on, or null if it isn't
+     * on a field name or within its value. Returns null by default.
+     */
+    public String getCurrentFieldName() {
+        return null;
+    }
+
     /**
      * Tests the specified expression (a JSON field name) against the current
      * position in the JSON document being parsed, and restricts the expression
@@ -20,10 +20,17 @@ import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
 import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
 import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
 import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_FALSE;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_FLOAT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
@@ -34,6 +41,12 @@ import software.amazon.awssdk.utils.Validate;
 @SdkInternalApi
 public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
+    /**
+     * Epoch seconds with more digits than this could overflow a long once converted to milliseconds.
+     */
+    private static final int MAX_EPOCH_SECOND_DIGITS = 15;
+    private static final long UNPARSEABLE = Long.MIN_VALUE;
+
     private final JsonParser jsonParser;
     /**
      * A stack of JsonFieldTokenPair objects that indicates the current state of the context.
@@ -143,6 +156,108 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         }
     }
 
+    @Override
+    public Integer readInt() throws IOException {
+        if (currentToken != VALUE_NUMBER_INT) {
+            return super.readInt();
+        }
+        return jsonParser.getIntValue();
+    }
+
+    @Override
+    public Long readLong() throws IOException {
+        if (currentToken != VALUE_NUMBER_INT) {
+            return super.readLong();
+        }
+        return jsonParser.getLongValue();
+    }
+
+    @Override
+    public Double readDouble() throws IOException {
+        if (!isNumber(currentToken)) {
+            return super.readDouble();
+        }
+        return jsonParser.getDoubleValue();
+    }
+
+    @Override
+    public Boolean readBoolean() throws IOException {
+        if (currentToken == VALUE_TRUE) {
+            return Boolean.TRUE;
+        } else if (currentToken == VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return super.readBoolean();
+    }
+
+    @Override
+    public Instant readEpochInstant() throws IOException {
+        if (!isNumber(currentToken)) {
+            return super.readEpochInstant();
+        }
+        if (currentToken == VALUE_NUMBER_INT) {
+            return Instant.ofEpochSecond(jsonParser.getLongValue());
+        }
+        long epochMilli = parseEpochMilli(jsonParser.getTextCharacters(), jsonParser.getTextOffset(),
+                                          jsonParser.getTextLength());
+        return epochMilli != UNPARSEABLE ? Instant.ofEpochMilli(epochMilli) : super.readEpochInstant();
+    }
+
+    @Override
+    public ByteBuffer readBinary() throws IOException {
+        if (currentToken != VALUE_STRING) {
+            return super.readBinary();
+        }
+        return ByteBuffer.wrap(jsonParser.getBinaryValue());
+    }
+
+    private static boolean isNumber(JsonToken token) {
+        return token == VALUE_NUMBER_INT || token == VALUE_NUMBER_FLOAT;
+    }
+
+    /**
+     * Converts a decimal number of seconds, such as 1398796238.123, to milliseconds, truncating any digits past the
+     * millisecond as {@link software.amazon.awssdk.core.util.DateUtils#parseServiceSpecificInstant(String)} does.
+     * Returns {@link #UNPARSEABLE} for anything but plain decimal notation (exponents, or more digits than fit in a
+     * long) so the caller can fall back to the general parser.
+     */
+    private static long parseEpochMilli(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = i < end && chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        long seconds = 0;
+        int integerDigits = 0;
+        for (; i < end && chars[i] != '.'; i++, integerDigits++) {
+            char c = chars[i];
+            if (c < '0' || c > '9' || integerDigits == MAX_EPOCH_SECOND_DIGITS) {
+                return UNPARSEABLE;
+            }
+            seconds = seconds * 10 + (c - '0');
+        }
+
+        long millis = 0;
+        int fractionDigits = 0;
+        for (i++; i < end; i++, fractionDigits++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return UNPARSEABLE;
+            }
+            if (fractionDigits < 3) {
+                millis = millis * 10 + (c - '0');
+            }
+        }
+        for (; fractionDigits < 3; fractionDigits++) {
+            millis *= 10;
+        }
+
+        long epochMilli = seconds * 1000 + millis;
+        return negative ? -epochMilli : epochMilli;
+    }
+
     @Override
     public boolean isInsideResponseHeader() {
         return currentToken == null && nextToken == null;
@@ -180,6 +295,11 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         return parentElement;
     }
 
+    @Override
+    public String getCurrentFieldName() {
+        return currentField;
+    }
+
     @Override
     public boolean testExpression(String expression, int stackDepth) {
         if (expression.equals(".")) {
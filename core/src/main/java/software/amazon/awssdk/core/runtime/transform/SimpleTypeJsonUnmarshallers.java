@@ -21,8 +21,6 @@ import java.nio.ByteBuffer;
 import java.time.Instant;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkClientException;
-import software.amazon.awssdk.core.util.DateUtils;
-import software.amazon.awssdk.utils.Base64Utils;
 
 @SdkInternalApi
 public class SimpleTypeJsonUnmarshallers {
@@ -52,8 +50,7 @@ public class SimpleTypeJsonUnmarshallers {
         }
 
         public Double unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String doubleString = unmarshallerContext.readText();
-            return (doubleString == null) ? null : Double.parseDouble(doubleString);
+            return unmarshallerContext.readDouble();
         }
     }
 
@@ -68,8 +65,7 @@ public class SimpleTypeJsonUnmarshallers {
         }
 
         public Integer unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String intString = unmarshallerContext.readText();
-            return (intString == null) ? null : Integer.parseInt(intString);
+            return unmarshallerContext.readInt();
         }
     }
 
@@ -110,8 +106,7 @@ public class SimpleTypeJsonUnmarshallers {
         }
 
         public Boolean unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String booleanString = unmarshallerContext.readText();
-            return (booleanString == null) ? null : Boolean.parseBoolean(booleanString);
+            return unmarshallerContext.readBoolean();
         }
     }
 
@@ -142,8 +137,7 @@ public class SimpleTypeJsonUnmarshallers {
         }
 
         public Long unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String longString = unmarshallerContext.readText();
-            return (longString == null) ? null : Long.parseLong(longString);
+            return unmarshallerContext.readLong();
         }
     }
 
@@ -172,8 +166,7 @@ public class SimpleTypeJsonUnmarshallers {
 
         public Instant unmarshall(JsonUnmarshallerContext unmarshallerContext)
                 throws Exception {
-            return DateUtils.parseServiceSpecificInstant(unmarshallerContext
-                    .readText());
+            return unmarshallerContext.readEpochInstant();
         }
     }
 
@@ -188,13 +181,7 @@ public class SimpleTypeJsonUnmarshallers {
         }
 
         public ByteBuffer unmarshall(JsonUnmarshallerContext unmarshallerContext) throws Exception {
-            String base64EncodedString = unmarshallerContext.readText();
-            if (base64EncodedString == null) {
-                return null;
-            }
-            byte[] decodedBytes = Base64Utils.decode(base64EncodedString);
-            return ByteBuffer.wrap(decodedBytes);
-
+            return unmarshallerContext.readBinary();
         }
     }
 
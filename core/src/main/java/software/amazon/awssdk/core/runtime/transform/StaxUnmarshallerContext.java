@@ -15,17 +15,24 @@
 
 package software.amazon.awssdk.core.runtime.transform;
 
+import static javax.xml.stream.XMLStreamConstants.ATTRIBUTE;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Contains the unmarshalling state for the parsing of an XML response. The
@@ -33,42 +40,62 @@ import javax.xml.stream.events.XMLEvent;
  * the state while different unmarshallers work together to parse an XML
  * response. It also tracks the current position and element depth of the
  * document being parsed and provides utilties for accessing the next XML event
- * from the parser, reading element text, handling attribute XML events, etc.
+ * from the parser, reading element text, handling attributes, etc.
+ * <p>
+ * The context reads from a cursor style {@link XMLStreamReader}, so no event
+ * objects are created while parsing. Events are reported as the
+ * {@link XMLStreamConstants} event types by {@link #next()}.
  */
 public class StaxUnmarshallerContext {
 
+    /**
+     * Returned by {@link #getCurrentEventType()} before {@link #next()} is first called.
+     */
+    private static final int NO_EVENT = 0;
+
     public final Stack<String> stack = new Stack<String>();
-    private final XMLEventReader eventReader;
+    private final XMLStreamReader streamReader;
     private final Map<String, String> headers;
-    private XMLEvent currentEvent;
-    private String stackString = "";
+    private int currentEvent = NO_EVENT;
+    /**
+     * True when reading element text has moved the reader onto the event that {@link #next()} should report next.
+     */
+    private boolean readerAhead;
+    /**
+     * The text of the current element, once it has been read.
+     */
+    private String currentText;
+    private final List<String> attributeNames = new ArrayList<String>();
+    private final List<String> attributeValues = new ArrayList<String>();
+    private int attributeIndex;
+    private String currentAttributeName;
+    private String currentAttributeValue;
     private Map<String, String> metadata = new HashMap<String, String>();
     private List<MetadataExpression> metadataExpressions = new ArrayList<MetadataExpression>();
-    private Iterator<?> attributeIterator;
     private String currentHeader;
 
     /**
-     * Constructs a new unmarshaller context using the specified source of XML events.
+     * Constructs a new unmarshaller context using the specified source of XML.
      *
-     * @param eventReader
-     *            The source of XML events for this unmarshalling context.
+     * @param streamReader
+     *            The source of XML for this unmarshalling context.
      */
-    public StaxUnmarshallerContext(XMLEventReader eventReader) {
-        this(eventReader, null);
+    public StaxUnmarshallerContext(XMLStreamReader streamReader) {
+        this(streamReader, null);
     }
 
     /**
-     * Constructs a new unmarshaller context using the specified source of XML
-     * events, and a set of response headers.
+     * Constructs a new unmarshaller context using the specified source of XML,
+     * and a set of response headers.
      *
-     * @param eventReader
-     *            The source of XML events for this unmarshalling context.
+     * @param streamReader
+     *            The source of XML for this unmarshalling context.
      * @param headers
      *            The set of response headers associated with this unmarshaller
      *            context.
      */
-    public StaxUnmarshallerContext(XMLEventReader eventReader, Map<String, String> headers) {
-        this.eventReader = eventReader;
+    public StaxUnmarshallerContext(XMLStreamReader streamReader, Map<String, String> headers) {
+        this.streamReader = streamReader;
         this.headers = headers;
     }
 
@@ -77,7 +104,7 @@ public class StaxUnmarshallerContext {
     }
 
     public boolean isInsideResponseHeader() {
-        return currentEvent == null;
+        return currentEvent == NO_EVENT;
     }
 
     /**
@@ -103,7 +130,8 @@ public class StaxUnmarshallerContext {
     }
 
     /**
-     * Returns the text contents of the current element being parsed.
+     * Returns the text contents of the current element being parsed, or the
+     * value of the current attribute.
      *
      * @return The text contents of the current element being parsed.
      */
@@ -111,23 +139,16 @@ public class StaxUnmarshallerContext {
         if (isInsideResponseHeader()) {
             return getHeader(currentHeader);
         }
-        if (currentEvent.isAttribute()) {
-            Attribute attribute = (Attribute) currentEvent;
-            return attribute.getValue();
+        if (currentEvent == ATTRIBUTE) {
+            return currentAttributeValue;
         }
-
-        StringBuilder sb = new StringBuilder();
-        while (true) {
-            XMLEvent event = eventReader.peek();
-            if (event.getEventType() == XMLStreamConstants.CHARACTERS) {
-                eventReader.nextEvent();
-                sb.append(event.asCharacters().getData());
-            } else if (event.getEventType() == XMLStreamConstants.END_ELEMENT) {
-                return sb.toString();
-            } else {
-                throw new RuntimeException("Encountered unexpected event: " + event.toString());
+        if (currentText == null) {
+            currentText = readElementText();
+            if (currentText == null) {
+                throw new RuntimeException("Encountered unexpected event: " + eventTypeName(streamReader.getEventType()));
             }
         }
+        return currentText;
     }
 
     /**
@@ -141,6 +162,30 @@ public class StaxUnmarshallerContext {
         return stack.size();
     }
 
+    /**
+     * Returns the local name of the current element, or of the current
+     * attribute when the current event is {@link XMLStreamConstants#ATTRIBUTE}.
+     * Generated unmarshallers switch on this before testing the full
+     * expression of a member.
+     *
+     * @return The local name of the current element or attribute, or null
+     *         before the first element.
+     */
+    public String getCurrentLocalName() {
+        if (currentAttributeName != null) {
+            return currentAttributeName;
+        }
+        return stack.isEmpty() ? null : stack.peek();
+    }
+
+    /**
+     * Returns the type of the event last returned by {@link #next()}, or 0 if
+     * no event has been read yet.
+     */
+    public int getCurrentEventType() {
+        return currentEvent;
+    }
+
     /**
      * Tests the specified expression against the current position in the XML
      * document being parsed.
@@ -154,7 +199,7 @@ public class StaxUnmarshallerContext {
         if (expression.equals(".")) {
             return true;
         }
-        return stackString.endsWith(expression);
+        return pathEndsWith(expression);
     }
 
     /**
@@ -184,9 +229,7 @@ public class StaxUnmarshallerContext {
             }
         }
 
-
-        return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+        return startingStackDepth == getCurrentDepth() && pathEndsWith(expression);
     }
 
     /**
@@ -198,39 +241,43 @@ public class StaxUnmarshallerContext {
      *         yet).
      */
     public boolean isStartOfDocument() throws XMLStreamException {
-        return eventReader.peek().isStartDocument();
+        return streamReader.getEventType() == START_DOCUMENT;
     }
 
     /**
-     * Returns the next XML event for the document being parsed.
-     *
-     * @return The next XML event for the document being parsed.
+     * Advances to the next event of the document being parsed. Only
+     * {@link XMLStreamConstants#START_ELEMENT}, {@link XMLStreamConstants#ATTRIBUTE} (one for each attribute, following
+     * the start of its element), {@link XMLStreamConstants#END_ELEMENT} and
+     * {@link XMLStreamConstants#END_DOCUMENT} are reported. Text is read with {@link #readText()}.
      *
+     * @return The type of the next event, as one of the {@link XMLStreamConstants} event types.
      */
-    public XMLEvent nextEvent() throws XMLStreamException {
-        if (attributeIterator != null && attributeIterator.hasNext()) {
-            currentEvent = (XMLEvent) attributeIterator.next();
-        } else {
-            currentEvent = eventReader.nextEvent();
+    public int next() throws XMLStreamException {
+        currentText = null;
+        if (attributeIndex < attributeNames.size()) {
+            currentAttributeName = attributeNames.get(attributeIndex);
+            currentAttributeValue = attributeValues.get(attributeIndex);
+            attributeIndex++;
+            currentEvent = ATTRIBUTE;
+            return currentEvent;
         }
+        currentAttributeName = null;
+        currentAttributeValue = null;
 
-        if (currentEvent.isStartElement()) {
-            attributeIterator = currentEvent.asStartElement().getAttributes();
+        if (readerAhead) {
+            readerAhead = false;
+            currentEvent = streamReader.getEventType();
+        } else {
+            currentEvent = nextStructuralEvent();
         }
 
-        updateContext(currentEvent);
-
-        if (eventReader.hasNext()) {
-            XMLEvent nextEvent = eventReader.peek();
-            if (nextEvent != null && nextEvent.isCharacters()) {
-                for (MetadataExpression metadataExpression : metadataExpressions) {
-                    if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
-                        metadata.put(metadataExpression.key, nextEvent.asCharacters().getData());
-                    }
-                }
-            }
+        if (currentEvent == START_ELEMENT) {
+            stack.push(streamReader.getLocalName());
+            readAttributes();
+            readMetadata();
+        } else if (currentEvent == END_ELEMENT) {
+            stack.pop();
         }
-
         return currentEvent;
     }
 
@@ -268,27 +315,125 @@ public class StaxUnmarshallerContext {
      * Private Interface
      */
 
-    private void updateContext(XMLEvent event) {
-        if (event == null) {
-            return;
+    private int nextStructuralEvent() throws XMLStreamException {
+        while (true) {
+            int event = streamReader.next();
+            if (event == START_ELEMENT || event == END_ELEMENT || event == END_DOCUMENT) {
+                return event;
+            }
         }
+    }
 
-        if (event.isEndElement()) {
-            stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+    /**
+     * Copies the attributes of the current element, so they can be reported after the element even if its text has
+     * been read in the meantime.
+     */
+    private void readAttributes() {
+        attributeNames.clear();
+        attributeValues.clear();
+        attributeIndex = 0;
+        int count = streamReader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            attributeNames.add(streamReader.getAttributeLocalName(i));
+            attributeValues.add(streamReader.getAttributeValue(i));
+        }
+    }
+
+    private void readMetadata() throws XMLStreamException {
+        for (MetadataExpression metadataExpression : metadataExpressions) {
+            if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
+                if (currentText == null) {
+                    currentText = readElementText();
+                }
+                if (currentText != null && !currentText.isEmpty()) {
+                    metadata.put(metadataExpression.key, currentText);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element, leaving the reader on the element's end so that {@link #next()} reports
+     * it. Returns null, leaving the reader on the offending event, if the element contains anything other than text.
+     */
+    private String readElementText() throws XMLStreamException {
+        String text = "";
+        StringBuilder builder = null;
+        while (true) {
+            int event = streamReader.next();
+            switch (event) {
+                case CHARACTERS:
+                case CDATA:
+                case SPACE:
+                case ENTITY_REFERENCE:
+                    if (text.isEmpty()) {
+                        text = streamReader.getText();
+                    } else {
+                        if (builder == null) {
+                            builder = new StringBuilder(text);
+                        }
+                        builder.append(streamReader.getTextCharacters(), streamReader.getTextStart(),
+                                       streamReader.getTextLength());
+                    }
+                    break;
+                case END_ELEMENT:
+                    readerAhead = true;
+                    return builder == null ? text : builder.toString();
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    break;
+                default:
+                    readerAhead = true;
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the current path, the element stack followed by the current attribute (if any) as
+     * {@code @name}, ends with the '/' separated segments of the expression.
+     */
+    private boolean pathEndsWith(String expression) {
+        int end = expression.length();
+        int stackIndex = stack.size() - 1;
+        boolean matchAttribute = currentAttributeName != null;
+        while (true) {
+            int start = expression.lastIndexOf('/', end - 1) + 1;
+            int nameStart = start;
+            String name;
+            if (matchAttribute) {
+                if (start == end || expression.charAt(start) != '@') {
+                    return false;
+                }
+                nameStart++;
+                name = currentAttributeName;
+                matchAttribute = false;
+            } else if (stackIndex >= 0) {
+                name = stack.get(stackIndex--);
+            } else {
+                return false;
+            }
+
+            if (name.length() != end - nameStart || !expression.regionMatches(nameStart, name, 0, name.length())) {
+                return false;
             }
-        } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
-        } else if (event.isAttribute()) {
-            Attribute attribute = (Attribute) event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+            if (start == 0) {
+                return true;
             }
-            stackString += "/@" + attribute.getName().getLocalPart();
+            end = start - 1;
+        }
+    }
+
+    private static String eventTypeName(int eventType) {
+        switch (eventType) {
+            case START_ELEMENT:
+                return "StartElement";
+            case END_ELEMENT:
+                return "EndElement";
+            case END_DOCUMENT:
+                return "EndDocument";
+            default:
+                return String.valueOf(eventType);
         }
     }
 
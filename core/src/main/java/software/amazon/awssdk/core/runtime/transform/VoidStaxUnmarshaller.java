@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.core.runtime.transform;
 
+import javax.xml.stream.XMLStreamConstants;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 
 /**
@@ -24,7 +25,7 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 @SdkInternalApi
 public class VoidStaxUnmarshaller<T> implements Unmarshaller<T, StaxUnmarshallerContext> {
     public T unmarshall(StaxUnmarshallerContext context) throws Exception {
-        while (context.nextEvent().isEndDocument() == false) {
+        while (context.next() != XMLStreamConstants.END_DOCUMENT) {
             ;
         }
         return null;
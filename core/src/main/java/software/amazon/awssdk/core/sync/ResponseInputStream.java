@@ -36,7 +36,7 @@ public final class ResponseInputStream<ResponseT> extends SdkFilterInputStream i
     private final Abortable abortable;
 
     @SdkInternalApi
-    ResponseInputStream(ResponseT resp, AbortableInputStream in) {
+    public ResponseInputStream(ResponseT resp, AbortableInputStream in) {
         super(in);
         this.response = resp;
         this.abortable = in;
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Checks every {@link AsyncRequestProvider} against the rules of the reactive streams specification that a publisher of
+ * request content is most likely to break. The rule numbers refer to the specification.
+ */
+@RunWith(Parameterized.class)
+public class AsyncRequestProviderSpecTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProviderFactory factory;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private byte[] content;
+    private Path file;
+
+    public AsyncRequestProviderSpecTest(String name, ProviderFactory factory) {
+        this.factory = factory;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> providers() {
+        return Arrays.asList(new Object[][] {
+            {"bytes", (ProviderFactory) (content, file, executor) -> new SingleByteArrayAsyncRequestProvider(content)},
+            {"file", (ProviderFactory) (content, file, executor) ->
+                FileAsyncRequestProvider.builder().path(file).chunkSizeInBytes(CHUNK_SIZE).build()},
+            {"memory-mapped file", (ProviderFactory) (content, file, executor) ->
+                FileAsyncRequestProvider.builder().path(file).chunkSizeInBytes(CHUNK_SIZE).memoryMapped(true).build()},
+            {"input stream", (ProviderFactory) (content, file, executor) ->
+                InputStreamAsyncRequestProvider.builder()
+                                               .inputStream(new ByteArrayInputStream(content))
+                                               .contentLength((long) content.length)
+                                               .chunkSizeInBytes(CHUNK_SIZE)
+                                               .executor(executor)
+                                               .build()},
+            {"input stream of unknown length", (ProviderFactory) (content, file, executor) ->
+                InputStreamAsyncRequestProvider.builder()
+                                               .inputStream(new ByteArrayInputStream(content))
+                                               .chunkSizeInBytes(CHUNK_SIZE)
+                                               .executor(executor)
+                                               .build()},
+            {"publisher", (ProviderFactory) (content, file, executor) ->
+                AsyncRequestProvider.fromPublisher(FileAsyncRequestProvider.builder().path(file).chunkSizeInBytes(CHUNK_SIZE)
+                                                                           .build(), content.length)},
+            {"publisher of unknown length", (ProviderFactory) (content, file, executor) ->
+                AsyncRequestProvider.fromPublisher(FileAsyncRequestProvider.builder().path(file).chunkSizeInBytes(CHUNK_SIZE)
+                                                                           .build())}
+        });
+    }
+
+    @Before
+    public void setup() throws IOException {
+        content = new byte[20 * CHUNK_SIZE + 17];
+        new Random(content.length).nextBytes(content);
+        file = Files.createTempFile("async-request-provider-spec", ".bin");
+        Files.write(file, content);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Rules 1.1 and 3.3: never more chunks than requested, including when requesting from within onNext.
+     */
+    @Test
+    public void deliversNoMoreThanRequested_WhenRequestingOneAtATimeFromOnNext() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(true);
+        factory.create(content, file, executor).subscribe(subscriber);
+        subscriber.request(1);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.overDelivered).isFalse();
+        assertThat(subscriber.signals).endsWith("onComplete");
+        assertThat(subscriber.content.toByteArray()).isEqualTo(content);
+    }
+
+    /**
+     * Rule 1.9: onSubscribe comes first, and only once.
+     */
+    @Test
+    public void signalsOnSubscribeFirstAndOnce() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        factory.create(content, file, executor).subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.signals.get(0)).isEqualTo("onSubscribe");
+        assertThat(Collections.frequency(subscriber.signals, "onSubscribe")).isEqualTo(1);
+        assertThat(subscriber.content.toByteArray()).isEqualTo(content);
+    }
+
+    /**
+     * Rule 1.7: nothing is signalled after onComplete, even if more is requested.
+     */
+    @Test
+    public void signalsNothingAfterCompleting() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        factory.create(content, file, executor).subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitTermination();
+        int signals = subscriber.signals.size();
+
+        subscriber.request(1);
+        Thread.sleep(50);
+
+        assertThat(subscriber.signals).hasSize(signals).endsWith("onComplete");
+    }
+
+    /**
+     * Rule 3.9: a request for zero chunks is answered with an IllegalArgumentException.
+     */
+    @Test
+    public void signalsIllegalArgumentException_WhenZeroIsRequested() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        factory.create(content, file, executor).subscribe(subscriber);
+        subscriber.request(0);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.signals).endsWith("onError");
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Rules 3.5 and 3.6: once cancelled, requests are ignored and no more chunks are delivered.
+     */
+    @Test
+    public void deliversNothingMore_AfterBeingCancelled() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        factory.create(content, file, executor).subscribe(subscriber);
+        subscriber.request(1);
+        subscriber.awaitSignals(2);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+        int signals = subscriber.signals.size();
+        subscriber.request(5);
+        Thread.sleep(50);
+
+        assertThat(subscriber.signals).hasSize(signals);
+    }
+
+    @FunctionalInterface
+    private interface ProviderFactory {
+        AsyncRequestProvider create(byte[] content, Path file, ExecutorService executor);
+    }
+
+    /**
+     * Records the signals it receives, and whether it was ever given more chunks than it requested.
+     */
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        private final boolean requestOnNext;
+        private final List<String> signals = Collections.synchronizedList(new ArrayList<>());
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final AtomicLong outstanding = new AtomicLong();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean overDelivered;
+
+        private RecordingSubscriber(boolean requestOnNext) {
+            this.requestOnNext = requestOnNext;
+        }
+
+        private void request(long n) {
+            outstanding.accumulateAndGet(n, (a, b) -> Long.MAX_VALUE - a < b ? Long.MAX_VALUE : a + b);
+            subscription.request(n);
+        }
+
+        private void awaitTermination() throws InterruptedException {
+            assertThat(terminated.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        private void awaitSignals(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (signals.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(signals.size()).isGreaterThanOrEqualTo(count);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            signals.add("onSubscribe");
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            signals.add("onNext");
+            if (outstanding.get() != Long.MAX_VALUE && outstanding.decrementAndGet() < 0) {
+                overDelivered = true;
+            }
+            synchronized (content) {
+                byte[] bytes = new byte[byteBuffer.remaining()];
+                byteBuffer.get(bytes);
+                content.write(bytes, 0, bytes.length);
+            }
+            if (requestOnNext) {
+                request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            signals.add("onError");
+            error = t;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("onComplete");
+            terminated.countDown();
+        }
+    }
+}
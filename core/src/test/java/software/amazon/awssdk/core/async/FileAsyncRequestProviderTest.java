@@ -0,0 +1,237 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class FileAsyncRequestProviderTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private Path file;
+    private byte[] content;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("file-async-request-provider", ".bin");
+        content = new byte[100 * CHUNK_SIZE + 17];
+        new Random(content.length).nextBytes(content);
+        Files.write(file, content);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void readsTheWholeFileInOrder() throws Exception {
+        FileAsyncRequestProvider provider = FileAsyncRequestProvider.builder()
+                                                                    .path(file)
+                                                                    .chunkSizeInBytes(CHUNK_SIZE)
+                                                                    .build();
+
+        CollectingSubscriber subscriber = read(provider, 1);
+
+        assertThat(provider.contentLength()).isEqualTo(content.length);
+        assertThat(subscriber.bytes()).isEqualTo(content);
+        assertThat(subscriber.buffers).hasSize(101).allMatch(b -> !b.isDirect());
+    }
+
+    @Test
+    public void concurrentReadsAreDeliveredInOrder() throws Exception {
+        FileAsyncRequestProvider provider = FileAsyncRequestProvider.builder()
+                                                                    .path(file)
+                                                                    .chunkSizeInBytes(CHUNK_SIZE)
+                                                                    .maxConcurrentReads(16)
+                                                                    .directBuffers(true)
+                                                                    .build();
+
+        CollectingSubscriber subscriber = read(provider, Long.MAX_VALUE);
+
+        assertThat(subscriber.bytes()).isEqualTo(content);
+        assertThat(subscriber.buffers).allMatch(ByteBuffer::isDirect);
+    }
+
+    @Test
+    public void readsASliceOfTheFile() throws Exception {
+        for (boolean memoryMapped : new boolean[] {false, true}) {
+            FileAsyncRequestProvider provider = FileAsyncRequestProvider.builder()
+                                                                        .path(file)
+                                                                        .position(12_345L)
+                                                                        .length(50_000L)
+                                                                        .chunkSizeInBytes(CHUNK_SIZE)
+                                                                        .memoryMapped(memoryMapped)
+                                                                        .build();
+
+            CollectingSubscriber subscriber = read(provider, 3);
+
+            assertThat(provider.contentLength()).isEqualTo(50_000L);
+            byte[] expected = new byte[50_000];
+            System.arraycopy(content, 12_345, expected, 0, expected.length);
+            assertThat(subscriber.bytes()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void memoryMappedChunksAreSlicesOfTheMapping() throws Exception {
+        FileAsyncRequestProvider provider = FileAsyncRequestProvider.builder()
+                                                                    .path(file)
+                                                                    .chunkSizeInBytes(CHUNK_SIZE)
+                                                                    .memoryMapped(true)
+                                                                    .build();
+
+        CollectingSubscriber subscriber = read(provider, 10);
+
+        assertThat(subscriber.bytes()).isEqualTo(content);
+        assertThat(subscriber.buffers).allMatch(ByteBuffer::isDirect);
+    }
+
+    @Test
+    public void onlyRequestedChunksAreDelivered() throws Exception {
+        FileAsyncRequestProvider provider = FileAsyncRequestProvider.builder()
+                                                                    .path(file)
+                                                                    .chunkSizeInBytes(CHUNK_SIZE)
+                                                                    .maxConcurrentReads(8)
+                                                                    .build();
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        provider.subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        Thread.sleep(200);
+
+        assertThat(subscriber.buffers).hasSize(2);
+        assertThat(subscriber.done).isNotDone();
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    public void missingFileIsAnErrorAndIsNotCreated() throws Exception {
+        Files.delete(file);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        FileAsyncRequestProvider.builder().path(file).build().subscribe(subscriber);
+
+        assertThat(subscriber.error()).isInstanceOf(NoSuchFileException.class);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void fileEndingBeforeTheLengthIsAnError() throws Exception {
+        for (boolean memoryMapped : new boolean[] {false, true}) {
+            CollectingSubscriber subscriber = new CollectingSubscriber(1);
+            FileAsyncRequestProvider.builder()
+                                    .path(file)
+                                    .length(content.length + 1L)
+                                    .memoryMapped(memoryMapped)
+                                    .build()
+                                    .subscribe(subscriber);
+
+            assertThat(subscriber.error()).isInstanceOf(EOFException.class);
+        }
+    }
+
+    private static CollectingSubscriber read(AsyncRequestProvider provider, long batchSize) throws Exception {
+        CollectingSubscriber subscriber = new CollectingSubscriber(batchSize);
+        provider.subscribe(subscriber);
+        subscriber.done.get(10, TimeUnit.SECONDS);
+        return subscriber;
+    }
+
+    /**
+     * Requests a batch of chunks at a time, asking for the next batch once the previous one has been delivered.
+     */
+    private static final class CollectingSubscriber implements Subscriber<ByteBuffer> {
+        private final long batchSize;
+        private final List<ByteBuffer> buffers = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile Subscription subscription;
+        private long remainingInBatch;
+
+        private CollectingSubscriber(long batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            if (batchSize > 0) {
+                remainingInBatch = batchSize;
+                s.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            buffers.add(buffer);
+            if (batchSize > 0 && --remainingInBatch == 0) {
+                remainingInBatch = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        private byte[] bytes() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (ByteBuffer buffer : buffers) {
+                byte[] array = new byte[buffer.remaining()];
+                buffer.duplicate().get(array);
+                bytes.write(array, 0, array.length);
+            }
+            return bytes.toByteArray();
+        }
+
+        private Throwable error() throws InterruptedException {
+            try {
+                done.get(10, TimeUnit.SECONDS);
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (TimeoutException e) {
+                throw new AssertionError("Neither completed nor failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class FileAsyncResponseHandlerTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private Path file;
+    private byte[] content;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("file-async-response-handler", ".bin");
+        Files.delete(file);
+        content = new byte[200 * CHUNK_SIZE + 17];
+        new Random(content.length).nextBytes(content);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void writesEveryBufferAtItsOffsetWithinTheWindow() throws Exception {
+        AtomicInteger syncs = new AtomicInteger();
+        AsyncResponseHandler<String, String> handler = AsyncResponseHandler.toFile(file, 4, r -> {
+            syncs.incrementAndGet();
+            executor.execute(r);
+        });
+        StreamingPublisher publisher = new StreamingPublisher();
+
+        handler.responseReceived("response");
+        handler.onStream(publisher);
+        publisher.finished.await();
+
+        assertThat(handler.complete()).isEqualTo("response");
+        whenFinished(handler).join();
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+        assertThat(publisher.maxOutstandingDemand.get()).isEqualTo(4);
+        assertThat(syncs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void failureToSyncDeletesTheFile() throws Exception {
+        AsyncResponseHandler<String, String> handler = AsyncResponseHandler.toFile(file, 4, r -> {
+            throw new RejectedExecutionException("Shut down");
+        });
+        StreamingPublisher publisher = new StreamingPublisher();
+
+        handler.responseReceived("response");
+        handler.onStream(publisher);
+        publisher.finished.await();
+        handler.complete();
+
+        assertThatThrownBy(() -> whenFinished(handler).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void contentDeliveredWithoutASubscriptionIsWritten() throws Exception {
+        AsyncResponseHandler<String, String> handler = AsyncResponseHandler.toFile(file);
+
+        handler.responseReceived("response");
+        handler.onStream(s -> {
+            s.onNext(ByteBuffer.wrap(content));
+            s.onComplete();
+        });
+
+        assertThat(handler.complete()).isEqualTo("response");
+        whenFinished(handler).join();
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+    }
+
+    @Test
+    public void exceptionDeletesTheFileAndDoesNotWaitForWrites() {
+        AsyncResponseHandler<String, String> handler = AsyncResponseHandler.toFile(file);
+
+        handler.onStream(s -> s.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        }));
+        handler.exceptionOccurred(new IOException("Connection reset"));
+        handler.complete();
+
+        assertThat(whenFinished(handler)).isDone();
+        assertThat(file).doesNotExist();
+    }
+
+    private static CompletableFuture<?> whenFinished(AsyncResponseHandler<?, ?> handler) {
+        return ((DeferredCompletionAsyncResponseHandler<?, ?>) handler).whenFinished();
+    }
+
+    /**
+     * Streams the content in chunks from another thread as they're requested, like an HTTP client's event loop.
+     */
+    private final class StreamingPublisher implements Publisher<ByteBuffer> {
+        private final AtomicLong maxOutstandingDemand = new AtomicLong();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private long demand;
+                private int position;
+
+                @Override
+                public void request(long n) {
+                    executor.execute(() -> {
+                        demand += n;
+                        maxOutstandingDemand.accumulateAndGet(demand, Math::max);
+                        while (demand > 0 && position < content.length) {
+                            int length = Math.min(CHUNK_SIZE, content.length - position);
+                            demand--;
+                            subscriber.onNext(ByteBuffer.wrap(content, position, length).slice());
+                            position += length;
+                        }
+                        if (position == content.length && finished.getCount() > 0) {
+                            subscriber.onComplete();
+                            finished.countDown();
+                        }
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
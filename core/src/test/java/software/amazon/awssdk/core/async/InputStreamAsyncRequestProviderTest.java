@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class InputStreamAsyncRequestProviderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void teardown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void streamsContentAsItIsWritten() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        AsyncRequestProvider provider = AsyncRequestProvider.fromInputStream(new PipedInputStream(out), executor);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        provider.subscribe(subscriber);
+        byte[] chunk = new byte[100];
+        for (int i = 0; i < 50; i++) {
+            out.write(chunk);
+        }
+        out.close();
+
+        subscriber.done.get(5, TimeUnit.SECONDS);
+        assertThat(provider.contentLength()).isEqualTo(-1);
+        assertThat(subscriber.content.size()).isEqualTo(5000);
+    }
+
+    @Test
+    public void streamShorterThanTheContentLength_Fails() throws Exception {
+        AsyncRequestProvider provider = AsyncRequestProvider.fromInputStream(new ByteArrayInputStream(new byte[10]), 20,
+                                                                             executor);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        provider.subscribe(subscriber);
+
+        assertThat(subscriber.done.get(5, TimeUnit.SECONDS)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void onlyTheContentLengthIsRead_AndTheStreamIsClosed() throws Exception {
+        TrackingInputStream in = new TrackingInputStream(new byte[100]);
+        AsyncRequestProvider provider = AsyncRequestProvider.fromInputStream(in, 60, executor);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        provider.subscribe(subscriber);
+
+        assertThat(subscriber.done.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(subscriber.content.size()).isEqualTo(60);
+        assertThat(in.closed).isTrue();
+    }
+
+    @Test
+    public void secondSubscriber_IsGivenAnError() throws Exception {
+        AsyncRequestProvider provider = AsyncRequestProvider.fromInputStream(new ByteArrayInputStream(new byte[10]), 10,
+                                                                             executor);
+        CollectingSubscriber first = new CollectingSubscriber();
+        CollectingSubscriber second = new CollectingSubscriber();
+
+        provider.subscribe(first);
+        provider.subscribe(second);
+
+        assertThat(first.done.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(second.done.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private volatile boolean closed;
+
+        private TrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    /**
+     * Requests everything and completes {@link #done} with the error signalled, or with null on completion.
+     */
+    private static final class CollectingSubscriber implements Subscriber<ByteBuffer> {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final CompletableFuture<Throwable> done = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            content.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.complete(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.sync.ResponseInputStream;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class InputStreamAsyncResponseHandlerTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private byte[] content;
+
+    @Before
+    public void setup() {
+        content = new byte[200 * CHUNK_SIZE + 17];
+        new Random(content.length).nextBytes(content);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void streamsContentWhileHoldingAtMostTheMaxBufferedChunks() throws Exception {
+        InputStreamAsyncResponseHandler<String> handler = AsyncResponseHandler.toInputStream(4);
+        StreamingPublisher publisher = new StreamingPublisher(null);
+
+        handler.responseReceived("response");
+        handler.onStream(publisher);
+        ResponseInputStream<String> in = handler.inputStream().join();
+        assertThat(in.response()).isEqualTo("response");
+
+        Thread.sleep(100);
+        assertThat(publisher.delivered.get()).isEqualTo(4);
+
+        assertThat(IoUtils.toByteArray(in)).isEqualTo(content);
+        assertThat(handler.complete()).isEqualTo("response");
+    }
+
+    @Test
+    public void closingTheStreamCancelsTheSubscription() throws Exception {
+        InputStreamAsyncResponseHandler<String> handler = AsyncResponseHandler.toInputStream(4);
+        StreamingPublisher publisher = new StreamingPublisher(null);
+
+        handler.onStream(publisher);
+        ResponseInputStream<String> in = handler.inputStream().join();
+        assertThat(in.read(new byte[CHUNK_SIZE])).isEqualTo(CHUNK_SIZE);
+        in.close();
+
+        assertThat(publisher.cancelled.get()).isTrue();
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void failureWhileStreamingIsThrownFromRead() throws Exception {
+        InputStreamAsyncResponseHandler<String> handler = AsyncResponseHandler.toInputStream();
+        IOException failure = new IOException("Connection reset");
+        StreamingPublisher publisher = new StreamingPublisher(failure);
+
+        handler.onStream(publisher);
+        ResponseInputStream<String> in = handler.inputStream().join();
+
+        assertThatThrownBy(() -> IoUtils.toByteArray(in)).isSameAs(failure);
+        assertThatThrownBy(() -> handler.onStream(publisher)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void failureBeforeStreamingFailsTheFuture() {
+        InputStreamAsyncResponseHandler<String> handler = AsyncResponseHandler.toInputStream();
+
+        handler.exceptionOccurred(new IOException("Connection refused"));
+
+        assertThatThrownBy(() -> handler.inputStream().join()).isInstanceOf(CompletionException.class)
+                                                              .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void responseWithoutContentHasAnEmptyStream() throws IOException {
+        InputStreamAsyncResponseHandler<String> handler = AsyncResponseHandler.toInputStream();
+
+        handler.responseReceived("response");
+        assertThat(handler.complete()).isEqualTo("response");
+
+        ResponseInputStream<String> in = handler.inputStream().join();
+        assertThat(in.response()).isEqualTo("response");
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    /**
+     * Streams the content in chunks from another thread as they're requested, like an HTTP client's event loop, optionally
+     * failing after the last chunk instead of completing.
+     */
+    private final class StreamingPublisher implements Publisher<ByteBuffer> {
+        private final Throwable failure;
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private StreamingPublisher(Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private long demand;
+                private int position;
+                private boolean finished;
+
+                @Override
+                public void request(long n) {
+                    executor.execute(() -> {
+                        demand += n;
+                        while (demand > 0 && position < content.length && !cancelled.get()) {
+                            int length = Math.min(CHUNK_SIZE, content.length - position);
+                            demand--;
+                            delivered.incrementAndGet();
+                            subscriber.onNext(ByteBuffer.wrap(content, position, length).slice());
+                            position += length;
+                        }
+                        if (position == content.length && !finished) {
+                            finished = true;
+                            if (failure != null) {
+                                subscriber.onError(failure);
+                            } else {
+                                subscriber.onComplete();
+                            }
+                        }
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class PublisherAsyncRequestProviderTest {
+
+    @Test
+    public void contentLongerThanTheLengthGiven_FailsAndCancelsThePublisher() throws Exception {
+        AsyncRequestProvider provider = AsyncRequestProvider.fromPublisher(AsyncRequestProvider.fromString("Hello!"), 5);
+
+        assertThat(provider.contentLength()).isEqualTo(5);
+        assertThat(subscribe(provider).get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void contentShorterThanTheLengthGiven_Fails() throws Exception {
+        AsyncRequestProvider provider = AsyncRequestProvider.fromPublisher(AsyncRequestProvider.fromString("Hello!"), 7);
+
+        assertThat(subscribe(provider).get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void contentOfUnknownLength_IsPassedThrough() throws Exception {
+        AsyncRequestProvider provider = AsyncRequestProvider.fromPublisher(AsyncRequestProvider.fromString("Hello!"));
+
+        assertThat(provider.contentLength()).isEqualTo(-1);
+        assertThat(subscribe(provider).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    /**
+     * @return Future of the error the provider signals, or of null if it completes.
+     */
+    private static CompletableFuture<Throwable> subscribe(AsyncRequestProvider provider) {
+        CompletableFuture<Throwable> result = new CompletableFuture<>();
+        provider.subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.complete(t);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+}
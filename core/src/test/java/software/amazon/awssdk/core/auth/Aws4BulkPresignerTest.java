@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.auth.presign.BulkPresigner;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+public class Aws4BulkPresignerTest {
+
+    private static final AwsCredentials CREDENTIALS = new AwsCredentials("access", "secret");
+
+    private final Aws4Signer signer = new Aws4Signer();
+
+    @Before
+    public void setup() {
+        Calendar calendar = new GregorianCalendar();
+        calendar.set(1981, 1, 16, 6, 30, 0);
+        calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+        signer.setOverrideDate(calendar.getTime());
+        signer.setServiceName("demo");
+    }
+
+    @Test
+    public void variedPathsAreSignedLikePresign() {
+        BulkPresigner bulkPresigner = signer.bulkPresigner(context(template()), attributes(CREDENTIALS), null);
+
+        for (String path : Arrays.asList("/bucket/key", "/bucket/a%20b/c~d", "/")) {
+            assertSameUrl(bulkPresigner.presignPath(path), presign(template().encodedPath(path), CREDENTIALS));
+        }
+    }
+
+    @Test
+    public void variedQueryParametersAreSignedLikePresign() {
+        BulkPresigner bulkPresigner = signer.bulkPresigner(context(template()), attributes(CREDENTIALS), null);
+
+        Map<String, List<String>> parameters = new HashMap<>();
+        parameters.put("Text", Collections.singletonList("Hello, world & everyone"));
+        parameters.put("VoiceId", Collections.singletonList("Joanna"));
+        parameters.put("Flag", Collections.singletonList(null));
+
+        SdkHttpFullRequest.Builder expected = template();
+        parameters.forEach(expected::rawQueryParameter);
+
+        assertSameUrl(bulkPresigner.presignQuery(parameters), presign(expected, CREDENTIALS));
+    }
+
+    @Test
+    public void variedQueryParametersReplaceTemplateParameters() {
+        BulkPresigner bulkPresigner = signer.bulkPresigner(context(template()), attributes(CREDENTIALS), null);
+
+        Map<String, List<String>> parameters = Collections.singletonMap("OutputFormat", Collections.singletonList("ogg"));
+
+        URL url = bulkPresigner.presignQuery(parameters);
+
+        assertThat(url.getQuery()).contains("OutputFormat=ogg").doesNotContain("OutputFormat=mp3");
+        assertSameUrl(url, presign(template().rawQueryParameter("OutputFormat", "ogg"), CREDENTIALS));
+    }
+
+    @Test
+    public void sessionCredentialsAndPortsAreSignedLikePresign() {
+        AwsCredentials credentials = new AwsSessionCredentials("access", "secret", "token/with+symbols");
+        SdkHttpFullRequest.Builder template = template().port(8443);
+        BulkPresigner bulkPresigner = signer.bulkPresigner(context(template), attributes(credentials), null);
+
+        assertSameUrl(bulkPresigner.presignPath("/key"), presign(template().port(8443).encodedPath("/key"), credentials));
+    }
+
+    @Test
+    public void anonymousCredentialsAreNotSigned() {
+        AwsCredentials anonymous = new AnonymousCredentialsProvider().getCredentials();
+        BulkPresigner bulkPresigner = signer.bulkPresigner(context(template()), attributes(anonymous), null);
+
+        URL url = bulkPresigner.presignPath("/key");
+
+        assertThat(url.toString()).isEqualTo("https://demo.us-east-1.amazonaws.com/key?OutputFormat=mp3");
+    }
+
+    private SdkHttpFullRequest.Builder template() {
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.GET)
+                                 .protocol("https")
+                                 .host("demo.us-east-1.amazonaws.com")
+                                 .encodedPath("/")
+                                 .rawQueryParameter("OutputFormat", "mp3");
+    }
+
+    private URI presign(SdkHttpFullRequest.Builder request, AwsCredentials credentials) {
+        return signer.presign(context(request), attributes(credentials), null).getUri();
+    }
+
+    private static InterceptorContext context(SdkHttpFullRequest.Builder request) {
+        return InterceptorContext.builder().request(new SdkRequest() {}).httpRequest(request.build()).build();
+    }
+
+    private static ExecutionAttributes attributes(AwsCredentials credentials) {
+        return new ExecutionAttributes().putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS, credentials);
+    }
+
+    /**
+     * The URLs are equivalent if they only differ in the order of their query parameters.
+     */
+    private static void assertSameUrl(URL actual, URI expected) {
+        URI actualUri = URI.create(actual.toString());
+        assertThat(actualUri.getScheme()).isEqualTo(expected.getScheme());
+        assertThat(actualUri.getAuthority()).isEqualTo(expected.getAuthority());
+        assertThat(actualUri.getRawPath()).isEqualTo(expected.getRawPath());
+        assertThat(queryParameters(actualUri)).isEqualTo(queryParameters(expected));
+    }
+
+    private static Map<String, String> queryParameters(URI uri) {
+        Map<String, String> result = new TreeMap<>();
+        for (String parameter : uri.getRawQuery().split("&")) {
+            int separator = parameter.indexOf('=');
+            result.put(separator < 0 ? parameter : parameter.substring(0, separator),
+                       separator < 0 ? null : parameter.substring(separator + 1));
+        }
+        return result;
+    }
+}
@@ -20,16 +20,25 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 import org.junit.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.auth.internal.Aws4SignerRequestParams;
 import software.amazon.awssdk.core.auth.internal.Aws4SignerUtils;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
  * Unit tests for the {@link Aws4Signer}.
@@ -204,4 +213,131 @@ public class Aws4SignerTest {
         String old = getOldDateStamp(now);
         assertEquals(old, dateStamp);
     }
+
+    @Test
+    public void signingKeyIsReusedForSameCredentialsRegionAndService() {
+        AwsCredentials credentials = new AwsCredentials("signing-key-cache-test", "secret");
+        signer.setServiceName("demo");
+
+        SignerTestUtils.signRequest(signer, generateBasicRequest().build(), credentials);
+        long hits = Aws4Signer.signingKeyCacheHits();
+        SignerTestUtils.signRequest(signer, generateBasicRequest().build(), credentials);
+
+        assertThat(Aws4Signer.signingKeyCacheHits()).isGreaterThan(hits);
+    }
+
+    @Test
+    public void signingKeyFollowsChangedCredentials() {
+        Date signingDate = new Date(1_000_000_000_000L);
+        signer.setServiceName("demo");
+        signer.setOverrideDate(signingDate);
+        AwsCredentials credentials = new AwsCredentials("access", "other-secret");
+
+        SignerTestUtils.signRequest(signer, generateBasicRequest().build(), new AwsCredentials("access", "secret"));
+        SdkHttpFullRequest signed = SignerTestUtils.signRequest(signer, generateBasicRequest().build(), credentials);
+
+        Aws4Signer freshSigner = new Aws4Signer();
+        freshSigner.setServiceName("demo");
+        freshSigner.setOverrideDate(signingDate);
+        assertThat(signed.firstMatchingHeader("Authorization"))
+                .isEqualTo(SignerTestUtils.signRequest(freshSigner, generateBasicRequest().build(), credentials)
+                                          .firstMatchingHeader("Authorization"));
+    }
+
+    @Test
+    public void precomputedPayloadHashIsUsedWithoutReadingContent() throws Exception {
+        String payloadSha256 = BinaryUtils.toHex(MessageDigest.getInstance("SHA-256")
+                                                              .digest("{\"TableName\": \"foo\"}".getBytes()));
+        signer.setServiceName("demo");
+
+        SdkHttpFullRequest signed = sign(generateBasicRequest().content(unreadableContent())
+                                                               .header("x-amz-content-sha256", "required"),
+                                         new ExecutionAttributes().putAttribute(AwsExecutionAttributes.PAYLOAD_SHA256,
+                                                                                () -> payloadSha256));
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256")).hasValue(payloadSha256);
+        assertThat(signed.firstMatchingHeader("Authorization"))
+                .hasValue(sign(generateBasicRequest().header("x-amz-content-sha256", "required"), new ExecutionAttributes())
+                                  .firstMatchingHeader("Authorization").get());
+    }
+
+    @Test
+    public void unsignedPayloadIsUsedOverHttpsWhenEnabled() {
+        signer.setServiceName("demo");
+        ExecutionAttributes attributes =
+                new ExecutionAttributes().putAttribute(AwsExecutionAttributes.UNSIGNED_PAYLOAD_ENABLED, true)
+                                         .putAttribute(AwsExecutionAttributes.PAYLOAD_SHA256, () -> {
+                                             throw new AssertionError("The payload hash isn't needed");
+                                         });
+
+        SdkHttpFullRequest signed = sign(generateBasicRequest().protocol("https").content(unreadableContent()), attributes);
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256")).hasValue("UNSIGNED-PAYLOAD");
+        assertThat(signed.firstMatchingHeader("Authorization").get()).contains("x-amz-content-sha256");
+    }
+
+    @Test
+    public void unsignedPayloadIsOnlyReflectedInThePresignedSignature() {
+        signer.setServiceName("demo");
+        ExecutionAttributes attributes =
+                new ExecutionAttributes().putAttribute(AwsExecutionAttributes.UNSIGNED_PAYLOAD_ENABLED, true)
+                                         .putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS,
+                                                       new AwsCredentials("access", "secret"));
+        SdkHttpFullRequest request = generateBasicRequest().protocol("https").content(unreadableContent()).build();
+
+        SdkHttpFullRequest presigned =
+                signer.presign(InterceptorContext.builder().request(new SdkRequest() {}).httpRequest(request).build(),
+                               attributes, null);
+
+        assertThat(presigned.firstMatchingHeader("x-amz-content-sha256")).isEmpty();
+        assertThat(presigned.rawQueryParameters().get("X-Amz-SignedHeaders")).containsExactly("host;x-amz-archive-description");
+    }
+
+    @Test
+    public void payloadIsAlwaysSignedOverHttp() {
+        signer.setServiceName("demo");
+        ExecutionAttributes attributes =
+                new ExecutionAttributes().putAttribute(AwsExecutionAttributes.UNSIGNED_PAYLOAD_ENABLED, true);
+
+        SdkHttpFullRequest signed = sign(generateBasicRequest(), attributes);
+
+        assertThat(signed.firstMatchingHeader("x-amz-content-sha256")).isEmpty();
+    }
+
+    @Test
+    public void subclassesCannotModifyTheCachedSigningKey() {
+        signer = new Aws4Signer() {
+            @Override
+            protected void processRequestPayload(SdkHttpFullRequest.Builder requestBuilder, byte[] signature,
+                                                 byte[] signingKey, Aws4SignerRequestParams signerRequestParams) {
+                Arrays.fill(signingKey, (byte) 0);
+            }
+        };
+        signer.setServiceName("demo");
+
+        SdkHttpFullRequest first = sign(generateBasicRequest(), new ExecutionAttributes());
+        SdkHttpFullRequest second = sign(generateBasicRequest(), new ExecutionAttributes());
+
+        assertThat(second.firstMatchingHeader("Authorization")).isEqualTo(first.firstMatchingHeader("Authorization"));
+    }
+
+    private SdkHttpFullRequest sign(SdkHttpFullRequest.Builder request, ExecutionAttributes attributes) {
+        Calendar calendar = new GregorianCalendar();
+        calendar.set(1981, 1, 16, 6, 30, 0);
+        calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+        signer.setOverrideDate(calendar.getTime());
+
+        attributes.putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS, new AwsCredentials("access", "secret"));
+        return signer.sign(InterceptorContext.builder().request(new SdkRequest() {}).httpRequest(request.build()).build(),
+                           attributes);
+    }
+
+    private static InputStream unreadableContent() {
+        return new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("The content should not be read");
+            }
+        };
+    }
 }
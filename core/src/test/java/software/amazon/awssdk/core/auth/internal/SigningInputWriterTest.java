@@ -0,0 +1,100 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.Test;
+import software.amazon.awssdk.core.util.StringUtils;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+public class SigningInputWriterTest {
+
+    private static final String[] VALUES = {
+        "", "simple", "Mixed-Case_value.~", "with space", "a/b/c", "a+b=c&d", "*star*", "café",
+        "日本語", "emoji 😀", "unpaired \ud83d", "tabs\t\tand\n  newlines  "
+    };
+
+    @Test
+    public void uriEncodingMatchesSdkHttpUtils() {
+        for (String value : VALUES) {
+            assertThat(write(w -> w.appendUriEncoded(value, false))).isEqualTo(SdkHttpUtils.urlEncode(value));
+            assertThat(write(w -> w.appendUriEncoded(value, true))).isEqualTo(SdkHttpUtils.urlEncodeIgnoreSlashes(value));
+            assertThat(SigningInputWriter.isUriEncodingNeeded(value))
+                    .isEqualTo(!SdkHttpUtils.urlEncode(value).equals(value));
+        }
+    }
+
+    @Test
+    public void compactingMatchesStringUtils() {
+        for (String value : VALUES) {
+            StringBuilder expected = new StringBuilder();
+            StringUtils.appendCompactedString(expected, value);
+            assertThat(write(w -> w.appendCompacted(value))).isEqualTo(utf8(expected.toString()));
+        }
+    }
+
+    @Test
+    public void lowerCaseAndHexMatchExistingUtilities() {
+        for (String value : VALUES) {
+            assertThat(write(w -> w.appendLowerCase(value)))
+                    .isEqualTo(utf8(software.amazon.awssdk.utils.StringUtils.lowerCase(value)));
+        }
+        byte[] data = {0, 1, 0x7f, (byte) 0x80, (byte) 0xff, 0x3c};
+        assertThat(write(w -> w.appendHex(data))).isEqualTo(BinaryUtils.toHex(data));
+    }
+
+    @Test
+    public void digestMatchesDigestOfText() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append("line ").append(i).append(" é\n");
+        }
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        SigningInputWriter writer = SigningInputWriter.to(digest, false).append(text.toString());
+        byte[] actual = writer.digest();
+
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static String write(Writes writes) {
+        try {
+            SigningInputWriter writer = SigningInputWriter.to(MessageDigest.getInstance("SHA-256"), true);
+            writes.write(writer);
+            String text = writer.text();
+            writer.digest();
+            return text;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The writer produces the UTF-8 encoding of its input, which replaces unpaired surrogates.
+     */
+    private static String utf8(String value) {
+        return new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private interface Writes {
+        void write(SigningInputWriter writer);
+    }
+}
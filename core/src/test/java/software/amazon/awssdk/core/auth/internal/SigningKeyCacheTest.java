@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.auth.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+
+public class SigningKeyCacheTest {
+
+    private static final byte[] SIGNING_KEY = {1, 2, 3};
+
+    @Test
+    public void keysAreCachedPerCredentialsRegionAndService() {
+        SigningKeyCache cache = new SigningKeyCache(10);
+        AwsCredentials credentials = new AwsCredentials("akid", "skid");
+
+        cache.put(new SigningKeyCache.Key(credentials, "us-east-1", "s3"), 100, SIGNING_KEY);
+
+        assertThat(cache.get(new SigningKeyCache.Key(new AwsCredentials("akid", "skid"), "us-east-1", "s3"), 100))
+                .isEqualTo(SIGNING_KEY);
+        assertThat(cache.get(new SigningKeyCache.Key(credentials, "us-west-2", "s3"), 100)).isNull();
+        assertThat(cache.get(new SigningKeyCache.Key(credentials, "us-east-1", "sqs"), 100)).isNull();
+        assertThat(cache.get(new SigningKeyCache.Key(new AwsCredentials("akid", "other"), "us-east-1", "s3"), 100)).isNull();
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(3);
+    }
+
+    @Test
+    public void keyMatchesOnlyItsCredentialsRegionAndService() {
+        AwsCredentials credentials = new AwsCredentials("akid", "skid");
+        SigningKeyCache.Key key = new SigningKeyCache.Key(credentials, "us-east-1", "s3");
+
+        assertThat(key.matches(new AwsCredentials("akid", "skid"), "us-east-1", "s3")).isTrue();
+        assertThat(key.matches(new AwsCredentials("akid", "other"), "us-east-1", "s3")).isFalse();
+        assertThat(key.matches(credentials, "us-west-2", "s3")).isFalse();
+        assertThat(key.matches(credentials, "us-east-1", "sqs")).isFalse();
+        assertThat(key.hashCode()).isEqualTo(new SigningKeyCache.Key(credentials, "us-east-1", "s3").hashCode());
+    }
+
+    @Test
+    public void keyFromPreviousDayIsReplaced() {
+        SigningKeyCache cache = new SigningKeyCache(10);
+        SigningKeyCache.Key key = new SigningKeyCache.Key(new AwsCredentials("akid", "skid"), "us-east-1", "s3");
+
+        cache.put(key, 100, SIGNING_KEY);
+        assertThat(cache.get(key, 101)).isNull();
+
+        cache.put(key, 101, new byte[] {4});
+        assertThat(cache.get(key, 101)).containsExactly(4);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        SigningKeyCache cache = new SigningKeyCache(5);
+        for (int i = 0; i < 100; i++) {
+            cache.put(new SigningKeyCache.Key(new AwsCredentials("akid" + i, "skid"), "us-east-1", "s3"), 100, SIGNING_KEY);
+        }
+
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(cache.get(new SigningKeyCache.Key(new AwsCredentials("akid99", "skid"), "us-east-1", "s3"), 100))
+                .isEqualTo(SIGNING_KEY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sizeMustBePositive() {
+        new SigningKeyCache(0);
+    }
+}
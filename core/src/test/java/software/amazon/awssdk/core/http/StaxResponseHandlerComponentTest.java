@@ -32,6 +32,7 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import javax.xml.stream.XMLStreamConstants;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -82,7 +83,7 @@ public class StaxResponseHandlerComponentTest {
 
     private Unmarshaller<String, StaxUnmarshallerContext> dummyUnmarshaller() {
         return staxContext -> {
-            while(!staxContext.nextEvent().isEndDocument()) {
+            while (staxContext.next() != XMLStreamConstants.END_DOCUMENT) {
                 //read the whole document
             }
             return "Success";
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.stream.XMLStreamConstants;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.http.SdkHttpResponseAdapter;
+import software.amazon.awssdk.core.http.StaxResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.runtime.transform.StaxUnmarshallerContext;
+import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+
+public class StaxAsyncResponseHandlerAdapterTest {
+
+    private static final String BODY = "<Response><Value>hello</Value><ResponseMetadata><RequestId>id</RequestId>"
+                                       + "</ResponseMetadata></Response>";
+
+    @Test
+    public void contentIsUnmarshalledFromPieces() {
+        StaxAsyncResponseHandlerAdapter<String> adapter = adapter();
+        adapter.headersReceived(SdkHttpFullResponse.builder().statusCode(200).build());
+        adapter.onStream(publisher(BODY.getBytes(StandardCharsets.UTF_8), 7));
+
+        assertThat(adapter.complete()).isEqualTo("hello");
+    }
+
+    @Test
+    public void responseWithoutContent_IsUnmarshalledAsEmptyDocument() {
+        StaxAsyncResponseHandlerAdapter<String> adapter = adapter();
+        adapter.headersReceived(SdkHttpFullResponse.builder().statusCode(200).build());
+
+        assertThat(adapter.complete()).isNull();
+    }
+
+    @Test
+    public void malformedContent_FailsOnCompletion() {
+        StaxAsyncResponseHandlerAdapter<String> adapter = adapter();
+        adapter.headersReceived(SdkHttpFullResponse.builder().statusCode(200).build());
+        adapter.onStream(publisher("<Response><Value>hello</Response>".getBytes(StandardCharsets.UTF_8), 4));
+
+        assertThatThrownBy(adapter::complete).isInstanceOf(SdkClientException.class);
+    }
+
+    @Test
+    public void gzippedContent_IsBufferedAndDecompressed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+
+        StaxAsyncResponseHandlerAdapter<String> adapter = adapter();
+        adapter.headersReceived(SdkHttpFullResponse.builder().statusCode(200).header("Content-Encoding", "gzip").build());
+        adapter.onStream(publisher(compressed.toByteArray(), 5));
+
+        assertThat(adapter.complete()).isEqualTo("hello");
+    }
+
+    private static StaxAsyncResponseHandlerAdapter<String> adapter() {
+        StaxResponseHandler<String> responseHandler = new StaxResponseHandler<>(valueUnmarshaller());
+        SyncResponseHandlerAdapter<String> bufferingAdapter =
+                new SyncResponseHandlerAdapter<>(responseHandler,
+                                                 r -> SdkHttpResponseAdapter.adapt(false, null, r),
+                                                 new ExecutionAttributes());
+        return new StaxAsyncResponseHandlerAdapter<>(
+            streamReader -> (response, attributes) -> responseHandler.unmarshall(response, streamReader),
+            bufferingAdapter,
+            r -> SdkHttpResponseAdapter.adapt(false, null, r),
+            new ExecutionAttributes());
+    }
+
+    /**
+     * Returns the text of the Value element, or null if there isn't one.
+     */
+    private static Unmarshaller<String, StaxUnmarshallerContext> valueUnmarshaller() {
+        return context -> {
+            String value = null;
+            for (int event = context.next(); event != XMLStreamConstants.END_DOCUMENT; event = context.next()) {
+                if (event == XMLStreamConstants.START_ELEMENT && context.testExpression("Value", 2)) {
+                    value = context.readText();
+                }
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Publishes the content in pieces of the given size, all at once on subscription.
+     */
+    private static Publisher<ByteBuffer> publisher(byte[] content, int pieceSize) {
+        return subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            for (int offset = 0; offset < content.length; offset += pieceSize) {
+                subscriber.onNext(ByteBuffer.wrap(content, offset, Math.min(pieceSize, content.length - offset)));
+            }
+            subscriber.onComplete();
+        };
+    }
+}
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.stream.Stream;
 import org.junit.Test;
 import software.amazon.awssdk.core.http.ExecutionContext;
@@ -28,9 +29,12 @@ import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.core.RequestConfig;
 import software.amazon.awssdk.core.RequestExecutionContext;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
 import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
 import utils.ValidSdkObjects;
 
 public class MoveParametersToBodyStageTest {
@@ -53,6 +57,23 @@ public class MoveParametersToBodyStageTest {
         assertThat(output.content()).isNotEmpty();
     }
 
+    @Test
+    public void parametersAreFormEncoded() throws Exception {
+        SdkHttpFullRequest.Builder mutableRequest = ValidSdkObjects.sdkHttpFullRequest()
+                                                                   .content(null)
+                                                                   .method(SdkHttpMethod.POST)
+                                                                   .rawQueryParameter("Action", singletonList("Send Message"))
+                                                                   .rawQueryParameter("Body", singletonList("a&b=c"));
+        RequestExecutionContext context = requestContext(mutableRequest);
+        SdkHttpFullRequest output = sut.execute(mutableRequest, context).build();
+
+        byte[] content = IoUtils.toByteArray(output.content().get());
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo("Action=Send+Message&Body=a%26b%3Dc");
+        assertThat(output.headers()).containsEntry("Content-Length", singletonList(String.valueOf(content.length)));
+        assertThat(context.executionAttributes().getAttribute(AwsExecutionAttributes.PAYLOAD_SHA256).get())
+                .isEqualTo(BinaryUtils.toHex(MessageDigest.getInstance("SHA-256").digest(content)));
+    }
+
     @Test
     public void nonPostRequestsWithNoBodyAreUnaltered() throws Exception {
         Stream.of(SdkHttpMethod.values())
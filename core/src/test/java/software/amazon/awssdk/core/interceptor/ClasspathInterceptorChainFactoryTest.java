@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.core.AmazonClientException;
+
+public class ClasspathInterceptorChainFactoryTest {
+
+    private static final String PATH = "software/amazon/awssdk/test/execution.interceptors";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClassLoader originalClassLoader;
+
+    @Before
+    public void rememberClassLoader() {
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    @After
+    public void restoreClassLoader() {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+    }
+
+    @Test
+    public void interceptorsListedInResource_AreInstantiatedInOrder() throws IOException {
+        useClassLoader(new ResourceClassLoader(resource(FirstInterceptor.class.getName() + "\n\n"
+                                                        + SecondInterceptor.class.getName())));
+
+        List<ExecutionInterceptor> interceptors = new ClasspathInterceptorChainFactory().getInterceptors(PATH);
+
+        assertThat(interceptors).hasSize(2);
+        assertThat(interceptors.get(0)).isInstanceOf(FirstInterceptor.class);
+        assertThat(interceptors.get(1)).isInstanceOf(SecondInterceptor.class);
+    }
+
+    @Test
+    public void resourceIsOnlyReadOnce_ButInterceptorsAreInstantiatedForEveryCall() throws IOException {
+        ResourceClassLoader classLoader = new ResourceClassLoader(resource(FirstInterceptor.class.getName()));
+        useClassLoader(classLoader);
+
+        List<ExecutionInterceptor> first = new ClasspathInterceptorChainFactory().getInterceptors(PATH);
+        List<ExecutionInterceptor> second = new ClasspathInterceptorChainFactory().getInterceptors(PATH);
+
+        assertThat(classLoader.resourceLookups).isEqualTo(1);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0)).isInstanceOf(FirstInterceptor.class).isNotSameAs(first.get(0));
+    }
+
+    @Test
+    public void interceptorsAreCachedPerClassLoader() throws IOException {
+        useClassLoader(new ResourceClassLoader(resource(FirstInterceptor.class.getName())));
+        List<ExecutionInterceptor> first = new ClasspathInterceptorChainFactory().getInterceptors(PATH);
+
+        useClassLoader(new ResourceClassLoader(resource(SecondInterceptor.class.getName())));
+        List<ExecutionInterceptor> second = new ClasspathInterceptorChainFactory().getInterceptors(PATH);
+
+        assertThat(first).hasOnlyElementsOfType(FirstInterceptor.class);
+        assertThat(second).hasOnlyElementsOfType(SecondInterceptor.class);
+    }
+
+    @Test
+    public void classThatIsNotAnInterceptor_IsRejectedEveryTime() throws IOException {
+        useClassLoader(new ResourceClassLoader(resource(String.class.getName())));
+        ClasspathInterceptorChainFactory chainFactory = new ClasspathInterceptorChainFactory();
+
+        assertThatThrownBy(() -> chainFactory.getInterceptors(PATH)).isInstanceOf(AmazonClientException.class)
+                                                                    .hasMessageContaining("does not implement");
+        assertThatThrownBy(() -> chainFactory.getInterceptors(PATH)).isInstanceOf(AmazonClientException.class)
+                                                                    .hasMessageContaining("does not implement");
+    }
+
+    private URL resource(String content) throws IOException {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toURI().toURL();
+    }
+
+    private static void useClassLoader(ClassLoader classLoader) {
+        Thread.currentThread().setContextClassLoader(classLoader);
+    }
+
+    /**
+     * Serves the given resource for {@link #PATH} and counts how often it's looked up.
+     */
+    private static final class ResourceClassLoader extends ClassLoader {
+
+        private final URL resource;
+        private int resourceLookups;
+
+        private ResourceClassLoader(URL resource) {
+            super(ClasspathInterceptorChainFactoryTest.class.getClassLoader());
+            this.resource = resource;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (!PATH.equals(name)) {
+                return super.getResources(name);
+            }
+            resourceLookups++;
+            return Collections.enumeration(Collections.singletonList(resource));
+        }
+    }
+
+    public static class FirstInterceptor implements ExecutionInterceptor {
+    }
+
+    public static class SecondInterceptor implements ExecutionInterceptor {
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class ByteBufferAggregatorTest {
+
+    private static final byte[] BODY = "Hello, aggregated world!".getBytes();
+
+    @Test
+    public void presizedBody_IsReturnedWithoutCopying() throws IOException {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator((long) BODY.length);
+        appendInChunks(aggregator, 5);
+
+        byte[] bytes = aggregator.toByteArray();
+        assertThat(bytes).isEqualTo(BODY);
+        assertThat(aggregator.toByteArray()).isSameAs(bytes);
+        assertThat(IoUtils.toByteArray(aggregator.toInputStream())).isEqualTo(BODY);
+    }
+
+    @Test
+    public void bodyShorterThanContentLength_IsTrimmed() {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator(BODY.length + 100L);
+        appendInChunks(aggregator, 7);
+
+        assertThat(aggregator.length()).isEqualTo(BODY.length);
+        assertThat(aggregator.toByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    public void bodyLongerThanContentLength_IsKeptWhole() throws IOException {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator(10L);
+        appendInChunks(aggregator, 4);
+
+        assertThat(aggregator.toByteArray()).isEqualTo(BODY);
+        assertThat(IoUtils.toByteArray(aggregator.toInputStream())).isEqualTo(BODY);
+    }
+
+    @Test
+    public void unknownLength_SingleWholeBuffer_IsReturnedWithoutCopying() {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator();
+        aggregator.append(ByteBuffer.wrap(BODY));
+
+        assertThat(aggregator.toByteArray()).isSameAs(BODY);
+    }
+
+    @Test
+    public void unknownLength_ManyBuffers_AreJoinedAndStreamed() throws IOException {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator();
+        appendInChunks(aggregator, 3);
+
+        assertThat(aggregator.toByteArray()).isEqualTo(BODY);
+        assertThat(IoUtils.toByteArray(aggregator.toInputStream())).isEqualTo(BODY);
+        assertThat(readByteByByte(aggregator.toInputStream())).isEqualTo(BODY);
+    }
+
+    @Test
+    public void compositeStream_SupportsMarkAndReset() throws IOException {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator();
+        appendInChunks(aggregator, 3);
+
+        InputStream in = aggregator.toInputStream();
+        assertThat(in.markSupported()).isTrue();
+        byte[] skipped = new byte[4];
+        assertThat(in.read(skipped)).isEqualTo(3);
+        in.mark(100);
+        byte[] first = new byte[10];
+        readFully(in, first);
+        in.reset();
+        byte[] second = new byte[10];
+        readFully(in, second);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void noContent_IsEmpty() throws IOException {
+        ByteBufferAggregator aggregator = new ByteBufferAggregator(1024L);
+        aggregator.append(ByteBuffer.allocate(0));
+
+        assertThat(aggregator.toByteArray()).isEmpty();
+        assertThat(aggregator.toInputStream().read()).isEqualTo(-1);
+    }
+
+    private static void appendInChunks(ByteBufferAggregator aggregator, int chunkSize) {
+        for (int i = 0; i < BODY.length; i += chunkSize) {
+            int length = Math.min(chunkSize, BODY.length - i);
+            ByteBuffer chunk = ByteBuffer.allocate(length);
+            chunk.put(BODY, i, length).flip();
+            aggregator.append(chunk);
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] bytes) throws IOException {
+        int read = 0;
+        while (read < bytes.length) {
+            read += in.read(bytes, read, bytes.length - read);
+        }
+    }
+
+    private static byte[] readByteByByte(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int b = in.read(); b != -1; b = in.read()) {
+            out.write(b);
+        }
+        return out.toByteArray();
+    }
+}
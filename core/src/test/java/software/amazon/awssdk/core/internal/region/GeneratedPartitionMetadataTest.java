@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.region;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import java.io.InputStream;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.awssdk.core.internal.region.model.Partition;
+import software.amazon.awssdk.core.internal.region.model.Partitions;
+import software.amazon.awssdk.core.internal.region.model.Service;
+
+public class GeneratedPartitionMetadataTest {
+
+    private static final String PARTITIONS_RESOURCE_PATH = "software/amazon/awssdk/core/internal/region/endpoints.json";
+
+    @Test
+    public void generatedPartitions_MatchBundledEndpointsFile() throws Exception {
+        Partitions expected = loadBundledPartitions();
+        List<Partition> generated = GeneratedPartitionMetadata.partitions();
+
+        assertThat(GeneratedPartitionMetadata.VERSION).isEqualTo(expected.getVersion());
+        assertThat(generated).hasSameSizeAs(expected.getPartitions());
+        for (int i = 0; i < generated.size(); i++) {
+            Partition generatedPartition = generated.get(i);
+            Partition expectedPartition = expected.getPartitions().get(i);
+
+            assertThat(generatedPartition.getRegions().keySet())
+                    .containsExactlyElementsOf(expectedPartition.getRegions().keySet());
+            assertThat(generatedPartition.getServices().keySet())
+                    .containsExactlyElementsOf(expectedPartition.getServices().keySet());
+            for (String service : expectedPartition.getServices().keySet()) {
+                Service generatedService = generatedPartition.getServices().get(service);
+                Service expectedService = expectedPartition.getServices().get(service);
+                assertThat(generatedService.getEndpoints().keySet())
+                        .as(service).containsExactlyElementsOf(expectedService.getEndpoints().keySet());
+                assertThat(generatedService).as(service).isEqualToComparingFieldByFieldRecursively(expectedService);
+            }
+            assertThat(generatedPartition).isEqualToComparingFieldByFieldRecursively(expectedPartition);
+        }
+    }
+
+    private static Partitions loadBundledPartitions() throws Exception {
+        try (InputStream stream = GeneratedPartitionMetadataTest.class.getClassLoader()
+                                                                      .getResourceAsStream(PARTITIONS_RESOURCE_PATH)) {
+            return JSON.std.with(JSON.Feature.FAIL_ON_UNKNOWN_BEAN_PROPERTY)
+                           .with(JSON.Feature.USE_IS_GETTERS)
+                           .beanFrom(Partitions.class, stream);
+        }
+    }
+}
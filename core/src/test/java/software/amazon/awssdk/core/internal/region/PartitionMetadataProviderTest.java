@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.region;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.Test;
+import software.amazon.awssdk.core.internal.region.model.Partition;
+import software.amazon.awssdk.core.regions.Region;
+
+public class PartitionMetadataProviderTest {
+
+    private final List<Partition> partitions = GeneratedPartitionMetadata.partitions();
+
+    private final PartitionMetadataProvider provider = new PartitionMetadataProvider(partitions);
+
+    @Test
+    public void listedRegionsResolveToTheirPartition() {
+        for (Partition partition : partitions) {
+            for (String region : partition.getRegions().keySet()) {
+                assertThat(partitionOf(region)).as(region).isEqualTo(partition.getPartition());
+            }
+        }
+    }
+
+    @Test
+    public void serviceEndpointNamesResolveToThePartitionWithTheEndpoint() {
+        assertThat(partitionOf("aws-global")).isEqualTo("aws");
+        assertThat(partitionOf("s3-external-1")).isEqualTo("aws");
+        assertThat(partitionOf("aws-cn-global")).isEqualTo("aws-cn");
+        assertThat(partitionOf("fips-us-gov-west-1")).isEqualTo("aws-us-gov");
+    }
+
+    @Test
+    public void unlistedRegionsResolveByRegexOrToTheDefaultPartition() {
+        assertThat(partitionOf("cn-south-9")).isEqualTo("aws-cn");
+        assertThat(partitionOf("mars-west-1")).isEqualTo("aws");
+    }
+
+    private String partitionOf(String region) {
+        return provider.getRegionMetadata(Region.of(region)).getPartition();
+    }
+}
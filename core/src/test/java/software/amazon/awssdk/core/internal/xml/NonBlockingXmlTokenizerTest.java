@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.xml;
+
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.runtime.transform.StaxUnmarshallerContext;
+
+public class NonBlockingXmlTokenizerTest {
+
+    private static final String DOCUMENT =
+            "﻿<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+            + "<ListResult xmlns=\"http://example.com/doc\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\r\n"
+            + "  <!-- a comment -->\n"
+            + "  <Name encoding='url' xsi:type=\"x\">café &amp; crème &#x1F600;</Name>\n"
+            + "  <Empty/>\n"
+            + "  <Blank>  </Blank>\n"
+            + "  <Data><![CDATA[<not markup> ]] &amp;]]>&lt;tail&gt;</Data>\n"
+            + "  <Lines a=\"1\r\n2\">one\r\ntwo\rthree</Lines>\n"
+            + "</ListResult>\n";
+
+    private static final List<String> EVENTS = Arrays.asList(
+            "<ListResult>",
+            "<Name encoding=url type=x>", "café & crème 😀", "</Name>",
+            "<Empty>", "</Empty>",
+            "<Blank>", "  ", "</Blank>",
+            "<Data>", "<not markup> ]] &amp;<tail>", "</Data>",
+            "<Lines a=1 2>", "one\ntwo\nthree", "</Lines>",
+            "</ListResult>");
+
+    @Test
+    public void documentFedWhole_IsTokenized() throws XMLStreamException {
+        NonBlockingXmlTokenizer tokenizer = new NonBlockingXmlTokenizer();
+        tokenizer.feed(ByteBuffer.wrap(DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(events(tokenizer.endOfInput())).isEqualTo(EVENTS);
+    }
+
+    @Test
+    public void documentSplitAnywhere_IsTokenizedTheSame() throws XMLStreamException {
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        for (int split = 1; split < bytes.length; split++) {
+            NonBlockingXmlTokenizer tokenizer = new NonBlockingXmlTokenizer();
+            tokenizer.feed(ByteBuffer.wrap(bytes, 0, split));
+            tokenizer.feed(ByteBuffer.wrap(bytes, split, bytes.length - split));
+
+            assertThat(events(tokenizer.endOfInput())).as("Split at %d", split).isEqualTo(EVENTS);
+        }
+    }
+
+    @Test
+    public void documentFedOneByteAtATime_IsTokenizedTheSame() throws XMLStreamException {
+        NonBlockingXmlTokenizer tokenizer = new NonBlockingXmlTokenizer();
+        for (byte b : DOCUMENT.getBytes(StandardCharsets.UTF_8)) {
+            tokenizer.feed(ByteBuffer.wrap(new byte[] {b}));
+        }
+
+        assertThat(events(tokenizer.endOfInput())).isEqualTo(EVENTS);
+    }
+
+    @Test
+    public void tokenizedDocument_CanBeReadByUnmarshallerContext() throws Exception {
+        NonBlockingXmlTokenizer tokenizer = new NonBlockingXmlTokenizer();
+        tokenizer.feed(ByteBuffer.wrap(DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+        StaxUnmarshallerContext context = new StaxUnmarshallerContext(tokenizer.endOfInput());
+
+        List<String> values = new ArrayList<>();
+        for (int event = context.next(); event != END_DOCUMENT; event = context.next()) {
+            if (context.testExpression("Name/@encoding") || context.testExpression("Name")
+                || context.testExpression("Blank") || context.testExpression("Empty")) {
+                values.add(context.readText());
+            }
+        }
+
+        assertThat(values).containsExactly("café & crème 😀", "url", "", "  ");
+    }
+
+    @Test
+    public void largeDocument_IsTokenizedInOrder() throws XMLStreamException {
+        StringBuilder xml = new StringBuilder("<list>");
+        List<String> expected = new ArrayList<>();
+        expected.add("<list>");
+        for (int i = 0; i < 1500; i++) {
+            xml.append("<member>").append(i).append("</member>");
+            expected.addAll(Arrays.asList("<member>", String.valueOf(i), "</member>"));
+        }
+        expected.add("</list>");
+
+        assertThat(events(feed(xml.append("</list>").toString()).endOfInput())).isEqualTo(expected);
+    }
+
+    @Test
+    public void emptyDocument_HasNoEvents() throws XMLStreamException {
+        XMLStreamReader reader = new NonBlockingXmlTokenizer().endOfInput();
+
+        assertThat(reader.getEventType()).isEqualTo(START_DOCUMENT);
+        assertThat(reader.next()).isEqualTo(END_DOCUMENT);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    public void mismatchedEndTag_IsRejected() {
+        assertThatThrownBy(() -> feed("<a><b></a></b>"))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("does not match");
+    }
+
+    @Test
+    public void truncatedDocument_IsRejected() {
+        NonBlockingXmlTokenizer tokenizer = feed("<a><b>text</b>");
+
+        assertThatThrownBy(tokenizer::endOfInput)
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("Unexpected end");
+    }
+
+    @Test
+    public void documentTypeDeclaration_IsRejected() {
+        assertThatThrownBy(() -> feed("<!DOCTYPE a [<!ENTITY x \"y\">]><a>&x;</a>"))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("Document type declarations");
+    }
+
+    @Test
+    public void undeclaredEntity_IsRejected() {
+        assertThatThrownBy(() -> feed("<a>&nbsp;</a>"))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("&nbsp;");
+    }
+
+    private static NonBlockingXmlTokenizer feed(String xml) {
+        NonBlockingXmlTokenizer tokenizer = new NonBlockingXmlTokenizer();
+        tokenizer.feed(ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8)));
+        return tokenizer;
+    }
+
+    /**
+     * Renders each event of the reader: start and end tags with their local names and attributes, and text as is.
+     */
+    private static List<String> events(XMLStreamReader reader) throws XMLStreamException {
+        List<String> events = new ArrayList<>();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    StringBuilder tag = new StringBuilder("<").append(reader.getLocalName());
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        tag.append(' ').append(reader.getAttributeLocalName(i)).append('=').append(reader.getAttributeValue(i));
+                    }
+                    events.add(tag.append('>').toString());
+                    break;
+                case END_ELEMENT:
+                    events.add("</" + reader.getLocalName() + ">");
+                    break;
+                case CHARACTERS:
+                    events.add(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return events;
+    }
+}
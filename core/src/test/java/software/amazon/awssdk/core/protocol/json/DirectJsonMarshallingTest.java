@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import software.amazon.awssdk.core.Request;
+import software.amazon.awssdk.core.http.HttpMethodName;
+import software.amazon.awssdk.core.protocol.OperationInfo;
+import software.amazon.awssdk.core.protocol.Protocol;
+import software.amazon.awssdk.core.protocol.ProtocolRequestMarshaller;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class DirectJsonMarshallingTest {
+
+    private final SdkJsonProtocolFactory protocolFactory =
+            new SdkJsonProtocolFactory(new JsonClientMetadata().withProtocolVersion("1.1"));
+
+    @Test
+    public void implicitPayload_IsWrittenToGeneratorAndBecomesContent() throws Exception {
+        ProtocolRequestMarshaller<Object> protocolMarshaller =
+                protocolFactory.createProtocolMarshaller(operation(false), new Object());
+        protocolMarshaller.startMarshalling();
+
+        JsonGenerator generator = DirectJsonMarshalling.generatorFor(protocolMarshaller);
+        generator.writeFieldName("Data");
+        DirectJsonMarshalling.writeBinary(generator, ByteBuffer.wrap(new byte[] {0, 1, 2, 3}, 1, 2));
+        Request<Object> request = protocolMarshaller.finishMarshalling();
+
+        byte[] content = IoUtils.toByteArray(request.getContent());
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo("{\"Data\":\"AQI=\"}");
+        assertThat(request.getHeaders()).containsEntry("Content-Length", Integer.toString(content.length));
+    }
+
+    @Test
+    public void explicitPayload_HasNoGenerator() {
+        ProtocolRequestMarshaller<Object> protocolMarshaller =
+                protocolFactory.createProtocolMarshaller(operation(true), new Object());
+
+        assertThat(DirectJsonMarshalling.generatorFor(protocolMarshaller)).isNull();
+    }
+
+    private static OperationInfo operation(boolean hasExplicitPayloadMember) {
+        return OperationInfo.builder()
+                            .protocol(Protocol.AWS_JSON)
+                            .requestUri("/")
+                            .httpMethodName(HttpMethodName.POST)
+                            .hasExplicitPayloadMember(hasExplicitPayloadMember)
+                            .hasPayloadMembers(true)
+                            .operationIdentifier("Service.Operation")
+                            .serviceName("ServiceClient")
+                            .build();
+    }
+}
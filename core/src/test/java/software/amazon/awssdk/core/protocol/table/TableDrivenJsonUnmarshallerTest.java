@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import software.amazon.awssdk.core.protocol.json.SdkStructuredPlainJsonFactory;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContextImpl;
+
+public class TableDrivenJsonUnmarshallerTest {
+
+    @Test
+    public void fieldsInTheTable_AreUnmarshalled_AndOthersSkipped() throws Exception {
+        TestShape shape = unmarshall("{\"Name\":\"a\",\"Unknown\":{\"Name\":\"x\",\"Deeper\":[1,{}]},\"Count\":2,"
+                                     + "\"Tags\":[\"x\",\"y\"],\"Attributes\":{\"k\":\"v\"},\"Child\":{\"Name\":\"b\"},"
+                                     + "\"Children\":[{\"Count\":3},{\"Child\":{\"Count\":4}}]}");
+
+        assertThat(shape).isEqualTo(
+                TestShape.builder()
+                         .name("a")
+                         .count(2)
+                         .tags(Arrays.asList("x", "y"))
+                         .attributes(Collections.singletonMap("k", "v"))
+                         .child(TestShape.builder().name("b").build())
+                         .children(Arrays.asList(TestShape.builder().count(3).build(),
+                                                 TestShape.builder().child(TestShape.builder().count(4).build()).build()))
+                         .build());
+    }
+
+    @Test
+    public void nullValues_AreUnmarshalledAsNull() throws Exception {
+        TestShape shape = unmarshall("{\"Name\":null,\"Tags\":null,\"Attributes\":null,\"Child\":null,\"Children\":[null]}");
+
+        assertThat(shape).isEqualTo(TestShape.builder().children(Collections.singletonList(null)).build());
+    }
+
+    @Test
+    public void nullDocument_IsUnmarshalledAsNull() throws Exception {
+        assertThat((TestShape) unmarshall("null")).isNull();
+    }
+
+    private static TestShape unmarshall(String json) throws Exception {
+        JsonUnmarshallerContext context = new JsonUnmarshallerContextImpl(
+                SdkStructuredPlainJsonFactory.JSON_FACTORY.createParser(json.getBytes(StandardCharsets.UTF_8)),
+                SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, null);
+        return TableDrivenJsonUnmarshaller.unmarshall(TestShape.builder(), context);
+    }
+}
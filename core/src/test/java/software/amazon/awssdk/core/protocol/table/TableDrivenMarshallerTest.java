@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import software.amazon.awssdk.core.Request;
+import software.amazon.awssdk.core.http.HttpMethodName;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingInfo;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.protocol.OperationInfo;
+import software.amazon.awssdk.core.protocol.Protocol;
+import software.amazon.awssdk.core.protocol.ProtocolRequestMarshaller;
+import software.amazon.awssdk.core.protocol.StructuredPojo;
+import software.amazon.awssdk.core.protocol.json.JsonClientMetadata;
+import software.amazon.awssdk.core.protocol.json.SdkJsonProtocolFactory;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class TableDrivenMarshallerTest {
+
+    private static final MarshallingInfo<StructuredPojo> EXPLICIT_PAYLOAD_BINDING =
+            MarshallingInfo.builder(MarshallingType.STRUCTURED)
+                           .marshallLocation(MarshallLocation.PAYLOAD)
+                           .isExplicitPayloadMember(true)
+                           .build();
+
+    private static final TestShape SHAPE =
+            TestShape.builder()
+                     .name("a")
+                     .count(2)
+                     .tags(Arrays.asList("x", "y"))
+                     .attributes(Collections.singletonMap("k", "v"))
+                     .child(TestShape.builder().name("b").build())
+                     .children(Collections.singletonList(TestShape.builder().count(3).build()))
+                     .build();
+
+    private static final String SHAPE_JSON = "{\"Name\":\"a\",\"Count\":2,\"Tags\":[\"x\",\"y\"],\"Attributes\":{\"k\":\"v\"},"
+                                             + "\"Child\":{\"Name\":\"b\"},\"Children\":[{\"Count\":3}]}";
+
+    private final SdkJsonProtocolFactory protocolFactory =
+            new SdkJsonProtocolFactory(new JsonClientMetadata().withProtocolVersion("1.1"));
+
+    @Test
+    public void implicitPayload_IsWrittenStraightToGenerator() throws IOException {
+        ProtocolRequestMarshaller<Object> protocolMarshaller =
+                protocolFactory.createProtocolMarshaller(operation(false), new Object());
+        protocolMarshaller.startMarshalling();
+        SHAPE.marshall(protocolMarshaller);
+
+        assertThat(content(protocolMarshaller.finishMarshalling())).isEqualTo(SHAPE_JSON);
+    }
+
+    @Test
+    public void explicitPayload_IsMarshalledThroughProtocolMarshaller() throws IOException {
+        ProtocolRequestMarshaller<Object> protocolMarshaller =
+                protocolFactory.createProtocolMarshaller(operation(true), new Object());
+        protocolMarshaller.startMarshalling();
+        protocolMarshaller.marshall(SHAPE, EXPLICIT_PAYLOAD_BINDING);
+
+        assertThat(content(protocolMarshaller.finishMarshalling())).isEqualTo(SHAPE_JSON);
+    }
+
+    @Test
+    public void nullListElements_AreWrittenAsNulls_AndNullMapValuesAreLeftOut() throws IOException {
+        ProtocolRequestMarshaller<Object> protocolMarshaller =
+                protocolFactory.createProtocolMarshaller(operation(false), new Object());
+        protocolMarshaller.startMarshalling();
+        TestShape.builder()
+                 .tags(Arrays.asList("x", null))
+                 .attributes(Collections.singletonMap("k", null))
+                 .build()
+                 .marshall(protocolMarshaller);
+
+        assertThat(content(protocolMarshaller.finishMarshalling())).isEqualTo("{\"Tags\":[\"x\",null],\"Attributes\":{}}");
+    }
+
+    private static String content(Request<?> request) throws IOException {
+        return new String(IoUtils.toByteArray(request.getContent()), StandardCharsets.UTF_8);
+    }
+
+    private static OperationInfo operation(boolean hasExplicitPayloadMember) {
+        return OperationInfo.builder()
+                            .protocol(Protocol.AWS_JSON)
+                            .requestUri("/")
+                            .httpMethodName(HttpMethodName.POST)
+                            .hasExplicitPayloadMember(hasExplicitPayloadMember)
+                            .hasPayloadMembers(true)
+                            .operationIdentifier("Service.Operation")
+                            .serviceName("ServiceClient")
+                            .build();
+    }
+}
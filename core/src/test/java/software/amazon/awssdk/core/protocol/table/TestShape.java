@@ -0,0 +1,200 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.protocol.table;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import software.amazon.awssdk.core.protocol.ProtocolMarshaller;
+
+/**
+ * A model class written the way the code generator writes table-driven ones.
+ */
+final class TestShape implements TableDrivenPojo {
+
+    private static final SdkShapeTable SDK_TABLE = SdkShapeTable.of(
+            SdkField.of("Name", SdkFieldType.STRING),
+            SdkField.of("Count", SdkFieldType.INTEGER),
+            SdkField.of("Tags", SdkFieldType.listOf(SdkFieldType.STRING)),
+            SdkField.of("Attributes", SdkFieldType.mapOf(SdkFieldType.STRING)),
+            SdkField.of("Child", SdkFieldType.STRUCTURE),
+            SdkField.of("Children", SdkFieldType.listOf(SdkFieldType.STRUCTURE)));
+
+    private final String name;
+    private final Integer count;
+    private final List<String> tags;
+    private final Map<String, String> attributes;
+    private final TestShape child;
+    private final List<TestShape> children;
+
+    private TestShape(Builder builder) {
+        this.name = builder.name;
+        this.count = builder.count;
+        this.tags = builder.tags;
+        this.attributes = builder.attributes;
+        this.child = builder.child;
+        this.children = builder.children;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public SdkShapeTable sdkTable() {
+        return SDK_TABLE;
+    }
+
+    @Override
+    public Object sdkFieldValue(int index) {
+        switch (index) {
+            case 0:
+                return name;
+            case 1:
+                return count;
+            case 2:
+                return tags;
+            case 3:
+                return attributes;
+            case 4:
+                return child;
+            case 5:
+                return children;
+            default:
+                throw new IllegalArgumentException("Unknown field " + index);
+        }
+    }
+
+    @Override
+    public void marshall(ProtocolMarshaller protocolMarshaller) {
+        TableDrivenMarshaller.marshall(this, protocolMarshaller);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof TestShape)) {
+            return false;
+        }
+        TestShape other = (TestShape) obj;
+        return Objects.equals(name, other.name) && Objects.equals(count, other.count) && Objects.equals(tags, other.tags)
+               && Objects.equals(attributes, other.attributes) && Objects.equals(child, other.child)
+               && Objects.equals(children, other.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, count, tags, attributes, child, children);
+    }
+
+    @Override
+    public String toString() {
+        return "{Name: " + name + ", Count: " + count + ", Tags: " + tags + ", Attributes: " + attributes + ", Child: " + child
+               + ", Children: " + children + "}";
+    }
+
+    static final class Builder implements TableDrivenBuilder {
+        private String name;
+        private Integer count;
+        private List<String> tags;
+        private Map<String, String> attributes;
+        private TestShape child;
+        private List<TestShape> children;
+
+        Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        Builder count(Integer count) {
+            this.count = count;
+            return this;
+        }
+
+        Builder tags(Collection<String> tags) {
+            this.tags = tags == null ? null : new ArrayList<>(tags);
+            return this;
+        }
+
+        Builder attributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+            return this;
+        }
+
+        Builder child(TestShape child) {
+            this.child = child;
+            return this;
+        }
+
+        Builder children(Collection<TestShape> children) {
+            this.children = children == null ? null : new ArrayList<>(children);
+            return this;
+        }
+
+        TestShape build() {
+            return new TestShape(this);
+        }
+
+        @Override
+        public SdkShapeTable sdkTable() {
+            return SDK_TABLE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void sdkSetFieldValue(int index, Object value) {
+            switch (index) {
+                case 0:
+                    name((String) value);
+                    break;
+                case 1:
+                    count((Integer) value);
+                    break;
+                case 2:
+                    tags((Collection<String>) value);
+                    break;
+                case 3:
+                    attributes((Map<String, String>) value);
+                    break;
+                case 4:
+                    child((TestShape) value);
+                    break;
+                case 5:
+                    children((Collection<TestShape>) value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown field " + index);
+            }
+        }
+
+        @Override
+        public TableDrivenBuilder sdkFieldBuilder(int index) {
+            switch (index) {
+                case 4:
+                case 5:
+                    return builder();
+                default:
+                    throw new IllegalArgumentException("Unknown field " + index);
+            }
+        }
+
+        @Override
+        public Object sdkBuild() {
+            return build();
+        }
+    }
+}
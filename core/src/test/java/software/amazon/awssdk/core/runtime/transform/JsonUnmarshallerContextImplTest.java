@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.runtime.transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.Test;
+import software.amazon.awssdk.core.http.HttpResponse;
+import software.amazon.awssdk.core.protocol.json.SdkStructuredPlainJsonFactory;
+
+public class JsonUnmarshallerContextImplTest {
+
+    @Test
+    public void readInt_ReadsNumbersAndNumericStrings() throws IOException {
+        assertThat(valueOf("42").readInt()).isEqualTo(42);
+        assertThat(valueOf("\"42\"").readInt()).isEqualTo(42);
+        assertThat(valueOf("null").readInt()).isNull();
+    }
+
+    @Test
+    public void readLong_ReadsNumbersAndNumericStrings() throws IOException {
+        assertThat(valueOf("9007199254740993").readLong()).isEqualTo(9007199254740993L);
+        assertThat(valueOf("\"-7\"").readLong()).isEqualTo(-7L);
+        assertThat(valueOf("null").readLong()).isNull();
+    }
+
+    @Test
+    public void readDouble_ReadsIntegralAndFloatingPointNumbers() throws IOException {
+        assertThat(valueOf("3").readDouble()).isEqualTo(3.0);
+        assertThat(valueOf("0.5").readDouble()).isEqualTo(0.5);
+        assertThat(valueOf("1.5E3").readDouble()).isEqualTo(1500.0);
+        assertThat(valueOf("\"2.25\"").readDouble()).isEqualTo(2.25);
+        assertThat(valueOf("null").readDouble()).isNull();
+    }
+
+    @Test
+    public void readBoolean_ReadsLiteralsAndStrings() throws IOException {
+        assertThat(valueOf("true").readBoolean()).isTrue();
+        assertThat(valueOf("false").readBoolean()).isFalse();
+        assertThat(valueOf("\"true\"").readBoolean()).isTrue();
+        assertThat(valueOf("null").readBoolean()).isNull();
+    }
+
+    @Test
+    public void readEpochInstant_TruncatesToMilliseconds() throws IOException {
+        assertThat(valueOf("1398796238").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238000L));
+        assertThat(valueOf("1398796238.1").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238100L));
+        assertThat(valueOf("1398796238.123").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238123L));
+        assertThat(valueOf("1398796238.1239").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238123L));
+        assertThat(valueOf("-1.5").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(-1500L));
+        assertThat(valueOf("1.398796238123E9").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238123L));
+        assertThat(valueOf("\"1398796238.123\"").readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238123L));
+        assertThat(valueOf("null").readEpochInstant()).isNull();
+    }
+
+    @Test
+    public void readEpochInstant_MatchesTextParsing() throws IOException {
+        String[] values = {"0.001", "0.0009", "1398796238.999", "-1398796238.001", "1398796238.10000000001"};
+        for (String value : values) {
+            assertThat(valueOf(value).readEpochInstant()).isEqualTo(valueOf("\"" + value + "\"").readEpochInstant());
+        }
+    }
+
+    @Test
+    public void readBinary_DecodesBase64() throws IOException {
+        assertThat(valueOf("\"AAECAw==\"").readBinary()).isEqualTo(ByteBuffer.wrap(new byte[] {0, 1, 2, 3}));
+        assertThat(valueOf("null").readBinary()).isNull();
+    }
+
+    @Test
+    public void typedReads_InsideResponseHeader_ParseHeaderValue() throws IOException {
+        HttpResponse response = new HttpResponse(null);
+        response.addHeader("x-amz-int", "42");
+        response.addHeader("x-amz-date", "1398796238.123");
+        JsonUnmarshallerContextImpl context = new JsonUnmarshallerContextImpl(
+                null, SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, response);
+
+        context.setCurrentHeader("x-amz-int");
+        assertThat(context.readInt()).isEqualTo(42);
+        context.setCurrentHeader("x-amz-date");
+        assertThat(context.readEpochInstant()).isEqualTo(Instant.ofEpochMilli(1398796238123L));
+        context.setCurrentHeader("x-amz-missing");
+        assertThat(context.readLong()).isNull();
+    }
+
+    /**
+     * Returns a context positioned on the value of a single field object.
+     */
+    private static JsonUnmarshallerContext valueOf(String json) throws IOException {
+        byte[] content = ("{\"Value\":" + json + "}").getBytes(StandardCharsets.UTF_8);
+        JsonUnmarshallerContextImpl context = new JsonUnmarshallerContextImpl(
+                SdkStructuredPlainJsonFactory.JSON_FACTORY.createParser(content),
+                SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, null);
+        context.nextToken();
+        context.nextToken();
+        context.nextToken();
+        return context;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.runtime.transform;
+
+import static javax.xml.stream.XMLStreamConstants.ATTRIBUTE;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.Collections;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import org.junit.Test;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    @Test
+    public void next_ReportsElementsAndAttributesOnly() throws XMLStreamException {
+        StaxUnmarshallerContext context = contextFor("<a>text<b x=\"1\" y=\"2\"/><!-- comment --></a>");
+
+        assertThat(context.isStartOfDocument()).isTrue();
+        assertThat(context.next()).isEqualTo(START_ELEMENT);
+        assertThat(context.getCurrentLocalName()).isEqualTo("a");
+        assertThat(context.isStartOfDocument()).isFalse();
+        assertThat(context.next()).isEqualTo(START_ELEMENT);
+        assertThat(context.getCurrentDepth()).isEqualTo(2);
+        assertThat(context.next()).isEqualTo(ATTRIBUTE);
+        assertThat(context.getCurrentLocalName()).isEqualTo("x");
+        assertThat(context.readText()).isEqualTo("1");
+        assertThat(context.next()).isEqualTo(ATTRIBUTE);
+        assertThat(context.readText()).isEqualTo("2");
+        assertThat(context.next()).isEqualTo(END_ELEMENT);
+        assertThat(context.next()).isEqualTo(END_ELEMENT);
+        assertThat(context.getCurrentDepth()).isEqualTo(0);
+        assertThat(context.next()).isEqualTo(END_DOCUMENT);
+    }
+
+    @Test
+    public void readText_JoinsTextEntitiesAndCdata() throws XMLStreamException {
+        StaxUnmarshallerContext context = contextFor("<a><b>x &amp; y<![CDATA[ <z> ]]></b><c/></a>");
+
+        context.next();
+        context.next();
+        assertThat(context.readText()).isEqualTo("x & y <z> ");
+        assertThat(context.readText()).isEqualTo("x & y <z> ");
+        assertThat(context.next()).isEqualTo(END_ELEMENT);
+        assertThat(context.next()).isEqualTo(START_ELEMENT);
+        assertThat(context.readText()).isEmpty();
+        assertThat(context.next()).isEqualTo(END_ELEMENT);
+        assertThat(context.getCurrentLocalName()).isEqualTo("a");
+    }
+
+    @Test
+    public void readText_BeforeAttributes_StillReportsAttributes() throws XMLStreamException {
+        StaxUnmarshallerContext context = contextFor("<a><Name encoding=\"base64\">dGV4dA==</Name></a>");
+
+        context.next();
+        context.next();
+        assertThat(context.readText()).isEqualTo("dGV4dA==");
+        assertThat(context.next()).isEqualTo(ATTRIBUTE);
+        assertThat(context.testExpression("Name/@encoding", 2)).isTrue();
+        assertThat(context.readText()).isEqualTo("base64");
+        assertThat(context.next()).isEqualTo(END_ELEMENT);
+    }
+
+    @Test
+    public void testExpression_MatchesWholeSegmentsAtDepth() throws XMLStreamException {
+        StaxUnmarshallerContext context = contextFor("<Response><list><member>1</member></list></Response>");
+
+        context.next();
+        context.next();
+        context.next();
+        assertThat(context.testExpression("list/member", 2)).isTrue();
+        assertThat(context.testExpression("member", 3)).isTrue();
+        assertThat(context.testExpression("list/member", 3)).isFalse();
+        assertThat(context.testExpression("ember", 3)).isFalse();
+        assertThat(context.testExpression("ist/member", 2)).isFalse();
+        assertThat(context.testExpression("Response/list/member")).isTrue();
+        assertThat(context.testExpression("member/@id")).isFalse();
+        assertThat(context.testExpression(".")).isTrue();
+    }
+
+    @Test
+    public void registeredMetadataExpression_CapturesElementText() throws XMLStreamException {
+        StaxUnmarshallerContext context = contextFor(
+                "<Response><Result><Value>v</Value></Result>" +
+                "<ResponseMetadata><RequestId>abc-123</RequestId></ResponseMetadata></Response>");
+        context.registerMetadataExpression("ResponseMetadata/RequestId", 2, "requestId");
+
+        while (context.next() != END_DOCUMENT) {
+            if (context.testExpression("Value", 3)) {
+                assertThat(context.readText()).isEqualTo("v");
+            }
+        }
+        assertThat(context.getMetadata()).containsEntry("requestId", "abc-123");
+    }
+
+    @Test
+    public void readText_BeforeFirstEvent_ReadsHeader() throws XMLStreamException {
+        StaxUnmarshallerContext context = new StaxUnmarshallerContext(
+                XML_INPUT_FACTORY.createXMLStreamReader(new StringReader("<eof/>")), Collections.singletonMap("h", "v"));
+        context.setCurrentHeader("h");
+
+        assertThat(context.isInsideResponseHeader()).isTrue();
+        assertThat(context.readText()).isEqualTo("v");
+    }
+
+    private static StaxUnmarshallerContext contextFor(String xml) throws XMLStreamException {
+        return new StaxUnmarshallerContext(XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml)));
+    }
+}
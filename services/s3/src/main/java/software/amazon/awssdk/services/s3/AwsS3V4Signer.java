@@ -16,16 +16,27 @@
 package software.amazon.awssdk.services.s3;
 
 import static software.amazon.awssdk.core.auth.internal.SignerConstants.X_AMZ_CONTENT_SHA256;
+import static software.amazon.awssdk.core.interceptor.AwsExecutionAttributes.ASYNC_REQUEST_CONTENT_LENGTH;
+import static software.amazon.awssdk.core.interceptor.AwsExecutionAttributes.SERVICE_ADVANCED_CONFIG;
 import static software.amazon.awssdk.utils.Validate.validState;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.core.ResetException;
 import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.ServiceAdvancedConfiguration;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.auth.AsyncPayloadSigner;
 import software.amazon.awssdk.core.auth.Aws4Signer;
 import software.amazon.awssdk.core.auth.internal.Aws4SignerRequestParams;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+import software.amazon.awssdk.services.s3.auth.AwsChunkedEncodingAsyncRequestProvider;
 import software.amazon.awssdk.services.s3.auth.AwsChunkedEncodingInputStream;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
@@ -34,7 +45,14 @@ import software.amazon.awssdk.utils.BinaryUtils;
 /**
  * AWS4 signer implementation for AWS S3
  */
-public class AwsS3V4Signer extends Aws4Signer {
+public class AwsS3V4Signer extends Aws4Signer implements AsyncPayloadSigner {
+    /**
+     * The chunk encoding parameters of a request whose content is published asynchronously, so that the content can be
+     * wrapped once the request is signed.
+     */
+    private static final ExecutionAttribute<AwsChunkedEncodingAsyncRequestProvider.Builder> ASYNC_CHUNK_ENCODING =
+            new ExecutionAttribute<>("AsyncChunkEncoding");
+
     private static final String CONTENT_SHA_256 = "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
 
     /**
@@ -64,8 +82,23 @@ public class AwsS3V4Signer extends Aws4Signer {
                                          byte[] signature, byte[] signingKey,
                                          Aws4SignerRequestParams signerRequestParams) {
         if (useChunkEncoding(signerRequestParams)) {
+            if (signerRequestParams.httpRequest().content() == null) {
+                // The content is published asynchronously, and is wrapped by signAsyncPayload.
+                signerRequestParams.executionAttributes().putAttribute(
+                        ASYNC_CHUNK_ENCODING,
+                        AwsChunkedEncodingAsyncRequestProvider.builder()
+                                                              .signingKey(signingKey)
+                                                              .dateTime(signerRequestParams.getFormattedSigningDateTime())
+                                                              .keyPath(signerRequestParams.getScope())
+                                                              .headerSignature(BinaryUtils.toHex(signature))
+                                                              .aws4Signer(this)
+                                                              .chunkSize(chunkSize(signerRequestParams)));
+                return;
+            }
+            int chunkSize = chunkSize(signerRequestParams);
             AwsChunkedEncodingInputStream chunkEncodededStream = new AwsChunkedEncodingInputStream(
-                    signerRequestParams.httpRequest().content(), signingKey,
+                    signerRequestParams.httpRequest().content(),
+                    Math.max(AwsChunkedEncodingInputStream.DEFAULT_BUFFER_SIZE, chunkSize), chunkSize, signingKey,
                     signerRequestParams.getFormattedSigningDateTime(),
                     signerRequestParams.getScope(),
                     BinaryUtils.toHex(signature), this);
@@ -73,6 +106,43 @@ public class AwsS3V4Signer extends Aws4Signer {
         }
     }
 
+    /**
+     * Wraps content that's published asynchronously in an aws-chunked encoder if the request was signed for chunk encoding.
+     */
+    @Override
+    public SdkHttpRequestProvider signAsyncPayload(SdkHttpFullRequest signedRequest, SdkHttpRequestProvider payload,
+                                                   ExecutionAttributes executionAttributes) {
+        AwsChunkedEncodingAsyncRequestProvider.Builder chunkEncoding = executionAttributes.getAttribute(ASYNC_CHUNK_ENCODING);
+        if (chunkEncoding == null) {
+            return payload;
+        }
+
+        // The SDK and HTTP client request providers are the same shape, so adapt one to the other and back.
+        AsyncRequestProvider encoded = chunkEncoding.requestProvider(new AsyncRequestProvider() {
+            @Override
+            public long contentLength() {
+                return payload.contentLength();
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+                payload.subscribe(subscriber);
+            }
+        }).build();
+
+        return new SdkHttpRequestProvider() {
+            @Override
+            public long contentLength() {
+                return encoded.contentLength();
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+                encoded.subscribe(subscriber);
+            }
+        };
+    }
+
     @Override
     protected String calculateContentHashPresign(Aws4SignerRequestParams signerRequestParams,
                                                  SdkHttpFullRequest.Builder mutableRequest) {
@@ -98,9 +168,19 @@ public class AwsS3V4Signer extends Aws4Signer {
             if (useChunkEncoding(signerRequestParams)) {
                 final String contentLength = requestToSign.firstMatchingHeader(CONTENT_LENGTH)
                                                           .orElse(null);
+                final Long asyncContentLength = signerRequestParams.executionAttributes()
+                                                                   .getAttribute(ASYNC_REQUEST_CONTENT_LENGTH);
                 final long originalContentLength;
                 if (contentLength != null) {
                     originalContentLength = Long.parseLong(contentLength);
+                } else if (requestToSign.content() == null && asyncContentLength != null) {
+                    if (asyncContentLength < 0) {
+                        // The length of aws-chunked content is signed in the headers, so it has to be known up front.
+                        throw new SdkClientException("S3 aws-chunked uploads need a content length, but the length of the "
+                                                     + "request content is unknown. Provide a request provider that knows "
+                                                     + "its content length, or disable chunked encoding.");
+                    }
+                    originalContentLength = asyncContentLength;
                 } else {
                     /**
                      * "Content-Length" header could be missing if the caller is
@@ -121,7 +201,8 @@ public class AwsS3V4Signer extends Aws4Signer {
                 // Make sure "Content-Length" header is not empty so that HttpClient
                 // won't cache the stream again to recover Content-Length
                 mutableRequest.header(CONTENT_LENGTH, Long.toString(
-                        AwsChunkedEncodingInputStream.calculateStreamContentLength(originalContentLength)));
+                        AwsChunkedEncodingInputStream.calculateStreamContentLength(originalContentLength,
+                                                                                   chunkSize(signerRequestParams))));
                 return CONTENT_SHA_256;
             } else {
                 return super.calculateContentHash(signerRequestParams, mutableRequest);
@@ -131,6 +212,17 @@ public class AwsS3V4Signer extends Aws4Signer {
         return UNSIGNED_PAYLOAD;
     }
 
+    /**
+     * @return The chunk size for aws-chunked encoding configured in the client's {@link S3AdvancedConfiguration}.
+     */
+    private static int chunkSize(Aws4SignerRequestParams signerRequestParams) {
+        ServiceAdvancedConfiguration advancedConfiguration =
+                signerRequestParams.executionAttributes().getAttribute(SERVICE_ADVANCED_CONFIG);
+        return advancedConfiguration instanceof S3AdvancedConfiguration
+               ? ((S3AdvancedConfiguration) advancedConfiguration).chunkedEncodingChunkSize()
+               : AwsChunkedEncodingInputStream.DEFAULT_CHUNK_SIZE;
+    }
+
     /**
      * Determine whether to use aws-chunked for signing
      */
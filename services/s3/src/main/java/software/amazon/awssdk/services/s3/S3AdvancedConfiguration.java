@@ -19,6 +19,7 @@ import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.ServiceAdvancedConfiguration;
+import software.amazon.awssdk.services.s3.auth.AwsChunkedEncodingInputStream;
 import software.amazon.awssdk.services.s3.model.PutBucketAccelerateConfigurationRequest;
 import software.amazon.awssdk.utils.builder.CopyableBuilder;
 import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
@@ -44,9 +45,15 @@ public final class S3AdvancedConfiguration implements
      */
     private static final boolean DEFAULT_DUALSTACK_ENABLED = false;
 
+    /**
+     * S3 rejects aws-chunked uploads with chunks (other than the last) smaller than 8 KB.
+     */
+    private static final int MIN_CHUNKED_ENCODING_CHUNK_SIZE = 8 * 1024;
+
     private final Boolean pathStyleAccessEnabled;
     private final Boolean accelerateModeEnabled;
     private final Boolean dualstackEnabled;
+    private final Integer chunkedEncodingChunkSize;
 
     private S3AdvancedConfiguration(DefaultS3AdvancedConfigurationBuilder builder) {
         this.dualstackEnabled = resolveBoolean(builder.dualstackEnabled, DEFAULT_DUALSTACK_ENABLED);
@@ -55,6 +62,13 @@ public final class S3AdvancedConfiguration implements
         if (accelerateModeEnabled && pathStyleAccessEnabled) {
             throw new IllegalArgumentException("Accelerate mode cannot be used with path style addressing");
         }
+        this.chunkedEncodingChunkSize = builder.chunkedEncodingChunkSize == null
+                                        ? AwsChunkedEncodingInputStream.DEFAULT_CHUNK_SIZE
+                                        : builder.chunkedEncodingChunkSize;
+        if (chunkedEncodingChunkSize < MIN_CHUNKED_ENCODING_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunked encoding chunk size must be at least "
+                                               + MIN_CHUNKED_ENCODING_CHUNK_SIZE + " bytes");
+        }
     }
 
     /**
@@ -120,6 +134,22 @@ public final class S3AdvancedConfiguration implements
         return dualstackEnabled;
     }
 
+    /**
+     * <p>
+     * Returns the size (in bytes) of the data in each signed chunk, when uploads are sent with aws-chunked encoding
+     * (signed payloads of PutObject and UploadPart requests).
+     * </p>
+     *
+     * <p>
+     * The default chunk size is 128 KB.
+     * </p>
+     *
+     * @return The chunk size used for aws-chunked encoding.
+     */
+    public int chunkedEncodingChunkSize() {
+        return chunkedEncodingChunkSize;
+    }
+
     private boolean resolveBoolean(Boolean customerSuppliedValue, boolean defaultValue) {
         return customerSuppliedValue == null ? defaultValue : customerSuppliedValue;
     }
@@ -129,7 +159,8 @@ public final class S3AdvancedConfiguration implements
         return builder()
                 .dualstackEnabled(dualstackEnabled)
                 .accelerateModeEnabled(accelerateModeEnabled)
-                .pathStyleAccessEnabled(pathStyleAccessEnabled);
+                .pathStyleAccessEnabled(pathStyleAccessEnabled)
+                .chunkedEncodingChunkSize(chunkedEncodingChunkSize);
     }
 
     @NotThreadSafe
@@ -172,6 +203,18 @@ public final class S3AdvancedConfiguration implements
          * @see S3AdvancedConfiguration#pathStyleAccessEnabled().
          */
         Builder pathStyleAccessEnabled(Boolean pathStyleAccessEnabled);
+
+        /**
+         * Option to change the size of the data in each signed chunk of an aws-chunked upload. Larger chunks need fewer
+         * signatures and less framing for large objects, but each upload buffers a whole chunk in memory.
+         *
+         * <p>
+         * The default chunk size is 128 KB, and it must be at least 8 KB.
+         * </p>
+         *
+         * @see S3AdvancedConfiguration#chunkedEncodingChunkSize().
+         */
+        Builder chunkedEncodingChunkSize(Integer chunkedEncodingChunkSize);
     }
 
     private static final class DefaultS3AdvancedConfigurationBuilder implements Builder {
@@ -179,6 +222,7 @@ public final class S3AdvancedConfiguration implements
         private Boolean dualstackEnabled;
         private Boolean accelerateModeEnabled;
         private Boolean pathStyleAccessEnabled;
+        private Integer chunkedEncodingChunkSize;
 
         public Builder dualstackEnabled(Boolean dualstackEnabled) {
             this.dualstackEnabled = dualstackEnabled;
@@ -207,6 +251,15 @@ public final class S3AdvancedConfiguration implements
             pathStyleAccessEnabled(pathStyleAccessEnabled);
         }
 
+        public Builder chunkedEncodingChunkSize(Integer chunkedEncodingChunkSize) {
+            this.chunkedEncodingChunkSize = chunkedEncodingChunkSize;
+            return this;
+        }
+
+        public void setChunkedEncodingChunkSize(Integer chunkedEncodingChunkSize) {
+            chunkedEncodingChunkSize(chunkedEncodingChunkSize);
+        }
+
         public S3AdvancedConfiguration build() {
             return new S3AdvancedConfiguration(this);
         }
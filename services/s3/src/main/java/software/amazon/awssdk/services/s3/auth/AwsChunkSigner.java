@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.auth.AbstractAwsSigner;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+import software.amazon.awssdk.core.auth.SigningAlgorithm;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+/**
+ * Calculates the rolling signatures of an aws-chunked payload. Each chunk's signature covers the chunk data and the signature
+ * of the chunk before it, starting from the signature of the request headers.
+ *
+ * <p>Chunks can be signed in place in a frame array laid out as {@code [header capacity][data][CRLF]}: the header is written
+ * right before the data, so the signed chunk is one contiguous range of the array and the data is never copied.</p>
+ */
+@SdkInternalApi
+@NotThreadSafe
+final class AwsChunkSigner {
+
+    static final String CRLF = "\r\n";
+    static final String CHUNK_SIGNATURE_HEADER = ";chunk-signature=";
+    static final int SIGNATURE_LENGTH = 64;
+
+    private static final String CHUNK_STRING_TO_SIGN_PREFIX = "AWS4-HMAC-SHA256-PAYLOAD";
+
+    private final String dateTime;
+    private final String keyPath;
+    private final String headerSignature;
+    private final Aws4Signer aws4Signer;
+    private final MessageDigest sha256;
+    private final Mac hmacSha256;
+    private String priorChunkSignature;
+
+    AwsChunkSigner(byte[] kSigning, String dateTime, String keyPath, String headerSignature, Aws4Signer aws4Signer) {
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+            final String signingAlgo = SigningAlgorithm.HmacSHA256.toString();
+            this.hmacSha256 = Mac.getInstance(signingAlgo);
+            hmacSha256.init(new SecretKeySpec(kSigning, signingAlgo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException(e);
+        }
+        this.dateTime = dateTime;
+        this.keyPath = keyPath;
+        this.headerSignature = headerSignature;
+        this.priorChunkSignature = headerSignature;
+        this.aws4Signer = aws4Signer;
+    }
+
+    /**
+     * Restarts the signature chain, so the next chunk signed is the first chunk of the payload.
+     */
+    void reset() {
+        priorChunkSignature = headerSignature;
+    }
+
+    /**
+     * Signs the next chunk of data.
+     *
+     * @param data   Array holding the chunk data.
+     * @param offset Offset of the chunk data in the array.
+     * @param length Length of the chunk data, which is zero for the final chunk.
+     * @return The hex encoded signature of this chunk.
+     */
+    String signChunk(byte[] data, int offset, int length) {
+        sha256.update(data, offset, length);
+        final String chunkStringToSign =
+                CHUNK_STRING_TO_SIGN_PREFIX + "\n" +
+                dateTime + "\n" +
+                keyPath + "\n" +
+                priorChunkSignature + "\n" +
+                AbstractAwsSigner.EMPTY_STRING_SHA256_HEX + "\n" +
+                BinaryUtils.toHex(sha256.digest());
+        priorChunkSignature = BinaryUtils.toHex(aws4Signer.signWithMac(chunkStringToSign, hmacSha256));
+        return priorChunkSignature;
+    }
+
+    /**
+     * Signs the next chunk, whose data is in a frame array starting at {@code headerCapacity}, and writes the chunk header
+     * before the data and the trailer after it.
+     *
+     * @param frame          Array of at least {@code headerCapacity + length + 2} bytes holding the chunk data.
+     * @param headerCapacity Offset of the data, which must be at least {@link #maxChunkHeaderLength(int)}.
+     * @param length         Length of the chunk data, which is zero for the final chunk.
+     * @return The offset of the signed chunk in the frame. It runs to the end of the trailer, at
+     * {@code headerCapacity + length + 2}.
+     */
+    int signChunkInPlace(byte[] frame, int headerCapacity, int length) {
+        byte[] header = chunkHeader(length, signChunk(frame, headerCapacity, length));
+        int start = headerCapacity - header.length;
+        System.arraycopy(header, 0, frame, start, header.length);
+        frame[headerCapacity + length] = '\r';
+        frame[headerCapacity + length + 1] = '\n';
+        return start;
+    }
+
+    /**
+     * @return The longest header of a chunk of at most the given size.
+     */
+    static int maxChunkHeaderLength(int chunkSize) {
+        return Integer.toHexString(chunkSize).length() + CHUNK_SIGNATURE_HEADER.length() + SIGNATURE_LENGTH + CRLF.length();
+    }
+
+    /**
+     * @return The header that precedes a chunk of the given length and signature on the wire.
+     */
+    static byte[] chunkHeader(int length, String chunkSignature) {
+        return (Integer.toHexString(length) + CHUNK_SIGNATURE_HEADER + chunkSignature + CRLF).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The length of a chunk of the given data size once its header and trailer are added.
+     */
+    static long calculateSignedChunkLength(long chunkDataSize) {
+        return Long.toHexString(chunkDataSize).length()
+               + CHUNK_SIGNATURE_HEADER.length()
+               + SIGNATURE_LENGTH
+               + CRLF.length()
+               + chunkDataSize
+               + CRLF.length();
+    }
+
+    /**
+     * @return The length of a payload of the given size once it's aws-chunked encoded with the given chunk size.
+     */
+    static long calculateStreamContentLength(long originalLength, int chunkSize) {
+        if (originalLength < 0) {
+            throw new IllegalArgumentException("Nonnegative content length expected.");
+        }
+
+        long maxSizeChunks = originalLength / chunkSize;
+        long remainingBytes = originalLength % chunkSize;
+        return maxSizeChunks * calculateSignedChunkLength(chunkSize)
+               + (remainingBytes > 0 ? calculateSignedChunkLength(remainingBytes) : 0)
+               + calculateSignedChunkLength(0);
+    }
+}
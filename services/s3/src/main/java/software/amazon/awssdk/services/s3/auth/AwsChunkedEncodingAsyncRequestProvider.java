@@ -0,0 +1,373 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * An {@link AsyncRequestProvider} that aws-chunked encodes the content of another provider, signing each chunk as the data
+ * flows through. This is the asynchronous counterpart of {@link AwsChunkedEncodingInputStream}.
+ *
+ * <p>Each subscriber holds at most one chunk of data, and the wrapped provider is only asked for more data once the subscriber
+ * has asked for another chunk, so content of any length is encoded in constant memory. Each subscription re-reads the wrapped
+ * provider and restarts the signature chain from the header signature, so a reproducible wrapped provider produces a
+ * reproducible encoded stream for retries.</p>
+ */
+public final class AwsChunkedEncodingAsyncRequestProvider implements AsyncRequestProvider {
+
+    /**
+     * Default size (in bytes) of the data in each signed chunk.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+
+    private final AsyncRequestProvider requestProvider;
+    private final byte[] signingKey;
+    private final String dateTime;
+    private final String keyPath;
+    private final String headerSignature;
+    private final Aws4Signer aws4Signer;
+    private final int chunkSize;
+
+    private AwsChunkedEncodingAsyncRequestProvider(DefaultBuilder builder) {
+        this.requestProvider = Validate.paramNotNull(builder.requestProvider, "requestProvider");
+        this.signingKey = Validate.paramNotNull(builder.signingKey, "signingKey");
+        this.dateTime = Validate.paramNotNull(builder.dateTime, "dateTime");
+        this.keyPath = Validate.paramNotNull(builder.keyPath, "keyPath");
+        this.headerSignature = Validate.paramNotNull(builder.headerSignature, "headerSignature");
+        this.aws4Signer = Validate.paramNotNull(builder.aws4Signer, "aws4Signer");
+        this.chunkSize = builder.chunkSize == null ? DEFAULT_CHUNK_SIZE : builder.chunkSize;
+        Validate.isTrue(chunkSize > 0, "Chunk size must be positive, but was %s", chunkSize);
+    }
+
+    /**
+     * @return The length of the encoded content, including the chunk headers and the final empty chunk.
+     */
+    @Override
+    public long contentLength() {
+        return AwsChunkSigner.calculateStreamContentLength(requestProvider.contentLength(), chunkSize);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        requestProvider.subscribe(new ChunkEncodingSubscriber(subscriber));
+    }
+
+    /**
+     * @return Builder instance to construct a {@link AwsChunkedEncodingAsyncRequestProvider}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * A builder for {@link AwsChunkedEncodingAsyncRequestProvider}.
+     */
+    public interface Builder extends SdkBuilder<Builder, AwsChunkedEncodingAsyncRequestProvider> {
+
+        /**
+         * Sets the provider of the content to encode.
+         *
+         * @param requestProvider The un-encoded content.
+         * @return This builder for method chaining.
+         */
+        Builder requestProvider(AsyncRequestProvider requestProvider);
+
+        /**
+         * Sets the SigV4 signing key the request headers were signed with.
+         *
+         * @param signingKey Signing key.
+         * @return This builder for method chaining.
+         */
+        Builder signingKey(byte[] signingKey);
+
+        /**
+         * Sets the datetime the request headers were signed at, as used in SigV4.
+         *
+         * @param dateTime Formatted signing datetime.
+         * @return This builder for method chaining.
+         */
+        Builder dateTime(String dateTime);
+
+        /**
+         * Sets the SigV4 scope the request headers were signed with.
+         *
+         * @param keyPath Keypath/Scope, as used in SigV4.
+         * @return This builder for method chaining.
+         */
+        Builder keyPath(String keyPath);
+
+        /**
+         * Sets the hex encoded signature of the request headers, which the signature of the first chunk is chained to.
+         *
+         * @param headerSignature The signature of the signed headers.
+         * @return This builder for method chaining.
+         */
+        Builder headerSignature(String headerSignature);
+
+        /**
+         * Sets the signer used for signing each chunk.
+         *
+         * @param aws4Signer The AWS4Signer used for signing.
+         * @return This builder for method chaining.
+         */
+        Builder aws4Signer(Aws4Signer aws4Signer);
+
+        /**
+         * Sets the size of the data in each signed chunk. Larger chunks need fewer signatures and less framing, but each
+         * subscriber buffers a whole chunk before it's sent. The content length the request was signed with must have been
+         * calculated with the same chunk size.
+         *
+         * <p>The default chunk size is {@value #DEFAULT_CHUNK_SIZE} bytes</p>
+         *
+         * @param chunkSize New chunk size in bytes.
+         * @return This builder for method chaining.
+         */
+        Builder chunkSize(Integer chunkSize);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+
+        private AsyncRequestProvider requestProvider;
+        private byte[] signingKey;
+        private String dateTime;
+        private String keyPath;
+        private String headerSignature;
+        private Aws4Signer aws4Signer;
+        private Integer chunkSize;
+
+        @Override
+        public Builder requestProvider(AsyncRequestProvider requestProvider) {
+            this.requestProvider = requestProvider;
+            return this;
+        }
+
+        @Override
+        public Builder signingKey(byte[] signingKey) {
+            this.signingKey = signingKey == null ? null : signingKey.clone();
+            return this;
+        }
+
+        @Override
+        public Builder dateTime(String dateTime) {
+            this.dateTime = dateTime;
+            return this;
+        }
+
+        @Override
+        public Builder keyPath(String keyPath) {
+            this.keyPath = keyPath;
+            return this;
+        }
+
+        @Override
+        public Builder headerSignature(String headerSignature) {
+            this.headerSignature = headerSignature;
+            return this;
+        }
+
+        @Override
+        public Builder aws4Signer(Aws4Signer aws4Signer) {
+            this.aws4Signer = aws4Signer;
+            return this;
+        }
+
+        @Override
+        public Builder chunkSize(Integer chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        @Override
+        public AwsChunkedEncodingAsyncRequestProvider build() {
+            return new AwsChunkedEncodingAsyncRequestProvider(this);
+        }
+    }
+
+    /**
+     * Encodes the wrapped content for one subscriber. Each element delivered to the subscriber is one signed chunk, so the
+     * subscriber's demand is counted in chunks. The wrapped provider is asked for one buffer at a time, and only while a chunk
+     * is wanted and still being filled.
+     *
+     * <p>All encoding happens in {@link #drainLoop()}, which runs on one thread at a time however the signals from the
+     * subscriber and the wrapped provider interleave.</p>
+     */
+    private final class ChunkEncodingSubscriber implements Subscriber<ByteBuffer>, Subscription {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AwsChunkSigner chunkSigner;
+        private final int headerCapacity;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+
+        private volatile Subscription subscription;
+        private volatile ByteBuffer incoming;
+        private volatile boolean upstreamComplete;
+        private volatile Throwable upstreamError;
+        private volatile boolean cancelled;
+
+        // Only accessed by the draining thread.
+        private boolean awaitingUpstream;
+        private boolean terminated;
+        private boolean finalChunkSigned;
+        private long remainingContentLength = requestProvider.contentLength();
+        private byte[] chunk;
+        private int chunkCapacity;
+        private int chunkLength;
+        private ByteBuffer signedChunk;
+
+        private ChunkEncodingSubscriber(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+            this.chunkSigner = new AwsChunkSigner(signingKey, dateTime, keyPath, headerSignature, aws4Signer);
+            this.headerCapacity = AwsChunkSigner.maxChunkHeaderLength(chunkSize);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            incoming = byteBuffer;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            upstreamError = t;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamComplete = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                upstreamError = new IllegalArgumentException("Demand must be positive, but was " + n);
+                subscription.cancel();
+            } else {
+                demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscription.cancel();
+        }
+
+        private void drain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                try {
+                    drainLoop();
+                } catch (RuntimeException e) {
+                    terminated = true;
+                    subscription.cancel();
+                    subscriber.onError(e);
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainLoop() {
+            while (!terminated) {
+                if (cancelled) {
+                    terminated = true;
+                } else if (upstreamError != null) {
+                    terminated = true;
+                    subscriber.onError(upstreamError);
+                } else if (signedChunk != null) {
+                    if (demand.get() == 0) {
+                        return;
+                    }
+                    ByteBuffer next = signedChunk;
+                    signedChunk = null;
+                    demand.decrementAndGet();
+                    subscriber.onNext(next);
+                } else if (finalChunkSigned) {
+                    terminated = true;
+                    subscriber.onComplete();
+                } else if (incoming != null) {
+                    fillChunk(incoming);
+                } else if (upstreamComplete) {
+                    // Sign what's left, and then the empty chunk that ends the content.
+                    signChunk();
+                } else if (awaitingUpstream || demand.get() == 0) {
+                    return;
+                } else {
+                    awaitingUpstream = true;
+                    subscription.request(1);
+                }
+            }
+        }
+
+        private void fillChunk(ByteBuffer buffer) {
+            if (chunk == null) {
+                // Don't allocate a whole chunk for content that's known to be shorter.
+                chunkCapacity = remainingContentLength > 0 ? (int) Math.min(chunkSize, remainingContentLength) : chunkSize;
+                chunk = new byte[headerCapacity + chunkCapacity + AwsChunkSigner.CRLF.length()];
+            }
+
+            int length = Math.min(buffer.remaining(), chunkCapacity - chunkLength);
+            buffer.get(chunk, headerCapacity + chunkLength, length);
+            chunkLength += length;
+            remainingContentLength -= length;
+
+            if (!buffer.hasRemaining()) {
+                incoming = null;
+                awaitingUpstream = false;
+            }
+            if (chunkLength == chunkCapacity) {
+                signChunk();
+            }
+        }
+
+        /**
+         * Signs the data buffered so far, writing the chunk header in front of it and the trailer behind it in the same array.
+         * The array isn't pooled because the subscriber may hold on to it.
+         */
+        private void signChunk() {
+            if (chunk == null) {
+                chunk = new byte[headerCapacity + AwsChunkSigner.CRLF.length()];
+            }
+
+            int start = chunkSigner.signChunkInPlace(chunk, headerCapacity, chunkLength);
+            signedChunk = ByteBuffer.wrap(chunk, start, headerCapacity + chunkLength + AwsChunkSigner.CRLF.length() - start);
+            finalChunkSigned = chunkLength == 0;
+            chunk = null;
+            chunkLength = 0;
+        }
+    }
+}
@@ -15,50 +15,47 @@
 
 package software.amazon.awssdk.services.s3.auth;
 
-import static software.amazon.awssdk.core.util.StringUtils.UTF8;
-
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.InvalidKeyException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.SdkClientException;
-import software.amazon.awssdk.core.auth.AbstractAwsSigner;
 import software.amazon.awssdk.core.auth.Aws4Signer;
-import software.amazon.awssdk.core.auth.SigningAlgorithm;
 import software.amazon.awssdk.core.runtime.io.SdkInputStream;
-import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
  * A wrapper class of InputStream that implements chunked-encoding.
+ *
+ * <p>The chunk and replay buffers are taken from a pool shared across requests. The chunk buffer goes back to the pool when
+ * the end of the stream is reached, and the replay buffer when the stream is closed.</p>
  */
 public final class AwsChunkedEncodingInputStream extends SdkInputStream {
 
-    private static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
-    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    /**
+     * The default size (in bytes) of the data in each signed chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+
+    /**
+     * The default maximum number of bytes buffered to replay a wrapped stream that doesn't support mark and reset.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
 
-    private static final String CRLF = "\r\n";
-    private static final String CHUNK_STRING_TO_SIGN_PREFIX = "AWS4-HMAC-SHA256-PAYLOAD";
-    private static final String CHUNK_SIGNATURE_HEADER = ";chunk-signature=";
-    private static final int SIGNATURE_LENGTH = 64;
-    private static final byte[] FINAL_CHUNK = new byte[0];
     private static final Logger log = LoggerFactory.getLogger(AwsChunkedEncodingInputStream.class);
 
     private InputStream is = null;
     private final int maxBufferSize;
-    private final String dateTime;
-    private final String keyPath;
-    private final String headerSignature;
-    private String priorChunkSignature;
-    private final Aws4Signer aws4Signer;
+    private final int chunkSize;
+    private final int headerCapacity;
+    private final AwsChunkSigner chunkSigner;
+    private final BufferPool bufferPool = BufferPool.SHARED;
 
-    private final MessageDigest sha256;
-    private final Mac hmacSha256;
+    /**
+     * The pooled array the current chunk is read and signed in, laid out as described in {@link AwsChunkSigner}. Taken
+     * with {@code getAndSet(null)} when released, so it's returned to the pool only once.
+     */
+    private final AtomicReference<byte[]> chunkFrame = new AtomicReference<>();
 
     /**
      * Iterator on the current chunk that has been signed
@@ -85,7 +82,7 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
      * A wrapper of InputStream that implements pseudo-chunked-encoding.
      * Each chunk will be buffered for the calculation of the chunk signature
      * which is added at the head of each chunk.<br>
-     * The default chunk size cannot be customized, since we need to calculate
+     * The chunk size is {@link #DEFAULT_CHUNK_SIZE}, since we need to calculate
      * the expected encoded stream length before reading the wrapped stream.<br>
      * This class will use the mark() & reset() of the wrapped InputStream if they
      * are supported, otherwise it will create a buffer for bytes read from
@@ -103,37 +100,54 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     public AwsChunkedEncodingInputStream(InputStream in, int maxBufferSize,
                                          byte[] kSigning, String datetime, String keyPath,
                                          String headerSignature, Aws4Signer aws4Signer) {
+        this(in, maxBufferSize, DEFAULT_CHUNK_SIZE, kSigning, datetime, keyPath, headerSignature, aws4Signer);
+    }
+
+    /**
+     * A wrapper of InputStream that implements pseudo-chunked-encoding with
+     * the given chunk size. The content length the request was signed with
+     * must have been calculated with the same chunk size, using
+     * {@link #calculateStreamContentLength(long, int)}.
+     *
+     * @param in              The original InputStream.
+     * @param maxBufferSize   Maximum number of bytes buffered by this class.
+     *                        This must not be less than the chunk size.
+     * @param chunkSize       The size of the data in each chunk.
+     * @param kSigning        Signing key.
+     * @param datetime        Datetime, as used in SigV4.
+     * @param keyPath         Keypath/Scope, as used in SigV4.
+     * @param headerSignature The signature of the signed headers. This will be used for
+     *                        calculating the signature of the first chunk.
+     * @param aws4Signer      The AWS4Signer used for hashing and signing.
+     */
+    public AwsChunkedEncodingInputStream(InputStream in, int maxBufferSize, int chunkSize,
+                                         byte[] kSigning, String datetime, String keyPath,
+                                         String headerSignature, Aws4Signer aws4Signer) {
         if (in instanceof AwsChunkedEncodingInputStream) {
             // This could happen when the request is retried, and we need to re-calculate the signatures.
+            // The replay buffer now belongs to this stream.
             AwsChunkedEncodingInputStream originalChunkedStream = (AwsChunkedEncodingInputStream) in;
             maxBufferSize = Math.max(originalChunkedStream.maxBufferSize, maxBufferSize);
             is = originalChunkedStream.is;
             decodedStreamBuffer = originalChunkedStream.decodedStreamBuffer;
+            originalChunkedStream.decodedStreamBuffer = null;
+            originalChunkedStream.releaseChunkFrame();
         } else {
             is = in;
             decodedStreamBuffer = null;
         }
 
-        if (maxBufferSize < DEFAULT_CHUNK_SIZE) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (maxBufferSize < chunkSize) {
             throw new IllegalArgumentException("Max buffer size should not be less than chunk size");
         }
 
-        try {
-            this.sha256 = MessageDigest.getInstance("SHA-256");
-            final String signingAlgo = SigningAlgorithm.HmacSHA256.toString();
-            this.hmacSha256 = Mac.getInstance(signingAlgo);
-            hmacSha256.init(new SecretKeySpec(kSigning, signingAlgo));
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
-        } catch (InvalidKeyException e) {
-            throw new IllegalArgumentException(e);
-        }
+        this.chunkSigner = new AwsChunkSigner(kSigning, datetime, keyPath, headerSignature, aws4Signer);
         this.maxBufferSize = maxBufferSize;
-        this.dateTime = datetime;
-        this.keyPath = keyPath;
-        this.headerSignature = headerSignature;
-        this.priorChunkSignature = headerSignature;
-        this.aws4Signer = aws4Signer;
+        this.chunkSize = chunkSize;
+        this.headerCapacity = AwsChunkSigner.maxChunkHeaderLength(chunkSize);
     }
 
     @Override
@@ -164,6 +178,7 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
 
         if (null == currentChunkIterator || !currentChunkIterator.hasNext()) {
             if (isTerminating) {
+                releaseChunkFrame();
                 return -1;
             } else {
                 isTerminating = setUpNextChunk();
@@ -226,7 +241,10 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
                 log.debug("AwsChunkedEncodingInputStream marked at the start of the stream "
                         + "(initializing the buffer since the wrapped stream is not mark-supported).");
             }
-            decodedStreamBuffer = new DecodedStreamBuffer(maxBufferSize);
+            if (decodedStreamBuffer != null) {
+                decodedStreamBuffer.release();
+            }
+            decodedStreamBuffer = new DecodedStreamBuffer(maxBufferSize, bufferPool);
         }
     }
 
@@ -239,7 +257,7 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
         abortIfNeeded();
         // Clear up any encoded data
         currentChunkIterator = null;
-        priorChunkSignature = headerSignature;
+        chunkSigner.reset();
         // Reset the wrapped stream if it is mark-supported,
         // otherwise use our buffered data.
         if (is.markSupported()) {
@@ -264,24 +282,14 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     }
 
     public static long calculateStreamContentLength(long originalLength) {
-        if (originalLength < 0) {
-            throw new IllegalArgumentException("Nonnegative content length expected.");
-        }
-
-        long maxSizeChunks = originalLength / DEFAULT_CHUNK_SIZE;
-        long remainingBytes = originalLength % DEFAULT_CHUNK_SIZE;
-        return maxSizeChunks * calculateSignedChunkLength(DEFAULT_CHUNK_SIZE)
-                + (remainingBytes > 0 ? calculateSignedChunkLength(remainingBytes) : 0)
-                + calculateSignedChunkLength(0);
+        return calculateStreamContentLength(originalLength, DEFAULT_CHUNK_SIZE);
     }
 
-    private static long calculateSignedChunkLength(long chunkDataSize) {
-        return Long.toHexString(chunkDataSize).length()
-                + CHUNK_SIGNATURE_HEADER.length()
-                + SIGNATURE_LENGTH
-                + CRLF.length()
-                + chunkDataSize
-                + CRLF.length();
+    /**
+     * @return The length of the encoded stream for content of the given length, encoded with the given chunk size.
+     */
+    public static long calculateStreamContentLength(long originalLength, int chunkSize) {
+        return AwsChunkSigner.calculateStreamContentLength(originalLength, chunkSize);
     }
 
     /**
@@ -290,18 +298,23 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
      * @return Returns true if next chunk is the last empty chunk.
      */
     private boolean setUpNextChunk() throws IOException {
-        byte[] chunkData = new byte[DEFAULT_CHUNK_SIZE];
+        byte[] frame = chunkFrame.get();
+        if (frame == null) {
+            frame = bufferPool.acquire(headerCapacity + chunkSize + AwsChunkSigner.CRLF.length());
+            chunkFrame.set(frame);
+        }
         int chunkSizeInBytes = 0;
-        while (chunkSizeInBytes < DEFAULT_CHUNK_SIZE) {
+        while (chunkSizeInBytes < chunkSize) {
+            int offset = headerCapacity + chunkSizeInBytes;
+            int bytesToRead = chunkSize - chunkSizeInBytes;
             /** Read from the buffer of the decoded stream */
             if (null != decodedStreamBuffer && decodedStreamBuffer.hasNext()) {
-                chunkData[chunkSizeInBytes++] = decodedStreamBuffer.next();
+                chunkSizeInBytes += decodedStreamBuffer.next(frame, offset, bytesToRead);
             } else { /** Read from the wrapped stream */
-                int bytesToRead = DEFAULT_CHUNK_SIZE - chunkSizeInBytes;
-                int count = is.read(chunkData, chunkSizeInBytes, bytesToRead);
+                int count = is.read(frame, offset, bytesToRead);
                 if (count != -1) {
                     if (null != decodedStreamBuffer) {
-                        decodedStreamBuffer.buffer(chunkData, chunkSizeInBytes, count);
+                        decodedStreamBuffer.buffer(frame, offset, count);
                     }
                     chunkSizeInBytes += count;
                 } else {
@@ -309,52 +322,38 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
                 }
             }
         }
-        if (chunkSizeInBytes == 0) {
-            byte[] signedFinalChunk = createSignedChunk(FINAL_CHUNK);
-            currentChunkIterator = new ChunkContentIterator(signedFinalChunk);
-            return true;
-        } else {
-            if (chunkSizeInBytes < chunkData.length) {
-                chunkData = Arrays.copyOf(chunkData, chunkSizeInBytes);
-            }
-            byte[] signedChunkContent = createSignedChunk(chunkData);
-            currentChunkIterator = new ChunkContentIterator(signedChunkContent);
-            return false;
-        }
-    }
 
-    private byte[] createSignedChunk(byte[] chunkData) {
-        StringBuilder chunkHeader = new StringBuilder();
-        // chunk-size
-        chunkHeader.append(Integer.toHexString(chunkData.length));
-        // sig-extension
-        final String chunkStringToSign =
-                CHUNK_STRING_TO_SIGN_PREFIX + "\n" +
-                        dateTime + "\n" +
-                        keyPath + "\n" +
-                        priorChunkSignature + "\n" +
-                        AbstractAwsSigner.EMPTY_STRING_SHA256_HEX + "\n" +
-                        BinaryUtils.toHex(sha256.digest(chunkData));
-        final String chunkSignature =
-                BinaryUtils.toHex(aws4Signer.signWithMac(chunkStringToSign, hmacSha256));
-        priorChunkSignature = chunkSignature;
-        chunkHeader.append(CHUNK_SIGNATURE_HEADER)
-                .append(chunkSignature)
-                .append(CRLF)
-        ;
+        int start;
         try {
-            byte[] header = chunkHeader.toString().getBytes(UTF8);
-            byte[] trailer = CRLF.getBytes(UTF8);
-            byte[] signedChunk = new byte[header.length + chunkData.length + trailer.length];
-            System.arraycopy(header, 0, signedChunk, 0, header.length);
-            System.arraycopy(chunkData, 0, signedChunk, header.length, chunkData.length);
-            System.arraycopy(trailer, 0,
-                    signedChunk, header.length + chunkData.length,
-                    trailer.length);
-            return signedChunk;
+            start = chunkSigner.signChunkInPlace(frame, headerCapacity, chunkSizeInBytes);
         } catch (Exception e) {
             throw new SdkClientException("Unable to sign the chunked data. " + e.getMessage(), e);
         }
+        int end = headerCapacity + chunkSizeInBytes + AwsChunkSigner.CRLF.length();
+        currentChunkIterator = new ChunkContentIterator(frame, start, end - start);
+        return chunkSizeInBytes == 0;
+    }
+
+    /**
+     * Returns the buffers to the pool. The stream can't be reset afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        releaseChunkFrame();
+        DecodedStreamBuffer buffer = decodedStreamBuffer;
+        decodedStreamBuffer = null;
+        if (buffer != null) {
+            buffer.release();
+        }
+        super.close();
+    }
+
+    private void releaseChunkFrame() {
+        byte[] frame = chunkFrame.getAndSet(null);
+        if (frame != null) {
+            currentChunkIterator = null;
+            bufferPool.release(frame);
+        }
     }
 
     @Override
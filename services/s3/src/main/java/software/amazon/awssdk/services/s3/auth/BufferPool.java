@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A pool of byte arrays shared across requests, so that the chunk and replay buffers of chunk-encoded uploads are reused
+ * rather than allocated for every request. Arrays are pooled by size, and the pool never holds more than a fixed number of
+ * bytes: arrays released to a full pool are left to the garbage collector.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class BufferPool {
+
+    /**
+     * The pool shared by all chunk-encoded uploads.
+     */
+    static final BufferPool SHARED = new BufferPool(32 * 1024 * 1024);
+
+    private final long maxPooledBytes;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final ConcurrentMap<Integer, Queue<byte[]>> freeArrays = new ConcurrentHashMap<>();
+
+    BufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Takes an array of the given size from the pool, or allocates one if none is free. The array's contents are undefined.
+     */
+    byte[] acquire(int size) {
+        Queue<byte[]> arrays = freeArrays.get(size);
+        byte[] array = arrays == null ? null : arrays.poll();
+        if (array == null) {
+            return new byte[size];
+        }
+        pooledBytes.addAndGet(-size);
+        return array;
+    }
+
+    /**
+     * Returns an array to the pool. The caller must not use the array afterwards.
+     */
+    void release(byte[] array) {
+        if (pooledBytes.addAndGet(array.length) > maxPooledBytes) {
+            pooledBytes.addAndGet(-array.length);
+            return;
+        }
+        freeArrays.computeIfAbsent(array.length, size -> new ConcurrentLinkedQueue<>()).offer(array);
+    }
+
+    /**
+     * @return The number of bytes currently held by the pool.
+     */
+    long pooledBytes() {
+        return pooledBytes.get();
+    }
+}
@@ -15,49 +15,56 @@
 
 package software.amazon.awssdk.services.s3.auth;
 
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.SdkClientException;
 
+/**
+ * Keeps the bytes read from a stream that doesn't support mark and reset, so they can be replayed when the chunk-encoded
+ * stream wrapping it is reset. The buffer is taken from the {@link BufferPool} and must be {@link #release() released}.
+ */
 class DecodedStreamBuffer {
     private static final Logger log = LoggerFactory.getLogger(DecodedStreamBuffer.class);
 
-    private byte[] bufferArray;
+    private final BufferPool bufferPool;
+    private final AtomicReference<byte[]> bufferArray;
     private int maxBufferSize;
     private int byteBuffered;
     private int pos = -1;
     private boolean bufferSizeOverflow;
 
     DecodedStreamBuffer(int maxBufferSize) {
-        bufferArray = new byte[maxBufferSize];
+        this(maxBufferSize, BufferPool.SHARED);
+    }
+
+    DecodedStreamBuffer(int maxBufferSize, BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        this.bufferArray = new AtomicReference<>(bufferPool.acquire(maxBufferSize));
         this.maxBufferSize = maxBufferSize;
     }
 
     public void buffer(byte read) {
         pos = -1;
+        if (bufferSizeOverflow) {
+            return;
+        }
         if (byteBuffered >= maxBufferSize) {
-            if (log.isDebugEnabled()) {
-                log.debug("Buffer size " + maxBufferSize
-                        + " has been exceeded and the input stream "
-                        + "will not be repeatable. Freeing buffer memory");
-            }
-            bufferSizeOverflow = true;
+            overflow();
         } else {
-            bufferArray[byteBuffered++] = read;
+            bufferArray.get()[byteBuffered++] = read;
         }
     }
 
     public void buffer(byte[] src, int srcPos, int length) {
         pos = -1;
+        if (bufferSizeOverflow) {
+            return;
+        }
         if (byteBuffered + length > maxBufferSize) {
-            if (log.isDebugEnabled()) {
-                log.debug("Buffer size " + maxBufferSize
-                        + " has been exceeded and the input stream "
-                        + "will not be repeatable. Freeing buffer memory");
-            }
-            bufferSizeOverflow = true;
+            overflow();
         } else {
-            System.arraycopy(src, srcPos, bufferArray, byteBuffered, length);
+            System.arraycopy(src, srcPos, bufferArray.get(), byteBuffered, length);
             byteBuffered += length;
         }
     }
@@ -67,7 +74,22 @@ class DecodedStreamBuffer {
     }
 
     public byte next() {
-        return bufferArray[pos++];
+        return bufferArray.get()[pos++];
+    }
+
+    /**
+     * Reads up to {@code length} buffered bytes into the given array.
+     *
+     * @return The number of bytes read, which is zero if there are none left to replay.
+     */
+    public int next(byte[] dest, int destPos, int length) {
+        if (!hasNext()) {
+            return 0;
+        }
+        int count = Math.min(length, byteBuffered - pos);
+        System.arraycopy(bufferArray.get(), pos, dest, destPos, count);
+        pos += count;
+        return count;
     }
 
     public void startReadBuffer() {
@@ -78,4 +100,25 @@ class DecodedStreamBuffer {
         }
         pos = 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the buffer to the pool. Nothing can be buffered or replayed afterwards. Releasing more than once, or from
+     * another thread, returns the buffer only once.
+     */
+    public void release() {
+        bufferSizeOverflow = true;
+        byte[] released = bufferArray.getAndSet(null);
+        if (released != null) {
+            bufferPool.release(released);
+        }
+    }
+
+    private void overflow() {
+        if (log.isDebugEnabled()) {
+            log.debug("Buffer size " + maxBufferSize
+                    + " has been exceeded and the input stream "
+                    + "will not be repeatable. Freeing buffer memory");
+        }
+        release();
+    }
+}
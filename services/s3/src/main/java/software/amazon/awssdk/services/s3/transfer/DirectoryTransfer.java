@@ -0,0 +1,569 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.core.async.DeferredCompletionAsyncResponseHandler;
+import software.amazon.awssdk.core.client.builder.ClientAsyncHttpConfiguration;
+import software.amazon.awssdk.core.event.ProgressEventType;
+import software.amazon.awssdk.core.event.ProgressListener;
+import software.amazon.awssdk.core.event.SdkProgressPublisher;
+import software.amazon.awssdk.core.http.loader.DefaultSdkAsyncHttpClientFactory;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Uploads a local directory tree to an S3 prefix, or downloads an S3 prefix to a local directory, one {@code PutObject} or
+ * {@code GetObject} per file through an {@link S3AsyncClient}.
+ *
+ * <p>All the transfers started by one {@link DirectoryTransfer} share a limit of
+ * {@link Builder#maxConcurrentRequests(Integer)} requests in flight. The HTTP connection pool of the client should be sized
+ * to match, which {@link #asyncHttpConfiguration(int)} does, so that requests neither wait for a connection nor leave
+ * connections idle.</p>
+ *
+ * <p>Progress for a whole transfer is reported to one {@link ProgressListener}, which sees a
+ * {@link ProgressEventType#TRANSFER_STARTED_EVENT}, the content length and the bytes transferred of every object, a
+ * {@link ProgressEventType#TRANSFER_PART_COMPLETED_EVENT} or {@link ProgressEventType#TRANSFER_PART_FAILED_EVENT} for each
+ * object, and finally a {@link ProgressEventType#TRANSFER_COMPLETED_EVENT} or
+ * {@link ProgressEventType#TRANSFER_FAILED_EVENT}. A {@link software.amazon.awssdk.core.event.ProgressTracker} can be used
+ * to total them.</p>
+ *
+ * <pre>
+ * S3AsyncClient s3 = S3AsyncClient.builder().asyncHttpConfiguration(DirectoryTransfer.asyncHttpConfiguration(64)).build();
+ * DirectoryTransfer transfer = DirectoryTransfer.builder().client(s3).maxConcurrentRequests(64).build();
+ * DirectoryTransferResult result = transfer.uploadDirectory(Paths.get("data"), "bucket", "data/", tracker).join();
+ * </pre>
+ */
+@ThreadSafe
+public final class DirectoryTransfer {
+
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 50;
+
+    private final S3AsyncClient client;
+    private final RequestLimiter limiter;
+
+    private DirectoryTransfer(DefaultBuilder builder) {
+        this.client = Validate.paramNotNull(builder.client, "client");
+        int maxConcurrentRequests = builder.maxConcurrentRequests == null ? DEFAULT_MAX_CONCURRENT_REQUESTS
+                                                                          : builder.maxConcurrentRequests;
+        Validate.isTrue(maxConcurrentRequests > 0, "Max concurrent requests must be positive, but was %s",
+                        maxConcurrentRequests);
+        this.limiter = new RequestLimiter(maxConcurrentRequests);
+    }
+
+    /**
+     * @return Builder instance to construct a {@link DirectoryTransfer}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Creates the HTTP configuration for an {@link S3AsyncClient} used by a {@link DirectoryTransfer} with the given
+     * maximum number of concurrent requests. The default HTTP implementation is used, with a connection pool that has a
+     * connection for each request, and one more for listing objects.
+     *
+     * @param maxConcurrentRequests The {@link Builder#maxConcurrentRequests(Integer)} of the transfer.
+     * @return The HTTP configuration to pass to {@code S3AsyncClient.builder().asyncHttpConfiguration(...)}.
+     */
+    public static ClientAsyncHttpConfiguration asyncHttpConfiguration(int maxConcurrentRequests) {
+        Validate.isTrue(maxConcurrentRequests > 0, "Max concurrent requests must be positive, but was %s",
+                        maxConcurrentRequests);
+        AttributeMap poolSize = AttributeMap.builder()
+                                            .put(SdkHttpConfigurationOption.MAX_CONNECTIONS, maxConcurrentRequests + 1)
+                                            .build();
+        DefaultSdkAsyncHttpClientFactory defaultFactory = new DefaultSdkAsyncHttpClientFactory();
+        return ClientAsyncHttpConfiguration.builder()
+                                           .httpClientFactory(serviceDefaults -> defaultFactory.createHttpClientWithDefaults(
+                                                   poolSize.merge(serviceDefaults)))
+                                           .build();
+    }
+
+    /**
+     * Uploads every regular file under a directory. Each file is uploaded to the key made of the prefix followed by the
+     * path of the file relative to the directory, with {@code /} separators. The directory is walked on the calling
+     * thread, while the files are uploaded asynchronously.
+     *
+     * @param directory The directory to upload.
+     * @param bucket    The bucket to upload to.
+     * @param prefix    The prefix of the keys, usually ending with {@code /}, or an empty string.
+     * @param listener  The listener for the progress of the whole upload, or null.
+     * @return A future that completes once every file has been uploaded or has failed. It completes exceptionally only if
+     * the directory couldn't be walked.
+     */
+    public CompletableFuture<DirectoryTransferResult> uploadDirectory(Path directory, String bucket, String prefix,
+                                                                      ProgressListener listener) {
+        Validate.paramNotNull(directory, "directory");
+        Validate.paramNotNull(bucket, "bucket");
+        Validate.paramNotNull(prefix, "prefix");
+
+        Transfer transfer = new Transfer(listener);
+        try (Stream<Path> files = Files.walk(directory)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String key = prefix + toKey(directory.relativize(file));
+                transfer.submit(key, () -> upload(transfer, bucket, key, file));
+            }
+            transfer.enumerated(null);
+        } catch (IOException | RuntimeException e) {
+            transfer.enumerated(e);
+        }
+        return transfer.result;
+    }
+
+    /**
+     * Downloads every object under a prefix. Each object is written to the path made of its key without the prefix and
+     * any {@code /} that follows it, resolved against the directory, and the parent directories are created as needed.
+     * Keys ending with {@code /} are skipped, and like {@link AsyncResponseHandler#toFile(Path)}, a file that already
+     * exists isn't overwritten but fails.
+     *
+     * @param bucket    The bucket to download from.
+     * @param prefix    The prefix of the keys to download, or an empty string for the whole bucket.
+     * @param directory The directory to download to.
+     * @param listener  The listener for the progress of the whole download, or null.
+     * @return A future that completes once every object has been downloaded or has failed. It completes exceptionally only
+     * if the objects couldn't be listed.
+     */
+    public CompletableFuture<DirectoryTransferResult> downloadDirectory(String bucket, String prefix, Path directory,
+                                                                        ProgressListener listener) {
+        Validate.paramNotNull(bucket, "bucket");
+        Validate.paramNotNull(prefix, "prefix");
+        Validate.paramNotNull(directory, "directory");
+
+        Transfer transfer = new Transfer(listener);
+        listPage(transfer, bucket, prefix, directory.toAbsolutePath().normalize(), null);
+        return transfer.result;
+    }
+
+    private void listPage(Transfer transfer, String bucket, String prefix, Path directory, String continuationToken) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                                                           .bucket(bucket)
+                                                           .prefix(prefix)
+                                                           .continuationToken(continuationToken)
+                                                           .build();
+        call(() -> client.listObjectsV2(request)).whenComplete((response, error) -> {
+            if (error != null) {
+                transfer.enumerated(unwrap(error));
+                return;
+            }
+            for (S3Object object : response.contents()) {
+                submitDownload(transfer, bucket, prefix, directory, object);
+            }
+            if (Boolean.TRUE.equals(response.isTruncated())) {
+                listPage(transfer, bucket, prefix, directory, response.nextContinuationToken());
+            } else {
+                transfer.enumerated(null);
+            }
+        });
+    }
+
+    private void submitDownload(Transfer transfer, String bucket, String prefix, Path directory, S3Object object) {
+        String key = object.key();
+        if (key.endsWith("/")) {
+            return;
+        }
+        Path file = directory.resolve(relativeKey(key, prefix)).normalize();
+        if (!file.startsWith(directory)) {
+            transfer.failed(key, new IllegalArgumentException("The key " + key + " resolves outside of " + directory));
+            return;
+        }
+        if (object.size() != null) {
+            SdkProgressPublisher.publishResponseContentLength(transfer.listener, object.size());
+        }
+        transfer.submit(key, () -> download(transfer, bucket, key, file));
+    }
+
+    private CompletableFuture<Long> upload(Transfer transfer, String bucket, String key, Path file) {
+        ProgressReportingRequestProvider provider =
+                new ProgressReportingRequestProvider(AsyncRequestProvider.fromFile(file), transfer.listener);
+        SdkProgressPublisher.publishRequestContentLength(transfer.listener, provider.contentLength());
+        PutObjectRequest request = PutObjectRequest.builder().bucket(bucket).key(key).build();
+        return call(() -> client.putObject(request, provider)).thenApply(r -> provider.contentLength());
+    }
+
+    private CompletableFuture<Long> download(Transfer transfer, String bucket, String key, Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        ProgressReportingResponseHandler handler =
+                new ProgressReportingResponseHandler(AsyncResponseHandler.toFile(file), transfer.listener);
+        GetObjectRequest request = GetObjectRequest.builder().bucket(bucket).key(key).build();
+        return call(() -> client.getObject(request, handler)).thenApply(r -> handler.bytesReceived.get());
+    }
+
+    /**
+     * Returns the key without the prefix. When the prefix doesn't end at a {@code /}, the separators left at the start of
+     * the key are dropped as well, so that the key isn't resolved as an absolute path.
+     */
+    private static String relativeKey(String key, String prefix) {
+        int start = prefix.length();
+        while (start < key.length() && key.charAt(start) == '/') {
+            start++;
+        }
+        return key.substring(start);
+    }
+
+    private static String toKey(Path relativePath) {
+        StringBuilder key = new StringBuilder();
+        for (Path name : relativePath) {
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(name.toString());
+        }
+        return key.toString();
+    }
+
+    /**
+     * The state of one directory upload or download. It completes once the files or objects have all been found and every
+     * one of them has been transferred or has failed.
+     */
+    private final class Transfer {
+        private final ProgressListener listener;
+        private final CompletableFuture<DirectoryTransferResult> result = new CompletableFuture<>();
+        private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger objectsTransferred = new AtomicInteger();
+        private final AtomicLong bytesTransferred = new AtomicLong();
+
+        // Count the enumeration as outstanding, so the transfer can't finish while objects are still being found.
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+
+        private volatile Throwable enumerationFailure;
+
+        private Transfer(ProgressListener listener) {
+            this.listener = listener == null ? ProgressListener.NOOP : listener;
+            SdkProgressPublisher.publishProgress(this.listener, ProgressEventType.TRANSFER_STARTED_EVENT);
+        }
+
+        private void submit(String key, Supplier<CompletableFuture<Long>> transfer) {
+            outstanding.incrementAndGet();
+            limiter.submit(() -> {
+                CompletableFuture<Long> future = call(transfer);
+                future.whenComplete((bytes, error) -> {
+                    if (error != null) {
+                        failed(key, unwrap(error));
+                    } else {
+                        objectsTransferred.incrementAndGet();
+                        bytesTransferred.addAndGet(bytes);
+                        SdkProgressPublisher.publishProgress(listener, ProgressEventType.TRANSFER_PART_COMPLETED_EVENT);
+                    }
+                    release();
+                });
+                return future;
+            });
+        }
+
+        private void failed(String key, Throwable error) {
+            failures.put(key, error);
+            SdkProgressPublisher.publishProgress(listener, ProgressEventType.TRANSFER_PART_FAILED_EVENT);
+        }
+
+        private void enumerated(Throwable error) {
+            enumerationFailure = error;
+            release();
+        }
+
+        private void release() {
+            if (outstanding.decrementAndGet() != 0) {
+                return;
+            }
+            if (enumerationFailure != null) {
+                SdkProgressPublisher.publishProgress(listener, ProgressEventType.TRANSFER_FAILED_EVENT);
+                result.completeExceptionally(enumerationFailure);
+                return;
+            }
+            SdkProgressPublisher.publishProgress(listener, failures.isEmpty() ? ProgressEventType.TRANSFER_COMPLETED_EVENT
+                                                                              : ProgressEventType.TRANSFER_FAILED_EVENT);
+            result.complete(new DirectoryTransferResult(objectsTransferred.get(), bytesTransferred.get(), failures));
+        }
+    }
+
+    /**
+     * Runs requests, at most {@link #maxConcurrentRequests} at a time, in the order they were submitted.
+     */
+    private static final class RequestLimiter {
+        private final int maxConcurrentRequests;
+        private final Queue<Supplier<CompletableFuture<?>>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+
+        private RequestLimiter(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        private void submit(Supplier<CompletableFuture<?>> request) {
+            pending.add(request);
+            drain();
+        }
+
+        /**
+         * Starts pending requests while there's room. Only one thread drains at a time, and a request that completes
+         * synchronously makes the draining thread loop again rather than recursing.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (inFlight.get() < maxConcurrentRequests) {
+                    Supplier<CompletableFuture<?>> request = pending.poll();
+                    if (request == null) {
+                        break;
+                    }
+                    inFlight.incrementAndGet();
+                    request.get().whenComplete((r, e) -> {
+                        inFlight.decrementAndGet();
+                        drain();
+                    });
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Reports the bytes read from a request provider. When the provider is subscribed to again for a retry, the bytes
+     * reported for the previous attempt are reported as reset.
+     */
+    private static final class ProgressReportingRequestProvider implements AsyncRequestProvider {
+        private final AsyncRequestProvider delegate;
+        private final ProgressListener listener;
+        private final AtomicLong bytesSent = new AtomicLong();
+
+        private ProgressReportingRequestProvider(AsyncRequestProvider delegate, ProgressListener listener) {
+            this.delegate = delegate;
+            this.listener = listener;
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            long previousAttempt = bytesSent.getAndSet(0);
+            if (previousAttempt > 0) {
+                SdkProgressPublisher.publishRequestReset(listener, previousAttempt);
+            }
+            delegate.subscribe(new ProgressReportingSubscriber(subscriber, listener, bytesSent, false));
+        }
+    }
+
+    /**
+     * Reports the bytes of a response before passing them on to another handler. When the response is streamed again for
+     * a retry, the bytes reported for the previous attempt are reported as reset. The client waits for the other handler
+     * to finish, as it would for the handler on its own.
+     */
+    private static final class ProgressReportingResponseHandler
+            implements DeferredCompletionAsyncResponseHandler<GetObjectResponse, Object> {
+        private final AsyncResponseHandler<GetObjectResponse, ?> delegate;
+        private final ProgressListener listener;
+        private final AtomicLong bytesReceived = new AtomicLong();
+
+        private ProgressReportingResponseHandler(AsyncResponseHandler<GetObjectResponse, ?> delegate,
+                                                 ProgressListener listener) {
+            this.delegate = delegate;
+            this.listener = listener;
+        }
+
+        @Override
+        public void responseReceived(GetObjectResponse response) {
+            delegate.responseReceived(response);
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> publisher) {
+            long previousAttempt = bytesReceived.getAndSet(0);
+            if (previousAttempt > 0) {
+                SdkProgressPublisher.publishResponseReset(listener, previousAttempt);
+            }
+            delegate.onStream(s -> publisher.subscribe(new ProgressReportingSubscriber(s, listener, bytesReceived, true)));
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+            delegate.exceptionOccurred(throwable);
+        }
+
+        @Override
+        public Object complete() {
+            return delegate.complete();
+        }
+
+        @Override
+        public CompletableFuture<?> whenFinished() {
+            return delegate instanceof DeferredCompletionAsyncResponseHandler
+                   ? ((DeferredCompletionAsyncResponseHandler<?, ?>) delegate).whenFinished()
+                   : CompletableFuture.completedFuture(true);
+        }
+    }
+
+    private static final class ProgressReportingSubscriber implements Subscriber<ByteBuffer> {
+        private final Subscriber<? super ByteBuffer> delegate;
+        private final ProgressListener listener;
+        private final AtomicLong bytes;
+        private final boolean response;
+
+        private ProgressReportingSubscriber(Subscriber<? super ByteBuffer> delegate, ProgressListener listener,
+                                            AtomicLong bytes, boolean response) {
+            this.delegate = delegate;
+            this.listener = listener;
+            this.bytes = bytes;
+            this.response = response;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            int length = buffer.remaining();
+            bytes.addAndGet(length);
+            if (response) {
+                SdkProgressPublisher.publishResponseBytesTransferred(listener, length);
+            } else {
+                SdkProgressPublisher.publishRequestBytesTransferred(listener, length);
+            }
+            delegate.onNext(buffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            delegate.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+
+    /**
+     * Calls the client, turning an exception thrown by the call into a failed future.
+     */
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A builder for {@link DirectoryTransfer}.
+     */
+    @NotThreadSafe
+    public interface Builder {
+
+        /**
+         * Sets the client used to transfer objects. The transfer doesn't close it.
+         *
+         * @param client The S3 async client.
+         * @return This builder for method chaining.
+         */
+        Builder client(S3AsyncClient client);
+
+        /**
+         * Sets the maximum number of object requests in flight, across all the transfers started by the built
+         * {@link DirectoryTransfer}. Build the client with {@link #asyncHttpConfiguration(int)} so that its connection pool
+         * matches.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_CONCURRENT_REQUESTS} requests, the default size of the connection
+         * pool.</p>
+         *
+         * @param maxConcurrentRequests The maximum number of requests in flight.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentRequests(Integer maxConcurrentRequests);
+
+        /**
+         * @return A {@link DirectoryTransfer}.
+         */
+        DirectoryTransfer build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+
+        private S3AsyncClient client;
+        private Integer maxConcurrentRequests;
+
+        @Override
+        public Builder client(S3AsyncClient client) {
+            this.client = client;
+            return this;
+        }
+
+        public void setClient(S3AsyncClient client) {
+            client(client);
+        }
+
+        @Override
+        public Builder maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+            maxConcurrentRequests(maxConcurrentRequests);
+        }
+
+        @Override
+        public DirectoryTransfer build() {
+            return new DirectoryTransfer(this);
+        }
+    }
+}
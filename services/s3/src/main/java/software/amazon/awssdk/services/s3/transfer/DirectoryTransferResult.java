@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.awssdk.annotations.Immutable;
+
+/**
+ * The outcome of a {@link DirectoryTransfer}: how many objects were transferred, and why the others failed.
+ */
+@Immutable
+public final class DirectoryTransferResult {
+
+    private final int objectsTransferred;
+    private final long bytesTransferred;
+    private final Map<String, Throwable> failures;
+
+    DirectoryTransferResult(int objectsTransferred, long bytesTransferred, Map<String, Throwable> failures) {
+        this.objectsTransferred = objectsTransferred;
+        this.bytesTransferred = bytesTransferred;
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * @return The number of objects that were uploaded or downloaded.
+     */
+    public int objectsTransferred() {
+        return objectsTransferred;
+    }
+
+    /**
+     * @return The total size of the objects that were uploaded or downloaded.
+     */
+    public long bytesTransferred() {
+        return bytesTransferred;
+    }
+
+    /**
+     * @return The error for each object that couldn't be transferred, keyed by object key.
+     */
+    public Map<String, Throwable> failures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryTransferResult(objectsTransferred=" + objectsTransferred + ", bytesTransferred=" + bytesTransferred
+               + ", failures=" + failures.keySet() + ")";
+    }
+}
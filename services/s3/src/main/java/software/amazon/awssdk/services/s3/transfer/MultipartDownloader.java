@@ -0,0 +1,643 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.ExecutorUtils;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Downloads an object from S3 into a file, fetching several byte ranges of the object concurrently through an
+ * {@link S3AsyncClient}.
+ *
+ * <p>The object is split into parts of {@link Builder#partSizeInBytes(Long)} bytes, each fetched with a ranged
+ * {@code GetObject} and written straight to its offset in the file as it arrives. At most
+ * {@link Builder#maxConcurrentParts(Integer)} parts are fetched at a time. When the response for a part fails midway, the
+ * part is fetched again from the first byte that wasn't written, up to {@link Builder#maxAttemptsPerPart(Integer)} attempts
+ * in total. Every part is fetched with the ETag of the object when the download started, so the download fails rather
+ * than mixing two versions of an object that is overwritten while it's downloaded.</p>
+ *
+ * <p>Like {@link AsyncResponseHandler#toFile(Path)}, the file must not already exist, and it's deleted if the download
+ * fails.</p>
+ *
+ * <pre>
+ * MultipartDownloader downloader = MultipartDownloader.builder().client(s3AsyncClient).build();
+ * downloader.download(GetObjectRequest.builder().bucket("bucket").key("key").build(), Paths.get("large-file"))
+ *           .join();
+ * </pre>
+ */
+@ThreadSafe
+public final class MultipartDownloader {
+
+    private static final long DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENT_PARTS = 8;
+    private static final int DEFAULT_MAX_ATTEMPTS_PER_PART = 3;
+
+    /**
+     * Size of the buffer used to read the file back when verifying a checksum.
+     */
+    private static final int CHECKSUM_BUFFER_SIZE = 1024 * 1024;
+
+    private final S3AsyncClient client;
+    private final long partSizeInBytes;
+    private final int maxConcurrentParts;
+    private final int maxAttemptsPerPart;
+    private final Executor checksumExecutor;
+
+    private MultipartDownloader(DefaultBuilder builder) {
+        this.client = Validate.paramNotNull(builder.client, "client");
+        this.partSizeInBytes = builder.partSizeInBytes == null ? DEFAULT_PART_SIZE : builder.partSizeInBytes;
+        this.maxConcurrentParts = builder.maxConcurrentParts == null ? DEFAULT_MAX_CONCURRENT_PARTS
+                                                                     : builder.maxConcurrentParts;
+        this.maxAttemptsPerPart = builder.maxAttemptsPerPart == null ? DEFAULT_MAX_ATTEMPTS_PER_PART
+                                                                     : builder.maxAttemptsPerPart;
+        Validate.isTrue(partSizeInBytes > 0, "Part size must be positive, but was %s", partSizeInBytes);
+        Validate.isTrue(maxConcurrentParts > 0, "Max concurrent parts must be positive, but was %s", maxConcurrentParts);
+        Validate.isTrue(maxAttemptsPerPart > 0, "Max attempts per part must be positive, but was %s", maxAttemptsPerPart);
+        this.checksumExecutor = builder.checksumExecutor != null
+                                ? builder.checksumExecutor
+                                : ExecutorUtils.newSingleDaemonThreadExecutor(Integer.MAX_VALUE, "sdk-s3-download-checksum");
+    }
+
+    /**
+     * @return Builder instance to construct a {@link MultipartDownloader}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Downloads an object into a new file.
+     *
+     * @param request The request for the object, without a range or part number.
+     * @param path    The file to create.
+     * @return A future that completes with the metadata of the object once it's been written to the file.
+     */
+    public CompletableFuture<HeadObjectResponse> download(GetObjectRequest request, Path path) {
+        return download(request, path, null);
+    }
+
+    /**
+     * Downloads an object into a new file, and checks the digest of the whole file once it's been written. This reads the
+     * file back after the download, on the {@link Builder#checksumExecutor(Executor)}.
+     *
+     * @param request           The request for the object, without a range or part number.
+     * @param path              The file to create.
+     * @param checksumAlgorithm The name of the {@link MessageDigest} algorithm, such as {@code SHA-256}.
+     * @param expectedChecksum  The expected digest of the object.
+     * @return A future that completes with the metadata of the object once it's been written to the file and its digest
+     * matched, or exceptionally with an {@link SdkClientException} if it didn't.
+     */
+    public CompletableFuture<HeadObjectResponse> download(GetObjectRequest request, Path path, String checksumAlgorithm,
+                                                          byte[] expectedChecksum) {
+        Validate.paramNotNull(checksumAlgorithm, "checksumAlgorithm");
+        Validate.paramNotNull(expectedChecksum, "expectedChecksum");
+        try {
+            MessageDigest.getInstance(checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported checksum algorithm " + checksumAlgorithm, e);
+        }
+        return download(request, path, new Checksum(checksumAlgorithm, expectedChecksum.clone()));
+    }
+
+    private CompletableFuture<HeadObjectResponse> download(GetObjectRequest request, Path path, Checksum checksum) {
+        Validate.paramNotNull(request, "request");
+        Validate.paramNotNull(path, "path");
+        Validate.isTrue(request.range() == null && request.partNumber() == null,
+                        "The request must not have a range or part number");
+
+        Download download = new Download(request, path, checksum);
+        call(() -> client.headObject(headRequest(request))).whenComplete((head, error) -> {
+            if (error != null) {
+                download.result.completeExceptionally(unwrap(error));
+            } else {
+                download.start(head);
+            }
+        });
+        return download.result;
+    }
+
+    private static HeadObjectRequest headRequest(GetObjectRequest request) {
+        return HeadObjectRequest.builder()
+                                .bucket(request.bucket())
+                                .key(request.key())
+                                .versionId(request.versionId())
+                                .ifMatch(request.ifMatch())
+                                .ifNoneMatch(request.ifNoneMatch())
+                                .ifModifiedSince(request.ifModifiedSince())
+                                .ifUnmodifiedSince(request.ifUnmodifiedSince())
+                                .sseCustomerAlgorithm(request.sseCustomerAlgorithm())
+                                .sseCustomerKey(request.sseCustomerKey())
+                                .sseCustomerKeyMD5(request.sseCustomerKeyMD5())
+                                .requestPayer(request.requestPayer())
+                                .build();
+    }
+
+    /**
+     * The state of one download. Parts are started as others finish, so that at most {@link #maxConcurrentParts} are in
+     * flight, and the file is closed and checked when the last part in flight finishes.
+     */
+    private final class Download {
+        private final GetObjectRequest request;
+        private final Path path;
+        private final Checksum checksum;
+        private final CompletableFuture<HeadObjectResponse> result = new CompletableFuture<>();
+
+        private final AtomicInteger nextPartIndex = new AtomicInteger();
+        private final AtomicInteger partsInFlight = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private volatile HeadObjectResponse head;
+        private volatile AsynchronousFileChannel channel;
+        private volatile long size;
+        private volatile int partCount;
+
+        private Download(GetObjectRequest request, Path path, Checksum checksum) {
+            this.request = request;
+            this.path = path;
+            this.checksum = checksum;
+        }
+
+        private void start(HeadObjectResponse head) {
+            this.head = head;
+            this.size = head.contentLength();
+            this.partCount = (int) ((size + partSizeInBytes - 1) / partSizeInBytes);
+            try {
+                channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            // Count the starting of parts as in flight, so the download can't finish before all the first parts have
+            // started.
+            partsInFlight.incrementAndGet();
+            for (int i = 0; i < maxConcurrentParts; i++) {
+                startNextPart();
+            }
+            release();
+        }
+
+        private void startNextPart() {
+            if (failure.get() != null) {
+                return;
+            }
+            int index = nextPartIndex.getAndIncrement();
+            if (index >= partCount) {
+                return;
+            }
+            partsInFlight.incrementAndGet();
+            long start = index * partSizeInBytes;
+            new Part(this, start, Math.min(start + partSizeInBytes, size)).fetch(1);
+        }
+
+        private void partFinished(Throwable error) {
+            if (error != null) {
+                failure.compareAndSet(null, error);
+            }
+            // Start the next part before this one stops counting as in flight, so the count only reaches zero at the end.
+            startNextPart();
+            release();
+        }
+
+        private void release() {
+            if (partsInFlight.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            IoUtils.closeQuietly(channel, null);
+            Throwable error = failure.get();
+            if (error != null || checksum == null) {
+                complete(error);
+                return;
+            }
+            // The last part finishes on an event loop or file channel thread, which mustn't wait for the file to be read.
+            try {
+                checksumExecutor.execute(() -> complete(checksum.verify(path)));
+            } catch (RejectedExecutionException e) {
+                complete(e);
+            }
+        }
+
+        private void complete(Throwable error) {
+            if (error == null) {
+                result.complete(head);
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            }
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * One byte range of the object, from {@code start} inclusive to {@code end} exclusive. {@link #position} is the next
+     * byte to write, so that a failed attempt can be resumed from it.
+     */
+    private final class Part {
+        private final Download download;
+        private final long end;
+        private volatile long position;
+
+        private Part(Download download, long start, long end) {
+            this.download = download;
+            this.end = end;
+            this.position = start;
+        }
+
+        private void fetch(int attempt) {
+            GetObjectRequest rangeRequest = download.request.toBuilder()
+                                                            .range("bytes=" + position + "-" + (end - 1))
+                                                            .ifMatch(download.head.eTag())
+                                                            .build();
+            PartWriter writer = new PartWriter(this);
+            call(() -> client.getObject(rangeRequest, writer)).whenComplete((response, error) -> {
+                if (error != null) {
+                    writer.finish(unwrap(error));
+                }
+                // Wait for the writes of this attempt to settle before resuming from the last written byte.
+                writer.done.whenComplete((v, writeError) -> attemptFinished(attempt, error != null ? unwrap(error)
+                                                                                                   : unwrap(writeError)));
+            });
+        }
+
+        private void attemptFinished(int attempt, Throwable error) {
+            if (error == null && position == end) {
+                download.partFinished(null);
+                return;
+            }
+            if (error == null) {
+                error = new SdkClientException("The response for bytes " + position + "-" + (end - 1) + " of "
+                                               + download.request.key() + " ended early");
+            }
+            if (attempt < maxAttemptsPerPart && download.failure.get() == null) {
+                fetch(attempt + 1);
+            } else {
+                download.partFinished(error);
+            }
+        }
+    }
+
+    /**
+     * Writes the response for one attempt at a part at its offset in the file, one buffer at a time. {@link #done}
+     * completes once the response has ended and no write is in progress.
+     */
+    private final class PartWriter implements AsyncResponseHandler<GetObjectResponse, Void>, Subscriber<ByteBuffer>,
+                                              CompletionHandler<Integer, ByteBuffer> {
+        private final Part part;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Subscription subscription;
+        private boolean writing;
+        private boolean finished;
+        private Throwable error;
+
+        private PartWriter(Part part) {
+            this.part = part;
+        }
+
+        @Override
+        public void responseReceived(GetObjectResponse response) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> publisher) {
+            publisher.subscribe(this);
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+            finish(throwable);
+        }
+
+        @Override
+        public Void complete() {
+            return null;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            boolean cancel;
+            synchronized (this) {
+                subscription = s;
+                cancel = finished;
+            }
+            if (cancel) {
+                s.cancel();
+            } else {
+                s.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            if (buffer.remaining() > part.end - part.position) {
+                finish(new SdkClientException("Received more bytes than requested for bytes " + part.position + "-"
+                                              + (part.end - 1) + " of " + part.download.request.key()));
+                return;
+            }
+            synchronized (this) {
+                writing = true;
+            }
+            part.download.channel.write(buffer, part.position, buffer, this);
+        }
+
+        @Override
+        public void completed(Integer written, ByteBuffer buffer) {
+            part.position += written;
+            if (buffer.hasRemaining()) {
+                part.download.channel.write(buffer, part.position, buffer, this);
+                return;
+            }
+            boolean settle;
+            synchronized (this) {
+                writing = false;
+                settle = finished;
+            }
+            if (settle) {
+                settle();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, ByteBuffer buffer) {
+            synchronized (this) {
+                writing = false;
+            }
+            finish(exc);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            finish(t);
+        }
+
+        @Override
+        public void onComplete() {
+            finish(null);
+        }
+
+        private void finish(Throwable t) {
+            boolean settle;
+            Subscription toCancel;
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                error = t;
+                settle = !writing;
+                toCancel = t != null ? subscription : null;
+            }
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+            if (settle) {
+                settle();
+            }
+        }
+
+        private void settle() {
+            Throwable t;
+            synchronized (this) {
+                t = error;
+            }
+            if (t != null) {
+                done.completeExceptionally(t);
+            } else {
+                done.complete(null);
+            }
+        }
+    }
+
+    /**
+     * An expected digest of the whole object.
+     */
+    private static final class Checksum {
+        private final String algorithm;
+        private final byte[] expected;
+
+        private Checksum(String algorithm, byte[] expected) {
+            this.algorithm = algorithm;
+            this.expected = expected;
+        }
+
+        /**
+         * @return Null if the file has the expected digest, or the error to fail the download with.
+         */
+        private Throwable verify(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MessageDigest digest = MessageDigest.getInstance(algorithm);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+                byte[] actual = digest.digest();
+                if (!MessageDigest.isEqual(actual, expected)) {
+                    return new SdkClientException("The " + algorithm + " checksum of the downloaded object was "
+                                                  + BinaryUtils.toHex(actual) + ", but " + BinaryUtils.toHex(expected)
+                                                  + " was expected");
+                }
+                return null;
+            } catch (IOException | NoSuchAlgorithmException e) {
+                return e;
+            }
+        }
+    }
+
+    /**
+     * Calls the client, turning an exception thrown by the call into a failed future.
+     */
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A builder for {@link MultipartDownloader}.
+     */
+    @NotThreadSafe
+    public interface Builder {
+
+        /**
+         * Sets the client used to download. The downloader doesn't close it.
+         *
+         * @param client The S3 async client.
+         * @return This builder for method chaining.
+         */
+        Builder client(S3AsyncClient client);
+
+        /**
+         * Sets the size of the byte range fetched by each request.
+         *
+         * <p>The default part size is 8 MB.</p>
+         *
+         * @param partSizeInBytes New part size in bytes.
+         * @return This builder for method chaining.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * Sets the maximum number of parts fetched at a time by each download. The client's HTTP connection pool should
+         * allow at least this many connections.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_CONCURRENT_PARTS} parts.</p>
+         *
+         * @param maxConcurrentParts The maximum number of parts in flight.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentParts(Integer maxConcurrentParts);
+
+        /**
+         * Sets the number of times a part is fetched before the download fails. Each attempt resumes from the first byte of
+         * the part that wasn't written, and is itself retried by the client according to its retry policy.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_ATTEMPTS_PER_PART} attempts.</p>
+         *
+         * @param maxAttemptsPerPart The maximum number of attempts for each part.
+         * @return This builder for method chaining.
+         */
+        Builder maxAttemptsPerPart(Integer maxAttemptsPerPart);
+
+        /**
+         * Sets the executor that reads a downloaded file back to check its checksum. The downloader doesn't shut it down.
+         *
+         * <p>By default, the checksums of all the downloads of a {@link MultipartDownloader} are checked one at a time on a
+         * daemon thread of its own, which stops when it's idle.</p>
+         *
+         * @param checksumExecutor The executor for checking checksums.
+         * @return This builder for method chaining.
+         */
+        Builder checksumExecutor(Executor checksumExecutor);
+
+        /**
+         * @return An immutable {@link MultipartDownloader}.
+         */
+        MultipartDownloader build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+
+        private S3AsyncClient client;
+        private Long partSizeInBytes;
+        private Integer maxConcurrentParts;
+        private Integer maxAttemptsPerPart;
+        private Executor checksumExecutor;
+
+        @Override
+        public Builder client(S3AsyncClient client) {
+            this.client = client;
+            return this;
+        }
+
+        public void setClient(S3AsyncClient client) {
+            client(client);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder maxConcurrentParts(Integer maxConcurrentParts) {
+            this.maxConcurrentParts = maxConcurrentParts;
+            return this;
+        }
+
+        public void setMaxConcurrentParts(Integer maxConcurrentParts) {
+            maxConcurrentParts(maxConcurrentParts);
+        }
+
+        @Override
+        public Builder maxAttemptsPerPart(Integer maxAttemptsPerPart) {
+            this.maxAttemptsPerPart = maxAttemptsPerPart;
+            return this;
+        }
+
+        public void setMaxAttemptsPerPart(Integer maxAttemptsPerPart) {
+            maxAttemptsPerPart(maxAttemptsPerPart);
+        }
+
+        @Override
+        public Builder checksumExecutor(Executor checksumExecutor) {
+            this.checksumExecutor = checksumExecutor;
+            return this;
+        }
+
+        public void setChecksumExecutor(Executor checksumExecutor) {
+            checksumExecutor(checksumExecutor);
+        }
+
+        @Override
+        public MultipartDownloader build() {
+            return new MultipartDownloader(this);
+        }
+    }
+}
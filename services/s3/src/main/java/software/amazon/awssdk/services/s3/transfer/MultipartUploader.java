@@ -0,0 +1,397 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.async.FileAsyncRequestProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Uploads a file to S3 as a multipart upload, sending several parts concurrently through an {@link S3AsyncClient}.
+ *
+ * <p>The file is split into parts of {@link Builder#partSizeInBytes(Long)} bytes, each read straight from its slice of the
+ * file. At most {@link Builder#maxConcurrentParts(Integer)} parts are uploaded at a time, and a part that fails is retried
+ * up to {@link Builder#maxAttemptsPerPart(Integer)} times in total, on top of the retries of the client itself. If a part
+ * still fails, no more parts are started, and once the parts in flight have finished the upload is aborted so that S3
+ * doesn't keep the uploaded parts.</p>
+ *
+ * <pre>
+ * MultipartUploader uploader = MultipartUploader.builder().client(s3AsyncClient).build();
+ * uploader.upload(CreateMultipartUploadRequest.builder().bucket("bucket").key("key").build(), Paths.get("large-file"))
+ *         .join();
+ * </pre>
+ */
+@ThreadSafe
+public final class MultipartUploader {
+
+    /**
+     * S3 allows at most this many parts in one upload.
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    private static final long DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENT_PARTS = 8;
+    private static final int DEFAULT_MAX_ATTEMPTS_PER_PART = 3;
+
+    /**
+     * Size of the chunks each part is read from the file in.
+     */
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final S3AsyncClient client;
+    private final long partSizeInBytes;
+    private final int maxConcurrentParts;
+    private final int maxAttemptsPerPart;
+
+    private MultipartUploader(DefaultBuilder builder) {
+        this.client = Validate.paramNotNull(builder.client, "client");
+        this.partSizeInBytes = builder.partSizeInBytes == null ? DEFAULT_PART_SIZE : builder.partSizeInBytes;
+        this.maxConcurrentParts = builder.maxConcurrentParts == null ? DEFAULT_MAX_CONCURRENT_PARTS
+                                                                     : builder.maxConcurrentParts;
+        this.maxAttemptsPerPart = builder.maxAttemptsPerPart == null ? DEFAULT_MAX_ATTEMPTS_PER_PART
+                                                                     : builder.maxAttemptsPerPart;
+        Validate.isTrue(partSizeInBytes > 0, "Part size must be positive, but was %s", partSizeInBytes);
+        Validate.isTrue(maxConcurrentParts > 0, "Max concurrent parts must be positive, but was %s", maxConcurrentParts);
+        Validate.isTrue(maxAttemptsPerPart > 0, "Max attempts per part must be positive, but was %s", maxAttemptsPerPart);
+    }
+
+    /**
+     * @return Builder instance to construct a {@link MultipartUploader}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Uploads a file as a multipart upload.
+     *
+     * @param request The request that starts the upload, which names the bucket and key and any object metadata. Its
+     *                server-side encryption customer key and request payer are also sent with each part.
+     * @param path    The file to upload.
+     * @return A future that completes with the response to completing the upload, or exceptionally with the first failure
+     * once the upload has been aborted.
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> upload(CreateMultipartUploadRequest request, Path path) {
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            CompletableFuture<CompleteMultipartUploadResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        // Grow the parts if the file would otherwise need more than S3 allows.
+        long partSize = Math.max(partSizeInBytes, (size + MAX_PARTS - 1) / MAX_PARTS);
+        // Even an empty file is uploaded as one (empty) part.
+        int partCount = (int) Math.max(1, (size + partSize - 1) / partSize);
+
+        Upload upload = new Upload(request, path, size, partSize, partCount);
+        call(() -> client.createMultipartUpload(request)).whenComplete((response, error) -> {
+            if (error != null) {
+                upload.result.completeExceptionally(unwrap(error));
+            } else {
+                upload.start(response.uploadId());
+            }
+        });
+        return upload.result;
+    }
+
+    /**
+     * The state of one upload. Parts are started as others finish, so that at most {@link #maxConcurrentParts} are in
+     * flight, and the upload is completed or aborted when the last part in flight finishes.
+     */
+    private final class Upload {
+        private final CreateMultipartUploadRequest request;
+        private final Path path;
+        private final long size;
+        private final long partSize;
+        private final int partCount;
+        private final CompletableFuture<CompleteMultipartUploadResponse> result = new CompletableFuture<>();
+
+        private final AtomicInteger nextPartIndex = new AtomicInteger();
+        private final AtomicInteger partsInFlight = new AtomicInteger();
+        private final AtomicReferenceArray<CompletedPart> completedParts;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private volatile String uploadId;
+
+        private Upload(CreateMultipartUploadRequest request, Path path, long size, long partSize, int partCount) {
+            this.request = request;
+            this.path = path;
+            this.size = size;
+            this.partSize = partSize;
+            this.partCount = partCount;
+            this.completedParts = new AtomicReferenceArray<>(partCount);
+        }
+
+        private void start(String uploadId) {
+            this.uploadId = uploadId;
+
+            // Count the starting of parts as in flight, so the upload can't finish before all the first parts have started.
+            partsInFlight.incrementAndGet();
+            for (int i = 0; i < maxConcurrentParts; i++) {
+                startNextPart();
+            }
+            release();
+        }
+
+        private void startNextPart() {
+            if (failure.get() != null) {
+                return;
+            }
+            int index = nextPartIndex.getAndIncrement();
+            if (index >= partCount) {
+                return;
+            }
+            partsInFlight.incrementAndGet();
+            uploadPart(index, 1);
+        }
+
+        private void uploadPart(int index, int attempt) {
+            long position = index * partSize;
+            long length = Math.min(partSize, size - position);
+            UploadPartRequest partRequest = UploadPartRequest.builder()
+                                                             .bucket(request.bucket())
+                                                             .key(request.key())
+                                                             .uploadId(uploadId)
+                                                             .partNumber(index + 1)
+                                                             .contentLength(length)
+                                                             .sseCustomerAlgorithm(request.sseCustomerAlgorithm())
+                                                             .sseCustomerKey(request.sseCustomerKey())
+                                                             .sseCustomerKeyMD5(request.sseCustomerKeyMD5())
+                                                             .requestPayer(request.requestPayer())
+                                                             .build();
+
+            AsyncRequestProvider part = FileAsyncRequestProvider.builder()
+                                                                .path(path)
+                                                                .position(position)
+                                                                .length(length)
+                                                                .chunkSizeInBytes(READ_CHUNK_SIZE)
+                                                                .build();
+            CompletableFuture<UploadPartResponse> response = call(() -> client.uploadPart(partRequest, part));
+            response.whenComplete((r, error) -> {
+                if (error == null) {
+                    completedParts.set(index, CompletedPart.builder().eTag(r.eTag()).partNumber(index + 1).build());
+                    partFinished();
+                } else if (attempt < maxAttemptsPerPart && failure.get() == null) {
+                    uploadPart(index, attempt + 1);
+                } else {
+                    failure.compareAndSet(null, unwrap(error));
+                    partFinished();
+                }
+            });
+        }
+
+        private void partFinished() {
+            // Start the next part before this one stops counting as in flight, so the count only reaches zero at the end.
+            startNextPart();
+            release();
+        }
+
+        private void release() {
+            if (partsInFlight.decrementAndGet() == 0) {
+                if (failure.get() == null) {
+                    complete();
+                } else {
+                    abort(failure.get());
+                }
+            }
+        }
+
+        private void complete() {
+            List<CompletedPart> parts = new ArrayList<>(partCount);
+            for (int i = 0; i < partCount; i++) {
+                parts.add(completedParts.get(i));
+            }
+            CompleteMultipartUploadRequest completeRequest =
+                    CompleteMultipartUploadRequest.builder()
+                                                  .bucket(request.bucket())
+                                                  .key(request.key())
+                                                  .uploadId(uploadId)
+                                                  .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                                                  .requestPayer(request.requestPayer())
+                                                  .build();
+            call(() -> client.completeMultipartUpload(completeRequest)).whenComplete((response, error) -> {
+                if (error != null) {
+                    abort(unwrap(error));
+                } else {
+                    result.complete(response);
+                }
+            });
+        }
+
+        private void abort(Throwable cause) {
+            AbortMultipartUploadRequest abortRequest = AbortMultipartUploadRequest.builder()
+                                                                                  .bucket(request.bucket())
+                                                                                  .key(request.key())
+                                                                                  .uploadId(uploadId)
+                                                                                  .requestPayer(request.requestPayer())
+                                                                                  .build();
+            call(() -> client.abortMultipartUpload(abortRequest)).whenComplete((response, error) -> {
+                if (error != null) {
+                    cause.addSuppressed(unwrap(error));
+                }
+                result.completeExceptionally(cause);
+            });
+        }
+    }
+
+    /**
+     * Calls the client, turning an exception thrown by the call into a failed future.
+     */
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A builder for {@link MultipartUploader}.
+     */
+    @NotThreadSafe
+    public interface Builder {
+
+        /**
+         * Sets the client used to upload. The uploader doesn't close it.
+         *
+         * @param client The S3 async client.
+         * @return This builder for method chaining.
+         */
+        Builder client(S3AsyncClient client);
+
+        /**
+         * Sets the size of each part. Every part but the last must be at least 5 MB, and the part size is increased for
+         * files that would otherwise need more than 10,000 parts.
+         *
+         * <p>The default part size is 8 MB.</p>
+         *
+         * @param partSizeInBytes New part size in bytes.
+         * @return This builder for method chaining.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * Sets the maximum number of parts uploaded at a time by each upload. The client's HTTP connection pool should
+         * allow at least this many connections.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_CONCURRENT_PARTS} parts.</p>
+         *
+         * @param maxConcurrentParts The maximum number of parts in flight.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentParts(Integer maxConcurrentParts);
+
+        /**
+         * Sets the number of times a part is attempted before the upload is aborted. Each attempt is itself retried by the
+         * client according to its retry policy.
+         *
+         * <p>The default is {@value #DEFAULT_MAX_ATTEMPTS_PER_PART} attempts.</p>
+         *
+         * @param maxAttemptsPerPart The maximum number of attempts for each part.
+         * @return This builder for method chaining.
+         */
+        Builder maxAttemptsPerPart(Integer maxAttemptsPerPart);
+
+        /**
+         * @return An immutable {@link MultipartUploader}.
+         */
+        MultipartUploader build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+
+        private S3AsyncClient client;
+        private Long partSizeInBytes;
+        private Integer maxConcurrentParts;
+        private Integer maxAttemptsPerPart;
+
+        @Override
+        public Builder client(S3AsyncClient client) {
+            this.client = client;
+            return this;
+        }
+
+        public void setClient(S3AsyncClient client) {
+            client(client);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder maxConcurrentParts(Integer maxConcurrentParts) {
+            this.maxConcurrentParts = maxConcurrentParts;
+            return this;
+        }
+
+        public void setMaxConcurrentParts(Integer maxConcurrentParts) {
+            maxConcurrentParts(maxConcurrentParts);
+        }
+
+        @Override
+        public Builder maxAttemptsPerPart(Integer maxAttemptsPerPart) {
+            this.maxAttemptsPerPart = maxAttemptsPerPart;
+            return this;
+        }
+
+        public void setMaxAttemptsPerPart(Integer maxAttemptsPerPart) {
+            maxAttemptsPerPart(maxAttemptsPerPart);
+        }
+
+        @Override
+        public MultipartUploader build() {
+            return new MultipartUploader(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.auth.internal.SignerConstants;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.services.s3.auth.AwsChunkedEncodingInputStream;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Unit tests for the {@link AwsS3V4Signer}.
+ */
+public class AwsS3V4SignerTest {
+
+    private final AwsS3V4Signer signer = new AwsS3V4Signer();
+
+    @Before
+    public void setup() {
+        signer.setServiceName("s3");
+        signer.setRegionName("us-east-1");
+    }
+
+    @Test
+    public void asyncContentOfKnownLengthIsChunkEncoded() {
+        SdkHttpFullRequest signed = sign(100L);
+
+        assertThat(signed.firstMatchingHeader(SignerConstants.X_AMZ_CONTENT_SHA256))
+                .hasValue("STREAMING-AWS4-HMAC-SHA256-PAYLOAD");
+        assertThat(signed.firstMatchingHeader("x-amz-decoded-content-length")).hasValue("100");
+        assertThat(signed.firstMatchingHeader("Content-Length"))
+                .hasValue(Long.toString(AwsChunkedEncodingInputStream.calculateStreamContentLength(100)));
+    }
+
+    @Test
+    public void asyncContentOfUnknownLengthIsAnError() {
+        assertThatThrownBy(() -> sign(-1L))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("S3 aws-chunked uploads need a content length");
+    }
+
+    private SdkHttpFullRequest sign(long asyncContentLength) {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.PUT)
+                                                       .protocol("http")
+                                                       .host("bucket.s3.amazonaws.com")
+                                                       .encodedPath("/key")
+                                                       .build();
+        ExecutionAttributes attributes =
+                new ExecutionAttributes().putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS,
+                                                       new AwsCredentials("access", "secret"))
+                                         .putAttribute(AwsExecutionAttributes.ASYNC_REQUEST_CONTENT_LENGTH, asyncContentLength);
+        return signer.sign(InterceptorContext.builder()
+                                             .request(PutObjectRequest.builder().bucket("bucket").key("key").build())
+                                             .httpRequest(request)
+                                             .build(),
+                           attributes);
+    }
+}
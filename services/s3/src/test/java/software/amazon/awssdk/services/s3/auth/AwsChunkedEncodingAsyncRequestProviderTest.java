@@ -0,0 +1,206 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+
+public class AwsChunkedEncodingAsyncRequestProviderTest {
+
+    private static final byte[] SIGNING_KEY = "signing-key".getBytes(StandardCharsets.UTF_8);
+    private static final String DATE_TIME = "20170101T000000Z";
+    private static final String KEY_PATH = "20170101/us-east-1/s3/aws4_request";
+    private static final String HEADER_SIGNATURE = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final Aws4Signer signer = new Aws4Signer();
+
+    @Test
+    public void encodedContentMatchesInputStreamEncoding() throws Exception {
+        byte[] content = randomBytes(300 * 1024 + 17);
+
+        InputStream expected = new AwsChunkedEncodingInputStream(new ByteArrayInputStream(content), SIGNING_KEY, DATE_TIME,
+                                                                 KEY_PATH, HEADER_SIGNATURE, signer);
+        AwsChunkedEncodingAsyncRequestProvider provider = encoder(new BufferListProvider(content, 1000), null);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        provider.subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.bytes()).isEqualTo(IOUtils.toByteArray(expected));
+        assertThat(provider.contentLength()).isEqualTo(AwsChunkedEncodingInputStream.calculateStreamContentLength(content.length));
+    }
+
+    @Test
+    public void chunkSizeIsConfigurable() {
+        byte[] content = randomBytes(25);
+        AwsChunkedEncodingAsyncRequestProvider provider = encoder(new BufferListProvider(content, 4), 10);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        provider.subscribe(subscriber);
+
+        // Two full chunks, the remaining five bytes and the final empty chunk.
+        assertThat(subscriber.chunks).hasSize(4);
+        assertThat(new String(subscriber.chunks.get(0).array(), subscriber.chunks.get(0).position(), 2)).isEqualTo("a;");
+        assertThat(new String(subscriber.chunks.get(2).array(), subscriber.chunks.get(2).position(), 2)).isEqualTo("5;");
+        assertThat(new String(subscriber.chunks.get(3).array(), subscriber.chunks.get(3).position(), 2)).isEqualTo("0;");
+        assertThat((long) subscriber.bytes().length).isEqualTo(provider.contentLength());
+    }
+
+    @Test
+    public void wrappedProviderIsOnlyReadForRequestedChunks() {
+        byte[] content = randomBytes(100);
+        BufferListProvider wrapped = new BufferListProvider(content, 4);
+        AwsChunkedEncodingAsyncRequestProvider provider = encoder(wrapped, 10);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        provider.subscribe(subscriber);
+
+        assertThat(subscriber.chunks).hasSize(1);
+        assertThat(wrapped.requested).isEqualTo(3);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.chunks).hasSize(3);
+        assertThat(wrapped.requested).isEqualTo(8);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    public void eachSubscriptionRestartsTheSignatureChain() {
+        byte[] content = randomBytes(1000);
+        AwsChunkedEncodingAsyncRequestProvider provider = encoder(new BufferListProvider(content, 64), 100);
+
+        CollectingSubscriber first = new CollectingSubscriber(Long.MAX_VALUE);
+        provider.subscribe(first);
+        CollectingSubscriber second = new CollectingSubscriber(Long.MAX_VALUE);
+        provider.subscribe(second);
+
+        assertThat(second.bytes()).isEqualTo(first.bytes());
+    }
+
+    private AwsChunkedEncodingAsyncRequestProvider encoder(AsyncRequestProvider content, Integer chunkSize) {
+        return AwsChunkedEncodingAsyncRequestProvider.builder()
+                                                     .requestProvider(content)
+                                                     .signingKey(SIGNING_KEY)
+                                                     .dateTime(DATE_TIME)
+                                                     .keyPath(KEY_PATH)
+                                                     .headerSignature(HEADER_SIGNATURE)
+                                                     .aws4Signer(signer)
+                                                     .chunkSize(chunkSize)
+                                                     .build();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Synchronously publishes content in buffers of a fixed size, counting the buffers requested.
+     */
+    private static final class BufferListProvider implements AsyncRequestProvider {
+        private final byte[] content;
+        private final int bufferSize;
+        private int requested;
+
+        private BufferListProvider(byte[] content, int bufferSize) {
+            this.content = content;
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public long contentLength() {
+            return content.length;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int position;
+
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n; i++) {
+                        requested++;
+                        if (position == content.length) {
+                            subscriber.onComplete();
+                            return;
+                        }
+                        int length = Math.min(bufferSize, content.length - position);
+                        subscriber.onNext(ByteBuffer.wrap(content, position, length));
+                        position += length;
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    private static final class CollectingSubscriber implements Subscriber<ByteBuffer> {
+        private final long initialDemand;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+
+        private CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            chunks.add(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        private byte[] bytes() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            chunks.forEach(c -> out.write(c.array(), c.position(), c.remaining()));
+            return out.toByteArray();
+        }
+    }
+}
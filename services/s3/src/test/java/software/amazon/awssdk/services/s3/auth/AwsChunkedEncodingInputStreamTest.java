@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+
+public class AwsChunkedEncodingInputStreamTest {
+
+    private static final byte[] SIGNING_KEY = "signing-key".getBytes(StandardCharsets.UTF_8);
+    private static final String DATE_TIME = "20170101T000000Z";
+    private static final String KEY_PATH = "20170101/us-east-1/s3/aws4_request";
+    private static final String HEADER_SIGNATURE = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final Aws4Signer signer = new Aws4Signer();
+
+    @Test
+    public void chunkSizeIsConfigurable() throws Exception {
+        byte[] content = randomBytes(40 * 1024);
+
+        byte[] encoded = IOUtils.toByteArray(encode(new ByteArrayInputStream(content), 16 * 1024));
+
+        assertThat((long) encoded.length)
+                .isEqualTo(AwsChunkedEncodingInputStream.calculateStreamContentLength(content.length, 16 * 1024));
+        assertThat(new String(encoded, 0, 5, StandardCharsets.UTF_8)).isEqualTo("4000;");
+    }
+
+    @Test
+    public void resetReplaysBufferedContentOfUnmarkableStream() throws Exception {
+        byte[] content = randomBytes(100 * 1024);
+
+        InputStream stream = encode(new UnmarkableInputStream(content), 16 * 1024);
+        stream.mark(0);
+        byte[] firstRead = IOUtils.toByteArray(stream);
+        stream.reset();
+        byte[] secondRead = IOUtils.toByteArray(stream);
+        stream.close();
+
+        assertThat(secondRead).isEqualTo(firstRead);
+        assertThat(firstRead).isEqualTo(IOUtils.toByteArray(encode(new ByteArrayInputStream(content), 16 * 1024)));
+    }
+
+    private InputStream encode(InputStream content, int chunkSize) {
+        return new AwsChunkedEncodingInputStream(content, AwsChunkedEncodingInputStream.DEFAULT_BUFFER_SIZE, chunkSize,
+                                                 SIGNING_KEY, DATE_TIME, KEY_PATH, HEADER_SIGNATURE, signer);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static final class UnmarkableInputStream extends FilterInputStream {
+        private UnmarkableInputStream(byte[] content) {
+            super(new ByteArrayInputStream(content));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+    @Test
+    public void releasedArraysAreReusedForTheSameSize() {
+        BufferPool pool = new BufferPool(1024);
+        byte[] array = pool.acquire(100);
+        pool.release(array);
+
+        assertThat(pool.acquire(200)).isNotSameAs(array);
+        assertThat(pool.acquire(100)).isSameAs(array);
+        assertThat(pool.pooledBytes()).isZero();
+    }
+
+    @Test
+    public void pooledBytesAreBounded() {
+        BufferPool pool = new BufferPool(250);
+        for (int i = 0; i < 3; i++) {
+            pool.release(new byte[100]);
+        }
+
+        assertThat(pool.pooledBytes()).isEqualTo(200);
+    }
+
+    @Test
+    public void replayBufferIsReturnedOnceWhenReleasedTwice() {
+        BufferPool pool = new BufferPool(1024);
+        DecodedStreamBuffer buffer = new DecodedStreamBuffer(100, pool);
+
+        buffer.release();
+        buffer.release();
+
+        assertThat(pool.pooledBytes()).isEqualTo(100);
+        assertThat(pool.acquire(100)).isNotSameAs(pool.acquire(100));
+    }
+}
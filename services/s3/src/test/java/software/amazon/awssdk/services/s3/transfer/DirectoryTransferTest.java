@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.event.ProgressEvent;
+import software.amazon.awssdk.core.event.ProgressEventType;
+import software.amazon.awssdk.core.event.ProgressTracker;
+
+public class DirectoryTransferTest {
+
+    private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    private final StubS3AsyncClient client = new StubS3AsyncClient();
+    private final RecordingProgressTracker progress = new RecordingProgressTracker();
+    private Path directory;
+    private DirectoryTransfer transfer;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("directory-transfer");
+        transfer = DirectoryTransfer.builder().client(client).maxConcurrentRequests(MAX_CONCURRENT_REQUESTS).build();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        client.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void uploadDirectoryUploadsEveryFileUnderThePrefix() throws IOException {
+        Map<String, byte[]> files = new TreeMap<>();
+        for (int i = 0; i < 20; i++) {
+            files.put((i % 3 == 0 ? "nested/deeper/" : i % 2 == 0 ? "nested/" : "") + "file-" + i, randomBytes(i * 1000));
+        }
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            Path path = directory.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.getValue());
+        }
+
+        DirectoryTransferResult result = transfer.uploadDirectory(directory, "bucket", "data/", progress).join();
+
+        assertThat(result.objectsTransferred()).isEqualTo(20);
+        assertThat(result.failures()).isEmpty();
+        assertThat(client.objects.keySet()).containsExactlyElementsOf(
+                files.keySet().stream().map(k -> "data/" + k).sorted().collect(Collectors.toList()));
+        files.forEach((key, content) -> assertThat(client.objects.get("data/" + key)).isEqualTo(content));
+        assertThat(client.maxInFlight.get()).isBetween(1, MAX_CONCURRENT_REQUESTS);
+
+        long totalBytes = files.values().stream().mapToLong(b -> b.length).sum();
+        assertThat(result.bytesTransferred()).isEqualTo(totalBytes);
+        assertThat(progress.getProgress().getRequestContentLength()).isEqualTo(totalBytes);
+        assertThat(progress.getProgress().getRequestBytesTransferred()).isEqualTo(totalBytes);
+        assertThat(progress.events).startsWith(ProgressEventType.TRANSFER_STARTED_EVENT)
+                                   .endsWith(ProgressEventType.TRANSFER_COMPLETED_EVENT);
+        assertThat(progress.events.stream().filter(ProgressEventType.TRANSFER_PART_COMPLETED_EVENT::equals)).hasSize(20);
+    }
+
+    @Test
+    public void downloadDirectoryDownloadsEveryObjectUnderThePrefix() throws IOException {
+        Map<String, byte[]> objects = new TreeMap<>();
+        for (int i = 0; i < 11; i++) {
+            objects.put("data/" + (i % 2 == 0 ? "nested/" : "") + "object-" + i, randomBytes(i * 5000));
+        }
+        client.objects.putAll(objects);
+        client.objects.put("data/nested/", new byte[0]);
+        client.objects.put("other/object", new byte[10]);
+
+        DirectoryTransferResult result = transfer.downloadDirectory("bucket", "data/", directory, progress).join();
+
+        assertThat(result.objectsTransferred()).isEqualTo(11);
+        assertThat(result.failures()).isEmpty();
+        for (Map.Entry<String, byte[]> object : objects.entrySet()) {
+            Path file = directory.resolve(object.getKey().substring("data/".length()));
+            assertThat(Files.readAllBytes(file)).isEqualTo(object.getValue());
+        }
+        assertThat(directory.resolve("object")).doesNotExist();
+        assertThat(client.listRequests.get()).isEqualTo(6);
+        assertThat(client.maxInFlight.get()).isBetween(1, MAX_CONCURRENT_REQUESTS);
+
+        long totalBytes = objects.values().stream().mapToLong(b -> b.length).sum();
+        assertThat(progress.getProgress().getResponseContentLength()).isEqualTo(totalBytes);
+        assertThat(progress.getProgress().getResponseBytesTransferred()).isEqualTo(totalBytes);
+        assertThat(progress.events).endsWith(ProgressEventType.TRANSFER_COMPLETED_EVENT);
+    }
+
+    @Test
+    public void downloadDirectoryWithPrefixWithoutTrailingSlashDownloadsIntoTheDirectory() throws IOException {
+        client.objects.put("data/object", randomBytes(10));
+        client.objects.put("data/nested/object", randomBytes(20));
+
+        DirectoryTransferResult result = transfer.downloadDirectory("bucket", "data", directory, progress).join();
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.objectsTransferred()).isEqualTo(2);
+        assertThat(Files.readAllBytes(directory.resolve("object"))).isEqualTo(randomBytes(10));
+        assertThat(Files.readAllBytes(directory.resolve("nested/object"))).isEqualTo(randomBytes(20));
+    }
+
+    @Test
+    public void failedObjectsAreReportedWithoutStoppingTheTransfer() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Files.write(directory.resolve("file-" + i), randomBytes(100));
+        }
+        client.failingKeys.add("file-2");
+
+        DirectoryTransferResult result = transfer.uploadDirectory(directory, "bucket", "", progress).join();
+
+        assertThat(result.objectsTransferred()).isEqualTo(4);
+        assertThat(result.failures()).containsOnlyKeys("file-2");
+        assertThat(result.failures().get("file-2")).isInstanceOf(IllegalStateException.class);
+        assertThat(progress.events).contains(ProgressEventType.TRANSFER_PART_FAILED_EVENT)
+                                   .endsWith(ProgressEventType.TRANSFER_FAILED_EVENT);
+    }
+
+    @Test
+    public void keysOutsideOfTheDirectoryAreNotDownloaded() {
+        client.objects.put("../escaped", new byte[1]);
+
+        DirectoryTransferResult result = transfer.downloadDirectory("bucket", "", directory, progress).join();
+
+        assertThat(result.failures()).containsOnlyKeys("../escaped");
+        assertThat(directory.resolve("../escaped").normalize()).doesNotExist();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static final class RecordingProgressTracker extends ProgressTracker {
+        private final List<ProgressEventType> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void progressChanged(ProgressEvent progressEvent) {
+            events.add(progressEvent.getEventType());
+            super.progressChanged(progressEvent);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkClientException;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+public class MultipartDownloaderTest {
+
+    private static final GetObjectRequest REQUEST = GetObjectRequest.builder().bucket("bucket").key("key").build();
+
+    private Path file;
+    private StubS3AsyncClient client;
+
+    @Before
+    public void setup() throws IOException {
+        client = new StubS3AsyncClient();
+        file = Files.createTempFile("multipart-downloader", ".bin");
+        Files.delete(file);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        client.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void partsAreFetchedConcurrentlyAndWrittenAtTheirOffsets() throws IOException {
+        byte[] object = object(1000 * 1024 + 123);
+
+        HeadObjectResponse head = downloader(100 * 1024, 4).download(REQUEST, file).join();
+
+        assertThat(head.eTag()).isEqualTo(StubS3AsyncClient.ETAG);
+        assertThat(Files.readAllBytes(file)).isEqualTo(object);
+        assertThat(client.ranges()).hasSize(11).contains("bytes=1024000-1024122");
+        assertThat(client.getObjectRequests).allMatch(r -> StubS3AsyncClient.ETAG.equals(r.ifMatch()));
+        assertThat(client.maxInFlight.get()).isBetween(1, 4);
+    }
+
+    @Test
+    public void failedPartResumesFromTheLastWrittenByte() throws IOException {
+        byte[] object = object(10 * 50_000);
+        client.failAfterBytes.put("bytes=100000-149999", 10_000);
+
+        downloader(50_000, 2).download(REQUEST, file).join();
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(object);
+        // The failed response was cut after the third chunk, which had been written.
+        assertThat(client.ranges()).contains("bytes=" + (100_000 + 3 * StubS3AsyncClient.RESPONSE_CHUNK_SIZE) + "-149999");
+    }
+
+    @Test
+    public void partThatKeepsFailingFailsTheDownloadAndDeletesTheFile() {
+        object(10 * 1024);
+        client.failAlways.add("bytes=5120-6143");
+
+        assertThatThrownBy(() -> downloader(1024, 2).download(REQUEST, file).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(client.ranges().stream().filter("bytes=5120-6143"::equals)).hasSize(3);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void matchingChecksumCompletesTheDownload() throws Exception {
+        byte[] object = object(300 * 1024);
+        byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(object);
+
+        downloader(64 * 1024, 4).download(REQUEST, file, "SHA-256", sha256).join();
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(object);
+    }
+
+    @Test
+    public void checksumIsCheckedOnTheChecksumExecutor() throws Exception {
+        byte[] object = object(300 * 1024);
+        byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(object);
+        List<Thread> checksumThreads = new CopyOnWriteArrayList<>();
+        Executor checksumExecutor = r -> {
+            Thread thread = new Thread(r);
+            checksumThreads.add(thread);
+            thread.start();
+        };
+
+        MultipartDownloader.builder()
+                           .client(client)
+                           .partSizeInBytes(64 * 1024L)
+                           .checksumExecutor(checksumExecutor)
+                           .build()
+                           .download(REQUEST, file, "SHA-256", sha256)
+                           .join();
+
+        assertThat(checksumThreads).hasSize(1);
+    }
+
+    @Test
+    public void mismatchedChecksumFailsTheDownloadAndDeletesTheFile() {
+        object(300 * 1024);
+
+        assertThatThrownBy(() -> downloader(64 * 1024, 4).download(REQUEST, file, "SHA-256", new byte[32]).join())
+                .hasCauseInstanceOf(SdkClientException.class);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void emptyObjectCreatesAnEmptyFile() throws IOException {
+        object(0);
+
+        downloader(1024, 2).download(REQUEST, file).join();
+
+        assertThat(Files.size(file)).isZero();
+        assertThat(client.ranges()).isEmpty();
+    }
+
+    @Test
+    public void existingFileIsNotOverwritten() throws IOException {
+        object(1024);
+        Files.write(file, new byte[] {1});
+
+        assertThatThrownBy(() -> downloader(1024, 2).download(REQUEST, file).join()).hasCauseInstanceOf(IOException.class);
+        assertThat(Files.readAllBytes(file)).containsExactly(1);
+    }
+
+    private MultipartDownloader downloader(long partSize, int maxConcurrentParts) {
+        return MultipartDownloader.builder()
+                                  .client(client)
+                                  .partSizeInBytes(partSize)
+                                  .maxConcurrentParts(maxConcurrentParts)
+                                  .build();
+    }
+
+    private byte[] object(int size) {
+        byte[] object = new byte[size];
+        new Random(size).nextBytes(object);
+        client.objects.put(REQUEST.key(), object);
+        return object;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+
+public class MultipartUploaderTest {
+
+    private static final CreateMultipartUploadRequest REQUEST = CreateMultipartUploadRequest.builder()
+                                                                                            .bucket("bucket")
+                                                                                            .key("key")
+                                                                                            .build();
+
+    private StubS3AsyncClient client;
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        client = new StubS3AsyncClient();
+        file = Files.createTempFile("multipart-uploader", ".bin");
+    }
+
+    @After
+    public void teardown() throws IOException {
+        client.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void partsAreUploadedFromTheirSlicesOfTheFileAndCompletedInOrder() throws IOException {
+        byte[] content = writeFile(1000 * 1024 + 123);
+
+        uploader(100 * 1024, 4).upload(REQUEST, file).join();
+
+        assertThat(client.parts).hasSize(11);
+        assertThat(client.completedParts.stream().map(CompletedPart::partNumber).collect(Collectors.toList()))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(client.objects.get("key")).isEqualTo(content);
+        assertThat(client.aborted.get()).isZero();
+    }
+
+    @Test
+    public void partsInFlightAreBounded() throws IOException {
+        writeFile(64 * 1024);
+
+        uploader(1024, 3).upload(REQUEST, file).join();
+
+        assertThat(client.parts).hasSize(64);
+        assertThat(client.maxInFlight.get()).isBetween(1, 3);
+    }
+
+    @Test
+    public void failedPartIsRetried() throws IOException {
+        byte[] content = writeFile(10 * 1024);
+        client.failuresBeforeSuccess.put(3, 2);
+
+        uploader(1024, 2).upload(REQUEST, file).join();
+
+        assertThat(client.attempts.get(3).get()).isEqualTo(3);
+        assertThat(client.objects.get("key")).isEqualTo(content);
+    }
+
+    @Test
+    public void partThatKeepsFailingAbortsTheUpload() throws IOException {
+        writeFile(10 * 1024);
+        client.failuresBeforeSuccess.put(5, Integer.MAX_VALUE);
+
+        CompletableFuture<CompleteMultipartUploadResponse> result = uploader(1024, 2).upload(REQUEST, file);
+
+        assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+                                        .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(client.attempts.get(5).get()).isEqualTo(3);
+        assertThat(client.aborted.get()).isEqualTo(1);
+        assertThat(client.completedParts).isNull();
+    }
+
+    @Test
+    public void emptyFileIsUploadedAsOneEmptyPart() {
+        uploader(1024, 2).upload(REQUEST, file).join();
+
+        assertThat(client.parts).hasSize(1);
+        assertThat(client.parts.get(1)).isEmpty();
+    }
+
+    @Test
+    public void missingFileFailsWithoutStartingAnUpload() throws IOException {
+        Files.delete(file);
+
+        assertThatThrownBy(() -> uploader(1024, 2).upload(REQUEST, file).join()).hasCauseInstanceOf(IOException.class);
+        assertThat(client.parts).isEmpty();
+    }
+
+    private MultipartUploader uploader(long partSize, int maxConcurrentParts) {
+        return MultipartUploader.builder()
+                                .client(client)
+                                .partSizeInBytes(partSize)
+                                .maxConcurrentParts(maxConcurrentParts)
+                                .build();
+    }
+
+    private byte[] writeFile(int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Files.write(file, content);
+        return content;
+    }
+}
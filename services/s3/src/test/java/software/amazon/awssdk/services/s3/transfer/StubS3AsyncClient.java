@@ -0,0 +1,368 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestProvider;
+import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.core.async.DeferredCompletionAsyncResponseHandler;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Stands in for an S3 bucket held in memory, completing calls on another thread. Listings return two keys per page, and
+ * object content is streamed in chunks of {@link #RESPONSE_CHUNK_SIZE} bytes. Failures can be injected per key, part or
+ * range.
+ */
+final class StubS3AsyncClient implements S3AsyncClient {
+
+    static final String ETAG = "\"etag\"";
+    static final int RESPONSE_CHUNK_SIZE = 4096;
+
+    final Map<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    final AtomicInteger listRequests = new AtomicInteger();
+    final List<String> failingKeys = new CopyOnWriteArrayList<>();
+
+    final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+    final Map<Integer, Integer> failuresBeforeSuccess = new ConcurrentHashMap<>();
+    final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    final AtomicInteger aborted = new AtomicInteger();
+    volatile List<CompletedPart> completedParts;
+
+    final List<GetObjectRequest> getObjectRequests = new CopyOnWriteArrayList<>();
+    final Map<String, Integer> failAfterBytes = new ConcurrentHashMap<>();
+    final List<String> failAlways = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    /**
+     * @return The ranges of the ranged get object requests, in the order they were made.
+     */
+    List<String> ranges() {
+        return getObjectRequests.stream().map(GetObjectRequest::range).filter(r -> r != null).collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsV2Response> listObjectsV2(ListObjectsV2Request request) {
+        listRequests.incrementAndGet();
+        List<String> keys = objects.keySet().stream().filter(k -> k.startsWith(request.prefix()))
+                                   .collect(Collectors.toList());
+        int start = request.continuationToken() == null ? 0 : Integer.parseInt(request.continuationToken());
+        int end = Math.min(start + 2, keys.size());
+        List<S3Object> page = new ArrayList<>();
+        for (String key : keys.subList(start, end)) {
+            page.add(S3Object.builder().key(key).size((long) objects.get(key).length).build());
+        }
+        return CompletableFuture.supplyAsync(() -> ListObjectsV2Response.builder()
+                                                                        .contents(page)
+                                                                        .isTruncated(end < keys.size())
+                                                                        .nextContinuationToken(String.valueOf(end))
+                                                                        .build(), executor);
+    }
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest request) {
+        return CompletableFuture.supplyAsync(() -> HeadObjectResponse.builder()
+                                                                     .contentLength((long) object(request.key()).length)
+                                                                     .eTag(ETAG)
+                                                                     .build(), executor);
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestProvider provider) {
+        started();
+        CompletableFuture<PutObjectResponse> response = new CompletableFuture<>();
+        readBody(provider, response, body -> {
+            if (failingKeys.contains(request.key())) {
+                response.completeExceptionally(new IllegalStateException("Access denied"));
+            } else {
+                objects.put(request.key(), body);
+                response.complete(PutObjectResponse.builder().build());
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(CreateMultipartUploadRequest request) {
+        return CompletableFuture.supplyAsync(() -> CreateMultipartUploadResponse.builder().uploadId("upload-id").build(),
+                                             executor);
+    }
+
+    @Override
+    public CompletableFuture<UploadPartResponse> uploadPart(UploadPartRequest request, AsyncRequestProvider provider) {
+        int partNumber = request.partNumber();
+        int attempt = attempts.computeIfAbsent(partNumber, n -> new AtomicInteger()).incrementAndGet();
+        started();
+        CompletableFuture<UploadPartResponse> response = new CompletableFuture<>();
+        readBody(provider, response, body -> {
+            if (body.length != request.contentLength()) {
+                response.completeExceptionally(new IllegalStateException("Wrong content length"));
+            } else if (attempt <= failuresBeforeSuccess.getOrDefault(partNumber, 0)) {
+                response.completeExceptionally(new IllegalStateException("Part " + partNumber + " failed"));
+            } else {
+                parts.put(partNumber, body);
+                response.complete(UploadPartResponse.builder().eTag("etag-" + partNumber).build());
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        completedParts = request.multipartUpload().parts();
+        return CompletableFuture.supplyAsync(() -> {
+            ByteArrayOutputStream object = new ByteArrayOutputStream();
+            for (CompletedPart part : completedParts) {
+                if (!part.eTag().equals("etag-" + part.partNumber())) {
+                    throw new IllegalStateException("Wrong ETag for part " + part.partNumber());
+                }
+                byte[] bytes = parts.get(part.partNumber());
+                object.write(bytes, 0, bytes.length);
+            }
+            objects.put(request.key(), object.toByteArray());
+            return CompleteMultipartUploadResponse.builder().build();
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(AbortMultipartUploadRequest request) {
+        aborted.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> AbortMultipartUploadResponse.builder().build(), executor);
+    }
+
+    @Override
+    public <ReturnT> CompletableFuture<ReturnT> getObject(GetObjectRequest request,
+                                                          AsyncResponseHandler<GetObjectResponse, ReturnT> handler) {
+        getObjectRequests.add(request);
+        byte[] object = object(request.key());
+        String range = request.range();
+        int start = 0;
+        int end = object.length;
+        int failAfter = Integer.MAX_VALUE;
+        if (range != null) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            start = Integer.parseInt(bounds[0]);
+            end = Integer.parseInt(bounds[1]) + 1;
+            failAfter = failAlways.contains(range) ? 0 : failAfterBytes.getOrDefault(range, Integer.MAX_VALUE);
+            failAfterBytes.remove(range);
+        }
+        long contentLength = end - start;
+        started();
+
+        CompletableFuture<ReturnT> response = new CompletableFuture<>();
+        RangeSubscription<ReturnT> subscription = new RangeSubscription<>(object, handler, response, start, end, failAfter);
+        executor.execute(() -> {
+            handler.responseReceived(GetObjectResponse.builder().contentLength(contentLength).build());
+            handler.onStream(subscription::subscribe);
+        });
+        return response;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] object(String key) {
+        byte[] object = objects.get(key);
+        if (object == null) {
+            throw new IllegalStateException("No such key: " + key);
+        }
+        return object;
+    }
+
+    private void started() {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Reads the whole request body and passes it to {@code onBody} on another thread, or fails {@code response} if the body
+     * can't be read.
+     */
+    private void readBody(AsyncRequestProvider provider, CompletableFuture<?> response, Consumer<byte[]> onBody) {
+        provider.subscribe(new Subscriber<ByteBuffer>() {
+            private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                body.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                inFlight.decrementAndGet();
+                response.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                executor.execute(() -> {
+                    inFlight.decrementAndGet();
+                    onBody.accept(body.toByteArray());
+                });
+            }
+        });
+    }
+
+    /**
+     * Streams bytes {@code start} to {@code end} of an object to the response handler's subscriber. Demand may be signalled
+     * from any thread, and even from within {@code onNext}, but only one thread emits at a time.
+     */
+    private final class RangeSubscription<ReturnT> implements Subscription {
+        private final byte[] object;
+        private final AsyncResponseHandler<GetObjectResponse, ReturnT> handler;
+        private final CompletableFuture<ReturnT> response;
+        private final int end;
+        private final int failAt;
+        private Subscriber<? super ByteBuffer> subscriber;
+        private int position;
+        private long demand;
+        private boolean emitting;
+        private boolean done;
+
+        private RangeSubscription(byte[] object, AsyncResponseHandler<GetObjectResponse, ReturnT> handler,
+                                  CompletableFuture<ReturnT> response, int start, int end, int failAfter) {
+            this.object = object;
+            this.handler = handler;
+            this.response = response;
+            this.position = start;
+            this.end = end;
+            this.failAt = failAfter == Integer.MAX_VALUE ? Integer.MAX_VALUE : start + failAfter;
+        }
+
+        private void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            synchronized (this) {
+                this.subscriber = subscriber;
+            }
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                demand += n;
+                if (emitting) {
+                    return;
+                }
+                emitting = true;
+            }
+            while (true) {
+                int chunkStart;
+                synchronized (this) {
+                    if (done || demand == 0) {
+                        emitting = false;
+                        return;
+                    }
+                    demand--;
+                    chunkStart = position;
+                    if (chunkStart >= failAt || chunkStart == end) {
+                        done = true;
+                    } else {
+                        position = Math.min(chunkStart + RESPONSE_CHUNK_SIZE, end);
+                    }
+                }
+                if (chunkStart >= failAt) {
+                    inFlight.decrementAndGet();
+                    IllegalStateException error = new IllegalStateException("Connection reset");
+                    subscriber.onError(error);
+                    handler.exceptionOccurred(error);
+                    response.completeExceptionally(error);
+                } else if (chunkStart == end) {
+                    inFlight.decrementAndGet();
+                    subscriber.onComplete();
+                    complete();
+                } else {
+                    int length = Math.min(RESPONSE_CHUNK_SIZE, end - chunkStart);
+                    subscriber.onNext(ByteBuffer.wrap(object, chunkStart, length).slice());
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+            }
+        }
+
+        /**
+         * Completes the response like the client does, once a handler that outlasts its completion has finished.
+         */
+        private void complete() {
+            ReturnT result = handler.complete();
+            if (handler instanceof DeferredCompletionAsyncResponseHandler) {
+                ((DeferredCompletionAsyncResponseHandler<?, ?>) handler).whenFinished().whenComplete((v, error) -> {
+                    if (error != null) {
+                        response.completeExceptionally(error);
+                    } else {
+                        response.complete(result);
+                    }
+                });
+            } else {
+                response.complete(result);
+            }
+        }
+    }
+}
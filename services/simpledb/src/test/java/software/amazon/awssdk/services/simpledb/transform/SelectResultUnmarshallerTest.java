@@ -17,8 +17,8 @@ package software.amazon.awssdk.services.simpledb.transform;
 
 import static org.junit.Assert.assertTrue;
 
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 import org.junit.Test;
 import software.amazon.awssdk.core.runtime.transform.StaxUnmarshallerContext;
 import software.amazon.awssdk.services.simpledb.model.Item;
@@ -32,9 +32,9 @@ public class SelectResultUnmarshallerTest {
     @Test
     public final void testUnmarshall() throws Exception {
         XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-        XMLEventReader eventReader = xmlInputFactory.createXMLEventReader(DomainMetadataResultUnmarshallerTest.class
+        XMLStreamReader streamReader = xmlInputFactory.createXMLStreamReader(DomainMetadataResultUnmarshallerTest.class
                                                                                   .getResourceAsStream("SelectResponse.xml"));
-        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader);
+        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(streamReader);
         SelectResponse result = new SelectResponseUnmarshaller().unmarshall(unmarshallerContext);
 
         assertTrue(!result.items().isEmpty());
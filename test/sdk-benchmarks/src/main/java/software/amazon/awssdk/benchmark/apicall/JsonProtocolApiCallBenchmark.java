@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.StubSdkHttpClient;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.auth.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.builder.ClientHttpConfiguration;
+import software.amazon.awssdk.core.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDBClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+/**
+ * Measures a full synchronous JSON protocol API call (marshalling, user agent, signing, response handling) against a stub
+ * HTTP client. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} to see the allocations per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonProtocolApiCallBenchmark {
+
+    private DynamoDBClient client;
+    private PutItemRequest putItemRequest;
+
+    @Setup
+    public void setup() {
+        client = DynamoDBClient.builder()
+                               .region(Region.US_WEST_2)
+                               .credentialsProvider(new StaticCredentialsProvider(new AwsCredentials("akid", "skid")))
+                               .httpConfiguration(ClientHttpConfiguration.builder()
+                                                                         .httpClient(new StubSdkHttpClient(200, "{}"))
+                                                                         .build())
+                               .build();
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", AttributeValue.builder().s("5ad1f5e8-8df4-4b6d-9b8c-0a6fa3f6e0c1").build());
+        item.put("name", AttributeValue.builder().s("benchmark").build());
+        item.put("count", AttributeValue.builder().n("42").build());
+        putItemRequest = PutItemRequest.builder().tableName("benchmark-table").item(item).build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Benchmark
+    public PutItemResponse putItem() {
+        return client.putItem(putItemRequest);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.FileAsyncRequestProvider;
+
+/**
+ * Measures how fast {@link FileAsyncRequestProvider} streams a file into a local sink that copies each chunk into a direct
+ * buffer, the way an HTTP client writes it to a socket. The sink requests {@value #SINK_DEMAND} chunks at a time. Multiply
+ * operations per second by {@value #FILE_SIZE_MB} to get MB/s, and run with {@code -prof gc} to see the allocations.
+ *
+ * <p>The file is written during setup, so it's usually in the page cache and this measures the cost of the reads rather than
+ * of the disk.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FileAsyncRequestProviderBenchmark {
+
+    private static final int FILE_SIZE_MB = 64;
+    private static final int SINK_DEMAND = 16;
+
+    @Param({"heap", "direct", "mapped"})
+    private String buffers;
+
+    @Param({"1", "4"})
+    private int maxConcurrentReads;
+
+    @Param({"16384", "131072"})
+    private int chunkSize;
+
+    private Path file;
+    private FileAsyncRequestProvider provider;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] content = new byte[FILE_SIZE_MB * 1024 * 1024];
+        new Random(0).nextBytes(content);
+        file = Files.createTempFile("file-async-request-provider-benchmark", ".bin");
+        Files.write(file, content);
+        provider = FileAsyncRequestProvider.builder()
+                                           .path(file)
+                                           .chunkSizeInBytes(chunkSize)
+                                           .maxConcurrentReads(maxConcurrentReads)
+                                           .directBuffers("direct".equals(buffers))
+                                           .memoryMapped("mapped".equals(buffers))
+                                           .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long streamFile() {
+        SinkSubscriber sink = new SinkSubscriber(chunkSize);
+        provider.subscribe(sink);
+        return sink.done.join();
+    }
+
+    /**
+     * Copies every chunk into the same direct buffer, requesting more chunks as each batch is consumed.
+     */
+    private static final class SinkSubscriber implements Subscriber<ByteBuffer> {
+        private final ByteBuffer sink;
+        private final CompletableFuture<Long> done = new CompletableFuture<>();
+        private Subscription subscription;
+        private int remainingInBatch;
+        private long bytes;
+
+        private SinkSubscriber(int chunkSize) {
+            this.sink = ByteBuffer.allocateDirect(chunkSize);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            remainingInBatch = SINK_DEMAND;
+            s.request(SINK_DEMAND);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            bytes += buffer.remaining();
+            sink.clear();
+            sink.put(buffer);
+            if (--remainingInBatch == 0) {
+                remainingInBatch = SINK_DEMAND;
+                subscription.request(SINK_DEMAND);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(bytes);
+        }
+    }
+}
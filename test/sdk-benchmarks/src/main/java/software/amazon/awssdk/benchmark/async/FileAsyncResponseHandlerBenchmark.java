@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.core.async.DeferredCompletionAsyncResponseHandler;
+
+/**
+ * Measures how fast {@link AsyncResponseHandler#toFile(Path, int, Executor)} writes a streamed response to a file. The
+ * response comes from a local streaming server: a single thread that, like an HTTP client's event loop, copies each chunk
+ * it's asked for into a new buffer and delivers it. Multiply operations per second by {@value #RESPONSE_SIZE_MB} to get
+ * MB/s. A window of one write is how responses were written before writes were pipelined.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FileAsyncResponseHandlerBenchmark {
+
+    private static final int RESPONSE_SIZE_MB = 64;
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"1", "8"})
+    private int maxOutstandingWrites;
+
+    @Param({"false", "true"})
+    private boolean syncOnComplete;
+
+    private final ExecutorService eventLoop = Executors.newSingleThreadExecutor();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor();
+    private byte[] response;
+    private Path directory;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        response = new byte[RESPONSE_SIZE_MB * 1024 * 1024];
+        new Random(0).nextBytes(response);
+        directory = Files.createTempDirectory("file-async-response-handler-benchmark");
+    }
+
+    @Setup(Level.Invocation)
+    public void chooseFile() {
+        file = directory.resolve("response.bin");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        eventLoop.shutdownNow();
+        syncExecutor.shutdownNow();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Object downloadToFile() throws InterruptedException {
+        AsyncResponseHandler<Object, Object> handler = AsyncResponseHandler.toFile(file, maxOutstandingWrites,
+                                                                                   syncOnComplete ? syncExecutor : null);
+        StreamingServer server = new StreamingServer();
+        handler.responseReceived(Boolean.TRUE);
+        handler.onStream(server);
+        server.streamed.await();
+        Object result = handler.complete();
+        ((DeferredCompletionAsyncResponseHandler<?, ?>) handler).whenFinished().join();
+        return result;
+    }
+
+    /**
+     * Delivers the response in chunks from the event loop thread as they're requested.
+     */
+    private final class StreamingServer implements Publisher<ByteBuffer> {
+        private final CountDownLatch streamed = new CountDownLatch(1);
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private long demand;
+                private int position;
+
+                @Override
+                public void request(long n) {
+                    eventLoop.execute(() -> {
+                        demand += n;
+                        while (demand > 0 && position < response.length) {
+                            int length = Math.min(CHUNK_SIZE, response.length - position);
+                            ByteBuffer chunk = ByteBuffer.allocate(length);
+                            chunk.put(response, position, length).flip();
+                            position += length;
+                            demand--;
+                            subscriber.onNext(chunk);
+                        }
+                        if (position == response.length && streamed.getCount() > 0) {
+                            subscriber.onComplete();
+                            streamed.countDown();
+                        }
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
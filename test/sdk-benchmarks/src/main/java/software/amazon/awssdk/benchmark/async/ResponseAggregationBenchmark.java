@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncResponseHandler;
+import software.amazon.awssdk.core.http.HttpResponse;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.http.async.SyncResponseHandlerAdapter;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+/**
+ * Measures the cost of collecting a streamed response body in memory, as the async client does for every non-streaming
+ * response and for {@link AsyncResponseHandler#toByteArray()}. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} against {@link #byteArrayOutputStream()}, which is how bodies were collected before they
+ * were presized from the Content-Length header.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseAggregationBenchmark {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"1024", "65536", "1048576", "52428800"})
+    private int bodySize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final byte[] scratch = new byte[CHUNK_SIZE];
+
+    @Setup
+    public void setup() {
+        byte[] body = new byte[bodySize];
+        for (int i = 0; i < bodySize; i += CHUNK_SIZE) {
+            chunks.add(ByteBuffer.wrap(body, i, Math.min(CHUNK_SIZE, bodySize - i)).slice());
+        }
+    }
+
+    @Benchmark
+    public Object byteArrayOutputStream() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new ChunkPublisher().subscribe(new SimpleSubscriber(b -> {
+            try {
+                baos.write(BinaryUtils.copyBytesFrom(b));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return baos.toByteArray();
+    }
+
+    @Benchmark
+    public Object syncResponseHandlerWithContentLength() {
+        return aggregateThroughSyncResponseHandler(true);
+    }
+
+    @Benchmark
+    public Object syncResponseHandlerWithoutContentLength() {
+        return aggregateThroughSyncResponseHandler(false);
+    }
+
+    @Benchmark
+    public Object toByteArray() {
+        AsyncResponseHandler<Object, byte[]> handler = AsyncResponseHandler.toByteArray();
+        handler.responseReceived(Boolean.TRUE);
+        handler.onStream(new ChunkPublisher());
+        return handler.complete();
+    }
+
+    private Object aggregateThroughSyncResponseHandler(boolean withContentLength) {
+        HttpResponseHandler<Integer> drain = (response, attributes) -> drain(response.getContent());
+        SyncResponseHandlerAdapter<Integer> handler =
+                new SyncResponseHandlerAdapter<>(drain, ResponseAggregationBenchmark::adapt, new ExecutionAttributes());
+        SdkHttpFullResponse.Builder response = SdkHttpFullResponse.builder().statusCode(200);
+        if (withContentLength) {
+            response.header("Content-Length", String.valueOf(bodySize));
+        }
+        handler.headersReceived(response.build());
+        handler.onStream(new ChunkPublisher());
+        return handler.complete();
+    }
+
+    private static HttpResponse adapt(SdkHttpFullResponse response) {
+        HttpResponse httpResponse = new HttpResponse(null);
+        httpResponse.setStatusCode(response.statusCode());
+        httpResponse.setContent(response.content().orElse(null));
+        return httpResponse;
+    }
+
+    private int drain(InputStream content) throws IOException {
+        int total = 0;
+        for (int read = content.read(scratch); read != -1; read = content.read(scratch)) {
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Delivers the body in chunks on the calling thread as they're requested, the way the HTTP client hands over
+     * buffers it has already copied out of the connection.
+     */
+    private final class ChunkPublisher implements Publisher<ByteBuffer> {
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private long demand;
+                private int next;
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    demand += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next < chunks.size()) {
+                        demand--;
+                        subscriber.onNext(chunks.get(next++).duplicate());
+                    }
+                    emitting = false;
+                    if (next == chunks.size()) {
+                        next++;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.marshalling;
+
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+
+/**
+ * Marshalls a json-rpc {@code AllTypes} request and unmarshalls its response with one of the protocol test clients, so
+ * {@link TableDrivenMarshallingBenchmark} can compare the generated and table-driven code for the same service model.
+ */
+interface AllTypesCodec {
+
+    /**
+     * Marshalls a request that has a structure for each entry of its lists and maps of structures.
+     */
+    Object marshall();
+
+    Object unmarshall(JsonUnmarshallerContext context) throws Exception;
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.marshalling;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.transform.SendMessageBatchRequestMarshaller;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.http.FormDataEncoder;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+/**
+ * Measures turning the parameters of a query protocol request into its form encoded body and the body's payload hash, as
+ * the signer computes it. The parameters are those of an SQS {@code SendMessageBatch} of {@link #messageCount} one kilobyte
+ * messages with three attributes each. {@link #flattenedString()} is the way it was done through an encoded copy of the
+ * parameters and a string, {@link #formDataEncoder()} is the way it's done now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormDataEncodingBenchmark {
+
+    @Param({"1", "10"})
+    private int messageCount;
+
+    private Map<String, List<String>> parameters;
+
+    @Setup
+    public void setup() {
+        StringBuilder body = new StringBuilder();
+        while (body.length() < 1024) {
+            body.append("{\"id\": ").append(body.length()).append(", \"text\": \"Hello, world & everyone else!\"} ");
+        }
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            Map<String, MessageAttributeValue> attributes = new HashMap<>();
+            for (int j = 0; j < 3; j++) {
+                attributes.put("attribute-" + j, MessageAttributeValue.builder()
+                                                                      .dataType("String")
+                                                                      .stringValue("value " + j)
+                                                                      .build());
+            }
+            entries.add(SendMessageBatchRequestEntry.builder()
+                                                    .id("message-" + i)
+                                                    .messageBody(body.toString())
+                                                    .messageAttributes(attributes)
+                                                    .build());
+        }
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                                                                 .queueUrl("https://sqs.us-east-1.amazonaws.com/123/queue")
+                                                                 .entries(entries)
+                                                                 .build();
+        parameters = new SendMessageBatchRequestMarshaller().marshall(request).getParameters();
+    }
+
+    @Benchmark
+    public String flattenedString() throws NoSuchAlgorithmException {
+        byte[] content = SdkHttpUtils.encodeAndFlattenFormData(parameters).orElse("").getBytes(StandardCharsets.UTF_8);
+        return sha256Hex(content, 0, content.length);
+    }
+
+    @Benchmark
+    public String formDataEncoder() throws NoSuchAlgorithmException {
+        FormDataEncoder content = FormDataEncoder.encode(parameters);
+        return sha256Hex(content.array(), 0, content.length());
+    }
+
+    private static String sha256Hex(byte[] data, int offset, int length) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(data, offset, length);
+        return BinaryUtils.toHex(digest.digest());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.marshalling;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.Request;
+import software.amazon.awssdk.core.protocol.json.JsonClientMetadata;
+import software.amazon.awssdk.core.protocol.json.SdkJsonProtocolFactory;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.transform.BatchWriteItemRequestMarshaller;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsRequest;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsRequestEntry;
+import software.amazon.awssdk.services.kinesis.transform.PutRecordsRequestMarshaller;
+
+/**
+ * Measures the generated JSON marshallers on large batch requests. A DynamoDB {@code BatchWriteItem} of {@link #batchSize}
+ * twenty attribute items is almost entirely nested {@code AttributeValue} maps and lists, while a Kinesis {@code PutRecords}
+ * of twenty times as many one kilobyte records, written as CBOR, is dominated by binary data. Run with {@code -prof gc} to
+ * see the allocations per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonMarshallerBenchmark {
+
+    @Param({"1", "25"})
+    private int batchSize;
+
+    private BatchWriteItemRequestMarshaller batchWriteItemMarshaller;
+    private PutRecordsRequestMarshaller putRecordsMarshaller;
+    private BatchWriteItemRequest batchWriteItemRequest;
+    private PutRecordsRequest putRecordsRequest;
+
+    @Setup
+    public void setup() {
+        batchWriteItemMarshaller = new BatchWriteItemRequestMarshaller(
+                new SdkJsonProtocolFactory(new JsonClientMetadata().withProtocolVersion("1.0")
+                                                                   .withSupportsCbor(false)
+                                                                   .withSupportsIon(false)));
+        putRecordsMarshaller = new PutRecordsRequestMarshaller(
+                new SdkJsonProtocolFactory(new JsonClientMetadata().withProtocolVersion("1.1")
+                                                                   .withSupportsCbor(true)
+                                                                   .withSupportsIon(false)));
+
+        List<WriteRequest> writeRequests = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            writeRequests.add(WriteRequest.builder().putRequest(PutRequest.builder().item(item(i)).build()).build());
+        }
+        Map<String, List<WriteRequest>> requestItems = new HashMap<>();
+        requestItems.put("table", writeRequests);
+        batchWriteItemRequest = BatchWriteItemRequest.builder().requestItems(requestItems).build();
+
+        List<PutRecordsRequestEntry> records = new ArrayList<>();
+        byte[] data = new byte[1024];
+        for (int i = 0; i < batchSize * 20; i++) {
+            records.add(PutRecordsRequestEntry.builder()
+                                              .partitionKey("partition-" + i)
+                                              .data(ByteBuffer.wrap(data))
+                                              .build());
+        }
+        putRecordsRequest = PutRecordsRequest.builder().streamName("stream").records(records).build();
+    }
+
+    @Benchmark
+    public Request<BatchWriteItemRequest> batchWriteItem() {
+        return batchWriteItemMarshaller.marshall(batchWriteItemRequest);
+    }
+
+    @Benchmark
+    public Request<PutRecordsRequest> putRecords() {
+        return putRecordsMarshaller.marshall(putRecordsRequest);
+    }
+
+    /**
+     * A twenty attribute item that touches every {@code AttributeValue} member, including nested maps and lists.
+     */
+    private static Map<String, AttributeValue> item(int index) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("id", AttributeValue.builder().s("item-" + index).build());
+        for (int i = 0; i < 4; i++) {
+            item.put("string" + i, AttributeValue.builder().s("value-" + i).build());
+            item.put("number" + i, AttributeValue.builder().n(Integer.toString(index * 10 + i)).build());
+            item.put("flag" + i, AttributeValue.builder().bool(i % 2 == 0).build());
+        }
+        item.put("binary", AttributeValue.builder().b(ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9})).build());
+        item.put("missing", AttributeValue.builder().nul(true).build());
+        item.put("strings", AttributeValue.builder().ss("a", "b", "c").build());
+        item.put("numbers", AttributeValue.builder().ns("1", "2", "3").build());
+        item.put("binaries", AttributeValue.builder().bs(ByteBuffer.wrap(new byte[] {0, 1}),
+                                                         ByteBuffer.wrap(new byte[] {2, 3})).build());
+        item.put("list", AttributeValue.builder().l(AttributeValue.builder().s("x").build(),
+                                                    AttributeValue.builder().n("1").build(),
+                                                    AttributeValue.builder().bool(false).build()).build());
+        Map<String, AttributeValue> deeper = new HashMap<>();
+        deeper.put("leaf", AttributeValue.builder().n("2").build());
+        Map<String, AttributeValue> map = new HashMap<>();
+        map.put("nested", AttributeValue.builder().s("y").build());
+        map.put("deeper", AttributeValue.builder().m(deeper).build());
+        item.put("map", AttributeValue.builder().m(map).build());
+        return item;
+    }
+}
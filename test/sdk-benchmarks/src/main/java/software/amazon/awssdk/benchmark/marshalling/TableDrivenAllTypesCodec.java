@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.marshalling;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.core.protocol.json.JsonClientMetadata;
+import software.amazon.awssdk.core.protocol.json.SdkJsonProtocolFactory;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.model.AllTypesRequest;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.model.RecursiveStructType;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.model.SimpleStruct;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.model.StructWithTimestamp;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.transform.AllTypesRequestMarshaller;
+import software.amazon.awssdk.services.protocoljsonrpctabledriven.transform.AllTypesResponseUnmarshaller;
+
+/**
+ * {@link AllTypesCodec} for the json-rpc protocol test client with model shapes marshalled and unmarshalled from their
+ * field tables.
+ */
+final class TableDrivenAllTypesCodec implements AllTypesCodec {
+
+    private final AllTypesRequestMarshaller marshaller;
+    private final AllTypesRequest request;
+
+    TableDrivenAllTypesCodec(int size) {
+        this.marshaller = new AllTypesRequestMarshaller(
+                new SdkJsonProtocolFactory(new JsonClientMetadata().withProtocolVersion("1.1")
+                                                                   .withSupportsCbor(false)
+                                                                   .withSupportsIon(false)));
+
+        List<SimpleStruct> structs = new ArrayList<>();
+        Map<String, SimpleStruct> structMap = new HashMap<>();
+        List<RecursiveStructType> children = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            structs.add(SimpleStruct.builder().stringMember("value-" + i).build());
+            structMap.put("key-" + i, SimpleStruct.builder().stringMember("value-" + i).build());
+            children.add(RecursiveStructType.builder()
+                                            .noRecurse("child-" + i)
+                                            .recursiveStruct(RecursiveStructType.builder().noRecurse("leaf-" + i).build())
+                                            .build());
+        }
+        this.request = AllTypesRequest.builder()
+                                      .stringMember("string")
+                                      .integerMember(42)
+                                      .booleanMember(true)
+                                      .longMember(42L)
+                                      .listOfStructs(structs)
+                                      .mapOfStringToStruct(structMap)
+                                      .timestampMember(Instant.ofEpochSecond(1500000000L))
+                                      .structWithNestedTimestampMember(StructWithTimestamp.builder()
+                                                                                          .nestedTimestamp(Instant.EPOCH)
+                                                                                          .build())
+                                      .recursiveStruct(RecursiveStructType.builder()
+                                                                          .noRecurse("root")
+                                                                          .recursiveList(children)
+                                                                          .build())
+                                      .build();
+    }
+
+    @Override
+    public Object marshall() {
+        return marshaller.marshall(request);
+    }
+
+    @Override
+    public Object unmarshall(JsonUnmarshallerContext context) throws Exception {
+        return AllTypesResponseUnmarshaller.getInstance().unmarshall(context);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.marshalling;
+
+import com.fasterxml.jackson.core.JsonParser;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.core.protocol.json.SdkStructuredPlainJsonFactory;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContextImpl;
+
+/**
+ * Compares the json-rpc protocol test client generated with per-shape marshallers and unmarshallers against the same
+ * service generated with {@code tableDrivenMarshalling}, where model shapes are driven by their field tables instead.
+ * {@link #marshall()} and {@link #unmarshall()} measure steady-state cost on an {@code AllTypes} request and response
+ * with {@link #size} entries in each list and map of structures. {@link #firstCall(Blackhole)} runs once in each of ten
+ * fresh JVMs to measure the first request and response, including loading the marshalling classes. Run it with
+ * {@code -prof cl} to count the classes the first call loads, and with {@code -jvmArgsAppend
+ * "-XX:NativeMemoryTracking=summary -XX:+UnlockDiagnosticVMOptions -XX:+PrintNMTStatistics"} to see the metaspace
+ * (the {@code Class} category) each fork ends up with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TableDrivenMarshallingBenchmark {
+
+    @Param({"generated", "tableDriven"})
+    private String codegen;
+
+    @Param({"1", "50"})
+    private int size;
+
+    private AllTypesCodec codec;
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() {
+        codec = "generated".equals(codegen) ? new GeneratedAllTypesCodec(size) : new TableDrivenAllTypesCodec(size);
+
+        StringBuilder structs = new StringBuilder();
+        StringBuilder structMap = new StringBuilder();
+        StringBuilder children = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            String separator = i == 0 ? "" : ",";
+            structs.append(separator).append("{\"StringMember\":\"value-").append(i).append("\"}");
+            structMap.append(separator).append("\"key-").append(i)
+                     .append("\":{\"StringMember\":\"value-").append(i).append("\"}");
+            children.append(separator).append("{\"NoRecurse\":\"child-").append(i)
+                    .append("\",\"RecursiveStruct\":{\"NoRecurse\":\"leaf-").append(i).append("\"}}");
+        }
+        responseBody = ("{\"StringMember\":\"string\",\"IntegerMember\":42,\"BooleanMember\":true,\"LongMember\":42,"
+                        + "\"ListOfStructs\":[" + structs + "],"
+                        + "\"MapOfStringToStruct\":{" + structMap + "},"
+                        + "\"TimestampMember\":1500000000,"
+                        + "\"StructWithNestedTimestampMember\":{\"NestedTimestamp\":0},"
+                        + "\"RecursiveStruct\":{\"NoRecurse\":\"root\",\"RecursiveList\":[" + children + "]}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object marshall() {
+        return codec.marshall();
+    }
+
+    @Benchmark
+    public Object unmarshall() throws Exception {
+        return codec.unmarshall(context(responseBody));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void firstCall(Blackhole blackhole) throws Exception {
+        blackhole.consume(codec.marshall());
+        blackhole.consume(codec.unmarshall(context(responseBody)));
+    }
+
+    private static JsonUnmarshallerContextImpl context(byte[] body) throws Exception {
+        JsonParser parser = SdkStructuredPlainJsonFactory.JSON_FACTORY.createParser(body);
+        return new JsonUnmarshallerContextImpl(parser, SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, null);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.s3;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+import software.amazon.awssdk.services.s3.auth.AwsChunkedEncodingInputStream;
+
+/**
+ * Measures the throughput of aws-chunked encoding uploads with {@link AwsChunkedEncodingInputStream}, for a large object and
+ * for a small object read from a stream that doesn't support mark and reset (so the replay buffer is used). Multiply
+ * {@code largeUpload} operations per second by {@value #LARGE_UPLOAD_MB} to get MB/s, and run with {@code -prof gc} to see
+ * the allocations and GC rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AwsChunkedEncodingBenchmark {
+
+    private static final int LARGE_UPLOAD_MB = 16;
+    private static final int SMALL_UPLOAD_SIZE = 64 * 1024;
+
+    private static final byte[] SIGNING_KEY = "signing-key".getBytes(StandardCharsets.UTF_8);
+    private static final String DATE_TIME = "20170101T000000Z";
+    private static final String KEY_PATH = "20170101/us-west-2/s3/aws4_request";
+    private static final String HEADER_SIGNATURE = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Param({"131072", "1048576"})
+    private int chunkSize;
+
+    private final Aws4Signer signer = new Aws4Signer(false);
+    private final byte[] readBuffer = new byte[64 * 1024];
+
+    private byte[] largeObject;
+    private byte[] smallObject;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        largeObject = new byte[LARGE_UPLOAD_MB * 1024 * 1024];
+        random.nextBytes(largeObject);
+        smallObject = new byte[SMALL_UPLOAD_SIZE];
+        random.nextBytes(smallObject);
+    }
+
+    @Benchmark
+    public long largeUpload() throws IOException {
+        return drain(encode(new ByteArrayInputStream(largeObject)));
+    }
+
+    @Benchmark
+    public long smallUploadFromUnmarkableStream() throws IOException {
+        InputStream stream = encode(new UnmarkableInputStream(smallObject));
+        stream.mark(0);
+        return drain(stream);
+    }
+
+    private InputStream encode(InputStream content) {
+        return new AwsChunkedEncodingInputStream(content, Math.max(AwsChunkedEncodingInputStream.DEFAULT_BUFFER_SIZE, chunkSize),
+                                                 chunkSize, SIGNING_KEY, DATE_TIME, KEY_PATH, HEADER_SIGNATURE, signer);
+    }
+
+    private long drain(InputStream stream) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = stream.read(readBuffer, 0, readBuffer.length)) != -1) {
+            total += read;
+        }
+        stream.close();
+        return total;
+    }
+
+    private static final class UnmarkableInputStream extends FilterInputStream {
+        private UnmarkableInputStream(byte[] content) {
+            super(new ByteArrayInputStream(content));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
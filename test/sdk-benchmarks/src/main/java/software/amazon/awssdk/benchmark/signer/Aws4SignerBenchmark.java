@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.interceptor.AwsExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+/**
+ * Measures {@link Aws4Signer#sign} for the typical shapes of requests sent by the JSON, query and REST-XML (S3) protocols.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} to see the allocations per signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Aws4SignerBenchmark {
+
+    private static final AwsCredentials CREDENTIALS =
+            new AwsCredentials("AKIDEXAMPLE", "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY");
+
+    private static final String USER_AGENT = "aws-sdk-java/2.0.0 Linux/4.9 OpenJDK_64-Bit_Server_VM/25.0";
+
+    private Aws4Signer jsonSigner;
+    private Aws4Signer querySigner;
+    private Aws4Signer s3Signer;
+
+    private InterceptorContext jsonRequest;
+    private InterceptorContext queryRequest;
+    private InterceptorContext s3Request;
+
+    private ExecutionAttributes executionAttributes;
+
+    @Setup
+    public void setup() {
+        jsonSigner = signer(true, "dynamodb");
+        querySigner = signer(true, "sqs");
+        s3Signer = signer(false, "s3");
+
+        executionAttributes = new ExecutionAttributes().putAttribute(AwsExecutionAttributes.AWS_CREDENTIALS, CREDENTIALS);
+
+        jsonRequest = context(SdkHttpFullRequest.builder()
+                                                .method(SdkHttpMethod.POST)
+                                                .protocol("https")
+                                                .host("dynamodb.us-west-2.amazonaws.com")
+                                                .encodedPath("/")
+                                                .header("Content-Type", "application/x-amz-json-1.0")
+                                                .header("X-Amz-Target", "DynamoDB_20120810.PutItem")
+                                                .header("User-Agent", USER_AGENT)
+                                                .content(content("{\"TableName\":\"benchmark-table\",\"Item\":"
+                                                                 + "{\"id\":{\"S\":\"5ad1f5e8\"},\"count\":{\"N\":\"42\"}}}")));
+
+        queryRequest = context(SdkHttpFullRequest.builder()
+                                                 .method(SdkHttpMethod.POST)
+                                                 .protocol("https")
+                                                 .host("sqs.us-west-2.amazonaws.com")
+                                                 .encodedPath("/123456789012/benchmark-queue")
+                                                 .header("Content-Type", "application/x-www-form-urlencoded; charset=utf-8")
+                                                 .header("User-Agent", USER_AGENT)
+                                                 .rawQueryParameter("Action", "SendMessage")
+                                                 .rawQueryParameter("Version", "2012-11-05")
+                                                 .rawQueryParameter("MessageBody", "hello world: {\"a\": 1}")
+                                                 .rawQueryParameter("DelaySeconds", "0")
+                                                 .rawQueryParameter("MessageAttribute.1.Name", "trace")
+                                                 .rawQueryParameter("MessageAttribute.1.Value.StringValue", "abc/def")
+                                                 .rawQueryParameter("MessageAttribute.1.Value.DataType", "String")
+                                                 .content(content("")));
+
+        s3Request = context(SdkHttpFullRequest.builder()
+                                              .method(SdkHttpMethod.GET)
+                                              .protocol("https")
+                                              .host("benchmark-bucket.s3.us-west-2.amazonaws.com")
+                                              .encodedPath("/photos/2017/summer/IMG%200001.jpg")
+                                              .header("Range", "bytes=0-1048575")
+                                              .header("User-Agent", USER_AGENT)
+                                              .rawQueryParameter("versionId", "3HL4kqtJlcpXroDTDmJ+rmSpXd3dIbrHY")
+                                              .rawQueryParameter("response-content-type", "image/jpeg")
+                                              .content(content("")));
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest signJsonRequest() {
+        return jsonSigner.sign(jsonRequest, executionAttributes);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest signQueryRequest() {
+        return querySigner.sign(queryRequest, executionAttributes);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest signS3Request() {
+        return s3Signer.sign(s3Request, executionAttributes);
+    }
+
+    private static Aws4Signer signer(boolean doubleUrlEncode, String serviceName) {
+        Aws4Signer signer = new Aws4Signer(doubleUrlEncode);
+        signer.setServiceName(serviceName);
+        signer.setRegionName("us-west-2");
+        return signer;
+    }
+
+    private static InterceptorContext context(SdkHttpFullRequest.Builder request) {
+        return InterceptorContext.builder().request(new SdkRequest() {}).httpRequest(request.build()).build();
+    }
+
+    /**
+     * The signer marks and resets the content after hashing it, so the same request can be signed repeatedly.
+     */
+    private static ByteArrayInputStream content(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
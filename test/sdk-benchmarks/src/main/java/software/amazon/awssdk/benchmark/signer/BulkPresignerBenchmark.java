@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.RequestConfig;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.auth.Aws4Signer;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.auth.StaticCredentialsProvider;
+import software.amazon.awssdk.core.auth.StaticSignerProvider;
+import software.amazon.awssdk.core.auth.presign.BulkPresigner;
+import software.amazon.awssdk.core.auth.presign.PresignerFacade;
+import software.amazon.awssdk.core.auth.presign.PresignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+/**
+ * Compares presigning many variations of one request, like download links for many objects in one bucket or speech
+ * synthesis links for many texts, by calling {@link PresignerFacade#presign} for each of them against using a
+ * {@link BulkPresigner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BulkPresignerBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private PresignerFacade presignerFacade;
+    private SdkHttpFullRequest objectTemplate;
+    private SdkHttpFullRequest speechTemplate;
+    private String[] objectPaths;
+    private String[] texts;
+
+    @Setup
+    public void setup() {
+        Aws4Signer signer = new Aws4Signer(false);
+        signer.setServiceName("s3");
+        signer.setRegionName("us-west-2");
+        presignerFacade = new PresignerFacade(
+                PresignerParams.builder()
+                               .endpoint(URI.create("https://s3.us-west-2.amazonaws.com"))
+                               .credentialsProvider(new StaticCredentialsProvider(new AwsCredentials("akid", "skid")))
+                               .signerProvider(new StaticSignerProvider(signer))
+                               .build());
+
+        objectTemplate = SdkHttpFullRequest.builder()
+                                           .method(SdkHttpMethod.GET)
+                                           .protocol("https")
+                                           .host("benchmark-bucket.s3.us-west-2.amazonaws.com")
+                                           .encodedPath("/")
+                                           .build();
+        speechTemplate = objectTemplate.copy(r -> r.encodedPath("/v1/speech")
+                                                   .rawQueryParameter("OutputFormat", "mp3")
+                                                   .rawQueryParameter("VoiceId", "Joanna"));
+
+        objectPaths = new String[BATCH_SIZE];
+        texts = new String[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            objectPaths[i] = "/photos/2017/summer/IMG_" + (1000 + i) + ".jpg";
+            texts[i] = "Hello, this is message number " + i;
+        }
+    }
+
+    @Benchmark
+    public URL[] presignObjectsIndividually() {
+        URL[] urls = new URL[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String path = objectPaths[i];
+            urls[i] = presignerFacade.presign(new SdkRequest() {}, objectTemplate.copy(r -> r.encodedPath(path)),
+                                              RequestConfig.empty(), null);
+        }
+        return urls;
+    }
+
+    @Benchmark
+    public URL[] presignObjectsInBulk() {
+        BulkPresigner presigner = presignerFacade.bulkPresigner(new SdkRequest() {}, objectTemplate, RequestConfig.empty(), null);
+        URL[] urls = new URL[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            urls[i] = presigner.presignPath(objectPaths[i]);
+        }
+        return urls;
+    }
+
+    @Benchmark
+    public URL[] presignSpeechIndividually() {
+        URL[] urls = new URL[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String text = texts[i];
+            urls[i] = presignerFacade.presign(new SdkRequest() {}, speechTemplate.copy(r -> r.rawQueryParameter("Text", text)),
+                                              RequestConfig.empty(), null);
+        }
+        return urls;
+    }
+
+    @Benchmark
+    public URL[] presignSpeechInBulk() {
+        BulkPresigner presigner = presignerFacade.bulkPresigner(new SdkRequest() {}, speechTemplate, RequestConfig.empty(), null);
+        URL[] urls = new URL[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, List<String>> parameters = Collections.singletonMap("Text", Collections.singletonList(texts[i]));
+            urls[i] = presigner.presignQuery(parameters);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.startup;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.StubSdkHttpClient;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.auth.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.builder.ClientHttpConfiguration;
+import software.amazon.awssdk.core.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDBClient;
+import software.amazon.awssdk.services.sqs.SQSClient;
+
+/**
+ * Measures building clients over and over in a warm JVM, as a multi-tenant service does when it creates a client for
+ * every customer's credentials or region. Each client is built with its own credentials and a shared stub HTTP client,
+ * and closed straight away. {@link #sqsClient()} covers a service that ships its own execution interceptors. Run with
+ * {@code -prof gc} to see the allocations per client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ClientCreationBenchmark {
+
+    private ClientHttpConfiguration httpConfiguration;
+    private int tenant;
+
+    @Setup
+    public void setup() {
+        httpConfiguration = ClientHttpConfiguration.builder().httpClient(new StubSdkHttpClient(200, "{}")).build();
+    }
+
+    @Benchmark
+    public void dynamoDbClient() throws Exception {
+        DynamoDBClient.builder()
+                      .region(Region.US_WEST_2)
+                      .credentialsProvider(nextTenantCredentials())
+                      .httpConfiguration(httpConfiguration)
+                      .build()
+                      .close();
+    }
+
+    @Benchmark
+    public void sqsClient() throws Exception {
+        SQSClient.builder()
+                 .region(Region.US_WEST_2)
+                 .credentialsProvider(nextTenantCredentials())
+                 .httpConfiguration(httpConfiguration)
+                 .build()
+                 .close();
+    }
+
+    private StaticCredentialsProvider nextTenantCredentials() {
+        tenant++;
+        return new StaticCredentialsProvider(new AwsCredentials("akid-" + tenant, "skid-" + tenant));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.startup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.StubSdkHttpClient;
+import software.amazon.awssdk.core.AwsSystemSetting;
+import software.amazon.awssdk.core.auth.AwsCredentials;
+import software.amazon.awssdk.core.auth.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.auth.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.builder.ClientHttpConfiguration;
+import software.amazon.awssdk.core.http.loader.DefaultSdkHttpClientFactory;
+import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.regions.Region;
+import software.amazon.awssdk.core.regions.ServiceMetadata;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.services.dynamodb.DynamoDBClient;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+/**
+ * Measures the cold-start cost of each phase of creating a client and making its first call, the way a short-lived
+ * process such as a Lambda function pays it. Every benchmark runs exactly once in each of twenty fresh JVMs, so the score
+ * includes loading and initializing every class the phase touches for the first time. Phases that a later phase depends
+ * on are measured on their own as well as inside {@link #buildClient()}, which loads the region metadata, scans the
+ * classpath for interceptors and resolves the signer, and {@link #firstRequest(BuiltClient)}, which starts from a built
+ * client. Credentials come from system properties and requests go to a stub HTTP client, so nothing leaves the process.
+ * <p>
+ * Run with {@code -prof cl} to count the classes each phase loads. To see what a phase costs once its classes are
+ * loaded, run with {@code -f 1 -i 20}, so that every iteration after the first reruns it in a warm JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ClientStartupBenchmark {
+
+    private static final String SERVICE_INTERCEPTOR_PATH = "software/amazon/awssdk/services/dynamodb/execution.interceptors";
+
+    @Setup
+    public void setup() {
+        System.setProperty(AwsSystemSetting.AWS_ACCESS_KEY_ID.property(), "akid");
+        System.setProperty(AwsSystemSetting.AWS_SECRET_ACCESS_KEY.property(), "skid");
+    }
+
+    /**
+     * Builds a client with explicit credentials and a stub HTTP client, which leaves the builder's own work: resolving the
+     * configuration defaults, the region and endpoint, the signer and the interceptor chain.
+     */
+    @Benchmark
+    public DynamoDBClient buildClient() {
+        return DynamoDBClient.builder()
+                             .region(Region.US_WEST_2)
+                             .credentialsProvider(new StaticCredentialsProvider(new AwsCredentials("akid", "skid")))
+                             .httpConfiguration(ClientHttpConfiguration.builder()
+                                                                       .httpClient(new StubSdkHttpClient(200, "{}"))
+                                                                       .build())
+                             .build();
+    }
+
+    /**
+     * Resolves credentials through the default chain, which finds them in the first provider it tries.
+     */
+    @Benchmark
+    public AwsCredentials resolveDefaultCredentials() {
+        return new DefaultCredentialsProvider().getCredentials();
+    }
+
+    /**
+     * Loads the bundled partition metadata and looks up an endpoint in it.
+     */
+    @Benchmark
+    public Object loadRegionMetadata() {
+        return ServiceMetadata.of("dynamodb").endpointFor(Region.US_WEST_2);
+    }
+
+    /**
+     * Reads the global and service interceptor resources and instantiates the interceptors they list.
+     */
+    @Benchmark
+    public List<ExecutionInterceptor> scanClasspathInterceptors() {
+        ClasspathInterceptorChainFactory chainFactory = new ClasspathInterceptorChainFactory();
+        List<ExecutionInterceptor> interceptors = chainFactory.getGlobalInterceptors();
+        interceptors.addAll(chainFactory.getInterceptors(SERVICE_INTERCEPTOR_PATH));
+        return interceptors;
+    }
+
+    /**
+     * Discovers the HTTP implementation on the classpath with the service loader and creates a client from it, as a
+     * client builder does when no HTTP client is configured.
+     */
+    @Benchmark
+    public SdkHttpClient discoverHttpClient() throws Exception {
+        try (SdkHttpClient httpClient = new DefaultSdkHttpClientFactory()
+                .createHttpClientWithDefaults(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS)) {
+            return httpClient;
+        }
+    }
+
+    /**
+     * Makes the first call on a client that has already been built, which loads the request and response classes,
+     * marshallers, signer and execution pipeline.
+     */
+    @Benchmark
+    public GetItemResponse firstRequest(BuiltClient builtClient) {
+        return builtClient.client.getItem(GetItemRequest.builder().tableName("table").build());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BuiltClient {
+
+        private DynamoDBClient client;
+
+        @Setup
+        public void setup() {
+            client = new ClientStartupBenchmark().buildClient();
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.unmarshalling;
+
+import com.fasterxml.jackson.core.JsonParser;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.protocol.json.SdkStructuredPlainJsonFactory;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContextImpl;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.transform.BatchWriteItemResponseUnmarshaller;
+import software.amazon.awssdk.services.dynamodb.transform.GetItemResponseUnmarshaller;
+import software.amazon.awssdk.services.dynamodb.transform.ScanResponseUnmarshaller;
+
+/**
+ * Measures the generated JSON unmarshallers on wide shapes. DynamoDB's {@code AttributeValue} has ten members and every
+ * attribute of every item goes through it, so a scan page is dominated by member dispatch rather than by parsing.
+ * {@link #batchWriteItem()} returns consumed capacity for every table and index, which is almost entirely numbers. Run
+ * with {@code -prof gc} to see the allocations per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonUnmarshallerBenchmark {
+
+    @Param({"1", "100"})
+    private int itemCount;
+
+    private byte[] getItemBody;
+    private byte[] scanBody;
+    private byte[] batchWriteItemBody;
+
+    @Setup
+    public void setup() {
+        getItemBody = ("{\"Item\":" + item(0) + "}").getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder scan = new StringBuilder("{\"Count\":").append(itemCount)
+                                                           .append(",\"ScannedCount\":").append(itemCount)
+                                                           .append(",\"Items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            scan.append(i == 0 ? "" : ",").append(item(i));
+        }
+        scanBody = scan.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder batchWrite = new StringBuilder("{\"UnprocessedItems\":{},\"ConsumedCapacity\":[");
+        for (int i = 0; i < itemCount; i++) {
+            batchWrite.append(i == 0 ? "" : ",").append(consumedCapacity(i));
+        }
+        batchWriteItemBody = batchWrite.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public GetItemResponse getItem() throws Exception {
+        return GetItemResponseUnmarshaller.getInstance().unmarshall(context(getItemBody));
+    }
+
+    @Benchmark
+    public ScanResponse scan() throws Exception {
+        return ScanResponseUnmarshaller.getInstance().unmarshall(context(scanBody));
+    }
+
+    @Benchmark
+    public BatchWriteItemResponse batchWriteItem() throws Exception {
+        return BatchWriteItemResponseUnmarshaller.getInstance().unmarshall(context(batchWriteItemBody));
+    }
+
+    private static JsonUnmarshallerContextImpl context(byte[] body) throws Exception {
+        JsonParser parser = SdkStructuredPlainJsonFactory.JSON_FACTORY.createParser(body);
+        return new JsonUnmarshallerContextImpl(parser, SdkStructuredPlainJsonFactory.JSON_SCALAR_UNMARSHALLERS, null);
+    }
+
+    /**
+     * A twenty attribute item that touches every {@code AttributeValue} member, including nested maps and lists.
+     */
+    private static String item(int index) {
+        StringBuilder item = new StringBuilder("{");
+        item.append("\"id\":{\"S\":\"item-").append(index).append("\"},");
+        for (int i = 0; i < 4; i++) {
+            item.append("\"string").append(i).append("\":{\"S\":\"value-").append(i).append("\"},");
+            item.append("\"number").append(i).append("\":{\"N\":\"").append(index * 10 + i).append("\"},");
+            item.append("\"flag").append(i).append("\":{\"BOOL\":").append(i % 2 == 0).append("},");
+        }
+        item.append("\"binary\":{\"B\":\"AAECAwQFBgcICQ==\"},")
+            .append("\"missing\":{\"NULL\":true},")
+            .append("\"strings\":{\"SS\":[\"a\",\"b\",\"c\"]},")
+            .append("\"numbers\":{\"NS\":[\"1\",\"2\",\"3\"]},")
+            .append("\"binaries\":{\"BS\":[\"AAE=\",\"AgM=\"]},")
+            .append("\"list\":{\"L\":[{\"S\":\"x\"},{\"N\":\"1\"},{\"BOOL\":false}]},")
+            .append("\"map\":{\"M\":{\"nested\":{\"S\":\"y\"},\"deeper\":{\"M\":{\"leaf\":{\"N\":\"2\"}}}}}");
+        return item.append("}").toString();
+    }
+
+    /**
+     * Consumed capacity for a table with two local and two global secondary indexes.
+     */
+    private static String consumedCapacity(int index) {
+        StringBuilder capacity = new StringBuilder("{\"TableName\":\"table-").append(index).append("\",")
+                .append("\"CapacityUnits\":").append(index + 12.5).append(",")
+                .append("\"Table\":{\"CapacityUnits\":").append(index + 4.5).append("},");
+        for (String indexType : new String[] {"LocalSecondaryIndexes", "GlobalSecondaryIndexes"}) {
+            capacity.append("\"").append(indexType).append("\":{")
+                    .append("\"index-a\":{\"CapacityUnits\":2.0},")
+                    .append("\"index-b\":{\"CapacityUnits\":2.0}},");
+        }
+        capacity.setLength(capacity.length() - 1);
+        return capacity.append("}").toString();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.unmarshalling;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.http.HttpResponse;
+import software.amazon.awssdk.core.http.SdkHttpResponseAdapter;
+import software.amazon.awssdk.core.http.StaxResponseHandler;
+import software.amazon.awssdk.core.http.async.StaxAsyncResponseHandlerAdapter;
+import software.amazon.awssdk.core.http.async.SyncResponseHandlerAdapter;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.transform.ListObjectsResponseUnmarshaller;
+
+/**
+ * Measures XML response handling for the query, EC2 and rest-xml protocols with an S3 ListObjects page, which reaches
+ * several hundred kilobytes at the default page size of 1000 keys. Run with {@code -prof gc} to see the allocations per
+ * response. The StAX implementation can be swapped with the {@code software.amazon.awssdk.xml.inputFactory.impl} system
+ * property (e.g. {@code -jvmArgsAppend -Dsoftware.amazon.awssdk.xml.inputFactory.impl=...}) when it is on the classpath.
+ * <p>
+ * The async benchmarks deliver the body in 16 KB pieces, as the async client would, either buffering it for the blocking
+ * handler ({@link #listObjectsAsyncBuffered()}) or parsing each piece as it arrives
+ * ({@link #listObjectsAsyncIncremental()}). The {@code complete} variants time only the completion of a response whose
+ * body has already been delivered, which is the work left on the event loop once the last piece arrives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class XmlUnmarshallerBenchmark {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"10", "1000"})
+    private int keyCount;
+
+    private final StaxResponseHandler<ListObjectsResponse> responseHandler =
+            new StaxResponseHandler<>(new ListObjectsResponseUnmarshaller());
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private final SdkHttpFullResponse httpResponse = SdkHttpFullResponse.builder().statusCode(200).build();
+    private byte[] listObjectsBody;
+    private Publisher<ByteBuffer> listObjectsPublisher;
+
+    @Setup
+    public void setup() {
+        StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">\n")
+                .append("  <Name>benchmark-bucket</Name>\n")
+                .append("  <Prefix></Prefix>\n")
+                .append("  <Marker></Marker>\n")
+                .append("  <MaxKeys>1000</MaxKeys>\n")
+                .append("  <IsTruncated>false</IsTruncated>\n");
+        for (int i = 0; i < keyCount; i++) {
+            body.append("  <Contents>\n")
+                .append("    <Key>photos/2017/11/").append(i).append("/IMG_").append(i).append(".jpg</Key>\n")
+                .append("    <LastModified>2017-11-20T21:41:").append(10 + i % 50).append(".000Z</LastModified>\n")
+                .append("    <ETag>&quot;fba9dede5f27731c9771645a39863328&quot;</ETag>\n")
+                .append("    <Size>").append(434234 + i).append("</Size>\n")
+                .append("    <StorageClass>STANDARD</StorageClass>\n")
+                .append("    <Owner>\n")
+                .append("      <ID>75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a</ID>\n")
+                .append("      <DisplayName>benchmark</DisplayName>\n")
+                .append("    </Owner>\n")
+                .append("  </Contents>\n");
+        }
+        listObjectsBody = body.append("</ListBucketResult>").toString().getBytes(StandardCharsets.UTF_8);
+        listObjectsPublisher = publisher(listObjectsBody);
+    }
+
+    @Benchmark
+    public ListObjectsResponse listObjects() throws Exception {
+        HttpResponse response = new HttpResponse(null);
+        response.setContent(new ByteArrayInputStream(listObjectsBody));
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    @Benchmark
+    public ListObjectsResponse listObjectsAsyncBuffered() {
+        SdkHttpResponseHandler<ListObjectsResponse> handler = bufferingAdapter();
+        handler.headersReceived(httpResponse);
+        handler.onStream(listObjectsPublisher);
+        return handler.complete();
+    }
+
+    @Benchmark
+    public ListObjectsResponse listObjectsAsyncIncremental() {
+        SdkHttpResponseHandler<ListObjectsResponse> handler = incrementalAdapter();
+        handler.headersReceived(httpResponse);
+        handler.onStream(listObjectsPublisher);
+        return handler.complete();
+    }
+
+    @Benchmark
+    public ListObjectsResponse completeAsyncBuffered(BufferedResponse response) {
+        return response.handler.complete();
+    }
+
+    @Benchmark
+    public ListObjectsResponse completeAsyncIncremental(IncrementalResponse response) {
+        return response.handler.complete();
+    }
+
+    /**
+     * A response whose body has been delivered to the buffering adapter, waiting to be completed.
+     */
+    @State(Scope.Thread)
+    public static class BufferedResponse {
+        private SdkHttpResponseHandler<ListObjectsResponse> handler;
+
+        @Setup(Level.Invocation)
+        public void setup(XmlUnmarshallerBenchmark benchmark) {
+            handler = benchmark.bufferingAdapter();
+            handler.headersReceived(benchmark.httpResponse);
+            handler.onStream(benchmark.listObjectsPublisher);
+        }
+    }
+
+    /**
+     * A response whose body has been delivered to the incremental adapter, waiting to be completed.
+     */
+    @State(Scope.Thread)
+    public static class IncrementalResponse {
+        private SdkHttpResponseHandler<ListObjectsResponse> handler;
+
+        @Setup(Level.Invocation)
+        public void setup(XmlUnmarshallerBenchmark benchmark) {
+            handler = benchmark.incrementalAdapter();
+            handler.headersReceived(benchmark.httpResponse);
+            handler.onStream(benchmark.listObjectsPublisher);
+        }
+    }
+
+    private SyncResponseHandlerAdapter<ListObjectsResponse> bufferingAdapter() {
+        return new SyncResponseHandlerAdapter<>(responseHandler, XmlUnmarshallerBenchmark::adapt, executionAttributes);
+    }
+
+    private StaxAsyncResponseHandlerAdapter<ListObjectsResponse> incrementalAdapter() {
+        return new StaxAsyncResponseHandlerAdapter<>(
+            streamReader -> (response, attributes) -> responseHandler.unmarshall(response, streamReader),
+            bufferingAdapter(), XmlUnmarshallerBenchmark::adapt, executionAttributes);
+    }
+
+    private static HttpResponse adapt(SdkHttpFullResponse response) {
+        return SdkHttpResponseAdapter.adapt(false, null, response);
+    }
+
+    /**
+     * Publishes the body in pieces of {@link #CHUNK_SIZE}, all at once on subscription.
+     */
+    private static Publisher<ByteBuffer> publisher(byte[] body) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < body.length; i += CHUNK_SIZE) {
+            chunks.add(ByteBuffer.wrap(body, i, Math.min(CHUNK_SIZE, body.length - i)).slice());
+        }
+        return subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            chunks.forEach(chunk -> subscriber.onNext(chunk.duplicate()));
+            subscriber.onComplete();
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import software.amazon.awssdk.http.AbortableCallable;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkRequestContext;
+
+/**
+ * {@link SdkHttpClient} that never touches the network and answers every request with the same canned response, so
+ * benchmarks only measure the SDK's own request and response processing.
+ */
+public final class StubSdkHttpClient implements SdkHttpClient {
+
+    private final int statusCode;
+    private final byte[] body;
+
+    public StubSdkHttpClient(int statusCode, String body) {
+        this.statusCode = statusCode;
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AbortableCallable<SdkHttpFullResponse> prepareRequest(SdkHttpFullRequest request,
+                                                                 SdkRequestContext requestContext) {
+        return new AbortableCallable<SdkHttpFullResponse>() {
+            @Override
+            public SdkHttpFullResponse call() {
+                return SdkHttpFullResponse.builder()
+                                          .statusCode(statusCode)
+                                          .header("Content-Length", Integer.toString(body.length))
+                                          .content(new AbortableInputStream(new ByteArrayInputStream(body), () -> { }))
+                                          .build();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationValue(SdkHttpConfigurationOption<T> key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+    }
+}
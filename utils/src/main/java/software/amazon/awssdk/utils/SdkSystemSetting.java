@@ -32,7 +32,15 @@ public enum SdkSystemSetting implements SystemSetting {
      * when there are multiple implementations on the classpath or as a performance optimization
      * since implementation discovery requires classpath scanning.
      */
-    ASYNC_HTTP_SERVICE_IMPL("software.amazon.awssdk.http.async.service.impl");
+    ASYNC_HTTP_SERVICE_IMPL("software.amazon.awssdk.http.async.service.impl"),
+
+    /**
+     * Explicitly identify the StAX {@code XMLInputFactory} implementation the SDK will use to parse XML responses, such as
+     * {@code com.fasterxml.aalto.stax.InputFactoryImpl} or {@code com.ctc.wstx.stax.WstxInputFactory}. When not set, the
+     * factory is found through the standard {@code javax.xml.stream.XMLInputFactory} lookup, which usually means the JDK's
+     * built-in parser.
+     */
+    XML_INPUT_FACTORY_IMPL("software.amazon.awssdk.xml.inputFactory.impl");
 
     private final String systemProperty;
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Encodes form data straight into the bytes of a request body. The result is the UTF-8 encoding of what
+ * {@link SdkHttpUtils#encodeAndFlattenFormData(Map)} returns, but it's produced in a single pass over the parameters,
+ * without an encoded copy of them or an intermediate string.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public final class FormDataEncoder {
+
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    /**
+     * The most bytes a single character can be encoded to: a supplementary character is four percent-encoded bytes.
+     */
+    private static final int MAX_ENCODED_CHAR_LENGTH = 12;
+
+    private byte[] buffer;
+    private int length;
+
+    public FormDataEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, MAX_ENCODED_CHAR_LENGTH)];
+    }
+
+    /**
+     * Encode all of the given form data. A parameter with a null list of values is left out, and a null value is written
+     * as the name alone.
+     */
+    public static FormDataEncoder encode(Map<String, List<String>> formData) {
+        Validate.notNull(formData, "Form data must not be null.");
+
+        // Parameters are usually plain ASCII, in which case this is exactly the size of the encoded form.
+        int expectedLength = 0;
+        for (Map.Entry<String, List<String>> parameter : formData.entrySet()) {
+            if (parameter.getValue() != null) {
+                for (String value : parameter.getValue()) {
+                    expectedLength += parameter.getKey().length() + (value == null ? 0 : value.length() + 1) + 1;
+                }
+            }
+        }
+
+        FormDataEncoder encoder = new FormDataEncoder(expectedLength);
+        for (Map.Entry<String, List<String>> parameter : formData.entrySet()) {
+            if (parameter.getValue() != null) {
+                for (String value : parameter.getValue()) {
+                    encoder.write(parameter.getKey(), value);
+                }
+            }
+        }
+        return encoder;
+    }
+
+    /**
+     * Append a parameter.
+     *
+     * @param name  Name of the parameter, which is encoded.
+     * @param value Value of the parameter, which is encoded, or null to write the name alone.
+     * @return This encoder for method chaining.
+     */
+    public FormDataEncoder write(String name, String value) {
+        if (length > 0) {
+            writeByte('&');
+        }
+        writeEncoded(name);
+        if (value != null) {
+            writeByte('=');
+            writeEncoded(value);
+        }
+        return this;
+    }
+
+    /**
+     * @return The array the encoded form is written to. Only the first {@link #length()} bytes are valid, and the array
+     *     may be replaced by further writes.
+     */
+    public byte[] array() {
+        return buffer;
+    }
+
+    /**
+     * @return Number of bytes written.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return Stream over the bytes written so far, sharing the encoder's array rather than copying it.
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buffer, 0, length);
+    }
+
+    /**
+     * Percent-encodes the UTF-8 bytes of each character the same way {@link java.net.URLEncoder} does: letters, digits and
+     * {@code .-*_} are left as they are, a space becomes {@code +}, and an unpaired surrogate is encoded as {@code ?}.
+     */
+    private void writeEncoded(String value) {
+        int valueLength = value.length();
+        for (int i = 0; i < valueLength; i++) {
+            if (length + MAX_ENCODED_CHAR_LENGTH > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + MAX_ENCODED_CHAR_LENGTH));
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (isUnreserved(c)) {
+                    buffer[length++] = (byte) c;
+                } else if (c == ' ') {
+                    buffer[length++] = '+';
+                } else {
+                    writePercentEncoded(c);
+                }
+            } else if (c < 0x800) {
+                writePercentEncoded(0xC0 | (c >> 6));
+                writePercentEncoded(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < valueLength && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writePercentEncoded(0xF0 | (codePoint >> 18));
+                writePercentEncoded(0x80 | ((codePoint >> 12) & 0x3F));
+                writePercentEncoded(0x80 | ((codePoint >> 6) & 0x3F));
+                writePercentEncoded(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writePercentEncoded('?');
+            } else {
+                writePercentEncoded(0xE0 | (c >> 12));
+                writePercentEncoded(0x80 | ((c >> 6) & 0x3F));
+                writePercentEncoded(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+               || c == '.' || c == '-' || c == '*' || c == '_';
+    }
+
+    private void writePercentEncoded(int b) {
+        buffer[length++] = '%';
+        buffer[length++] = HEX_DIGITS[(b >> 4) & 0xF];
+        buffer[length++] = HEX_DIGITS[b & 0xF];
+    }
+
+    private void writeByte(char c) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = (byte) c;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2017 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.http;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class FormDataEncoderTest {
+
+    @Test
+    public void encodedFormMatchesFlattenedFormData() throws Exception {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        values.put("SingleValue", singletonList("Value"));
+        values.put("SpaceValue", singletonList(" "));
+        values.put("EncodedValue", singletonList("/"));
+        values.put("NoValue", null);
+        values.put("NullValue", singletonList(null));
+        values.put("BlankValue", singletonList(""));
+        values.put("MultiValue", asList("Value1", "Value2"));
+        values.put("Unicode key é", singletonList("é€😀 \ud83d and \ude00 ~*._-"));
+
+        assertEncodedAsFlattenedFormData(values);
+    }
+
+    @Test
+    public void randomTextMatchesFlattenedFormData() throws Exception {
+        Random random = new Random(42);
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            char[] chars = new char[random.nextInt(200)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextBoolean() ? random.nextInt(0x80) : random.nextInt(0x10000));
+            }
+            values.put("Param." + i, singletonList(new String(chars)));
+        }
+
+        assertEncodedAsFlattenedFormData(values);
+    }
+
+    @Test
+    public void emptyFormDataIsEmpty() {
+        assertThat(FormDataEncoder.encode(new LinkedHashMap<>()).length()).isZero();
+    }
+
+    private static void assertEncodedAsFlattenedFormData(Map<String, List<String>> values) throws Exception {
+        FormDataEncoder encoder = FormDataEncoder.encode(values);
+
+        String expected = SdkHttpUtils.encodeAndFlattenFormData(values).orElse("");
+        assertThat(new String(encoder.array(), 0, encoder.length(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(IoUtils.toString(encoder.toInputStream())).isEqualTo(expected);
+    }
+}